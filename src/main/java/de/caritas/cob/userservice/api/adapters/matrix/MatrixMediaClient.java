@@ -1,6 +1,7 @@
 package de.caritas.cob.userservice.api.adapters.matrix;
 
 import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -9,9 +10,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -71,29 +75,58 @@ public class MatrixMediaClient {
     }
   }
 
-  public byte[] downloadFile(String serverName, String mediaId, String accessToken) {
-    String url = matrixConfig.getApiUrl("/_matrix/media/r0/download/" + serverName + "/" + mediaId);
+  /**
+   * Opens a download of a file from the Matrix media repository. Only the response headers are
+   * read, the body is streamed by the returned {@link MatrixMediaDownload}, which has to be closed
+   * by the caller.
+   *
+   * @param serverName the Matrix server name
+   * @param mediaId the media ID
+   * @param accessToken the Matrix access token
+   * @param range the optional HTTP range header of the client
+   * @return the open {@link MatrixMediaDownload}
+   * @throws RestClientResponseException if Synapse answers with a status other than 200 or 206
+   */
+  public MatrixMediaDownload openDownload(
+      String serverName, String mediaId, String accessToken, String range) {
+    var uri =
+        restTemplate
+            .getUriTemplateHandler()
+            .expand(
+                matrixConfig.getApiUrl("/_matrix/media/r0/download/{serverName}/{mediaId}"),
+                serverName,
+                mediaId);
     log.info("📥 Downloading file from Matrix: {}/{}", serverName, mediaId);
 
-    HttpHeaders headers = new HttpHeaders();
-    headers.set("Authorization", "Bearer " + accessToken);
-    HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
-
-    ResponseEntity<byte[]> response;
+    ClientHttpResponse response;
+    int statusCode;
     try {
-      response = restTemplate.exchange(url, HttpMethod.GET, requestEntity, byte[].class);
-    } catch (RuntimeException e) {
+      var request = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+      request.getHeaders().set("Authorization", "Bearer " + accessToken);
+      if (range != null && !range.isBlank()) {
+        request.getHeaders().set(HttpHeaders.RANGE, range);
+      }
+      response = request.execute();
+      statusCode = response.getRawStatusCode();
+    } catch (IOException e) {
       log.error("❌ Failed to download file from Matrix", e);
       throw new RuntimeException("Failed to download file: " + e.getMessage(), e);
     }
 
-    if (response.getBody() == null) {
-      throw new RuntimeException(
-          "Failed to download file: No file data in Matrix download response");
+    if (statusCode != HttpStatus.OK.value() && statusCode != HttpStatus.PARTIAL_CONTENT.value()) {
+      var headers = response.getHeaders();
+      response.close();
+      throw new RestClientResponseException(
+          "Failed to download file: Matrix responded with status " + statusCode,
+          statusCode,
+          String.valueOf(statusCode),
+          headers,
+          null,
+          null);
     }
 
-    log.info("✅ File downloaded successfully: {} bytes", response.getBody().length);
-    return response.getBody();
+    return new MatrixMediaDownload(
+        response, statusCode, matrixConfig.getMediaDownloadMaxSizeBytes());
   }
 
   private void sendFileMessage(
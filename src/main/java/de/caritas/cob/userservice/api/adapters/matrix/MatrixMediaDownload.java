@@ -0,0 +1,78 @@
+package de.caritas.cob.userservice.api.adapters.matrix;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * An open download from the Matrix media repository. The body is not buffered but copied from the
+ * Synapse connection to the client, so it has to be closed after use.
+ */
+public class MatrixMediaDownload implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final ClientHttpResponse response;
+  @Getter private final int statusCode;
+  @Getter private final HttpHeaders headers;
+  @Getter private final long maxSizeBytes;
+
+  MatrixMediaDownload(ClientHttpResponse response, int statusCode, long maxSizeBytes) {
+    this.response = response;
+    this.statusCode = statusCode;
+    this.headers = response.getHeaders();
+    this.maxSizeBytes = maxSizeBytes;
+  }
+
+  /**
+   * Returns the length of the (partial) content as announced by Synapse.
+   *
+   * @return the content length or -1 if unknown
+   */
+  public long getContentLength() {
+    return headers.getContentLength();
+  }
+
+  /**
+   * Returns whether the announced content is larger than the download limit.
+   *
+   * @return true if the content length exceeds the limit
+   */
+  public boolean exceedsSizeLimit() {
+    return getContentLength() > maxSizeBytes;
+  }
+
+  /**
+   * Copies the body to the given stream. Aborts with an {@link IOException} once more bytes than
+   * the download limit have been read, which also covers responses without content length.
+   *
+   * @param outputStream the stream to write to
+   * @return the number of copied bytes
+   * @throws IOException if reading or writing fails or the limit is exceeded
+   */
+  public long transferTo(OutputStream outputStream) throws IOException {
+    try (InputStream inputStream = response.getBody()) {
+      var buffer = new byte[BUFFER_SIZE];
+      long transferred = 0;
+      int read;
+      while ((read = inputStream.read(buffer)) != -1) {
+        transferred += read;
+        if (transferred > maxSizeBytes) {
+          throw new IOException(
+              "Matrix media exceeds the download limit of " + maxSizeBytes + " bytes");
+        }
+        outputStream.write(buffer, 0, read);
+      }
+      return transferred;
+    }
+  }
+
+  @Override
+  public void close() {
+    response.close();
+  }
+}
@@ -61,6 +61,23 @@ public class MatrixSynapseService {
   private final java.util.Map<String, CachedPresence> presenceCache =
       new java.util.concurrent.ConcurrentHashMap<>();
 
+  // Short-lived cache of access tokens minted via the admin API (matrixUserId -> token + expiry),
+  // plus the token requests currently in flight, so concurrent callers share one login.
+  private final java.util.Map<String, CachedUserAccessToken> userAccessTokenCache =
+      new java.util.concurrent.ConcurrentHashMap<>();
+  private final java.util.Map<String, java.util.concurrent.CompletableFuture<String>>
+      userAccessTokenRequests = new java.util.concurrent.ConcurrentHashMap<>();
+
+  private static final class CachedUserAccessToken {
+    private final String accessToken;
+    private final long expiresAt;
+
+    private CachedUserAccessToken(String accessToken, long expiresAt) {
+      this.accessToken = accessToken;
+      this.expiresAt = expiresAt;
+    }
+  }
+
   private static final class CachedPresence {
     private final String state;
     private final boolean available;
@@ -287,6 +304,71 @@ public class MatrixSynapseService {
     return String.valueOf(tokenResponse.get("access_token"));
   }
 
+  /**
+   * Returns a Matrix access token of the given user for server-side operations. Tokens are reused
+   * until {@link MatrixConfig#getUserTokenCacheTtlMs()} has passed, and concurrent calls for the
+   * same user share a single login request.
+   *
+   * @param matrixUserId full Matrix user ID, e.g. {@code @user:server}
+   * @return the access token, or {@code null} when unavailable
+   */
+  public String getCachedUserAccessToken(String matrixUserId) {
+    if (matrixUserId == null || matrixUserId.isBlank()) {
+      return null;
+    }
+    var cached = userAccessTokenCache.get(matrixUserId);
+    if (cached != null && System.currentTimeMillis() < cached.expiresAt) {
+      return cached.accessToken;
+    }
+
+    var tokenRequest = new java.util.concurrent.CompletableFuture<String>();
+    var runningTokenRequest = userAccessTokenRequests.putIfAbsent(matrixUserId, tokenRequest);
+    if (runningTokenRequest != null) {
+      return runningTokenRequest.join();
+    }
+    try {
+      String accessToken = loginAsUserAccessToken(matrixUserId);
+      if (accessToken != null) {
+        cacheUserAccessToken(matrixUserId, accessToken);
+      }
+      tokenRequest.complete(accessToken);
+      return accessToken;
+    } catch (RuntimeException ex) {
+      tokenRequest.complete(null);
+      throw ex;
+    } finally {
+      userAccessTokenRequests.remove(matrixUserId, tokenRequest);
+    }
+  }
+
+  /**
+   * Drops the cached access token of the given user, e.g. after Synapse rejected it. A token which
+   * has already been replaced by a newer one is left untouched.
+   *
+   * @param matrixUserId full Matrix user ID, e.g. {@code @user:server}
+   * @param rejectedAccessToken the access token which is no longer valid
+   */
+  public void invalidateCachedUserAccessToken(String matrixUserId, String rejectedAccessToken) {
+    if (matrixUserId != null) {
+      userAccessTokenCache.computeIfPresent(
+          matrixUserId,
+          (userId, cached) -> cached.accessToken.equals(rejectedAccessToken) ? null : cached);
+    }
+  }
+
+  private void cacheUserAccessToken(String matrixUserId, String accessToken) {
+    long now = System.currentTimeMillis();
+    if (userAccessTokenCache.size() >= matrixConfig.getUserTokenCacheMaxSize()) {
+      userAccessTokenCache.values().removeIf(cached -> now >= cached.expiresAt);
+    }
+    if (userAccessTokenCache.size() >= matrixConfig.getUserTokenCacheMaxSize()) {
+      userAccessTokenCache.keySet().stream().findAny().ifPresent(userAccessTokenCache::remove);
+    }
+    userAccessTokenCache.put(
+        matrixUserId,
+        new CachedUserAccessToken(accessToken, now + matrixConfig.getUserTokenCacheTtlMs()));
+  }
+
   /**
    * Gets or creates an admin access token for administrative operations. Creates a technical admin
    * user if it doesn't exist.
@@ -784,15 +866,17 @@ public class MatrixSynapseService {
   }
 
   /**
-   * Download a file from Matrix media repository.
+   * Open a streamed download from Matrix media repository. The returned download has to be closed.
    *
    * @param serverName the Matrix server name
    * @param mediaId the media ID
    * @param accessToken the Matrix access token
-   * @return the file bytes
+   * @param range the optional HTTP range header of the client
+   * @return the open {@link MatrixMediaDownload}
    */
-  public byte[] downloadFile(String serverName, String mediaId, String accessToken) {
-    return matrixMediaClient.downloadFile(serverName, mediaId, accessToken);
+  public MatrixMediaDownload openDownload(
+      String serverName, String mediaId, String accessToken, String range) {
+    return matrixMediaClient.openDownload(serverName, mediaId, accessToken, range);
   }
 
   /**
@@ -912,48 +996,73 @@ public class MatrixSynapseService {
     }
   }
 
+  /**
+   * Returns the joined rooms of a Matrix user, using a cached access token of the user. When
+   * Synapse rejects the cached token, it is dropped and the request is retried once with a new one.
+   *
+   * @param matrixUserId full Matrix user ID, e.g. {@code @user:server}
+   * @return the ids of the joined rooms, or an empty list on failure
+   */
   public java.util.List<String> getJoinedRoomsForMatrixUser(String matrixUserId) {
-    String accessToken = loginAsUserAccessToken(matrixUserId);
+    String accessToken = getCachedUserAccessToken(matrixUserId);
     if (accessToken == null) {
       log.warn("Could not create Matrix token for {} to get joined rooms", matrixUserId);
       return java.util.Collections.emptyList();
     }
-    return getJoinedRoomsWithToken(accessToken, matrixUserId);
+    try {
+      return requestJoinedRooms(accessToken, matrixUserId);
+    } catch (HttpClientErrorException.Unauthorized ex) {
+      log.info("Cached Matrix token of {} was rejected, requesting a new one", matrixUserId);
+      invalidateCachedUserAccessToken(matrixUserId, accessToken);
+    } catch (Exception e) {
+      log.error("Error getting joined rooms for user {}: {}", matrixUserId, e.getMessage());
+      return java.util.Collections.emptyList();
+    }
+
+    String refreshedAccessToken = getCachedUserAccessToken(matrixUserId);
+    if (refreshedAccessToken == null) {
+      log.warn("Could not create Matrix token for {} to get joined rooms", matrixUserId);
+      return java.util.Collections.emptyList();
+    }
+    return getJoinedRoomsWithToken(refreshedAccessToken, matrixUserId);
   }
 
   private java.util.List<String> getJoinedRoomsWithToken(
       String accessToken, String principalForLog) {
     try {
-      var headers = new HttpHeaders();
-      headers.set("Authorization", "Bearer " + accessToken);
-      headers.setContentType(MediaType.APPLICATION_JSON);
-
-      var url = matrixConfig.getApiUrl(ENDPOINT_JOINED_ROOMS);
-      HttpEntity<Void> request = new HttpEntity<>(headers);
+      return requestJoinedRooms(accessToken, principalForLog);
+    } catch (Exception e) {
+      log.error("Error getting joined rooms for user {}: {}", principalForLog, e.getMessage());
+      return java.util.Collections.emptyList();
+    }
+  }
 
-      var response =
-          restTemplate.exchange(
-              url, org.springframework.http.HttpMethod.GET, request, java.util.Map.class);
+  private java.util.List<String> requestJoinedRooms(String accessToken, String principalForLog) {
+    var headers = new HttpHeaders();
+    headers.set("Authorization", "Bearer " + accessToken);
+    headers.setContentType(MediaType.APPLICATION_JSON);
 
-      if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-        @SuppressWarnings("unchecked")
-        java.util.List<String> joinedRooms =
-            (java.util.List<String>) response.getBody().get("joined_rooms");
-        log.info(
-            "✅ User {} has {} joined Matrix rooms",
-            principalForLog,
-            joinedRooms != null ? joinedRooms.size() : 0);
-        return joinedRooms != null ? joinedRooms : java.util.Collections.emptyList();
-      }
+    var url = matrixConfig.getApiUrl(ENDPOINT_JOINED_ROOMS);
+    HttpEntity<Void> request = new HttpEntity<>(headers);
 
-      log.warn(
-          "Failed to get joined rooms for user {}: {}", principalForLog, response.getStatusCode());
-      return java.util.Collections.emptyList();
+    var response =
+        restTemplate.exchange(
+            url, org.springframework.http.HttpMethod.GET, request, java.util.Map.class);
 
-    } catch (Exception e) {
-      log.error("Error getting joined rooms for user {}: {}", principalForLog, e.getMessage());
-      return java.util.Collections.emptyList();
+    if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+      @SuppressWarnings("unchecked")
+      java.util.List<String> joinedRooms =
+          (java.util.List<String>) response.getBody().get("joined_rooms");
+      log.info(
+          "✅ User {} has {} joined Matrix rooms",
+          principalForLog,
+          joinedRooms != null ? joinedRooms.size() : 0);
+      return joinedRooms != null ? joinedRooms : java.util.Collections.emptyList();
     }
+
+    log.warn(
+        "Failed to get joined rooms for user {}: {}", principalForLog, response.getStatusCode());
+    return java.util.Collections.emptyList();
   }
 
   /**
@@ -33,6 +33,38 @@ public class MatrixConfig {
    */
   private long presenceActiveThresholdMs = 300_000L;
 
+  /**
+   * How long a Matrix access token minted for a user via the admin API is reused for server-side
+   * operations before a new one is requested. Must stay below the validity of the minted tokens (10
+   * minutes). Defaults to 8 minutes.
+   */
+  private long userTokenCacheTtlMs = 480_000L;
+
+  /** Maximum number of Matrix users whose access tokens are cached at the same time. */
+  private int userTokenCacheMaxSize = 10_000;
+
+  /**
+   * How long the node running the admin /sync loop keeps its lease without renewing it. The lease
+   * is renewed before every sync request, so it must exceed the long-poll timeout of 30 seconds.
+   * Defaults to 90 seconds.
+   */
+  private long syncLeaseTtlMs = 90_000L;
+
+  /** How often a node without the sync lease checks whether it can take over. */
+  private long syncLeaseRetryMs = 15_000L;
+
+  /** Number of threads sending the notifications for the messages received by the /sync loop. */
+  private int notificationWorkers = 4;
+
+  /**
+   * Maximum number of rooms with pending notifications. When it is reached, the /sync loop sends
+   * the notifications of the next room itself, so it only continues once the workers catch up.
+   */
+  private int notificationQueueCapacity = 1_000;
+
+  /** Maximum size of a single media download proxied from Synapse. Defaults to 100 MB. */
+  private long mediaDownloadMaxSizeBytes = 104_857_600L;
+
   /**
    * Gets the full API URL for a given endpoint.
    *
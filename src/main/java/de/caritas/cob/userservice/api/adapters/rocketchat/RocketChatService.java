@@ -60,6 +60,7 @@ import de.caritas.cob.userservice.api.service.LogService;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -925,6 +926,19 @@ public class RocketChatService implements MessageClient {
    */
   public List<SubscriptionsUpdateDTO> getSubscriptionsOfUser(
       RocketChatCredentials rocketChatCredentials) {
+    return asList(getSubscriptionsOfUser(rocketChatCredentials, null).getUpdate());
+  }
+
+  /**
+   * Returns the subscriptions for the given user id which were updated or removed after the given
+   * date.
+   *
+   * @param rocketChatCredentials {@link RocketChatCredentials}
+   * @param updatedSince the date of the last known update, null to get all subscriptions
+   * @return the updated and removed subscriptions of the user
+   */
+  public SubscriptionsGetDTO getSubscriptionsOfUser(
+      RocketChatCredentials rocketChatCredentials, Date updatedSince) {
 
     ResponseEntity<SubscriptionsGetDTO> response;
 
@@ -932,7 +946,8 @@ public class RocketChatService implements MessageClient {
       var header = getStandardHttpHeaders(rocketChatCredentials);
       HttpEntity<Void> request = new HttpEntity<>(header);
 
-      var url = rocketChatConfig.getApiUrl(ENDPOINT_SUBSCRIPTION_GET);
+      var url =
+          withUpdatedSince(rocketChatConfig.getApiUrl(ENDPOINT_SUBSCRIPTION_GET), updatedSince);
       response = restTemplate.exchange(url, HttpMethod.GET, request, SubscriptionsGetDTO.class);
 
     } catch (HttpStatusCodeException ex) {
@@ -943,7 +958,7 @@ public class RocketChatService implements MessageClient {
     }
 
     if (response.getStatusCode() == HttpStatus.OK && nonNull(response.getBody())) {
-      return asList(response.getBody().getUpdate());
+      return response.getBody();
     } else {
       var error = "Could not get Rocket.Chat subscriptions for user id %s";
       throw new InternalServerErrorException(error, LogService::logRocketChatError);
@@ -985,13 +1000,25 @@ public class RocketChatService implements MessageClient {
    * @return the rooms for the user
    */
   public List<RoomsUpdateDTO> getRoomsOfUser(RocketChatCredentials rocketChatCredentials) {
+    return asList(getRoomsOfUser(rocketChatCredentials, null).getUpdate());
+  }
+
+  /**
+   * Returns the rooms for the given user id which were updated or removed after the given date.
+   *
+   * @param rocketChatCredentials {@link RocketChatCredentials}
+   * @param updatedSince the date of the last known update, null to get all rooms
+   * @return the updated and removed rooms of the user
+   */
+  public RoomsGetDTO getRoomsOfUser(
+      RocketChatCredentials rocketChatCredentials, Date updatedSince) {
 
     ResponseEntity<RoomsGetDTO> response;
 
     try {
       var header = getStandardHttpHeaders(rocketChatCredentials);
       HttpEntity<Void> request = new HttpEntity<>(header);
-      var url = rocketChatConfig.getApiUrl(ENDPOINT_ROOM_GET);
+      var url = withUpdatedSince(rocketChatConfig.getApiUrl(ENDPOINT_ROOM_GET), updatedSince);
       response = restTemplate.exchange(url, HttpMethod.GET, request, RoomsGetDTO.class);
 
     } catch (Exception ex) {
@@ -1002,7 +1029,7 @@ public class RocketChatService implements MessageClient {
     }
 
     if (response.getStatusCode() == HttpStatus.OK && nonNull(response.getBody())) {
-      return asList(response.getBody().getUpdate());
+      return response.getBody();
     } else {
       var error =
           String.format(CHAT_ROOM_ERROR_MESSAGE, rocketChatCredentials.getRocketChatUserId());
@@ -1010,6 +1037,10 @@ public class RocketChatService implements MessageClient {
     }
   }
 
+  private String withUpdatedSince(String url, Date updatedSince) {
+    return isNull(updatedSince) ? url : url + "?updatedSince=" + updatedSince.toInstant();
+  }
+
   /**
    * Returns the information of the given Rocket.Chat user.
    *
@@ -0,0 +1,25 @@
+package de.caritas.cob.userservice.api.adapters.rocketchat.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Record which was removed in Rocket.Chat, as returned in the remove list of get calls with the
+ * updatedSince parameter.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RemovedRecordDTO {
+
+  @JsonProperty("_id")
+  private String id;
+
+  @JsonProperty("_deletedAt")
+  private Date deletedAt;
+}
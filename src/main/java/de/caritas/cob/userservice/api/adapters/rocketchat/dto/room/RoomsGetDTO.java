@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.adapters.rocketchat.dto.room;
 
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.RemovedRecordDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,5 @@ public class RoomsGetDTO {
   private boolean success;
   private String status;
   private String message;
+  private RemovedRecordDTO[] remove;
 }
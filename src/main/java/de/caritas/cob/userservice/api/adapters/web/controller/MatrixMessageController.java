@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.adapters.web.controller;
 
+import de.caritas.cob.userservice.api.adapters.matrix.MatrixMediaDownload;
 import de.caritas.cob.userservice.api.adapters.matrix.MatrixSynapseService;
 import de.caritas.cob.userservice.api.helper.AuthenticatedUser;
 import de.caritas.cob.userservice.api.service.ChatService;
@@ -12,10 +13,14 @@ import java.util.Map;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /** Controller for Matrix messaging endpoints. */
 @RestController
@@ -348,16 +353,21 @@ public class MatrixMessageController {
 
   /**
    * Download a file from Matrix media repository. Uses admin access token since Matrix media should
-   * be accessible to authenticated users.
+   * be accessible to authenticated users. The file is streamed from Synapse to the client without
+   * being buffered; range requests are passed through, so partial content is answered with 206.
    *
    * @param serverName the Matrix server name
    * @param mediaId the media ID
-   * @return the file bytes
+   * @param range the optional HTTP range header
+   * @return the streamed file
    */
   @GetMapping("/media/download/{serverName}/{mediaId}")
-  public ResponseEntity<?> downloadFile(
-      @PathVariable String serverName, @PathVariable String mediaId) {
+  public ResponseEntity<StreamingResponseBody> downloadFile(
+      @PathVariable String serverName,
+      @PathVariable String mediaId,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
 
+    MatrixMediaDownload download = null;
     try {
       log.info(
           "📥 Download request for media: {}/{} by user: {}",
@@ -372,18 +382,52 @@ public class MatrixMessageController {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
       }
 
-      // Download file from Matrix
-      byte[] fileBytes = matrixSynapseService.downloadFile(serverName, mediaId, adminToken);
-
-      log.info("✅ File downloaded: {} bytes", fileBytes.length);
+      download = matrixSynapseService.openDownload(serverName, mediaId, adminToken, range);
+      if (download.exceedsSizeLimit()) {
+        log.warn(
+            "⚠️ Media {}/{} exceeds download limit: {} bytes",
+            serverName,
+            mediaId,
+            download.getContentLength());
+        download.close();
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+      }
 
-      return ResponseEntity.ok()
-          .header("Content-Disposition", "attachment")
-          .header("Content-Type", "application/octet-stream")
-          .body(fileBytes);
+      var headers = new HttpHeaders();
+      headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+      headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+      headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+      if (download.getContentLength() >= 0) {
+        headers.setContentLength(download.getContentLength());
+      }
+      var contentRange = download.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE);
+      if (contentRange != null) {
+        headers.set(HttpHeaders.CONTENT_RANGE, contentRange);
+      }
 
+      MatrixMediaDownload openDownload = download;
+      StreamingResponseBody body =
+          outputStream -> {
+            try (openDownload) {
+              long transferred = openDownload.transferTo(outputStream);
+              log.info("✅ File streamed: {} bytes", transferred);
+            }
+          };
+
+      return ResponseEntity.status(download.getStatusCode()).headers(headers).body(body);
+
+    } catch (RestClientResponseException e) {
+      log.warn("❌ Matrix refused download of {}/{}: {}", serverName, mediaId, e.getMessage());
+      var status = e.getRawStatusCode();
+      return status == HttpStatus.NOT_FOUND.value()
+              || status == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()
+          ? ResponseEntity.status(status).build()
+          : ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     } catch (Exception e) {
       log.error("❌ Error downloading file", e);
+      if (download != null) {
+        download.close();
+      }
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
   }
@@ -861,6 +861,7 @@ public class UserController implements UsersApi {
   public ResponseEntity<Void> sendNewMessageNotification(
       @RequestBody NewMessageNotificationDTO newMessageNotificationDTO) {
 
+    sessionService.updateLatestMessageDate(newMessageNotificationDTO.getRcGroupId());
     emailNotificationFacade.sendNewMessageNotification(
         newMessageNotificationDTO.getRcGroupId(),
         authenticatedUser.getRoles(),
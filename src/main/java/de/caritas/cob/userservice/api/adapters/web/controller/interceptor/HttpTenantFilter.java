@@ -36,6 +36,7 @@ public class HttpTenantFilter extends OncePerRequestFilter {
         "/actuator/health/**",
         "/actuator/loggers/**",
         "/actuator/loggers",
+        "/actuator/prometheus",
         "/swagger-ui.html",
         "/favicon.ico"
       };
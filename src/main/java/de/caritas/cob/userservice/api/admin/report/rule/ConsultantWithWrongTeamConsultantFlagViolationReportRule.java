@@ -1,17 +1,15 @@
 package de.caritas.cob.userservice.api.admin.report.rule;
 
+import static org.apache.commons.lang3.BooleanUtils.isTrue;
+
 import de.caritas.cob.userservice.agencyadminserivce.generated.web.model.AgencyAdminResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.admin.report.builder.ViolationByConsultantBuilder;
 import de.caritas.cob.userservice.api.admin.report.model.AgencyDependedViolationReportRule;
-import de.caritas.cob.userservice.api.admin.report.rule.analyzer.ConsultantAgencyAnalyzer;
 import de.caritas.cob.userservice.api.model.Consultant;
-import de.caritas.cob.userservice.api.model.ConsultantAgency;
-import de.caritas.cob.userservice.api.port.out.ConsultantAgencyRepository;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -22,7 +20,6 @@ import org.springframework.stereotype.Component;
 public class ConsultantWithWrongTeamConsultantFlagViolationReportRule
     extends AgencyDependedViolationReportRule {
 
-  private final @NonNull ConsultantAgencyRepository consultantAgencyRepository;
   private final @NonNull ConsultantRepository consultantRepository;
 
   /**
@@ -33,21 +30,19 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRule
    */
   @Override
   public List<ViolationDTO> generateViolations() {
+    List<Long> teamAgencyIds = retrieveAllTeamAgencies();
+    List<Consultant> violatedConsultants =
+        teamAgencyIds.isEmpty()
+            ? consultantRepository.findByTeamConsultantIsTrue()
+            : consultantRepository.findTeamConsultantsWithoutAgencyIn(teamAgencyIds);
 
-    List<ConsultantAgency> allConsultantAgencies =
-        StreamSupport.stream(consultantAgencyRepository.findAll().spliterator(), false)
-            .collect(Collectors.toList());
-
-    List<AgencyAdminResponseDTO> allAgencies =
-        super.getAllAgencies().parallelStream().collect(Collectors.toList());
-
-    ConsultantAgencyAnalyzer consultantAgencyAnalyzer =
-        new ConsultantAgencyAnalyzer(allConsultantAgencies, allAgencies);
+    return violatedConsultants.stream().map(this::fromConsultant).collect(Collectors.toList());
+  }
 
-    return StreamSupport.stream(consultantRepository.findAll().spliterator(), false)
-        .filter(Consultant::isTeamConsultant)
-        .filter(consultantAgencyAnalyzer::hasNoTeamAgencyAssigned)
-        .map(this::fromConsultant)
+  private List<Long> retrieveAllTeamAgencies() {
+    return super.getAllAgencies().stream()
+        .filter(agencyAdminResponseDTO -> isTrue(agencyAdminResponseDTO.getTeamAgency()))
+        .map(AgencyAdminResponseDTO::getId)
         .collect(Collectors.toList());
   }
 
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Component;
 
 /** Violation rule to find consultants with deleted agency relation. */
@@ -20,6 +21,8 @@ import org.springframework.stereotype.Component;
 public class InvalidAgencyForConsultantViolationReportRule
     extends AgencyDependedViolationReportRule {
 
+  private static final int AGENCY_ID_PAGE_SIZE = 500;
+
   private final @NonNull ConsultantAgencyRepository consultantAgencyRepository;
 
   /**
@@ -29,8 +32,8 @@ public class InvalidAgencyForConsultantViolationReportRule
    */
   @Override
   public List<ViolationDTO> generateViolations() {
-    return retrieveAllDeletedAgencies().stream()
-        .map(consultantAgencyRepository::findByAgencyIdAndDeleteDateIsNull)
+    return ListUtils.partition(retrieveAllDeletedAgencies(), AGENCY_ID_PAGE_SIZE).stream()
+        .map(consultantAgencyRepository::findByAgencyIdInAndDeleteDateIsNull)
         .flatMap(Collection::stream)
         .map(this::fromConsultantAgency)
         .collect(Collectors.toList());
@@ -1,7 +1,5 @@
 package de.caritas.cob.userservice.api.admin.report.rule;
 
-import static org.apache.commons.collections4.CollectionUtils.isEmpty;
-
 import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.admin.report.builder.ViolationByConsultantBuilder;
 import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
@@ -9,7 +7,6 @@ import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -28,8 +25,7 @@ public class MissingAgencyForConsultantViolationReportRule implements ViolationR
    */
   @Override
   public List<ViolationDTO> generateViolations() {
-    return StreamSupport.stream(this.consultantRepository.findAll().spliterator(), false)
-        .filter(consultant -> isEmpty(consultant.getConsultantAgencies()))
+    return this.consultantRepository.findWithoutConsultantAgency().stream()
         .map(this::fromConsultant)
         .collect(Collectors.toList());
   }
@@ -13,15 +13,16 @@ import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Violation rule to find consultants without necessary rocket chat room for directly assigned
@@ -35,59 +36,81 @@ public class MissingRocketChatRoomForConsultantViolationReportRule implements Vi
   private final @NonNull SessionRepository sessionRepository;
   private final @NonNull RocketChatService rocketChatService;
 
+  @Value("${violation.report.consultant.batchSize:100}")
+  private int batchSize;
+
   /**
    * Generates all violations for {@link Consultant} without required rocket chat room assignment.
    *
+   * <p>Only consultants with sessions in progress are read, in batches of the configured size, and
+   * the Rocket.Chat rooms are requested once per consultant instead of once per session. No
+   * transaction spans the batches, so the entities of a batch are released once it is checked and
+   * no database connection is held while Rocket.Chat is requested.
+   *
    * @return the generated violations
    */
   @Override
-  @Transactional
   public List<ViolationDTO> generateViolations() {
-    return StreamSupport.stream(this.consultantRepository.findAll().spliterator(), false)
-        .map(
-            consultant ->
-                this.sessionRepository.findByConsultantAndStatus(
-                    consultant, SessionStatus.IN_PROGRESS))
-        .flatMap(Collection::stream)
-        .map(this::fromMissingSession)
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
+    List<ViolationDTO> violations = new ArrayList<>();
+    String afterId = "";
+    List<Consultant> consultants;
+    do {
+      consultants =
+          this.consultantRepository.findWithSessionsInStatus(
+              SessionStatus.IN_PROGRESS, afterId, PageRequest.of(0, batchSize));
+      if (consultants.isEmpty()) {
+        break;
+      }
+      violations.addAll(findViolations(consultants));
+      afterId = consultants.get(consultants.size() - 1).getId();
+    } while (consultants.size() == batchSize);
+    return violations;
   }
 
-  private ViolationDTO fromMissingSession(Session session) {
+  private List<ViolationDTO> findViolations(List<Consultant> consultants) {
+    Map<String, List<Session>> sessionsByConsultantId =
+        this.sessionRepository
+            .findByConsultantInAndStatus(consultants, SessionStatus.IN_PROGRESS)
+            .stream()
+            .collect(Collectors.groupingBy(session -> session.getConsultant().getId()));
+
+    List<ViolationDTO> violations = new ArrayList<>();
+    for (Consultant consultant : consultants) {
+      List<Session> sessions = sessionsByConsultantId.get(consultant.getId());
+      if (sessions != null) {
+        violations.addAll(fromMissingSessions(consultant, sessions));
+      }
+    }
+    return violations;
+  }
+
+  private List<ViolationDTO> fromMissingSessions(Consultant consultant, List<Session> sessions) {
     UserInfoResponseDTO userInfoWithRooms;
     try {
-      userInfoWithRooms =
-          this.rocketChatService.getUserInfo(session.getConsultant().getRocketChatId());
+      userInfoWithRooms = this.rocketChatService.getUserInfo(consultant.getRocketChatId());
     } catch (Exception e) {
-      return ViolationByConsultantBuilder.getInstance(session.getConsultant())
-          .withReason(e.getCause().getMessage())
-          .build();
+      return sessions.stream()
+          .map(session -> fromConsultant(consultant, e.getCause().getMessage()))
+          .collect(Collectors.toList());
     }
     List<UserRoomDTO> rooms = userInfoWithRooms.getUser().getRooms();
-    List<String> rocketChatRoomsOfUser =
-        rooms.stream().map(UserRoomDTO::getRoomId).collect(Collectors.toList());
+    Set<String> rocketChatRoomsOfUser =
+        rooms.stream().map(UserRoomDTO::getRoomId).collect(Collectors.toSet());
 
-    String violationMessage = buildPossibleViolationMessage(session, rocketChatRoomsOfUser);
-    if (isNotBlank(violationMessage)) {
-      return ViolationByConsultantBuilder.getInstance(session.getConsultant())
-          .withReason(violationMessage)
-          .build();
-    }
-    return null;
+    return sessions.stream()
+        .filter(session -> isGroupMissing(session.getGroupId(), rocketChatRoomsOfUser))
+        .map(
+            session ->
+                fromConsultant(
+                    consultant, "Missing room with id " + session.getGroupId() + " in rocket chat"))
+        .collect(Collectors.toList());
   }
 
-  private String buildPossibleViolationMessage(
-      Session session, List<String> rocketChatRoomsOfUser) {
-    String violationMessage = "";
-
-    if (isGroupMissing(session.getGroupId(), rocketChatRoomsOfUser)) {
-      violationMessage += "Missing room with id " + session.getGroupId() + " in rocket chat";
-    }
-    return violationMessage;
+  private ViolationDTO fromConsultant(Consultant consultant, String reason) {
+    return ViolationByConsultantBuilder.getInstance(consultant).withReason(reason).build();
   }
 
-  private boolean isGroupMissing(String groupId, List<String> rocketChatRooms) {
+  private boolean isGroupMissing(String groupId, Set<String> rocketChatRooms) {
     return isNotBlank(groupId) && !rocketChatRooms.contains(groupId);
   }
 }
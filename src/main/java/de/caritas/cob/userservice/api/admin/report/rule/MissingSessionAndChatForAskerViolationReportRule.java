@@ -1,16 +1,13 @@
 package de.caritas.cob.userservice.api.admin.report.rule;
 
 import static de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO.ViolationTypeEnum.ASKER;
-import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 
 import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
 import de.caritas.cob.userservice.api.model.User;
-import de.caritas.cob.userservice.api.port.out.UserAgencyRepository;
 import de.caritas.cob.userservice.api.port.out.UserRepository;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -21,7 +18,6 @@ import org.springframework.stereotype.Component;
 public class MissingSessionAndChatForAskerViolationReportRule implements ViolationReportRule {
 
   private final @NonNull UserRepository userRepository;
-  private final @NonNull UserAgencyRepository userAgencyRepository;
 
   /**
    * Generates all violations for {@link User} without session or chat assignment.
@@ -30,16 +26,11 @@ public class MissingSessionAndChatForAskerViolationReportRule implements Violati
    */
   @Override
   public List<ViolationDTO> generateViolations() {
-    return StreamSupport.stream(this.userRepository.findAll().spliterator(), false)
-        .filter(this::withoutSessionAndChat)
+    return this.userRepository.findWithoutSessionAndUserAgency().stream()
         .map(this::fromUser)
         .collect(Collectors.toList());
   }
 
-  private boolean withoutSessionAndChat(User user) {
-    return isEmpty(user.getSessions()) && isEmpty(this.userAgencyRepository.findByUser(user));
-  }
-
   private ViolationDTO fromUser(User user) {
     return new ViolationDTO()
         .identifier(user.getUserId())
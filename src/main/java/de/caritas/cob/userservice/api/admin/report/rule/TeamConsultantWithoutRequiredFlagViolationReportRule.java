@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Component;
 
 /** Violation rule to find team consultants with missing flag is_team_consultant. */
@@ -22,6 +23,8 @@ import org.springframework.stereotype.Component;
 public class TeamConsultantWithoutRequiredFlagViolationReportRule
     extends AgencyDependedViolationReportRule {
 
+  private static final int AGENCY_ID_PAGE_SIZE = 500;
+
   private final @NonNull ConsultantAgencyRepository consultantAgencyRepository;
 
   /**
@@ -32,14 +35,18 @@ public class TeamConsultantWithoutRequiredFlagViolationReportRule
    */
   @Override
   public List<ViolationDTO> generateViolations() {
-    return retrieveAllTeamAgencies().stream()
-        .map(consultantAgencyRepository::findByAgencyIdAndDeleteDateIsNull)
+    return ListUtils.partition(retrieveAllTeamAgencies(), AGENCY_ID_PAGE_SIZE).stream()
+        .map(this::findConsultantAgenciesOfNonTeamConsultants)
         .flatMap(Collection::stream)
-        .filter(consultantAgency -> !consultantAgency.getConsultant().isTeamConsultant())
         .map(this::fromConsultantAgency)
         .collect(Collectors.toList());
   }
 
+  private List<ConsultantAgency> findConsultantAgenciesOfNonTeamConsultants(List<Long> agencyIds) {
+    return consultantAgencyRepository
+        .findByAgencyIdInAndConsultantTeamConsultantIsFalseAndDeleteDateIsNull(agencyIds);
+  }
+
   private List<Long> retrieveAllTeamAgencies() {
     return super.getAllAgencies().stream()
         .filter(agencyAdminResponseDTO -> isTrue(agencyAdminResponseDTO.getTeamAgency()))
@@ -9,16 +9,15 @@ import de.caritas.cob.userservice.api.admin.report.model.ViolationReportRule;
 import de.caritas.cob.userservice.api.admin.report.registry.ViolationRuleRegistry;
 import de.caritas.cob.userservice.api.admin.service.agency.AgencyAdminService;
 import io.swagger.util.Json;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.time.format.DateTimeFormatter;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -38,26 +37,35 @@ public class ViolationReportGenerator {
   /**
    * Generates a list of all located known violations.
    *
+   * <p>The violations of each rule are appended to the report file as soon as the rule is
+   * evaluated, one JSON object per line, so the report is written while it is generated.
+   *
    * @return all found {@link ViolationDTO} objects
    */
   @SneakyThrows
   public List<ViolationDTO> generateReport() {
     List<AgencyAdminResponseDTO> allAgencies = this.agencyAdminService.retrieveAllAgencies();
-    List<ViolationDTO> violations =
-        this.violationRuleRegistry.getViolationReportRules(allAgencies).stream()
-            .map(ViolationReportRule::generateViolations)
-            .flatMap(Collection::parallelStream)
-            .collect(Collectors.toList());
+    List<ViolationDTO> violations = new ArrayList<>();
 
-    String violationJson = Json.pretty().writeValueAsString(violations);
-    Files.write(
-        buildFilePath(), violationJson.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE);
+    try (BufferedWriter reportWriter =
+        Files.newBufferedWriter(buildFilePath(), StandardCharsets.UTF_8)) {
+      for (ViolationReportRule rule :
+          this.violationRuleRegistry.getViolationReportRules(allAgencies)) {
+        List<ViolationDTO> ruleViolations = rule.generateViolations();
+        for (ViolationDTO violation : ruleViolations) {
+          reportWriter.write(Json.mapper().writeValueAsString(violation));
+          reportWriter.write('\n');
+        }
+        reportWriter.flush();
+        violations.addAll(ruleViolations);
+      }
+    }
 
     return violations;
   }
 
   private Path buildFilePath() throws IOException {
-    String path = VIOLATION_REPORT_BASE_PATH + nowInUtc().format(DATE_TIME_FORMAT) + ".json";
+    String path = VIOLATION_REPORT_BASE_PATH + nowInUtc().format(DATE_TIME_FORMAT) + ".ndjson";
     if (!Paths.get(path).getParent().toFile().exists()) {
       Files.createDirectory(Paths.get(path).getParent());
     }
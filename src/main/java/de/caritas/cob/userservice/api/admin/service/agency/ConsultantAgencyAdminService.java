@@ -189,7 +189,9 @@ public class ConsultantAgencyAdminService {
   }
 
   private boolean noOtherTeamAgency(Consultant consultant, Long agencyId) {
-    return consultant.getConsultantAgencies().stream()
+    return consultantAgencyRepository
+        .findByConsultantIdAndDeleteDateIsNull(consultant.getId())
+        .stream()
         .map(this::toAgencyDto)
         .filter(agencyDTO -> !agencyId.equals(agencyDTO.getId()))
         .noneMatch(AgencyDTO::getTeamAgency);
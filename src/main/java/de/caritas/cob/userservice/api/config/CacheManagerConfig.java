@@ -21,6 +21,10 @@ public class CacheManagerConfig {
   public static final String TOPICS_CACHE = "topicsCache";
 
   public static final String ROCKET_CHAT_USER_CACHE = "rocketChatUserCache";
+  public static final String ROCKET_CHAT_ROOMS_CACHE = "rocketChatRoomsCache";
+
+  public static final String MATRIX_ROOM_CACHE = "matrixRoomCache";
+  public static final String MATRIX_UNKNOWN_ROOM_CACHE = "matrixUnknownRoomCache";
 
   @Value("${cache.agencies.configuration.maxEntriesLocalHeap}")
   private long agenciesMaxEntriesLocalHeap;
@@ -94,6 +98,42 @@ public class CacheManagerConfig {
   @Value("${cache.rocketchat.configuration.timeToLiveSeconds}")
   private long rocketchatCacheTimeToLiveSeconds;
 
+  @Value("${cache.rocketchat.rooms.configuration.maxEntriesLocalHeap}")
+  private long rocketchatRoomsMaxEntriesLocalHeap;
+
+  @Value("${cache.rocketchat.rooms.configuration.eternal}")
+  private boolean rocketchatRoomsEternal;
+
+  @Value("${cache.rocketchat.rooms.configuration.timeToIdleSeconds}")
+  private long rocketchatRoomsTimeToIdleSeconds;
+
+  @Value("${cache.rocketchat.rooms.configuration.timeToLiveSeconds}")
+  private long rocketchatRoomsTimeToLiveSeconds;
+
+  @Value("${cache.matrix.rooms.configuration.maxEntriesLocalHeap}")
+  private long matrixRoomsMaxEntriesLocalHeap;
+
+  @Value("${cache.matrix.rooms.configuration.eternal}")
+  private boolean matrixRoomsEternal;
+
+  @Value("${cache.matrix.rooms.configuration.timeToIdleSeconds}")
+  private long matrixRoomsTimeToIdleSeconds;
+
+  @Value("${cache.matrix.rooms.configuration.timeToLiveSeconds}")
+  private long matrixRoomsTimeToLiveSeconds;
+
+  @Value("${cache.matrix.unknown.rooms.configuration.maxEntriesLocalHeap}")
+  private long matrixUnknownRoomsMaxEntriesLocalHeap;
+
+  @Value("${cache.matrix.unknown.rooms.configuration.eternal}")
+  private boolean matrixUnknownRoomsEternal;
+
+  @Value("${cache.matrix.unknown.rooms.configuration.timeToIdleSeconds}")
+  private long matrixUnknownRoomsTimeToIdleSeconds;
+
+  @Value("${cache.matrix.unknown.rooms.configuration.timeToLiveSeconds}")
+  private long matrixUnknownRoomsTimeToLiveSeconds;
+
   @Bean
   public CacheManager cacheManager() {
     return new EhCacheCacheManager(ehCacheManager());
@@ -110,6 +150,10 @@ public class CacheManagerConfig {
     config.addCache(buildApplicationSettingsCacheConfiguration());
 
     config.addCache(buildRocketchatUserCacheConfiguration());
+    config.addCache(buildRocketchatRoomsCacheConfiguration());
+
+    config.addCache(buildMatrixRoomCacheConfiguration());
+    config.addCache(buildMatrixUnknownRoomCacheConfiguration());
     return net.sf.ehcache.CacheManager.newInstance(config);
   }
 
@@ -182,4 +226,35 @@ public class CacheManagerConfig {
     rocketchatCacheConfiguration.setTimeToLiveSeconds(rocketchatCacheTimeToLiveSeconds);
     return rocketchatCacheConfiguration;
   }
+
+  private CacheConfiguration buildRocketchatRoomsCacheConfiguration() {
+    var rocketchatRoomsCacheConfiguration = new CacheConfiguration();
+    rocketchatRoomsCacheConfiguration.setName(ROCKET_CHAT_ROOMS_CACHE);
+    rocketchatRoomsCacheConfiguration.setMaxEntriesLocalHeap(rocketchatRoomsMaxEntriesLocalHeap);
+    rocketchatRoomsCacheConfiguration.setEternal(rocketchatRoomsEternal);
+    rocketchatRoomsCacheConfiguration.setTimeToIdleSeconds(rocketchatRoomsTimeToIdleSeconds);
+    rocketchatRoomsCacheConfiguration.setTimeToLiveSeconds(rocketchatRoomsTimeToLiveSeconds);
+    return rocketchatRoomsCacheConfiguration;
+  }
+
+  private CacheConfiguration buildMatrixRoomCacheConfiguration() {
+    var matrixRoomCacheConfiguration = new CacheConfiguration();
+    matrixRoomCacheConfiguration.setName(MATRIX_ROOM_CACHE);
+    matrixRoomCacheConfiguration.setMaxEntriesLocalHeap(matrixRoomsMaxEntriesLocalHeap);
+    matrixRoomCacheConfiguration.setEternal(matrixRoomsEternal);
+    matrixRoomCacheConfiguration.setTimeToIdleSeconds(matrixRoomsTimeToIdleSeconds);
+    matrixRoomCacheConfiguration.setTimeToLiveSeconds(matrixRoomsTimeToLiveSeconds);
+    return matrixRoomCacheConfiguration;
+  }
+
+  private CacheConfiguration buildMatrixUnknownRoomCacheConfiguration() {
+    var matrixUnknownRoomCacheConfiguration = new CacheConfiguration();
+    matrixUnknownRoomCacheConfiguration.setName(MATRIX_UNKNOWN_ROOM_CACHE);
+    matrixUnknownRoomCacheConfiguration.setMaxEntriesLocalHeap(
+        matrixUnknownRoomsMaxEntriesLocalHeap);
+    matrixUnknownRoomCacheConfiguration.setEternal(matrixUnknownRoomsEternal);
+    matrixUnknownRoomCacheConfiguration.setTimeToIdleSeconds(matrixUnknownRoomsTimeToIdleSeconds);
+    matrixUnknownRoomCacheConfiguration.setTimeToLiveSeconds(matrixUnknownRoomsTimeToLiveSeconds);
+    return matrixUnknownRoomCacheConfiguration;
+  }
 }
@@ -0,0 +1,80 @@
+package de.caritas.cob.userservice.api.config;
+
+import static java.util.Objects.nonNull;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the tags of the {@code http.client.requests} metrics of all {@link
+ * org.springframework.web.client.RestTemplate}s built by the {@link
+ * org.springframework.boot.web.client.RestTemplateBuilder}.
+ *
+ * <p>The generated API clients and the Rocket.Chat and Matrix adapters send already expanded
+ * urls, so the default {@code uri} tag would contain user, room and session ids. Host, query
+ * string and id-like path segments are therefore removed from the {@code uri} tag. The {@code
+ * clientName} tag holds the host, which identifies the downstream service.
+ */
+@Component
+public class NormalizedUriRestTemplateExchangeTagsProvider
+    implements RestTemplateExchangeTagsProvider {
+
+  static final String ID_PLACEHOLDER = "{id}";
+
+  private static final String PATH_SEPARATOR = "/";
+  private static final Pattern SCHEME_AND_AUTHORITY =
+      Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/]*");
+  private static final Pattern NUMERIC_ID = Pattern.compile("\\d+");
+  private static final Pattern UUID =
+      Pattern.compile("[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}");
+  private static final Pattern MATRIX_ID = Pattern.compile("([!@$#+]|%21|%40|%24|%23).+");
+  private static final Pattern GENERATED_ID = Pattern.compile("(?=[\\w-]*\\d)[\\w-]{10,}");
+
+  @Override
+  public Iterable<Tag> getTags(
+      String urlTemplate, HttpRequest request, ClientHttpResponse response) {
+    var uri = nonNull(urlTemplate) ? urlTemplate : request.getURI().getRawPath();
+    return Tags.of(
+        RestTemplateExchangeTags.method(request),
+        RestTemplateExchangeTags.uri(normalize(uri)),
+        RestTemplateExchangeTags.status(response),
+        RestTemplateExchangeTags.clientName(request),
+        RestTemplateExchangeTags.outcome(response));
+  }
+
+  /**
+   * Removes scheme, host and query string of the given uri and replaces all path segments looking
+   * like an id by {@link #ID_PLACEHOLDER}. Template variables like {@code {roomId}} are kept.
+   *
+   * @param uri the uri or uri template of the request
+   * @return the normalized path
+   */
+  String normalize(String uri) {
+    if (nonNull(uri) && !uri.isBlank()) {
+      var path = SCHEME_AND_AUTHORITY.matcher(uri).replaceFirst("");
+      var queryStart = path.indexOf('?');
+      if (queryStart >= 0) {
+        path = path.substring(0, queryStart);
+      }
+      return Arrays.stream(path.split(PATH_SEPARATOR, -1))
+          .map(segment -> isId(segment) ? ID_PLACEHOLDER : segment)
+          .collect(Collectors.joining(PATH_SEPARATOR));
+    }
+    return uri;
+  }
+
+  private boolean isId(String segment) {
+    return NUMERIC_ID.matcher(segment).matches()
+        || UUID.matcher(segment).matches()
+        || MATRIX_ID.matcher(segment).matches()
+        || GENERATED_ID.matcher(segment).matches();
+  }
+}
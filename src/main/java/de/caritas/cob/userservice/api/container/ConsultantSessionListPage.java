@@ -0,0 +1,18 @@
+package de.caritas.cob.userservice.api.container;
+
+import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponseDTO;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The sessions and chats on the requested page of a consultant's session list, together with the
+ * total number of entries of the complete list.
+ */
+@Getter
+@Builder
+public class ConsultantSessionListPage {
+
+  private List<ConsultantSessionResponseDTO> sessions;
+  private long total;
+}
@@ -1,15 +1,19 @@
 package de.caritas.cob.userservice.api.container;
 
+import static java.util.Objects.isNull;
+
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
-@Builder
 public class RocketChatRoomInformation {
 
   private final Map<String, Boolean> readMessages;
@@ -17,4 +21,50 @@ public class RocketChatRoomInformation {
   private final List<String> userRooms;
   private final Map<String, RoomsLastMessageDTO> lastMessagesRoom;
   private final Map<String, Date> groupIdToLastMessageFallbackDate;
+
+  @Getter(AccessLevel.NONE)
+  private final Map<String, RoomsUpdateDTO> roomsForUpdateById;
+
+  /**
+   * Creates the room information and indexes the rooms for update by room id. If a room id occurs
+   * more than once, the first room wins.
+   */
+  @Builder
+  private RocketChatRoomInformation(
+      Map<String, Boolean> readMessages,
+      List<RoomsUpdateDTO> roomsForUpdate,
+      List<String> userRooms,
+      Map<String, RoomsLastMessageDTO> lastMessagesRoom,
+      Map<String, Date> groupIdToLastMessageFallbackDate) {
+    this.readMessages = readMessages;
+    this.roomsForUpdate = roomsForUpdate;
+    this.userRooms = userRooms;
+    this.lastMessagesRoom = lastMessagesRoom;
+    this.groupIdToLastMessageFallbackDate = groupIdToLastMessageFallbackDate;
+    this.roomsForUpdateById = indexById(roomsForUpdate);
+  }
+
+  /**
+   * Returns the room of {@link #getRoomsForUpdate()} with the given id. The lookup uses an index
+   * built once together with this object, so enriching a list of sessions does not scan all rooms
+   * for every session.
+   *
+   * @param roomId the Rocket.Chat room id
+   * @return an {@link Optional} of the {@link RoomsUpdateDTO}
+   */
+  public Optional<RoomsUpdateDTO> findRoomForUpdate(String roomId) {
+    if (isNull(roomsForUpdateById) || isNull(roomId)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(roomsForUpdateById.get(roomId));
+  }
+
+  private static Map<String, RoomsUpdateDTO> indexById(List<RoomsUpdateDTO> roomsForUpdate) {
+    if (isNull(roomsForUpdate)) {
+      return null;
+    }
+    Map<String, RoomsUpdateDTO> roomsById = new HashMap<>(roomsForUpdate.size() * 2);
+    roomsForUpdate.forEach(room -> roomsById.putIfAbsent(room.getId(), room));
+    return roomsById;
+  }
 }
@@ -1,7 +1,6 @@
 package de.caritas.cob.userservice.api.conversation.provider;
 
 import static de.caritas.cob.userservice.api.conversation.model.ConversationListType.ANONYMOUS_ENQUIRY;
-import static de.caritas.cob.userservice.api.model.Session.RegistrationType.ANONYMOUS;
 
 import de.caritas.cob.userservice.api.adapters.web.dto.AgencyDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionListResponseDTO;
@@ -10,16 +9,12 @@ import de.caritas.cob.userservice.api.conversation.model.ConversationListType;
 import de.caritas.cob.userservice.api.conversation.model.PageableListRequest;
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.ConsultantAgency;
-import de.caritas.cob.userservice.api.model.Session;
-import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.port.out.ConsultantTopicRepository;
-import de.caritas.cob.userservice.api.port.out.SessionRepository;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
-import de.caritas.cob.userservice.api.service.session.SessionMapper;
+import de.caritas.cob.userservice.api.service.session.SessionService;
 import de.caritas.cob.userservice.api.service.sessionlist.ConsultantSessionEnricher;
 import de.caritas.cob.userservice.api.service.user.UserAccountService;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -36,7 +31,7 @@ import org.springframework.stereotype.Service;
 public class AnonymousEnquiryConversationListProvider implements ConversationListProvider {
 
   private final @NonNull UserAccountService userAccountProvider;
-  private final @NonNull SessionRepository sessionRepository;
+  private final @NonNull SessionService sessionService;
   private final @NonNull AgencyService agencyService;
   private final @NonNull ConsultantSessionEnricher consultantSessionEnricher;
   private final @NonNull ConsultantTopicRepository consultantTopicRepository;
@@ -53,13 +48,14 @@ public class AnonymousEnquiryConversationListProvider implements ConversationLis
     List<Long> consultantTopicIds =
         consultantTopicRepository.findTopicIdsByConsultantId(consultant.getId());
 
-    Page<Session> anonymousSessionsOfConsultant =
-        queryForRelevantSessions(pageableListRequest, relatedConsultingTypes, consultantTopicIds);
-
-    List<ConsultantSessionResponseDTO> sessions =
-        anonymousSessionsOfConsultant.stream()
-            .map(session -> new SessionMapper().toConsultantSessionDto(session))
-            .collect(Collectors.toList());
+    Page<ConsultantSessionResponseDTO> anonymousSessionsOfConsultant =
+        sessionService.getAnonymousEnquiriesForConsultant(
+            relatedConsultingTypes,
+            consultantTopicIds,
+            LocalDateTime.now().minusMinutes(liveChatQueueActivePeriodMinutes),
+            PageRequest.of(
+                obtainPageByOffsetAndCount(pageableListRequest), pageableListRequest.getCount()));
+    List<ConsultantSessionResponseDTO> sessions = anonymousSessionsOfConsultant.getContent();
 
     this.consultantSessionEnricher.updateRequiredConsultantSessionValues(
         sessions, pageableListRequest.getRcToken(), consultant);
@@ -81,28 +77,6 @@ public class AnonymousEnquiryConversationListProvider implements ConversationLis
         .collect(Collectors.toSet());
   }
 
-  private Page<Session> queryForRelevantSessions(
-      PageableListRequest pageableListRequest,
-      Set<Integer> relatedConsultingTypes,
-      List<Long> consultantTopicIds) {
-    var requestedPage = obtainPageByOffsetAndCount(pageableListRequest);
-    var pageable = PageRequest.of(requestedPage, pageableListRequest.getCount());
-    var minUpdateDate = LocalDateTime.now().minusMinutes(liveChatQueueActivePeriodMinutes);
-
-    if (consultantTopicIds == null || consultantTopicIds.isEmpty()) {
-      return this.sessionRepository.findAnonymousEnquiriesVisibleForConsultantsWithoutTopic(
-          relatedConsultingTypes, SessionStatus.NEW, minUpdateDate, ANONYMOUS, pageable);
-    }
-
-    return this.sessionRepository.findAnonymousEnquiriesVisibleForConsultantsByTopics(
-        relatedConsultingTypes,
-        new HashSet<>(consultantTopicIds),
-        SessionStatus.NEW,
-        minUpdateDate,
-        ANONYMOUS,
-        pageable);
-  }
-
   /** {@inheritDoc} */
   @Override
   public ConversationListType providedType() {
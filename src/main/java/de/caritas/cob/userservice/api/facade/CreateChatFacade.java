@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.facade;
 
+import static de.caritas.cob.userservice.api.helper.CustomLocalDateTime.nowInUtc;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 
@@ -233,6 +234,8 @@ public class CreateChatFacade {
     LocalDateTime now = LocalDateTime.now();
     session.setCreateDate(now);
     session.setUpdateDate(now);
+    // The session list is ordered by latest message date, which is kept in UTC.
+    session.setLatestMessageDate(nowInUtc());
 
     // Save session to database first
     session = sessionService.saveSession(session);
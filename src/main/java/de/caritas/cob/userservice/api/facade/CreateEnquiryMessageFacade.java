@@ -360,6 +360,7 @@ public class CreateEnquiryMessageFacade {
       session.setGroupId(rcGroupId);
       session.setStatus(SessionStatus.NEW);
       session.setEnquiryMessageDate(nowInUtc());
+      session.setLatestMessageDate(session.getEnquiryMessageDate());
       if (nonNull(language)) {
         session.setLanguageCode(LanguageCode.getByCode(language));
       }
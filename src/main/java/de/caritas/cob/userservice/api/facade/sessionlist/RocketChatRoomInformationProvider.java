@@ -7,7 +7,6 @@ import static java.util.Objects.requireNonNull;
 
 import de.caritas.cob.userservice.api.adapters.matrix.MatrixSynapseService;
 import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatCredentials;
-import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsLastMessageDTO;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.subscriptions.SubscriptionsUpdateDTO;
@@ -24,15 +23,15 @@ import org.springframework.stereotype.Component;
 @Component
 public class RocketChatRoomInformationProvider {
 
-  private final RocketChatService rocketChatService;
+  private final RocketChatUserRoomsCache rocketChatUserRoomsCache;
   private final MatrixSynapseService matrixSynapseService;
   private final ConsultantRepository consultantRepository;
 
   public RocketChatRoomInformationProvider(
-      RocketChatService rocketChatService,
+      RocketChatUserRoomsCache rocketChatUserRoomsCache,
       MatrixSynapseService matrixSynapseService,
       ConsultantRepository consultantRepository) {
-    this.rocketChatService = requireNonNull(rocketChatService);
+    this.rocketChatUserRoomsCache = requireNonNull(rocketChatUserRoomsCache);
     this.matrixSynapseService = requireNonNull(matrixSynapseService);
     this.consultantRepository = requireNonNull(consultantRepository);
   }
@@ -75,7 +74,7 @@ public class RocketChatRoomInformationProvider {
     try {
       if (nonNull(rocketChatCredentials.getRocketChatUserId())) {
         readMessages = buildMessagesWithReadInfo(rocketChatCredentials);
-        roomsForUpdate = rocketChatService.getRoomsOfUser(rocketChatCredentials);
+        roomsForUpdate = rocketChatUserRoomsCache.getRoomsOfUser(rocketChatCredentials);
         userRooms = roomsForUpdate.stream().map(RoomsUpdateDTO::getId).collect(Collectors.toList());
       }
     } catch (Exception e) {
@@ -201,7 +200,7 @@ public class RocketChatRoomInformationProvider {
       RocketChatCredentials rocketChatCredentials) {
 
     List<SubscriptionsUpdateDTO> subscriptions =
-        rocketChatService.getSubscriptionsOfUser(rocketChatCredentials);
+        rocketChatUserRoomsCache.getSubscriptionsOfUser(rocketChatCredentials);
 
     return subscriptions.stream()
         .collect(Collectors.toMap(SubscriptionsUpdateDTO::getRoomId, this::isMessageRead));
@@ -0,0 +1,186 @@
+package de.caritas.cob.userservice.api.facade.sessionlist;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatCredentials;
+import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.RemovedRecordDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.subscriptions.SubscriptionsUpdateDTO;
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of the Rocket.Chat subscriptions and rooms of a user.
+ *
+ * <p>The first read loads all subscriptions or rooms of the user. Following reads only ask
+ * Rocket.Chat for the records which were updated or removed since the latest known update and
+ * merge them into the cached ones. Every read writes the entry again, which resets its expiry, so
+ * everything is loaded again once the latest full load is older than the time to live of the
+ * cache. Each read still calls Rocket.Chat with the credentials of the user, so cached records are
+ * never returned for invalid credentials.
+ */
+@Component
+@RequiredArgsConstructor
+public class RocketChatUserRoomsCache {
+
+  private static final String SUBSCRIPTIONS = "subscriptions";
+  private static final String ROOMS = "rooms";
+
+  private final @NonNull RocketChatService rocketChatService;
+  private final @NonNull CacheManager cacheManager;
+
+  @Value("${cache.rocketchat.rooms.configuration.timeToLiveSeconds}")
+  private long timeToLiveSeconds;
+
+  /**
+   * Returns all subscriptions of the given user.
+   *
+   * @param rocketChatCredentials the Rocket.Chat credentials of the user
+   * @return the subscriptions of the user
+   */
+  public List<SubscriptionsUpdateDTO> getSubscriptionsOfUser(
+      RocketChatCredentials rocketChatCredentials) {
+    return getRecords(
+        rocketChatCredentials,
+        SUBSCRIPTIONS,
+        updatedSince -> {
+          var response =
+              rocketChatService.getSubscriptionsOfUser(rocketChatCredentials, updatedSince);
+          return new Changes<>(response.getUpdate(), response.getRemove());
+        },
+        SubscriptionsUpdateDTO::getRoomId,
+        SubscriptionsUpdateDTO::get_id,
+        SubscriptionsUpdateDTO::getUpdatedAt);
+  }
+
+  /**
+   * Returns all rooms of the given user.
+   *
+   * @param rocketChatCredentials the Rocket.Chat credentials of the user
+   * @return the rooms of the user
+   */
+  public List<RoomsUpdateDTO> getRoomsOfUser(RocketChatCredentials rocketChatCredentials) {
+    return getRecords(
+        rocketChatCredentials,
+        ROOMS,
+        updatedSince -> {
+          var response = rocketChatService.getRoomsOfUser(rocketChatCredentials, updatedSince);
+          return new Changes<>(response.getUpdate(), response.getRemove());
+        },
+        RoomsUpdateDTO::getId,
+        RoomsUpdateDTO::getId,
+        RoomsUpdateDTO::getUpdatedAt);
+  }
+
+  /**
+   * Subscriptions are cached by room id, as a user has one subscription per room, while the
+   * removed subscriptions are reported with their own id.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> List<T> getRecords(
+      RocketChatCredentials rocketChatCredentials,
+      String recordType,
+      Function<Date, Changes<T>> changesLoader,
+      Function<T, String> keyFunction,
+      Function<T, String> removalIdFunction,
+      Function<T, Date> updateDateFunction) {
+    var roomsCache = cacheManager.getCache(CacheManagerConfig.ROCKET_CHAT_ROOMS_CACHE);
+    var cacheKey = rocketChatCredentials.getRocketChatUserId() + ":" + recordType;
+    CachedRecords<T> cachedRecords =
+        isNull(roomsCache) ? null : roomsCache.get(cacheKey, CachedRecords.class);
+    if (nonNull(cachedRecords) && isFullLoadExpired(cachedRecords)) {
+      cachedRecords = null;
+    }
+    var updatedSince = isNull(cachedRecords) ? null : cachedRecords.getLatestUpdate();
+    var fullLoadTime = isNull(updatedSince) ? Instant.now() : cachedRecords.getFullLoadTime();
+
+    var changes = changesLoader.apply(updatedSince);
+    var records =
+        isNull(updatedSince)
+            ? changes.getUpdated()
+            : merge(cachedRecords.getRecords(), changes, keyFunction, removalIdFunction);
+    var latestUpdate =
+        Stream.concat(
+                Stream.of(updatedSince),
+                changes.getUpdated().stream().map(updateDateFunction))
+            .filter(Objects::nonNull)
+            .max(Date::compareTo)
+            .orElse(null);
+
+    if (nonNull(roomsCache)) {
+      roomsCache.put(cacheKey, new CachedRecords<>(records, latestUpdate, fullLoadTime));
+    }
+    return records;
+  }
+
+  private boolean isFullLoadExpired(CachedRecords<?> cachedRecords) {
+    return cachedRecords.getFullLoadTime().plusSeconds(timeToLiveSeconds).isBefore(Instant.now());
+  }
+
+  private <T> List<T> merge(
+      List<T> cachedRecords,
+      Changes<T> changes,
+      Function<T, String> keyFunction,
+      Function<T, String> removalIdFunction) {
+    var recordsByKey = new LinkedHashMap<String, T>();
+    cachedRecords.stream()
+        .filter(record -> !changes.getRemovedIds().contains(removalIdFunction.apply(record)))
+        .forEach(record -> recordsByKey.put(keyFunction.apply(record), record));
+    changes.getUpdated().forEach(record -> recordsByKey.put(keyFunction.apply(record), record));
+    return List.copyOf(recordsByKey.values());
+  }
+
+  @Getter
+  private static class Changes<T> {
+
+    private final List<T> updated;
+    private final Set<String> removedIds;
+
+    Changes(T[] updated, RemovedRecordDTO[] removed) {
+      this.updated = isNull(updated) ? Collections.emptyList() : Arrays.asList(updated);
+      this.removedIds =
+          isNull(removed)
+              ? Collections.emptySet()
+              : Arrays.stream(removed)
+                  .map(RemovedRecordDTO::getId)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toSet());
+    }
+  }
+
+  /**
+   * Records of one user together with the update date of the latest of them and the time they were
+   * last loaded completely.
+   */
+  @Getter
+  static class CachedRecords<T> {
+
+    private final List<T> records;
+    private final Date latestUpdate;
+    private final Instant fullLoadTime;
+
+    CachedRecords(List<T> records, Date latestUpdate, Instant fullLoadTime) {
+      this.records = Collections.unmodifiableList(records);
+      this.latestUpdate = latestUpdate;
+      this.fullLoadTime = fullLoadTime;
+    }
+  }
+}
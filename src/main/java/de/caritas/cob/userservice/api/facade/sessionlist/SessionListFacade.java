@@ -11,9 +11,9 @@ import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponse
 import de.caritas.cob.userservice.api.adapters.web.dto.GroupSessionListResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.UserSessionListResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.UserSessionResponseDTO;
+import de.caritas.cob.userservice.api.container.ConsultantSessionListPage;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.model.Consultant;
-import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.service.session.SessionMapper;
 import de.caritas.cob.userservice.api.service.session.SessionTopicEnrichmentService;
 import de.caritas.cob.userservice.api.service.sessionlist.ConsultantSessionListService;
@@ -223,32 +223,17 @@ public class SessionListFacade {
   public ConsultantSessionListResponseDTO retrieveSessionsDtoForAuthenticatedConsultant(
       Consultant consultant, SessionListQueryParameter sessionListQueryParameter) {
 
-    List<ConsultantSessionResponseDTO> consultantSessions =
+    ConsultantSessionListPage consultantSessionListPage =
         consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             consultant, sessionListQueryParameter);
-
-    /* Sort the session list by latest Rocket.Chat message if session is in progress (no enquiry).
-     * The latest answer is on top.
-     *
-     * Please note: Enquiry message sessions are being sorted by the repository (via
-     * SessionService). Here the latest enquiry message is on the bottom.
-     */
-    if (SessionStatus.isStatusValueInProgress(sessionListQueryParameter.getSessionStatus())) {
-      sortSessionsByLastMessageDateDesc(consultantSessions);
-    }
-
-    List<ConsultantSessionResponseDTO> consultantSessionsSublist = new ArrayList<>();
-    if (areMoreConsultantSessionsAvailable(
-        sessionListQueryParameter.getOffset(), consultantSessions)) {
-      consultantSessionsSublist =
-          retrieveConsultantSessionsSublist(sessionListQueryParameter, consultantSessions);
-    }
+    List<ConsultantSessionResponseDTO> consultantSessions =
+        consultantSessionListPage.getSessions();
 
     return new ConsultantSessionListResponseDTO()
-        .sessions(consultantSessionsSublist)
+        .sessions(consultantSessions)
         .offset(sessionListQueryParameter.getOffset())
-        .count(consultantSessionsSublist.size())
-        .total(consultantSessions.size());
+        .count(consultantSessions.size())
+        .total((int) consultantSessionListPage.getTotal());
   }
 
   private void enrichWithTopicData(List<ConsultantSessionResponseDTO> consultantSessionsSublist) {
@@ -322,11 +307,6 @@ public class SessionListFacade {
         .total(teamSessions.size());
   }
 
-  private void sortSessionsByLastMessageDateDesc(List<ConsultantSessionResponseDTO> sessions) {
-    sessions.sort(
-        comparing(ConsultantSessionResponseDTO::getLatestMessage, nullsLast(reverseOrder())));
-  }
-
   private boolean areMoreConsultantSessionsAvailable(
       int offset, List<ConsultantSessionResponseDTO> consultantSessions) {
     return CollectionUtils.isNotEmpty(consultantSessions) && offset < consultantSessions.size();
@@ -21,13 +21,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.SetUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientResponseException;
 
@@ -48,12 +46,14 @@ public class AskerDataProvider {
   private final @NonNull EmailNotificationMapper emailNotificationMapper;
 
   /**
-   * Retrieve the user data of an asker, e.g. username, email, name, ...
+   * Retrieve the user data of an asker, e.g. username, email, name, ... The sessions are loaded
+   * together with their session data, so no transaction is open while the agencies are requested.
    *
    * @param user a {@link User} instance
    * @return the user data
    */
   public UserDataResponseDTO retrieveData(User user) {
+    List<Session> sessionsByUser = sessionService.findSessionsByUser(user);
     var userDataResponseDTOBuilder =
         UserDataResponseDTO.builder()
             .userId(user.getUserId())
@@ -67,20 +67,19 @@ public class AskerDataProvider {
             .isInTeamAgency(false)
             .userRoles(authenticatedUser.getRoles())
             .grantedAuthorities(authenticatedUser.getGrantedAuthorities())
-            .consultingTypes(getConsultingTypes(user))
+            .consultingTypes(getConsultingTypes(user, sessionsByUser))
             .hasAnonymousConversations(false)
             .hasArchive(false)
             .dataPrivacyConfirmation(user.getDataPrivacyConfirmation())
             .termsAndConditionsConfirmation(user.getTermsAndConditionsConfirmation())
             .emailNotifications(emailNotificationMapper.toEmailNotificationsDTO(user));
 
-    enrichWithUserSessions(user, userDataResponseDTOBuilder);
+    enrichWithUserSessions(sessionsByUser, userDataResponseDTOBuilder);
     return userDataResponseDTOBuilder.build();
   }
 
   private void enrichWithUserSessions(
-      User user, UserDataResponseDTOBuilder userDataResponseDTOBuilder) {
-    List<Session> sessionsByUser = sessionService.findSessionsByUser(user);
+      List<Session> sessionsByUser, UserDataResponseDTOBuilder userDataResponseDTOBuilder) {
     if (CollectionUtils.isNotEmpty(sessionsByUser)) {
       SessionMapper sessionMapper = new SessionMapper();
       userDataResponseDTOBuilder.sessions(
@@ -96,8 +95,7 @@ public class AskerDataProvider {
         : user.getEmail();
   }
 
-  private LinkedHashMap<String, Object> getConsultingTypes(User user) {
-    Set<Session> sessionList = SetUtils.emptyIfNull(user.getSessions());
+  private LinkedHashMap<String, Object> getConsultingTypes(User user, List<Session> sessionList) {
     List<AgencyDTO> agencyDTOs = agencyDTOsOf(user, sessionList);
     LinkedHashMap<String, Object> consultingTypes = new LinkedHashMap<>();
     for (int type : consultingTypeManager.getAllConsultingTypeIds()) {
@@ -108,7 +106,7 @@ public class AskerDataProvider {
     return consultingTypes;
   }
 
-  private List<AgencyDTO> agencyDTOsOf(User user, Set<Session> sessionList) {
+  private List<AgencyDTO> agencyDTOsOf(User user, List<Session> sessionList) {
     try {
       return agencyService.getAgencies(mergeAgencyIdsFromSessionAndUser(user, sessionList));
     } catch (RestClientResponseException e) {
@@ -124,7 +122,7 @@ public class AskerDataProvider {
   }
 
   private LinkedHashMap<String, Object> getConsultingTypeData(
-      int consultingType, Set<Session> sessionList, List<AgencyDTO> agencyDTOs) {
+      int consultingType, List<Session> sessionList, List<AgencyDTO> agencyDTOs) {
 
     LinkedHashMap<String, Object> consultingTypeData = new LinkedHashMap<>();
     Optional<Session> consultingTypeSession =
@@ -148,20 +146,20 @@ public class AskerDataProvider {
   }
 
   private Optional<Session> findSessionByConsultingType(
-      int consultingTypeId, Set<Session> sessionList) {
+      int consultingTypeId, List<Session> sessionList) {
     return sessionList.stream()
         .filter(session -> session.getConsultingTypeId() == consultingTypeId)
         .findFirst();
   }
 
-  private List<Long> mergeAgencyIdsFromSessionAndUser(User user, Set<Session> sessionList) {
+  private List<Long> mergeAgencyIdsFromSessionAndUser(User user, List<Session> sessionList) {
     List<Long> agencyIds = new ArrayList<>();
     agencyIds.addAll(collectAgencyIdsFromSessions(sessionList));
     agencyIds.addAll(collectAgencyIdsFromUser(user));
     return agencyIds;
   }
 
-  private List<Long> collectAgencyIdsFromSessions(Set<Session> sessionList) {
+  private List<Long> collectAgencyIdsFromSessions(List<Session> sessionList) {
     return CollectionUtils.isNotEmpty(sessionList)
         ? sessionList.stream()
             .map(Session::getAgencyId)
@@ -0,0 +1,21 @@
+package de.caritas.cob.userservice.api.helper;
+
+import java.util.UUID;
+
+/** Generates ids which identify a running service instance, e.g. as holder of a lease. */
+public class NodeIdGenerator {
+
+  private NodeIdGenerator() {}
+
+  /**
+   * Generates a new node id from the host name, if available, and a random suffix. The suffix keeps
+   * the id unique when several instances run on the same host.
+   *
+   * @return the node id
+   */
+  public static String generateNodeId() {
+    var hostname = System.getenv("HOSTNAME");
+    var suffix = UUID.randomUUID().toString();
+    return hostname == null || hostname.isBlank() ? suffix : hostname + "-" + suffix;
+  }
+}
@@ -40,6 +40,22 @@ public class SessionListAnalyser {
     }
   }
 
+  /**
+   * Decrypts all given Rocket.Chat messages of a session list in one pass.
+   *
+   * @param messagesByGroupId Encrypted messages mapped by the Rocket.Chat group id
+   * @return Decrypted messages mapped by the Rocket.Chat group id
+   */
+  public Map<String, String> prepareMessagesForSessionList(Map<String, String> messagesByGroupId) {
+    try {
+      return decryptionService.decrypt(messagesByGroupId);
+    } catch (CustomCryptoException cryptoEx) {
+      throw new InternalServerErrorException(
+          String.format("Could not decrypt messages for group ids %s", messagesByGroupId.keySet()),
+          LogService::logInternalServerError);
+    }
+  }
+
   /**
    * Check, if messages for given session were read by user.
    *
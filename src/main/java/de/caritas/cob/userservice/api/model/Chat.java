@@ -12,8 +12,11 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -30,15 +33,23 @@ import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
 @Entity
-@Table(name = "chat")
+@Table(
+    name = "chat",
+    indexes = {@Index(columnList = "rc_group_id", name = "idx_chat_rc_group_id")})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Builder
 @ToString
+@NamedEntityGraph(
+    name = Chat.WITH_AGENCIES_AND_USERS_GRAPH,
+    attributeNodes = {@NamedAttributeNode("chatAgencies"), @NamedAttributeNode("chatUsers")})
 public class Chat {
 
+  /** Fetch plan loading the agencies and users of a single chat, e.g. for permission checks. */
+  public static final String WITH_AGENCIES_AND_USERS_GRAPH = "Chat.withAgenciesAndUsers";
+
   public enum ChatInterval {
     WEEKLY
   }
@@ -21,6 +21,8 @@ import javax.persistence.Enumerated;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.Lob;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Transient;
@@ -63,6 +65,12 @@ import org.springframework.lang.Nullable;
 @Setter
 @Builder
 @Indexed
+@NamedEntityGraph(
+    name = Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH,
+    attributeNodes = {
+      @NamedAttributeNode("consultantAgencies"),
+      @NamedAttributeNode("languages")
+    })
 @AnalyzerDef(
     name = EMAIL_ANALYZER,
     tokenizer = @TokenizerDef(factory = ClassicTokenizerFactory.class),
@@ -77,6 +85,10 @@ public class Consultant implements TenantAware, NotificationsAware {
 
   protected static final String EMAIL_ANALYZER = "emailAnalyzer";
 
+  /** Fetch plan loading the agencies and languages of a single consultant, e.g. on lookups. */
+  public static final String WITH_AGENCIES_AND_LANGUAGES_GRAPH =
+      "Consultant.withAgenciesAndLanguages";
+
   @Id
   @Column(name = "consultant_id", updatable = false, nullable = false)
   @Size(max = 36)
@@ -342,7 +354,7 @@ public class Consultant implements TenantAware, NotificationsAware {
       return false;
     }
     Consultant that = (Consultant) o;
-    return id.equals(that.id);
+    return id.equals(that.getId());
   }
 
   @Override
@@ -7,6 +7,8 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +22,20 @@ import org.hibernate.annotations.ParamDef;
 
 /** Persistent in-app notification event for a concrete recipient user. */
 @Entity
-@Table(name = "event_notification")
+@Table(
+    name = "event_notification",
+    indexes = {
+      @Index(
+          columnList = "recipient_user_id, create_date",
+          name = "idx_event_notification_recipient_create"),
+      @Index(
+          columnList = "recipient_user_id, read_date",
+          name = "idx_event_notification_recipient_read"),
+      @Index(columnList = "tenant_id", name = "idx_event_notification_tenant"),
+      @Index(
+          columnList = "create_date, read_date",
+          name = "idx_event_notification_create_read"),
+    })
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -35,8 +50,16 @@ import org.hibernate.annotations.ParamDef;
     condition = "(tenant_id = :tenantId OR (:tenantId = 1 AND tenant_id IS NULL))")
 public class EventNotification implements TenantAware {
 
+  /**
+   * Ids are taken from a sequence in blocks of 50 instead of being generated by the insert, so the
+   * notifications of several recipients are inserted in one JDBC batch.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @SequenceGenerator(
+      name = "id_seq",
+      allocationSize = 50,
+      sequenceName = "sequence_event_notification")
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "id_seq")
   @Column(name = "id", updatable = false, nullable = false)
   private Long id;
 
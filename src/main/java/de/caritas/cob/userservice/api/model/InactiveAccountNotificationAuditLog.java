@@ -10,6 +10,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,8 +39,16 @@ import org.hibernate.annotations.ParamDef;
     condition = "(tenant_id = :tenantId OR (:tenantId = 1 AND tenant_id IS NULL))")
 public class InactiveAccountNotificationAuditLog implements TenantAware {
 
+  /**
+   * Ids are taken from a sequence in blocks of 50 instead of being generated by the insert, so the
+   * audit rows of a page are inserted in one JDBC batch.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @SequenceGenerator(
+      name = "id_seq",
+      allocationSize = 50,
+      sequenceName = "sequence_inactive_account_notification_audit_log")
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "id_seq")
   @Column(name = "id", updatable = false, nullable = false)
   private Long id;
 
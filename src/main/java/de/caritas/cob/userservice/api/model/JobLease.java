@@ -0,0 +1,62 @@
+package de.caritas.cob.userservice.api.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Lease of a scheduled workflow job, held by the node which currently runs the job, together with
+ * the checkpoint to resume a chunked job from.
+ */
+@Entity
+@Table(name = "job_lease")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class JobLease {
+
+  @Id
+  @Column(name = "id", updatable = false, nullable = false, length = 64)
+  private String id;
+
+  @Column(name = "lease_owner")
+  private String leaseOwner;
+
+  @Column(name = "lease_until", columnDefinition = "datetime")
+  private LocalDateTime leaseUntil;
+
+  @Column(name = "checkpoint")
+  private String checkpoint;
+
+  @Column(name = "update_date", nullable = false, columnDefinition = "datetime")
+  private LocalDateTime updateDate;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof JobLease)) {
+      return false;
+    }
+    JobLease that = (JobLease) o;
+    return id != null && id.equals(that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
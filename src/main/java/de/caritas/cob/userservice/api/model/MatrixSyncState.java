@@ -0,0 +1,62 @@
+package de.caritas.cob.userservice.api.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Stored cursor of a Matrix /sync consumer together with the lease of the node which currently
+ * consumes it.
+ */
+@Entity
+@Table(name = "matrix_sync_state")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class MatrixSyncState {
+
+  @Id
+  @Column(name = "id", updatable = false, nullable = false, length = 64)
+  private String id;
+
+  @Column(name = "sync_token")
+  private String syncToken;
+
+  @Column(name = "lease_owner")
+  private String leaseOwner;
+
+  @Column(name = "lease_until", columnDefinition = "datetime")
+  private LocalDateTime leaseUntil;
+
+  @Column(name = "update_date", nullable = false, columnDefinition = "datetime")
+  private LocalDateTime updateDate;
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof MatrixSyncState)) {
+      return false;
+    }
+    MatrixSyncState that = (MatrixSyncState) o;
+    return id != null && id.equals(that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+}
@@ -19,8 +19,12 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -33,8 +37,6 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.ToString.Exclude;
-import org.hibernate.annotations.Fetch;
-import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.FilterDef;
 import org.hibernate.annotations.ParamDef;
@@ -42,12 +44,47 @@ import org.springframework.lang.Nullable;
 
 @Entity
 @Builder
-@Table(name = "session")
+@Table(
+    name = "session",
+    indexes = {
+      @Index(columnList = "consultant_id, status", name = "index_consultant_id_status"),
+      @Index(
+          columnList = "consultant_id, status, latest_message_date, Id",
+          name = "idx_session_consultant_status_latest_message"),
+      @Index(columnList = "user_id, status", name = "idx_session_user_status"),
+      @Index(columnList = "rc_group_id", name = "idx_session_rc_group_id"),
+      @Index(columnList = "matrix_room_id", name = "idx_session_matrix_room_id"),
+      @Index(
+          columnList = "status, message_date, agency_id",
+          name = "idx_session_status_message_date"),
+    })
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
+@NamedEntityGraphs({
+  @NamedEntityGraph(
+      name = Session.WITH_USER_GRAPH,
+      attributeNodes = {@NamedAttributeNode("user")}),
+  @NamedEntityGraph(
+      name = Session.WITH_USER_AND_CONSULTANT_GRAPH,
+      attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("consultant")}),
+  @NamedEntityGraph(
+      name = Session.WITH_USER_CONSULTANT_AND_SESSION_DATA_GRAPH,
+      attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("consultant"),
+        @NamedAttributeNode("sessionData")
+      }),
+  @NamedEntityGraph(
+      name = Session.WITH_USER_CONSULTANT_AND_TOPICS_GRAPH,
+      attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("consultant"),
+        @NamedAttributeNode("sessionTopics")
+      })
+})
 @FilterDef(
     name = "tenantFilter",
     parameters = {@ParamDef(name = "tenantId", type = "long")})
@@ -56,6 +93,26 @@ import org.springframework.lang.Nullable;
     condition = "(tenant_id = :tenantId OR (:tenantId = 1 AND tenant_id IS NULL))")
 public class Session implements TenantAware {
 
+  /** Fetch plan loading the asker of the sessions, e.g. for admin pages and enquiry lists. */
+  public static final String WITH_USER_GRAPH = "Session.withUser";
+
+  /** Fetch plan loading the asker and the consultant of the sessions, e.g. for session lists. */
+  public static final String WITH_USER_AND_CONSULTANT_GRAPH = "Session.withUserAndConsultant";
+
+  /**
+   * Fetch plan loading the asker, the consultant and the session data of the sessions, e.g. for
+   * asker session lists which are mapped outside of a transaction.
+   */
+  public static final String WITH_USER_CONSULTANT_AND_SESSION_DATA_GRAPH =
+      "Session.withUserConsultantAndSessionData";
+
+  /**
+   * Fetch plan loading the asker, the consultant and the topics of the sessions, e.g. for the
+   * single session view of a consultant which is mapped outside of a transaction.
+   */
+  public static final String WITH_USER_CONSULTANT_AND_TOPICS_GRAPH =
+      "Session.withUserConsultantAndTopics";
+
   public enum RegistrationType {
     REGISTERED,
     ANONYMOUS
@@ -107,13 +164,14 @@ public class Session implements TenantAware {
   @Column(name = "Id", updatable = false, nullable = false)
   private Long id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "user_id", nullable = false)
+  @Exclude
   private User user;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "consultant_id")
-  @Fetch(FetchMode.SELECT)
+  @Exclude
   private Consultant consultant;
 
   @Column(
@@ -174,6 +232,9 @@ public class Session implements TenantAware {
   @Column(name = "update_date", columnDefinition = "datetime")
   private LocalDateTime updateDate;
 
+  @Column(name = "latest_message_date", columnDefinition = "datetime")
+  private LocalDateTime latestMessageDate;
+
   @Column(name = "tenant_id")
   private Long tenantId;
 
@@ -14,6 +14,8 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.Id;
 import javax.persistence.Lob;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.Transient;
@@ -43,12 +45,18 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Setter
 @ToString
 @EntityListeners(AuditingEntityListener.class)
+@NamedEntityGraph(
+    name = User.WITH_AGENCIES_GRAPH,
+    attributeNodes = {@NamedAttributeNode("userAgencies")})
 @FilterDef(
     name = "tenantFilter",
     parameters = {@ParamDef(name = "tenantId", type = "long")})
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
 public class User implements TenantAware, NotificationsAware {
 
+  /** Fetch plan loading the agencies of a single user, e.g. on lookups. */
+  public static final String WITH_AGENCIES_GRAPH = "User.withAgencies";
+
   @Id
   @Column(name = "user_id", updatable = false, nullable = false)
   @Size(max = 36)
@@ -178,7 +186,7 @@ public class User implements TenantAware, NotificationsAware {
       return false;
     }
     User user = (User) o;
-    return userId.equals(user.userId);
+    return userId.equals(user.getUserId());
   }
 
   @Override
@@ -2,6 +2,7 @@ package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.Admin;
 import de.caritas.cob.userservice.api.model.Admin.AdminBase;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface AdminRepository extends CrudRepository<Admin, String> {
 
@@ -40,4 +42,23 @@ public interface AdminRepository extends CrudRepository<Admin, String> {
   List<Admin> findByType(Admin.AdminType type);
 
   List<Admin> findAllByIdIn(Set<String> adminIds);
+
+  /**
+   * Returns the next page of admins whose create and update dates are both before the given
+   * cutoff, ordered by admin id.
+   *
+   * @param cutoff the date before which an admin counts as inactive
+   * @param afterId the last admin id of the previous page, an empty string for the first page
+   * @param pageable the page size
+   * @return the inactive admins
+   */
+  @Query(
+      "SELECT a FROM Admin a WHERE a.id > :afterId "
+          + "AND (a.createDate IS NULL OR a.createDate < :cutoff) "
+          + "AND (a.updateDate IS NULL OR a.updateDate < :cutoff) "
+          + "ORDER BY a.id")
+  List<Admin> findInactiveAdmins(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("afterId") String afterId,
+      Pageable pageable);
 }
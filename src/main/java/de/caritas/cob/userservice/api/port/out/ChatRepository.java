@@ -2,15 +2,21 @@ package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.Chat;
 import de.caritas.cob.userservice.api.model.Consultant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 public interface ChatRepository extends CrudRepository<Chat, Long> {
 
+  @Override
+  @EntityGraph(Chat.WITH_AGENCIES_AND_USERS_GRAPH)
+  Optional<Chat> findById(Long id);
+
   @Query(
       value =
           "SELECT c.id, c.topic, c.consulting_type, c.initial_start_date, c.start_date, "
@@ -38,11 +44,21 @@ public interface ChatRepository extends CrudRepository<Chat, Long> {
       nativeQuery = true)
   List<Chat> findByAgencyIds(@Param(value = "agency_ids") Set<Long> agencyIds);
 
+  @EntityGraph(Chat.WITH_AGENCIES_AND_USERS_GRAPH)
   Optional<Chat> findByGroupId(String groupId);
 
   @Query(value = "SELECT * FROM chat c WHERE c.rc_group_id IN :group_ids", nativeQuery = true)
   List<Chat> findByGroupIds(@Param(value = "group_ids") Set<String> groupIds);
 
+  /**
+   * Returns those of the given Rocket.Chat group ids which belong to a group chat.
+   *
+   * @param groupIds the group ids to check
+   * @return the group ids of group chats
+   */
+  @Query("SELECT c.groupId FROM Chat c WHERE c.groupId IN :groupIds")
+  Set<String> findGroupIdsByGroupIdIn(@Param("groupIds") Collection<String> groupIds);
+
   List<Chat> findByChatOwner(Consultant chatOwner);
 
   List<Chat> findAllByActiveIsTrue();
@@ -36,4 +36,7 @@ public interface ConsultantAgencyRepository extends CrudRepository<ConsultantAge
 
   @SuppressWarnings("all")
   List<ConsultantAgencyBase> findByConsultantIdInAndDeleteDateIsNull(List<String> consultantIds);
+
+  List<ConsultantAgency> findByAgencyIdInAndConsultantTeamConsultantIsFalseAndDeleteDateIsNull(
+      Collection<Long> agencyIds);
 }
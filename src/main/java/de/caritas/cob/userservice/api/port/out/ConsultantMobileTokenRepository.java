@@ -1,11 +1,40 @@
 package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.ConsultantMobileToken;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ConsultantMobileTokenRepository
     extends CrudRepository<ConsultantMobileToken, Long> {
 
   Optional<ConsultantMobileToken> findByMobileAppToken(String mobileAppToken);
+
+  /**
+   * Returns the mobile app tokens of the not deleted consultants with the given ids.
+   *
+   * @param consultantIds the consultant ids
+   * @return the mobile app tokens
+   */
+  @Query(
+      "SELECT t.mobileAppToken FROM ConsultantMobileToken t "
+          + "WHERE t.consultant.id IN :consultantIds AND t.consultant.deleteDate IS NULL")
+  List<String> findMobileAppTokensByConsultantIds(
+      @Param("consultantIds") Collection<String> consultantIds);
+
+  /**
+   * Deletes the given mobile app tokens of all consultants.
+   *
+   * @param mobileAppTokens the mobile app tokens to delete
+   * @return the number of deleted tokens
+   */
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM ConsultantMobileToken t WHERE t.mobileAppToken IN :mobileAppTokens")
+  int deleteByMobileAppTokens(@Param("mobileAppTokens") Collection<String> mobileAppTokens);
 }
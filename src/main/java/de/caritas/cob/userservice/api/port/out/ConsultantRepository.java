@@ -2,29 +2,44 @@ package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.Consultant.ConsultantBase;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountActivity;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ConsultantRepository
     extends JpaRepository<Consultant, String>, JpaSpecificationExecutor<Consultant> {
 
+  @Override
+  @EntityGraph(Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH)
+  Optional<Consultant> findById(String id);
+
+  @EntityGraph(Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH)
   Optional<Consultant> findByIdAndDeleteDateIsNull(String id);
 
+  @EntityGraph(Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH)
   Optional<Consultant> findByRocketChatIdAndDeleteDateIsNull(String id);
 
+  @EntityGraph(Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH)
   Optional<Consultant> findByEmailAndDeleteDateIsNull(String email);
 
+  @EntityGraph(Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH)
   Optional<Consultant> findByUsernameAndDeleteDateIsNull(String username);
 
+  @EntityGraph(Consultant.WITH_AGENCIES_AND_LANGUAGES_GRAPH)
   Optional<Consultant> findByMatrixUserIdAndDeleteDateIsNull(String matrixUserId);
 
+  List<Consultant> findByMatrixUserIdInAndDeleteDateIsNull(Collection<String> matrixUserIds);
+
   List<Consultant> findByConsultantAgenciesAgencyIdInAndDeleteDateIsNull(List<Long> agencyIds);
 
   List<Consultant> findByConsultantAgenciesAgencyIdAndDeleteDateIsNull(Long agencyId);
@@ -88,4 +103,73 @@ public interface ConsultantRepository
               + "WHERE ca.agencyId IN (?1) "
               + "AND ca.deleteDate IS NULL")
   Set<String> findAllByAgencyIds(Set<Long> agencyIds);
+
+  /**
+   * Returns the next page of consultants whose account and session activity dates are all before
+   * the given cutoff, ordered by consultant id.
+   *
+   * @param cutoff the date before which a consultant counts as inactive
+   * @param afterId the last consultant id of the previous page, an empty string for the first page
+   * @param pageable the page size
+   * @return the activity of the inactive consultants
+   */
+  @Query(
+      "SELECT c.id AS accountId, c.tenantId AS tenantId, c.createDate AS createDate, "
+          + "c.updateDate AS updateDate, MAX(s.updateDate) AS lastSessionActivity "
+          + "FROM Consultant c LEFT JOIN c.sessions s "
+          + "WHERE c.deleteDate IS NULL AND c.id > :afterId "
+          + "AND (c.createDate IS NULL OR c.createDate < :cutoff) "
+          + "AND (c.updateDate IS NULL OR c.updateDate < :cutoff) "
+          + "GROUP BY c.id, c.tenantId, c.createDate, c.updateDate "
+          + "HAVING MAX(s.updateDate) IS NULL OR MAX(s.updateDate) < :cutoff "
+          + "ORDER BY c.id")
+  List<InactiveAccountActivity> findInactiveConsultants(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("afterId") String afterId,
+      Pageable pageable);
+
+  /**
+   * Returns all consultants without an active agency assignment.
+   *
+   * @return the consultants without agency
+   */
+  @Query(
+      "SELECT c FROM Consultant c WHERE NOT EXISTS "
+          + "(SELECT ca FROM ConsultantAgency ca "
+          + "WHERE ca.consultant = c AND ca.deleteDate IS NULL)")
+  List<Consultant> findWithoutConsultantAgency();
+
+  /**
+   * Returns all consultants flagged as team consultant which have none of the given agencies
+   * assigned.
+   *
+   * @param agencyIds the agency ids, must not be empty
+   * @return the team consultants without one of the agencies
+   */
+  @Query(
+      "SELECT c FROM Consultant c WHERE c.teamConsultant = true AND NOT EXISTS "
+          + "(SELECT ca FROM ConsultantAgency ca "
+          + "WHERE ca.consultant = c AND ca.agencyId IN :agencyIds)")
+  List<Consultant> findTeamConsultantsWithoutAgencyIn(
+      @Param("agencyIds") Collection<Long> agencyIds);
+
+  List<Consultant> findByTeamConsultantIsTrue();
+
+  /**
+   * Returns the next page of consultants which have sessions in the given status, ordered by
+   * consultant id.
+   *
+   * @param status the {@link SessionStatus} of the sessions
+   * @param afterId the last consultant id of the previous page, an empty string for the first page
+   * @param pageable the page size
+   * @return the consultants with sessions in the given status
+   */
+  @Query(
+      "SELECT c FROM Consultant c WHERE c.id > :afterId AND EXISTS "
+          + "(SELECT s FROM Session s WHERE s.consultant = c AND s.status = :status) "
+          + "ORDER BY c.id")
+  List<Consultant> findWithSessionsInStatus(
+      @Param("status") SessionStatus status,
+      @Param("afterId") String afterId,
+      Pageable pageable);
 }
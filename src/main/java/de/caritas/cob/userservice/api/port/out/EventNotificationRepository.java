@@ -1,10 +1,15 @@
 package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.EventNotification;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface EventNotificationRepository extends JpaRepository<EventNotification, Long> {
 
@@ -15,7 +20,34 @@ public interface EventNotificationRepository extends JpaRepository<EventNotifica
 
   Optional<EventNotification> findByIdAndRecipientUserId(Long id, String recipientUserId);
 
-  List<EventNotification> findByRecipientUserIdAndReadDateIsNull(String recipientUserId);
+  @Modifying
+  @Query(
+      "UPDATE EventNotification n SET n.readDate = :readDate "
+          + "WHERE n.recipientUserId = :recipientUserId AND n.readDate IS NULL")
+  int markAllAsRead(
+      @Param("recipientUserId") String recipientUserId, @Param("readDate") LocalDateTime readDate);
+
+  @Query("SELECT MIN(n.id) FROM EventNotification n")
+  Optional<Long> findMinId();
+
+  Optional<EventNotification> findFirstByCreateDateBeforeOrderByCreateDateDesc(
+      LocalDateTime createDate);
+
+  /**
+   * Deletes the notifications in the given id range which were created before the given date or
+   * read before the given read date. Each call runs in its own transaction, so only the rows of one
+   * id range are locked at a time.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "DELETE FROM EventNotification n WHERE n.id >= :fromId AND n.id < :toId "
+          + "AND (n.createDate < :createdBefore OR n.readDate < :readBefore)")
+  int deleteExpiredInIdRange(
+      @Param("fromId") long fromId,
+      @Param("toId") long toId,
+      @Param("createdBefore") LocalDateTime createdBefore,
+      @Param("readBefore") LocalDateTime readBefore);
 
   void deleteByRecipientUserId(String recipientUserId);
 }
@@ -1,10 +1,26 @@
 package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.InactiveAccountNotificationAuditLog;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface InactiveAccountNotificationAuditLogRepository
     extends JpaRepository<InactiveAccountNotificationAuditLog, Long> {
 
   boolean existsByNotificationFingerprint(String notificationFingerprint);
+
+  /**
+   * Returns those of the given fingerprints for which a notification has already been recorded.
+   *
+   * @param notificationFingerprints the fingerprints to check
+   * @return the recorded fingerprints
+   */
+  @Query(
+      "SELECT l.notificationFingerprint FROM InactiveAccountNotificationAuditLog l "
+          + "WHERE l.notificationFingerprint IN :notificationFingerprints")
+  Set<String> findExistingNotificationFingerprints(
+      @Param("notificationFingerprints") Collection<String> notificationFingerprints);
 }
@@ -0,0 +1,99 @@
+package de.caritas.cob.userservice.api.port.out;
+
+import de.caritas.cob.userservice.api.model.JobLease;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface JobLeaseRepository extends CrudRepository<JobLease, String> {
+
+  /**
+   * Acquires or renews the lease of the given job for the given owner. The lease is granted if it
+   * is free, expired or already held by the owner.
+   *
+   * @param id the name of the job
+   * @param owner the id of the requesting node
+   * @param now the current time
+   * @param leaseUntil the new end of the lease
+   * @return 1 if the lease is held by the owner afterwards, 0 otherwise
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE JobLease l SET l.leaseOwner = :owner, l.leaseUntil = :leaseUntil, "
+          + "l.updateDate = :now "
+          + "WHERE l.id = :id "
+          + "AND (l.leaseOwner IS NULL OR l.leaseOwner = :owner OR l.leaseUntil < :now)")
+  int acquireLease(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  /**
+   * Stores the checkpoint of the given job and renews its lease, as long as the lease is still held
+   * by the given owner.
+   *
+   * @param id the name of the job
+   * @param owner the id of the node holding the lease
+   * @param checkpoint the checkpoint to resume from, null once the job is complete
+   * @param now the current time
+   * @param leaseUntil the new end of the lease
+   * @return 1 if the checkpoint has been stored, 0 if the lease has been lost
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE JobLease l SET l.checkpoint = :checkpoint, l.leaseUntil = :leaseUntil, "
+          + "l.updateDate = :now "
+          + "WHERE l.id = :id AND l.leaseOwner = :owner")
+  int updateCheckpoint(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("checkpoint") String checkpoint,
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  /**
+   * Renews the lease of the given job, as long as it is still held by the given owner.
+   *
+   * @param id the name of the job
+   * @param owner the id of the node holding the lease
+   * @param now the current time
+   * @param leaseUntil the new end of the lease
+   * @return 1 if the lease has been renewed, 0 if the lease has been lost
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE JobLease l SET l.leaseUntil = :leaseUntil, l.updateDate = :now "
+          + "WHERE l.id = :id AND l.leaseOwner = :owner")
+  int renewLease(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  /**
+   * Releases the lease of the given job at the given time, if it is held by the given owner. Until
+   * then the lease is kept by the owner, so other nodes do not run the job again. The checkpoint is
+   * kept.
+   *
+   * @param id the name of the job
+   * @param owner the id of the node holding the lease
+   * @param releaseDate the time from which the lease is free again
+   * @return 1 if the lease has been released, 0 otherwise
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE JobLease l SET l.leaseUntil = :releaseDate "
+          + "WHERE l.id = :id AND l.leaseOwner = :owner")
+  int releaseLease(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("releaseDate") LocalDateTime releaseDate);
+}
@@ -0,0 +1,69 @@
+package de.caritas.cob.userservice.api.port.out;
+
+import de.caritas.cob.userservice.api.model.MatrixSyncState;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface MatrixSyncStateRepository extends CrudRepository<MatrixSyncState, String> {
+
+  /**
+   * Acquires or renews the lease of the given sync state for the given owner. The lease is granted
+   * if it is free, expired or already held by the owner.
+   *
+   * @param id the id of the sync state
+   * @param owner the id of the requesting node
+   * @param now the current time
+   * @param leaseUntil the new end of the lease
+   * @return 1 if the lease is held by the owner afterwards, 0 otherwise
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE MatrixSyncState s SET s.leaseOwner = :owner, s.leaseUntil = :leaseUntil, "
+          + "s.updateDate = :now "
+          + "WHERE s.id = :id "
+          + "AND (s.leaseOwner IS NULL OR s.leaseOwner = :owner OR s.leaseUntil < :now)")
+  int acquireLease(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  /**
+   * Stores the sync token, as long as the lease is still held by the given owner.
+   *
+   * @param id the id of the sync state
+   * @param owner the id of the node holding the lease
+   * @param syncToken the token to resume from
+   * @param now the current time
+   * @return 1 if the token has been stored, 0 if the lease has been lost
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE MatrixSyncState s SET s.syncToken = :syncToken, s.updateDate = :now "
+          + "WHERE s.id = :id AND s.leaseOwner = :owner")
+  int updateSyncToken(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("syncToken") String syncToken,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Releases the lease of the given sync state, if it is held by the given owner.
+   *
+   * @param id the id of the sync state
+   * @param owner the id of the node holding the lease
+   * @return 1 if the lease has been released, 0 otherwise
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE MatrixSyncState s SET s.leaseOwner = NULL, s.leaseUntil = NULL "
+          + "WHERE s.id = :id AND s.leaseOwner = :owner")
+  int releaseLease(@Param("id") String id, @Param("owner") String owner);
+}
@@ -5,26 +5,30 @@ import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.Session.RegistrationType;
 import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.model.User;
+import de.caritas.cob.userservice.api.workflow.enquirynotification.model.AgencyOpenEnquiries;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface SessionRepository extends CrudRepository<Session, Long> {
 
-  /**
-   * Find a {@link Session} by a consultant id and a session status.
-   *
-   * @param consultant {@link Consultant}
-   * @param sessionStatus {@link SessionStatus}
-   * @return A list of {@link Session}s for the specific consultant id and status
-   */
-  List<Session> findByConsultantAndStatus(Consultant consultant, SessionStatus sessionStatus);
+  @Override
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
+  Optional<Session> findById(Long id);
+
+  @Override
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
+  Iterable<Session> findAllById(Iterable<Long> ids);
 
   /**
    * Find a {@link Session} by a consultant id and a session statuses.
@@ -33,6 +37,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param statuses {@link SessionStatus}
    * @return A list of {@link Session}s for the specific consultant id and status
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByConsultantAndStatusIn(Consultant consultant, List<SessionStatus> statuses);
 
   /**
@@ -43,6 +48,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @return A list of {@link Session}s for the specific consultant id and status ordered by update
    *     date desc
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByConsultantAndStatusOrderByUpdateDateDesc(
       Consultant consultant, SessionStatus sessionStatus);
 
@@ -57,6 +63,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    *     date descending (newest first — matches how the consultant list UI presents them and avoids
    *     an extra client-side sort pass that was reordering items during streaming loads).
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   List<Session>
       findByAgencyIdInAndConsultantIsNullAndStatusAndRegistrationTypeOrderByCreateDateDesc(
           List<Long> agencyIds, SessionStatus sessionStatus, RegistrationType registrationType);
@@ -64,6 +71,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
   /**
    * Find registered enquiries scoped by main topic (external inbound / topic-based invite links).
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   List<Session>
       findByMainTopicIdInAndConsultantIsNullAndStatusAndRegistrationTypeOrderByCreateDateDesc(
           List<Long> topicIds, SessionStatus sessionStatus, RegistrationType registrationType);
@@ -78,6 +86,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @return A list of {@link Session}s for the specific agency ids and status orderd by creation
    *     date ascending
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByAgencyIdInAndConsultantNotAndStatusAndTeamSessionOrderByCreateDateAsc(
       List<Long> agencyIds,
       Consultant consultant,
@@ -93,11 +102,69 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @return A list of {@link Session}s for the specific agency ids and status ordered by update
    *     date descending
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByAgencyIdInAndConsultantNotAndStatusAndTeamSessionIsTrueOrderByUpdateDateDesc(
       List<Long> agencyIds, Consultant consultant, SessionStatus sessionStatus);
 
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByUser(User user);
 
+  /**
+   * Find all {@link Session}s of a user together with their session data, so they can be mapped
+   * without an open transaction.
+   *
+   * @param user the user
+   * @return the sessions of the user
+   */
+  @EntityGraph(Session.WITH_USER_CONSULTANT_AND_SESSION_DATA_GRAPH)
+  @Query("SELECT DISTINCT s FROM Session s WHERE s.user = :user")
+  List<Session> findWithSessionDataByUser(@Param("user") User user);
+
+  /**
+   * Find all {@link Session}s of a user ID together with their session data, so they can be mapped
+   * without an open transaction.
+   *
+   * @param userId Keycloak/MariaDB user ID
+   * @return the sessions of the user
+   */
+  @EntityGraph(Session.WITH_USER_CONSULTANT_AND_SESSION_DATA_GRAPH)
+  @Query("SELECT DISTINCT s FROM Session s WHERE s.user.userId = :userId")
+  List<Session> findWithSessionDataByUserUserId(@Param("userId") String userId);
+
+  /**
+   * Find the {@link Session}s with the given ids together with their session data, so they can be
+   * mapped without an open transaction.
+   *
+   * @param ids the session ids
+   * @return the found sessions
+   */
+  @EntityGraph(Session.WITH_USER_CONSULTANT_AND_SESSION_DATA_GRAPH)
+  @Query("SELECT DISTINCT s FROM Session s WHERE s.id IN :ids")
+  List<Session> findWithSessionDataByIdIn(@Param("ids") Set<Long> ids);
+
+  /**
+   * Find the {@link Session}s with the given Rocket.Chat group ids together with their session
+   * data, so they can be mapped without an open transaction.
+   *
+   * @param groupIds the Rocket.Chat group ids
+   * @return the found sessions
+   */
+  @EntityGraph(Session.WITH_USER_CONSULTANT_AND_SESSION_DATA_GRAPH)
+  @Query("SELECT DISTINCT s FROM Session s WHERE s.groupId IN :groupIds")
+  List<Session> findWithSessionDataByGroupIdIn(@Param("groupIds") Set<String> groupIds);
+
+  /**
+   * Find the {@link Session} with the given id together with its topics, so it can be mapped
+   * without an open transaction.
+   *
+   * @param id the session id
+   * @return an {@link Optional} of the session
+   */
+  @EntityGraph(Session.WITH_USER_CONSULTANT_AND_TOPICS_GRAPH)
+  @Query("SELECT DISTINCT s FROM Session s WHERE s.id = :id")
+  Optional<Session> findWithTopicsById(@Param("id") Long id);
+
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByUserAndConsultingTypeId(User user, int consultingTypeId);
 
   /**
@@ -106,8 +173,18 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param userId Keycloak/MariaDB user ID
    * @return A list of {@link Session}s for the specified user ID
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByUserUserId(String userId);
 
+  /**
+   * Find all {@link Session}s of the given users.
+   *
+   * @param userIds Keycloak/MariaDB user IDs
+   * @return A list of {@link Session}s of the specified users
+   */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
+  List<Session> findByUserUserIdIn(Collection<String> userIds);
+
   /**
    * Find the {@link Session}s by user id and pageable.
    *
@@ -115,6 +192,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param pageable the pagination object
    * @return the result {@link Page}
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   Page<Session> findByUserUserId(String userId, Pageable pageable);
 
   /**
@@ -123,20 +201,36 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param groupId the rocket chat group id
    * @return an {@link Optional} of the session
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   Optional<Session> findByGroupId(String groupId);
 
+  /**
+   * Find the {@link Session}s by Rocket.Chat group ids.
+   *
+   * @param groupIds the rocket chat group ids
+   * @return the sessions of the given groups
+   */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
+  List<Session> findByGroupIdIn(Collection<String> groupIds);
+
   /**
    * Find the {@link Session} by Matrix room ID.
    *
    * @param matrixRoomId the Matrix room ID
    * @return an {@link Optional} of the session
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   Optional<Session> findByMatrixRoomId(String matrixRoomId);
 
-  @Query(
-      value = "SELECT * " + "FROM session s " + "WHERE s.rc_group_id IN :group_ids",
-      nativeQuery = true)
-  List<Session> findByGroupIds(@Param(value = "group_ids") Set<String> groupIds);
+  /**
+   * Find the {@link Session}s of the given Rocket.Chat group ids with their users and consultants.
+   *
+   * @param groupIds the rocket chat group ids
+   * @return the sessions of the given groups
+   */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
+  @Query("SELECT s FROM Session s WHERE s.groupId IN :groupIds")
+  List<Session> findByGroupIds(@Param("groupIds") Set<String> groupIds);
 
   /**
    * Find all {@link Session}s by an agency ID and SessionStatus where consultant is null.
@@ -145,6 +239,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param sessionStatus {@link SessionStatus}
    * @return A list of {@link Session}s for the specified agency ID
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByAgencyIdAndStatusAndConsultantIsNull(
       Long agencyId, SessionStatus sessionStatus);
 
@@ -155,6 +250,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param sessionStatus {@link SessionStatus}
    * @return A list of {@link Session}s for the specified agency ID
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByAgencyIdAndStatusAndTeamSessionIsTrue(
       Long agencyId, SessionStatus sessionStatus);
 
@@ -165,6 +261,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param pageable the pagination object
    * @return the result {@link Page}
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   Page<Session> findByAgencyId(Long agencyId, Pageable pageable);
 
   /**
@@ -174,6 +271,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param pageable the pagination object
    * @return the result {@link Page}
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   Page<Session> findByConsultantId(String consultantId, Pageable pageable);
 
   /**
@@ -183,8 +281,10 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param pageable the pagination object
    * @return the result {@link Page}
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   Page<Session> findByConsultingTypeId(int consultingTypeId, Pageable pageable);
 
+  @EntityGraph(Session.WITH_USER_GRAPH)
   Page<Session> findAll(Pageable pageable);
 
   /**
@@ -195,12 +295,14 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param pageable the pagination object
    * @return the result {@link Page}
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   Page<Session> findByConsultingTypeIdInAndRegistrationTypeAndStatusOrderByCreateDateAsc(
       Set<Integer> consultingTypeIds,
       RegistrationType registrationType,
       SessionStatus sessionStatus,
       Pageable pageable);
 
+  @EntityGraph(Session.WITH_USER_GRAPH)
   @Query(
       "SELECT s FROM Session s "
           + "JOIN s.user u "
@@ -215,6 +317,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
       @Param("sessionStatus") SessionStatus sessionStatus,
       Pageable pageable);
 
+  @EntityGraph(Session.WITH_USER_GRAPH)
   @Query(
       "SELECT s FROM Session s "
           + "JOIN s.user u "
@@ -234,6 +337,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
       @Param("anonymousRegistrationType") RegistrationType anonymousRegistrationType,
       Pageable pageable);
 
+  @EntityGraph(Session.WITH_USER_GRAPH)
   @Query(
       "SELECT s FROM Session s "
           + "JOIN s.user u "
@@ -286,6 +390,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * Returns anonymous and live-chat-style sessions (REGISTERED with postcode {@code 00000} or
    * {@code Anonymous-} username) for deactivation workflows.
    */
+  @EntityGraph(Session.WITH_USER_GRAPH)
   @Query(
       "SELECT s FROM Session s "
           + "JOIN s.user u "
@@ -296,12 +401,25 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
       @Param("statuses") Set<SessionStatus> statuses,
       @Param("anonymousRegistrationType") RegistrationType anonymousRegistrationType);
 
-  /** Find all sessions by a given {@link SessionStatus}. */
-  List<Session> findByStatus(SessionStatus status);
+  /**
+   * Counts the sessions per agency which have the given status and whose enquiry message was
+   * written before the given date.
+   *
+   * @param status the {@link SessionStatus}
+   * @param enquiryMessageDate the date before which the enquiry message was written
+   * @return the number of sessions per agency
+   */
+  @Query(
+      "SELECT s.agencyId AS agencyId, COUNT(s) AS openEnquiries FROM Session s "
+          + "WHERE s.status = :status AND s.enquiryMessageDate < :enquiryMessageDate "
+          + "GROUP BY s.agencyId")
+  List<AgencyOpenEnquiries> countByStatusAndEnquiryMessageDateBeforeGroupedByAgency(
+      @Param("status") SessionStatus status,
+      @Param("enquiryMessageDate") LocalDateTime enquiryMessageDate);
 
-  /** Find all sessions by a given {@link SessionStatus} and {@link RegistrationType}. */
-  List<Session> findByStatusInAndRegistrationType(
-      Set<SessionStatus> status, RegistrationType registrationType);
+  /** Find all sessions by a given {@link SessionStatus} together with their users. */
+  @EntityGraph(Session.WITH_USER_GRAPH)
+  List<Session> findWithUserByStatus(SessionStatus status);
 
   /**
    * Count session by consultant, status and registration type.
@@ -324,6 +442,7 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param consultingTypeId the id of the consulting type
    * @return an {@link Optional} of the result
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   Optional<Session> findByConsultantAndUserAndConsultingTypeId(
       Consultant consultant, User user, Integer consultingTypeId);
 
@@ -334,8 +453,10 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param user the user
    * @return an {@link List} of the result
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByConsultantAndUser(Consultant consultant, User user);
 
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByUserAndMainTopicId(User user, Long topicId);
 
   /**
@@ -347,12 +468,97 @@ public interface SessionRepository extends CrudRepository<Session, Long> {
    * @param status the session status
    * @return list of sessions
    */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
   List<Session> findByConsultantAndTeamSessionAndStatus(
       Consultant consultant, boolean isTeamSession, SessionStatus status);
 
-  @Query("SELECT max(s.enquiryMessageDate) FROM Session s WHERE s.user = :user")
-  LocalDateTime findMaxEnquiryMessageDateByUser(@Param("user") User user);
+  /**
+   * Find the {@link Session}s assigned to the given consultant with one of the given statuses,
+   * newest message first. Ties are broken by descending id, so the order is stable.
+   *
+   * @param consultant the {@link Consultant}
+   * @param statuses the {@link SessionStatus}es to search for
+   * @param pageable the pagination object limiting the result
+   * @return the requested page of {@link Session}s
+   */
+  @EntityGraph(Session.WITH_USER_AND_CONSULTANT_GRAPH)
+  List<Session> findByConsultantAndStatusInOrderByLatestMessageDateDescIdDesc(
+      Consultant consultant, Collection<SessionStatus> statuses, Pageable pageable);
 
-  @Query("SELECT max(s.updateDate) FROM Session s WHERE s.consultant = :consultant")
-  LocalDateTime findMaxUpdateDateByConsultant(@Param("consultant") Consultant consultant);
+  /**
+   * Count the {@link Session}s assigned to or actively supervised by the given consultant with one
+   * of the given statuses.
+   *
+   * @param consultant the {@link Consultant}
+   * @param statuses the {@link SessionStatus}es to search for
+   * @return the count
+   */
+  @Query(
+      "SELECT COUNT(s) FROM Session s "
+          + "WHERE s.status IN :statuses "
+          + "AND (s.consultant = :consultant OR s.id IN ("
+          + "     SELECT ss.session.id FROM SessionSupervisor ss "
+          + "     WHERE ss.supervisorConsultant = :consultant AND ss.isActive = true))")
+  long countByConsultantOrSupervisorAndStatusIn(
+      @Param("consultant") Consultant consultant,
+      @Param("statuses") Collection<SessionStatus> statuses);
+
+  /**
+   * Returns those of the given Rocket.Chat group ids which belong to a {@link Session} assigned to
+   * or actively supervised by the given consultant with one of the given statuses.
+   *
+   * @param consultant the {@link Consultant}
+   * @param statuses the {@link SessionStatus}es to search for
+   * @param groupIds the group ids to check
+   * @return the matching group ids
+   */
+  @Query(
+      "SELECT s.groupId FROM Session s "
+          + "WHERE s.groupId IN :groupIds "
+          + "AND s.status IN :statuses "
+          + "AND (s.consultant = :consultant OR s.id IN ("
+          + "     SELECT ss.session.id FROM SessionSupervisor ss "
+          + "     WHERE ss.supervisorConsultant = :consultant AND ss.isActive = true))")
+  Set<String> findGroupIdsByConsultantOrSupervisorAndStatusIn(
+      @Param("consultant") Consultant consultant,
+      @Param("statuses") Collection<SessionStatus> statuses,
+      @Param("groupIds") Collection<String> groupIds);
+
+  /**
+   * Moves the latest message date of a {@link Session} forward. Older dates are ignored, so events
+   * may be applied out of order.
+   *
+   * @param sessionId the session id
+   * @param messageDate the date of the observed message
+   * @return the number of updated rows
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE Session s SET s.latestMessageDate = :messageDate "
+          + "WHERE s.id = :sessionId "
+          + "AND (s.latestMessageDate IS NULL OR s.latestMessageDate < :messageDate)")
+  int updateLatestMessageDate(
+      @Param("sessionId") Long sessionId, @Param("messageDate") LocalDateTime messageDate);
+
+  /**
+   * Moves the latest message date of the {@link Session} with the given Rocket.Chat group id
+   * forward. Older dates are ignored, so events may be applied out of order.
+   *
+   * @param groupId the Rocket.Chat group id
+   * @param messageDate the date of the observed message
+   * @return the number of updated rows
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE Session s SET s.latestMessageDate = :messageDate "
+          + "WHERE s.groupId = :groupId "
+          + "AND (s.latestMessageDate IS NULL OR s.latestMessageDate < :messageDate)")
+  int updateLatestMessageDateByGroupId(
+      @Param("groupId") String groupId, @Param("messageDate") LocalDateTime messageDate);
+
+  /** Find all sessions of the given consultants in the given {@link SessionStatus}. */
+  List<Session> findByConsultantInAndStatus(
+      Collection<Consultant> consultants, SessionStatus sessionStatus);
 }
@@ -1,8 +1,12 @@
 package de.caritas.cob.userservice.api.port.out;
 
+import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.model.SessionSupervisor;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -30,6 +34,30 @@ public interface SessionSupervisorRepository extends JpaRepository<SessionSuperv
   List<SessionSupervisor> findActiveSupervisionsByConsultantId(
       @Param("consultantId") String consultantId);
 
+  /**
+   * Find the sessions with one of the given statuses which are actively supervised by a
+   * consultant, together with their users and consultants, newest message first. Ties are broken
+   * by descending id, so the order is stable.
+   *
+   * @param consultantId the consultant ID
+   * @param statuses the session statuses
+   * @param pageable the pagination object limiting the result
+   * @return list of supervised sessions
+   */
+  @Query(
+      "SELECT s FROM Session s "
+          + "JOIN FETCH s.user "
+          + "LEFT JOIN FETCH s.consultant "
+          + "WHERE s.status IN :statuses "
+          + "AND s.id IN ("
+          + "     SELECT ss.session.id FROM SessionSupervisor ss "
+          + "     WHERE ss.supervisorConsultant.id = :consultantId AND ss.isActive = true) "
+          + "ORDER BY s.latestMessageDate DESC, s.id DESC")
+  List<Session> findActiveSupervisedSessionsByConsultantIdAndStatusIn(
+      @Param("consultantId") String consultantId,
+      @Param("statuses") Collection<SessionStatus> statuses,
+      Pageable pageable);
+
   /**
    * Find active supervisor relationship for a session and consultant.
    *
@@ -1,10 +1,38 @@
 package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.UserMobileToken;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserMobileTokenRepository extends CrudRepository<UserMobileToken, Long> {
 
   Optional<UserMobileToken> findByMobileAppToken(String mobileAppToken);
+
+  /**
+   * Returns the mobile app tokens of the not deleted users with the given ids.
+   *
+   * @param userIds the user ids
+   * @return the mobile app tokens
+   */
+  @Query(
+      "SELECT t.mobileAppToken FROM UserMobileToken t "
+          + "WHERE t.user.userId IN :userIds AND t.user.deleteDate IS NULL")
+  List<String> findMobileAppTokensByUserIds(@Param("userIds") Collection<String> userIds);
+
+  /**
+   * Deletes the given mobile app tokens of all users.
+   *
+   * @param mobileAppTokens the mobile app tokens to delete
+   * @return the number of deleted tokens
+   */
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM UserMobileToken t WHERE t.mobileAppToken IN :mobileAppTokens")
+  int deleteByMobileAppTokens(@Param("mobileAppTokens") Collection<String> mobileAppTokens);
 }
@@ -1,27 +1,43 @@
 package de.caritas.cob.userservice.api.port.out;
 
 import de.caritas.cob.userservice.api.model.User;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountActivity;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends CrudRepository<User, String> {
 
+  @EntityGraph(User.WITH_AGENCIES_GRAPH)
   Optional<User> findByUserIdAndDeleteDateIsNull(String userId);
 
+  @EntityGraph(User.WITH_AGENCIES_GRAPH)
   Optional<User> findByEmailAndDeleteDateIsNull(String email);
 
+  @EntityGraph(User.WITH_AGENCIES_GRAPH)
   Optional<User> findByRcUserIdAndDeleteDateIsNull(String rcUserId);
 
+  @EntityGraph(User.WITH_AGENCIES_GRAPH)
+  List<User> findByRcUserIdInAndDeleteDateIsNull(Collection<String> rcUserIds);
+
+  @EntityGraph(User.WITH_AGENCIES_GRAPH)
   Optional<User> findByMatrixUserIdAndDeleteDateIsNull(String matrixUserId);
 
+  List<User> findByMatrixUserIdInAndDeleteDateIsNull(Collection<String> matrixUserIds);
+
   List<User> findAllByDeleteDateNotNull();
 
   List<User> findAllByDeleteDateIsNull();
 
+  @EntityGraph(User.WITH_AGENCIES_GRAPH)
   Optional<User> findByUsernameInAndDeleteDateIsNull(Collection<String> usernames);
 
   /**
@@ -61,4 +77,61 @@ public interface UserRepository extends CrudRepository<User, String> {
               + "    AND s3.createDate >= ?1"
               + ")")
   List<User> findAllByDeleteDateNullAndNoRunningSessionsAndCreateDateOlderThan(LocalDateTime date);
+
+  /**
+   * Returns the mobile tokens stored directly on the not deleted users with the given ids.
+   *
+   * @param userIds the user ids
+   * @return the mobile tokens
+   */
+  @Query(
+      "SELECT u.mobileToken FROM User u "
+          + "WHERE u.userId IN :userIds AND u.deleteDate IS NULL AND u.mobileToken IS NOT NULL")
+  List<String> findMobileTokensByUserIds(@Param("userIds") Collection<String> userIds);
+
+  /**
+   * Removes the given mobile tokens from all users, e.g. after the push provider reported them as
+   * no longer valid.
+   *
+   * @param mobileTokens the mobile tokens to remove
+   * @return the number of updated users
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE User u SET u.mobileToken = NULL WHERE u.mobileToken IN :mobileTokens")
+  int removeMobileTokens(@Param("mobileTokens") Collection<String> mobileTokens);
+
+  /**
+   * Returns the next page of askers whose account and session activity dates are all before the
+   * given cutoff, ordered by user id.
+   *
+   * @param cutoff the date before which an asker counts as inactive
+   * @param afterUserId the last user id of the previous page, an empty string for the first page
+   * @param pageable the page size
+   * @return the activity of the inactive askers
+   */
+  @Query(
+      "SELECT u.userId AS accountId, u.tenantId AS tenantId, u.createDate AS createDate, "
+          + "u.updateDate AS updateDate, MAX(s.enquiryMessageDate) AS lastSessionActivity "
+          + "FROM User u LEFT JOIN u.sessions s "
+          + "WHERE u.deleteDate IS NULL AND u.userId > :afterUserId "
+          + "AND (u.createDate IS NULL OR u.createDate < :cutoff) "
+          + "AND (u.updateDate IS NULL OR u.updateDate < :cutoff) "
+          + "GROUP BY u.userId, u.tenantId, u.createDate, u.updateDate "
+          + "HAVING MAX(s.enquiryMessageDate) IS NULL OR MAX(s.enquiryMessageDate) < :cutoff "
+          + "ORDER BY u.userId")
+  List<InactiveAccountActivity> findInactiveAskers(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("afterUserId") String afterUserId,
+      Pageable pageable);
+
+  /**
+   * Returns all users without any session and without a chat agency assignment.
+   *
+   * @return the users without session and chat relation
+   */
+  @Query(
+      "SELECT u FROM User u WHERE NOT EXISTS (SELECT s FROM Session s WHERE s.user = u) "
+          + "AND NOT EXISTS (SELECT ua FROM UserAgency ua WHERE ua.user = u)")
+  List<User> findWithoutSessionAndUserAgency();
 }
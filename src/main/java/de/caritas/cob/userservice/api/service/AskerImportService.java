@@ -437,6 +437,7 @@ public class AskerImportService {
         session.setConsultant(consultant.get());
         session.setGroupId(rcGroupId);
         session.setEnquiryMessageDate(nowInUtc());
+        session.setLatestMessageDate(session.getEnquiryMessageDate());
         session.setStatus(SessionStatus.IN_PROGRESS);
         session.setCreateDate(nowInUtc());
         session.setUpdateDate(nowInUtc());
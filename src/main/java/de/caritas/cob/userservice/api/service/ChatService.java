@@ -35,6 +35,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Chat service class */
 @Service
@@ -54,6 +55,7 @@ public class ChatService {
    *
    * @return list of chats as {@link ConsultantSessionResponseDTO}
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getChatsForConsultant(Consultant consultant) {
     Set<Long> agencyIds =
         consultant.getConsultantAgencies().stream()
@@ -141,6 +143,7 @@ public class ChatService {
    * @param userId the id of the user
    * @return list of user chats as {@link UserSessionResponseDTO}
    */
+  @Transactional(readOnly = true)
   public List<UserSessionResponseDTO> getChatsForUserId(String userId) {
     List<Chat> chats = chatRepository.findByUserId(userId);
     List<Chat> assignedChats = chatRepository.findAssignedByUserId(userId);
@@ -149,6 +152,7 @@ public class ChatService {
         .collect(Collectors.toList());
   }
 
+  @Transactional(readOnly = true)
   public List<UserSessionResponseDTO> getChatSessionsByIds(Set<Long> chatIds) {
     return StreamSupport.stream(chatRepository.findAllById(chatIds).spliterator(), false)
         .map(this::convertChatToUserSessionResponseDTO)
@@ -227,6 +231,7 @@ public class ChatService {
    * @param chatIds Set of chat IDs
    * @return List of {@link ConsultantSessionResponseDTO}
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getChatSessionsForConsultantByIds(Set<Long> chatIds) {
     log.info("🔍 ChatService.getChatSessionsForConsultantByIds - chatIds: {}", chatIds);
 
@@ -261,12 +266,14 @@ public class ChatService {
    * @param groupIds a list of rocket chat group IDs
    * @return {@link List<UserSessionResponseDTO>}
    */
+  @Transactional(readOnly = true)
   public List<UserSessionResponseDTO> getChatSessionsByGroupIds(Set<String> groupIds) {
     return chatRepository.findByGroupIds(groupIds).stream()
         .map(this::convertChatToUserSessionResponseDTO)
         .collect(Collectors.toList());
   }
 
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getChatSessionsForConsultantByGroupIds(
       Set<String> groupIds) {
     return chatRepository.findByGroupIds(groupIds).stream()
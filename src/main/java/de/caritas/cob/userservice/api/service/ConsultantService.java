@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -153,6 +154,7 @@ public class ConsultantService {
    * @param consultantId the id of the consultant
    * @param mobileToken the new mobile device identifier token
    */
+  @Transactional
   public void addMobileAppToken(String consultantId, String mobileToken) {
     if (isNotBlank(mobileToken)) {
       this.getConsultant(consultantId)
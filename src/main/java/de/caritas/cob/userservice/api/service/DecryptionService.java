@@ -7,10 +7,15 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.map.LRUMap;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -26,18 +31,23 @@ public class DecryptionService {
 
   private static final String ENCRYPTED_MESSAGE_FLAG = "enc:";
 
+  private static final int MAX_CACHED_SECRET_KEYS = 10000;
+
+  private static final ThreadLocal<Cipher> CIPHER = new ThreadLocal<>();
+
   @Value("${service.encryption.appkey}")
   private String fragment_applicationKey;
 
-  private String fragment_masterKey = INITIAL_MASTER_KEY;
+  private volatile MasterKey fragment_masterKey = new MasterKey(INITIAL_MASTER_KEY);
 
   /**
-   * Updates the master key fragment
+   * Updates the master key fragment. The derived keys depend on it, so they are cached per master
+   * key and a new master key starts with an empty cache.
    *
    * @param masterKey The master key fragment
    */
   public void updateMasterKey(String masterKey) {
-    this.fragment_masterKey = masterKey;
+    this.fragment_masterKey = new MasterKey(masterKey);
   }
 
   /**
@@ -46,7 +56,7 @@ public class DecryptionService {
    * @return the current master key
    */
   public String getMasterKey() {
-    return this.fragment_masterKey;
+    return this.fragment_masterKey.value;
   }
 
   /**
@@ -58,22 +68,44 @@ public class DecryptionService {
     return this.fragment_applicationKey;
   }
 
+  /**
+   * Returns the SecretKeySpec for a given key. Derived keys are kept in a bounded cache of the
+   * master key they have been derived from, so the digest is only computed once per secret.
+   *
+   * @param secret the key for the generation
+   * @return The SecretKeySpec based on the key
+   * @throws NoSuchAlgorithmException
+   * @throws UnsupportedEncodingException
+   */
+  private SecretKeySpec obtainSecretKeySpec(String secret)
+      throws UnsupportedEncodingException, NoSuchAlgorithmException {
+
+    var masterKey = this.fragment_masterKey;
+    var secretKeySpec = masterKey.secretKeySpecs.get(secret);
+    if (secretKeySpec == null) {
+      secretKeySpec = generateSecretKeySpec(masterKey.value, secret);
+      masterKey.secretKeySpecs.put(secret, secretKeySpec);
+    }
+    return secretKeySpec;
+  }
+
   /**
    * Prepares the SecretKeySpec for a given key
    *
+   * @param masterKey the master key fragment for the generation
    * @param secret the key for the generation
    * @return The SecretKeySpec based on the key or <null> in case of an error
    * @throws NoSuchAlgorithmException
    * @throws UnsupportedEncodingException
    */
-  private SecretKeySpec generateSecretKeySpec(String secret)
+  private SecretKeySpec generateSecretKeySpec(String masterKey, String secret)
       throws UnsupportedEncodingException, NoSuchAlgorithmException {
 
-    if (getMasterKey().equals(INITIAL_MASTER_KEY)) {
+    if (masterKey.equals(INITIAL_MASTER_KEY)) {
       throw new NoMasterKeyException("No MasterKey found - please provide a MasterKey!");
     }
 
-    byte[] keyByte = (getMasterKey() + secret + getApplicationKey()).getBytes("UTF-8");
+    byte[] keyByte = (masterKey + secret + getApplicationKey()).getBytes("UTF-8");
     MessageDigest sha = MessageDigest.getInstance(MESSAGE_DIGEST_METHOD);
     keyByte = sha.digest(keyByte);
     keyByte = Arrays.copyOf(keyByte, 16);
@@ -96,8 +128,8 @@ public class DecryptionService {
     messageToDecrypt = messageToDecrypt.substring(ENCRYPTED_MESSAGE_FLAG.length());
 
     try {
-      SecretKeySpec keySpec = generateSecretKeySpec(secret);
-      Cipher cipher = Cipher.getInstance(CIPHER_METHODS);
+      SecretKeySpec keySpec = obtainSecretKeySpec(secret);
+      Cipher cipher = obtainCipher();
       cipher.init(Cipher.DECRYPT_MODE, keySpec);
       return new String(cipher.doFinal(Base64.getDecoder().decode(messageToDecrypt)));
     } catch (BadPaddingException e) {
@@ -108,4 +140,45 @@ public class DecryptionService {
       throw new CustomCryptoException(e);
     }
   }
+
+  /**
+   * Decrypts all given messages, each one with the secret it is mapped to, e.g. the last messages
+   * of a session list by their Rocket.Chat group id.
+   *
+   * @param messagesToDecryptBySecret the messages to decrypt mapped by their secret
+   * @return the decrypted messages mapped by their secret, in the same order
+   */
+  public Map<String, String> decrypt(Map<String, String> messagesToDecryptBySecret)
+      throws CustomCryptoException {
+    Map<String, String> decryptedMessagesBySecret =
+        new LinkedHashMap<>(messagesToDecryptBySecret.size() * 2);
+    for (var messageToDecrypt : messagesToDecryptBySecret.entrySet()) {
+      decryptedMessagesBySecret.put(
+          messageToDecrypt.getKey(),
+          decrypt(messageToDecrypt.getValue(), messageToDecrypt.getKey()));
+    }
+    return decryptedMessagesBySecret;
+  }
+
+  private Cipher obtainCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+    var cipher = CIPHER.get();
+    if (cipher == null) {
+      cipher = Cipher.getInstance(CIPHER_METHODS);
+      CIPHER.set(cipher);
+    }
+    return cipher;
+  }
+
+  /** A master key fragment together with the keys derived from it. */
+  private static class MasterKey {
+
+    private final String value;
+
+    private final Map<String, SecretKeySpec> secretKeySpecs =
+        Collections.synchronizedMap(new LRUMap<>(MAX_CACHED_SECRET_KEYS));
+
+    private MasterKey(String value) {
+      this.value = value;
+    }
+  }
 }
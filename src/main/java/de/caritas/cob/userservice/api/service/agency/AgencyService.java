@@ -14,12 +14,19 @@ import de.caritas.cob.userservice.api.config.apiclient.AgencyServiceApiControlle
 import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
 import de.caritas.cob.userservice.api.service.httpheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.api.service.httpheader.TenantHeaderSupplier;
+import de.caritas.cob.userservice.api.tenant.TenantContext;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 /** Service class to communicate with the AgencyService. */
@@ -30,6 +37,7 @@ public class AgencyService {
   private final @NonNull SecurityHeaderSupplier securityHeaderSupplier;
   private final @NonNull TenantHeaderSupplier tenantHeaderSupplier;
   private final @NonNull AgencyServiceApiControllerFactory agencyServiceApiControllerFactory;
+  private final @NonNull CacheManager cacheManager;
 
   /**
    * Returns the {@link AgencyDTO} for the provided agencyId. Agency will be cached for further
@@ -38,9 +46,8 @@ public class AgencyService {
    * @param agencyId {@link AgencyDTO#getId()}
    * @return AgencyDTO {@link AgencyDTO}
    */
-  @Cacheable(value = CacheManagerConfig.AGENCY_CACHE, key = "#agencyId")
   public AgencyDTO getAgency(Long agencyId) {
-    return getAgenciesFromAgencyService(Collections.singletonList(agencyId)).iterator().next();
+    return getAgencies(Collections.singletonList(agencyId)).iterator().next();
   }
 
   /**
@@ -55,15 +62,49 @@ public class AgencyService {
   }
 
   /**
-   * Returns List of {@link AgencyDTO} for provided agencyIds. Agencies will be cached for further
-   * requests.
+   * Returns List of {@link AgencyDTO} for provided agencyIds. Agencies are cached one by one per
+   * tenant, so only the ids missing in the cache are fetched from the AgencyService, all of them
+   * in a single call. The result keeps the order of the given ids, duplicates are removed.
    *
    * @param agencyIds List of {@link AgencyDTO#getId()}
    * @return List<AgencyDTO> List of {@link AgencyDTO}
    */
-  @Cacheable(value = CacheManagerConfig.AGENCY_CACHE, key = "#agencyIds")
   public List<AgencyDTO> getAgencies(List<Long> agencyIds) {
-    return getAgenciesFromAgencyService(agencyIds);
+    if (!isNotEmpty(agencyIds)) {
+      return emptyList();
+    }
+    var agencyCache = cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE);
+    if (agencyCache == null) {
+      return getAgenciesFromAgencyService(agencyIds);
+    }
+
+    Map<Long, AgencyDTO> agenciesById = new LinkedHashMap<>();
+    List<Long> missingAgencyIds = new ArrayList<>();
+    for (Long agencyId : new LinkedHashSet<>(agencyIds)) {
+      var cachedAgency = agencyCache.get(buildAgencyCacheKey(agencyId), AgencyDTO.class);
+      agenciesById.put(agencyId, cachedAgency);
+      if (cachedAgency == null) {
+        missingAgencyIds.add(agencyId);
+      }
+    }
+
+    if (!missingAgencyIds.isEmpty()) {
+      getAgenciesFromAgencyService(missingAgencyIds)
+          .forEach(agency -> cacheAgency(agencyCache, agency, agenciesById));
+    }
+
+    return agenciesById.values().stream().filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  private void cacheAgency(Cache agencyCache, AgencyDTO agency, Map<Long, AgencyDTO> agenciesById) {
+    if (agency.getId() != null) {
+      agencyCache.put(buildAgencyCacheKey(agency.getId()), agency);
+      agenciesById.put(agency.getId(), agency);
+    }
+  }
+
+  private String buildAgencyCacheKey(Long agencyId) {
+    return TenantContext.getCurrentTenant() + ":" + agencyId;
   }
 
   public List<AgencyDTO> getAgenciesNotCached(List<Long> agencyIds) {
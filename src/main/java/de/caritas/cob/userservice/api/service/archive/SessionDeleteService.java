@@ -47,7 +47,7 @@ public class SessionDeleteService {
     }
 
     var user = session.getUser();
-    if (user.getSessions().size() == 1) {
+    if (sessionService.getSessionsForUser(user).size() == 1) {
       actionsRegistry
           .buildContainerForType(User.class)
           .addActionToExecute(DeactivateKeycloakUserActionCommand.class)
@@ -1,50 +1,83 @@
 package de.caritas.cob.userservice.api.service.consultingtype;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import de.caritas.cob.userservice.api.config.CacheManagerConfig;
 import de.caritas.cob.userservice.api.config.apiclient.TopicServiceApiControllerFactory;
 import de.caritas.cob.userservice.api.service.httpheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.api.service.httpheader.TenantHeaderSupplier;
+import de.caritas.cob.userservice.api.tenant.TenantContext;
 import de.caritas.cob.userservice.topicservice.generated.ApiClient;
 import de.caritas.cob.userservice.topicservice.generated.web.TopicControllerApi;
 import de.caritas.cob.userservice.topicservice.generated.web.model.TopicDTO;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
+/**
+ * Service to read the topics of the current tenant from the TopicService.
+ *
+ * <p>All and active topics are cached per tenant in the {@link CacheManagerConfig#TOPICS_CACHE},
+ * together with an index by topic id. Entries older than the configured refresh ahead time are
+ * reloaded in the background while the cached topics are still returned, so topic lookups for a
+ * list of sessions are map reads.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TopicService {
 
+  private static final String ALL_TOPICS = "all";
+  private static final String ACTIVE_TOPICS = "active";
+
   private final @NonNull TopicServiceApiControllerFactory topicServiceApiControllerFactory;
   private final @NonNull SecurityHeaderSupplier securityHeaderSupplier;
   private final @NonNull TenantHeaderSupplier tenantHeaderSupplier;
+  private final @NonNull CacheManager cacheManager;
+
+  private final Set<String> refreshingCacheKeys = ConcurrentHashMap.newKeySet();
+  private final ExecutorService refreshExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            var thread = new Thread(runnable, "topic-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Value("${cache.topic.configuration.refreshAheadSeconds}")
+  private long refreshAheadSeconds;
 
-  @Cacheable(cacheNames = CacheManagerConfig.TOPICS_CACHE)
   public List<TopicDTO> getAllTopics() {
-    log.info("Calling topic service to get all topics");
-    TopicControllerApi controllerApi = topicServiceApiControllerFactory.createControllerApi();
-    addDefaultHeaders(controllerApi.getApiClient());
-    return controllerApi.getAllTopics();
+    return getCachedTopics(ALL_TOPICS, this::buildDefaultHeaders, this::fetchAllTopics)
+        .getTopics();
   }
 
   public List<TopicDTO> getAllActiveTopics() {
-    // Public endpoints needs to be called without Authentication header as not to cause a 401 error
-    TopicControllerApi controllerApi = topicServiceApiControllerFactory.createControllerApi();
-    addTenantHeaders(controllerApi.getApiClient());
-    log.info("Calling topic service to get all active topics");
-    return controllerApi.getAllActiveTopics();
+    return getCachedTopics(ACTIVE_TOPICS, this::buildTenantHeaders, this::fetchAllActiveTopics)
+        .getTopics();
   }
 
   /**
@@ -62,56 +95,159 @@ public class TopicService {
     return getAllActiveTopicsMap().get(topicId);
   }
 
-  private void addTenantHeaders(ApiClient apiClient) {
-    var headers = new HttpHeaders();
-    tenantHeaderSupplier.addTenantHeader(headers);
-    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
-  }
-
-  private void addDefaultHeaders(ApiClient apiClient) {
-    var headers = this.securityHeaderSupplier.getKeycloakAndCsrfHttpHeaders();
-    tenantHeaderSupplier.addTenantHeader(headers);
-    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
-  }
-
-  @Cacheable(cacheNames = CacheManagerConfig.TOPICS_CACHE)
   public Map<Long, TopicDTO> getAllTopicsMap() {
-    var allTopics = this.getAllTopics();
-    return allTopics == null || allTopics.isEmpty()
-        ? Maps.newHashMap()
-        : getAllTopicsMap(allTopics);
+    return getCachedTopics(ALL_TOPICS, this::buildDefaultHeaders, this::fetchAllTopics)
+        .getTopicsById();
   }
 
   public Map<Long, TopicDTO> getAllActiveTopicsMap() {
-    var allTopics = this.getAllActiveTopics();
-    return allTopics.isEmpty() ? Maps.newHashMap() : getAllTopicsMap(allTopics);
-  }
-
-  private Map<Long, TopicDTO> getAllTopicsMap(List<TopicDTO> allTopics) {
-    return allTopics.stream().collect(Collectors.toMap(TopicDTO::getId, Function.identity()));
+    return getCachedTopics(ACTIVE_TOPICS, this::buildTenantHeaders, this::fetchAllActiveTopics)
+        .getTopicsById();
   }
 
   public List<String> findTopicsInternalAttributes(Collection<Long> topicsList) {
     if (topicsList == null) {
       return Lists.newArrayList();
     } else {
+      var allTopicsMap = this.getAllActiveTopicsMap();
       return topicsList.stream()
-          .map(this::findTopicInternalIdentifier)
+          .map(topicId -> findTopicInternalIdentifier(allTopicsMap, topicId))
           .collect(Collectors.toList());
     }
   }
 
   public String findTopicInternalIdentifier(Long topicId) {
-    return topicId == null ? "" : findTopicInternalIdentifierInTopicsMap(topicId).orElse("");
+    return findTopicInternalIdentifier(getAllActiveTopicsMap(), topicId);
+  }
+
+  private String findTopicInternalIdentifier(Map<Long, TopicDTO> allTopicsMap, Long topicId) {
+    return topicId == null ? "" : findTopicInternalIdentifierInTopicsMap(allTopicsMap, topicId);
   }
 
-  private Optional<String> findTopicInternalIdentifierInTopicsMap(Long topicId) {
-    Map<Long, TopicDTO> allTopicsMap = this.getAllActiveTopicsMap();
+  private String findTopicInternalIdentifierInTopicsMap(
+      Map<Long, TopicDTO> allTopicsMap, Long topicId) {
     if (allTopicsMap.containsKey(topicId)) {
-      return Optional.ofNullable(allTopicsMap.get(topicId).getInternalIdentifier());
+      return Optional.ofNullable(allTopicsMap.get(topicId).getInternalIdentifier()).orElse("");
     } else {
       log.warn("No topic found for a given topicId in all topics map {}", topicId);
-      return Optional.empty();
+      return "";
+    }
+  }
+
+  private CachedTopics getCachedTopics(
+      String topicsType,
+      Supplier<HttpHeaders> headersSupplier,
+      Function<HttpHeaders, List<TopicDTO>> topicsFetcher) {
+    var topicsCache = cacheManager.getCache(CacheManagerConfig.TOPICS_CACHE);
+    if (topicsCache == null) {
+      return new CachedTopics(topicsFetcher.apply(headersSupplier.get()), Instant.now());
+    }
+
+    var cacheKey = TenantContext.getCurrentTenant() + ":" + topicsType;
+    var cachedTopics = topicsCache.get(cacheKey, CachedTopics.class);
+    if (cachedTopics == null) {
+      cachedTopics = new CachedTopics(topicsFetcher.apply(headersSupplier.get()), Instant.now());
+      topicsCache.put(cacheKey, cachedTopics);
+    } else if (isDueForRefresh(cachedTopics)) {
+      refreshInBackground(topicsCache, cacheKey, headersSupplier.get(), topicsFetcher);
+    }
+    return cachedTopics;
+  }
+
+  private boolean isDueForRefresh(CachedTopics cachedTopics) {
+    return cachedTopics
+        .getLoadDate()
+        .plus(Duration.ofSeconds(refreshAheadSeconds))
+        .isBefore(Instant.now());
+  }
+
+  /**
+   * The headers are built in the calling thread, as they depend on the tenant and the access token
+   * of the current request.
+   */
+  private void refreshInBackground(
+      Cache topicsCache,
+      String cacheKey,
+      HttpHeaders headers,
+      Function<HttpHeaders, List<TopicDTO>> topicsFetcher) {
+    if (!refreshingCacheKeys.add(cacheKey)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              topicsCache.put(
+                  cacheKey, new CachedTopics(topicsFetcher.apply(headers), Instant.now()));
+            } catch (RuntimeException e) {
+              log.warn("Could not refresh topics for cache key {}: {}", cacheKey, e.getMessage());
+            } finally {
+              refreshingCacheKeys.remove(cacheKey);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      refreshingCacheKeys.remove(cacheKey);
+    }
+  }
+
+  private List<TopicDTO> fetchAllTopics(HttpHeaders headers) {
+    log.info("Calling topic service to get all topics");
+    TopicControllerApi controllerApi = topicServiceApiControllerFactory.createControllerApi();
+    addHeaders(controllerApi.getApiClient(), headers);
+    return controllerApi.getAllTopics();
+  }
+
+  private List<TopicDTO> fetchAllActiveTopics(HttpHeaders headers) {
+    // Public endpoints needs to be called without Authentication header as not to cause a 401 error
+    TopicControllerApi controllerApi = topicServiceApiControllerFactory.createControllerApi();
+    addHeaders(controllerApi.getApiClient(), headers);
+    log.info("Calling topic service to get all active topics");
+    return controllerApi.getAllActiveTopics();
+  }
+
+  private HttpHeaders buildTenantHeaders() {
+    var headers = new HttpHeaders();
+    tenantHeaderSupplier.addTenantHeader(headers);
+    return headers;
+  }
+
+  private HttpHeaders buildDefaultHeaders() {
+    var headers = this.securityHeaderSupplier.getKeycloakAndCsrfHttpHeaders();
+    tenantHeaderSupplier.addTenantHeader(headers);
+    return headers;
+  }
+
+  private void addHeaders(ApiClient apiClient, HttpHeaders headers) {
+    headers.forEach((key, value) -> apiClient.addDefaultHeader(key, value.iterator().next()));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  /** Topics of one tenant as loaded from the TopicService, indexed by topic id. */
+  @Getter
+  static class CachedTopics {
+
+    private final List<TopicDTO> topics;
+    private final Map<Long, TopicDTO> topicsById;
+    private final Instant loadDate;
+
+    CachedTopics(List<TopicDTO> topics, Instant loadDate) {
+      this.topics =
+          topics == null ? Collections.emptyList() : Collections.unmodifiableList(topics);
+      this.topicsById =
+          Collections.unmodifiableMap(
+              this.topics.stream()
+                  .filter(topic -> Objects.nonNull(topic.getId()))
+                  .collect(
+                      Collectors.toMap(
+                          TopicDTO::getId,
+                          Function.identity(),
+                          (topic, duplicate) -> topic,
+                          LinkedHashMap::new)));
+      this.loadDate = loadDate;
     }
   }
 }
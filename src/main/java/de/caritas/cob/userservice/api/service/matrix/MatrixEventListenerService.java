@@ -1,6 +1,8 @@
 package de.caritas.cob.userservice.api.service.matrix;
 
 import de.caritas.cob.userservice.api.adapters.matrix.MatrixSynapseService;
+import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
 import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
@@ -11,16 +13,31 @@ import de.caritas.cob.userservice.api.service.notification.PrivacyEnvelope;
 import de.caritas.cob.userservice.api.service.session.SessionService;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 /**
  * Service to listen to Matrix events and trigger LiveService notifications. Uses Matrix /sync
- * endpoint for real-time event detection.
+ * endpoint for real-time event detection. Only the node holding the sync lease of {@link
+ * MatrixSyncStateService} runs the sync, starting from the stored cursor.
+ *
+ * <p>The session and the notification recipients of a room are kept in the size bounded {@link
+ * CacheManagerConfig#MATRIX_ROOM_CACHE}. Rooms without a session are remembered for a short time
+ * in the {@link CacheManagerConfig#MATRIX_UNKNOWN_ROOM_CACHE}, so they are not looked up in the
+ * database on every sync.
+ *
+ * <p>The messages of a sync batch are handled per room. Their senders are resolved with one query
+ * per batch, and the notifications of a room are sent by one task of a bounded worker pool. When
+ * the queue of the pool is full, the sync loop sends the notifications itself, which slows it down
+ * until the workers catch up.
  */
 @Slf4j
 @Service
@@ -35,45 +52,77 @@ public class MatrixEventListenerService {
   private final @NonNull UserRepository userRepository;
   private final @NonNull ConsultantRepository consultantRepository;
   private final @NonNull SessionRepository sessionRepository;
+  private final @NonNull MatrixSyncStateService matrixSyncStateService;
+  private final @NonNull CacheManager cacheManager;
+  private final @NonNull MatrixConfig matrixConfig;
 
-  // Maps Matrix room ID to session ID for quick lookup
-  private final Map<String, Long> roomToSessionMap = new ConcurrentHashMap<>();
+  // Executor running the sync loop
+  private ExecutorService syncExecutor;
 
-  // Maps Matrix room ID to list of user IDs who should receive notifications
-  private final Map<String, Set<String>> roomToUsersMap = new ConcurrentHashMap<>();
-
-  // Executor for async event processing
-  private ExecutorService executorService;
+  // Bounded executor sending the notifications of received messages
+  private ThreadPoolExecutor notificationExecutor;
 
   // Admin access token for Matrix /sync
   private String adminAccessToken;
 
-  // Matrix sync token (updated after each sync)
+  // Matrix sync token (updated after each sync, persisted while holding the sync lease)
   private String syncToken = null;
 
+  // Whether this node currently holds the sync lease (only accessed by the sync loop)
+  private boolean syncLeader = false;
+
   // Flag to control sync loop
   private volatile boolean running = false;
 
   @PostConstruct
   public void initialize() {
     log.info("🔷 Initializing Matrix Event Listener Service...");
-    executorService = Executors.newFixedThreadPool(2);
+    notificationExecutor = buildNotificationExecutor();
+    syncExecutor = Executors.newSingleThreadExecutor();
 
     // Start Matrix sync loop in background
-    executorService.submit(this::startMatrixSyncLoop);
+    syncExecutor.submit(this::startMatrixSyncLoop);
+  }
+
+  private ThreadPoolExecutor buildNotificationExecutor() {
+    var threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        matrixConfig.getNotificationWorkers(),
+        matrixConfig.getNotificationWorkers(),
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(matrixConfig.getNotificationQueueCapacity()),
+        runnable -> {
+          var thread =
+              new Thread(runnable, "matrix-notification-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
   }
 
   @PreDestroy
   public void shutdown() {
     log.info("🔷 Shutting down Matrix Event Listener Service...");
     running = false;
-    if (executorService != null) {
-      executorService.shutdownNow();
-      try {
-        executorService.awaitTermination(10, TimeUnit.SECONDS);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-      }
+    shutdownExecutor(syncExecutor);
+    shutdownExecutor(notificationExecutor);
+    try {
+      matrixSyncStateService.releaseLease();
+    } catch (Exception e) {
+      log.warn("⚠️ Failed to release Matrix sync lease", e);
+    }
+  }
+
+  private void shutdownExecutor(ExecutorService executor) {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
   }
 
@@ -87,8 +136,7 @@ public class MatrixEventListenerService {
    */
   public void registerRoom(Long sessionId, String matrixRoomId, Set<String> userIds) {
     if (matrixRoomId != null && !matrixRoomId.isEmpty()) {
-      roomToSessionMap.put(matrixRoomId, sessionId);
-      roomToUsersMap.put(matrixRoomId, userIds);
+      cacheRoom(matrixRoomId, new RoomContext(sessionId, userIds));
       log.info(
           "🔷 Registered Matrix room {} for session {} with {} users",
           matrixRoomId,
@@ -103,8 +151,7 @@ public class MatrixEventListenerService {
    * @param matrixRoomId the Matrix room ID
    */
   public void unregisterRoom(String matrixRoomId) {
-    roomToSessionMap.remove(matrixRoomId);
-    roomToUsersMap.remove(matrixRoomId);
+    evict(CacheManagerConfig.MATRIX_ROOM_CACHE, matrixRoomId);
     log.info("🔷 Unregistered Matrix room {}", matrixRoomId);
   }
 
@@ -131,12 +178,19 @@ public class MatrixEventListenerService {
 
     while (running) {
       try {
+        // Only the node holding the sync lease consumes /sync
+        if (!acquireSyncLease()) {
+          Thread.sleep(matrixSyncStateService.getLeaseRetryMs());
+          continue;
+        }
+
         // Perform Matrix sync (long-polling with 30-second timeout)
         Map<String, Object> syncResult = performMatrixSync();
 
         if (syncResult != null) {
           // Process events from sync result
           processMatrixSyncEvents(syncResult);
+          advanceSyncCursor(syncResult);
         }
 
         // Small delay to prevent CPU spinning if sync fails immediately
@@ -160,6 +214,50 @@ public class MatrixEventListenerService {
     log.info("🔷 Matrix sync loop stopped");
   }
 
+  /**
+   * Acquires or renews the sync lease. When the lease is newly acquired, the sync continues from
+   * the cursor stored by the previous lease holder.
+   *
+   * @return true if this node holds the sync lease
+   */
+  private boolean acquireSyncLease() {
+    if (!matrixSyncStateService.tryAcquireLease()) {
+      if (syncLeader) {
+        log.warn("⚠️ Lost Matrix sync lease, another node consumes /sync now");
+        syncLeader = false;
+      }
+      return false;
+    }
+    if (!syncLeader) {
+      syncToken = matrixSyncStateService.loadSyncToken().orElse(null);
+      syncLeader = true;
+      log.info(
+          "✅ Matrix sync lease acquired by {}, resuming from {} cursor",
+          matrixSyncStateService.getNodeId(),
+          syncToken != null ? "stored" : "initial");
+    }
+    return true;
+  }
+
+  /**
+   * Moves the sync cursor forward once the events of a sync result have been processed and stores
+   * it, so a restart or another node resumes from here.
+   *
+   * @param syncResult the processed sync result
+   */
+  private void advanceSyncCursor(Map<String, Object> syncResult) {
+    if (!syncResult.containsKey("next_batch")) {
+      return;
+    }
+    syncToken = (String) syncResult.get("next_batch");
+    if (!matrixSyncStateService.saveSyncToken(syncToken)) {
+      log.warn("⚠️ Matrix sync cursor not stored, the sync lease has been lost");
+      syncLeader = false;
+      return;
+    }
+    log.debug("🔷 Matrix sync cursor updated");
+  }
+
   /**
    * Perform Matrix /sync API call with long-polling.
    *
@@ -176,16 +274,7 @@ public class MatrixEventListenerService {
       }
 
       // Call Matrix sync endpoint
-      Map<String, Object> syncResult =
-          matrixSynapseService.makeMatrixRequest(syncUrl, "GET", adminAccessToken, null);
-
-      // Update sync token for next request
-      if (syncResult != null && syncResult.containsKey("next_batch")) {
-        syncToken = (String) syncResult.get("next_batch");
-        log.debug("🔷 Matrix sync cursor updated");
-      }
-
-      return syncResult;
+      return matrixSynapseService.makeMatrixRequest(syncUrl, "GET", adminAccessToken, null);
 
     } catch (Exception e) {
       log.error("❌ Matrix sync failed", e);
@@ -199,7 +288,7 @@ public class MatrixEventListenerService {
    * @param syncResult the sync result from Matrix
    */
   @SuppressWarnings("unchecked")
-  private void processMatrixSyncEvents(Map<String, Object> syncResult) {
+  void processMatrixSyncEvents(Map<String, Object> syncResult) {
     if (syncResult == null || !syncResult.containsKey("rooms")) {
       return;
     }
@@ -214,12 +303,8 @@ public class MatrixEventListenerService {
       return;
     }
 
-    // Log registered rooms (for debugging)
-    if (!roomToSessionMap.isEmpty()) {
-      log.debug("🔷 Registered rooms: {}", roomToSessionMap.keySet());
-    }
-
-    // Process each room
+    // Collect the timeline events of each room with a session
+    Map<String, List<Map<String, Object>>> eventsByRoom = new LinkedHashMap<>();
     for (Map.Entry<String, Object> roomEntry : joinedRooms.entrySet()) {
       String roomId = roomEntry.getKey();
       Map<String, Object> roomData = (Map<String, Object>) roomEntry.getValue();
@@ -230,18 +315,67 @@ public class MatrixEventListenerService {
         continue;
       }
 
-      log.info("🔷 Processing events for registered room: {}", roomId);
-
-      // Process timeline events
       if (roomData.containsKey("timeline")) {
         Map<String, Object> timeline = (Map<String, Object>) roomData.get("timeline");
         if (timeline.containsKey("events")) {
-          List<Map<String, Object>> events = (List<Map<String, Object>>) timeline.get("events");
+          eventsByRoom.put(roomId, (List<Map<String, Object>>) timeline.get("events"));
+        }
+      }
+    }
 
-          for (Map<String, Object> event : events) {
-            processMatrixEvent(roomId, event);
-          }
+    Map<String, String> domainUserIds = resolveDomainUserIdsOfMessageSenders(eventsByRoom);
+    eventsByRoom.forEach(
+        (roomId, events) -> {
+          log.info("🔷 Processing {} events for registered room: {}", events.size(), roomId);
+          processRoomEvents(roomId, events, domainUserIds);
+        });
+  }
+
+  private void processRoomEvents(
+      String roomId, List<Map<String, Object>> events, Map<String, String> domainUserIds) {
+    var roomBatch = new RoomBatch();
+    for (Map<String, Object> event : events) {
+      processMatrixEvent(roomId, event, domainUserIds, roomBatch);
+    }
+
+    Long sessionId = resolveSessionIdForRoom(roomId).orElse(null);
+    // Keep the session's latest message date current, it is used to order the session lists.
+    updateLatestMessageDate(sessionId, roomBatch.getLatestMessageTimestamp());
+    if (sessionId != null && !roomBatch.getNotifications().isEmpty()) {
+      // Notifications are sent asynchronously, or by the sync loop itself if the queue is full
+      notificationExecutor.execute(() -> sendNotifications(roomId, roomBatch.getNotifications()));
+    }
+  }
+
+  private void sendNotifications(String roomId, List<MessageNotification> notifications) {
+    log.info(
+        "🔔 Triggering LiveService directMessage event for {} messages in room {}",
+        notifications.size(),
+        roomId);
+    try {
+      liveEventNotificationService.sendLiveDirectMessageEventToUsers(roomId);
+    } catch (Exception e) {
+      log.error("❌ Failed to send LiveService notification", e);
+    }
+    for (MessageNotification notification : notifications) {
+      try {
+        if (notification.getThreadRootId() != null
+            && !notification.getThreadRootId().isBlank()) {
+          eventNotificationService.createThreadReplyNotificationFromRoom(
+              roomId,
+              notification.getSenderDomainUserId(),
+              notification.getThreadRootId(),
+              true,
+              notification.getPrivacyEnvelope());
+        } else {
+          eventNotificationService.createMessageNotificationFromRoom(
+              roomId,
+              notification.getSenderDomainUserId(),
+              true,
+              notification.getPrivacyEnvelope());
         }
+      } catch (Exception e) {
+        log.error("❌ Failed to create message notification", e);
       }
     }
   }
@@ -251,9 +385,15 @@ public class MatrixEventListenerService {
    *
    * @param roomId the Matrix room ID
    * @param event the Matrix event
+   * @param domainUserIds the user and consultant ids of the message senders by Matrix user id
+   * @param roomBatch the collected results of the events of the room
    */
   @SuppressWarnings("unchecked")
-  private void processMatrixEvent(String roomId, Map<String, Object> event) {
+  private void processMatrixEvent(
+      String roomId,
+      Map<String, Object> event,
+      Map<String, String> domainUserIds,
+      RoomBatch roomBatch) {
     String eventType = (String) event.get("type");
     String senderId = (String) event.get("sender");
 
@@ -266,7 +406,7 @@ public class MatrixEventListenerService {
     // Handle different event types
     switch (eventType) {
       case "m.room.message":
-        handleRoomMessage(roomId, event);
+        handleRoomMessage(roomId, event, domainUserIds, roomBatch);
         break;
 
       case "m.call.invite":
@@ -288,13 +428,19 @@ public class MatrixEventListenerService {
   }
 
   /**
-   * Handle m.room.message event - trigger directMessage live event.
+   * Handle m.room.message event - collect the directMessage live event of the room.
    *
    * @param roomId the Matrix room ID
    * @param event the message event
+   * @param domainUserIds the user and consultant ids of the message senders by Matrix user id
+   * @param roomBatch the collected results of the events of the room
    */
   @SuppressWarnings("unchecked")
-  private void handleRoomMessage(String roomId, Map<String, Object> event) {
+  private void handleRoomMessage(
+      String roomId,
+      Map<String, Object> event,
+      Map<String, String> domainUserIds,
+      RoomBatch roomBatch) {
     String senderId = (String) event.get("sender");
     Map<String, Object> content = (Map<String, Object>) event.get("content");
 
@@ -303,7 +449,7 @@ public class MatrixEventListenerService {
     }
 
     String msgtype = (String) content.get("msgtype");
-    String senderDomainUserId = resolveDomainUserIdFromMatrixUserId(senderId);
+    String senderDomainUserId = senderId == null ? null : domainUserIds.get(senderId);
     String threadRootId = extractThreadRootId(content);
     String messageBody = extractMessageBody(content);
     PrivacyEnvelope privacyEnvelope =
@@ -313,7 +459,7 @@ public class MatrixEventListenerService {
 
     // Debug mirror: capture actual Matrix timeline messages so Redis Commander can show them.
     // This is feature-flagged/TTL-bound in RedisMessageMirrorService.
-    Long sessionId = roomToSessionMap.get(roomId);
+    Long sessionId = resolveSessionIdForRoom(roomId).orElse(null);
     redisMessageMirrorService.mirrorOutgoingMessage(
         sessionId,
         roomId,
@@ -322,6 +468,8 @@ public class MatrixEventListenerService {
         messageBody,
         event.get("event_id") != null ? String.valueOf(event.get("event_id")) : null);
 
+    roomBatch.addMessageTimestamp(privacyEnvelope.getTimestamp());
+
     // Get users who should receive notification (exclude sender)
     Set<String> userIds = getRecipientCandidatesForRoom(roomId);
     if (userIds == null || userIds.isEmpty()) {
@@ -335,80 +483,109 @@ public class MatrixEventListenerService {
             .collect(java.util.stream.Collectors.toList());
 
     if (!recipientIds.isEmpty()) {
-      log.info("🔔 Triggering LiveService directMessage event for {} users", recipientIds.size());
-
-      // Use existing LiveService notification service
-      // Note: We need to convert Matrix room ID to session/group ID
-      Long mappedSessionId = roomToSessionMap.get(roomId);
-      if (mappedSessionId != null) {
-        // Trigger notification asynchronously to not block sync loop
-        executorService.submit(
-            () -> {
-              try {
-                liveEventNotificationService.sendLiveDirectMessageEventToUsers(roomId);
-                if (threadRootId != null && !threadRootId.isBlank()) {
-                  eventNotificationService.createThreadReplyNotificationFromRoom(
-                      roomId, senderDomainUserId, threadRootId, true, privacyEnvelope);
-                } else {
-                  eventNotificationService.createMessageNotificationFromRoom(
-                      roomId, senderDomainUserId, true, privacyEnvelope);
-                }
-              } catch (Exception e) {
-                log.error("❌ Failed to send LiveService notification", e);
-              }
-            });
-      }
+      roomBatch
+          .getNotifications()
+          .add(new MessageNotification(senderDomainUserId, threadRootId, privacyEnvelope));
     }
   }
 
-  private String resolveDomainUserIdFromMatrixUserId(String matrixUserId) {
-    if (matrixUserId == null || matrixUserId.isBlank()) {
-      return null;
+  private void updateLatestMessageDate(Long sessionId, Long timestamp) {
+    if (sessionId == null || timestamp == null) {
+      return;
+    }
+    try {
+      sessionRepository.updateLatestMessageDate(
+          sessionId,
+          java.time.LocalDateTime.ofInstant(
+              java.time.Instant.ofEpochMilli(timestamp), java.time.ZoneOffset.UTC));
+    } catch (Exception e) {
+      log.warn("⚠️ Failed to update latest message date of session {}", sessionId, e);
     }
-    return userRepository
-        .findByMatrixUserIdAndDeleteDateIsNull(matrixUserId)
-        .map(user -> user.getUserId())
-        .or(
-            () ->
-                consultantRepository
-                    .findByMatrixUserIdAndDeleteDateIsNull(matrixUserId)
-                    .map(consultant -> consultant.getId()))
-        .orElse(null);
+  }
+
+  /**
+   * Resolves the user or consultant ids of the senders of all messages of a sync batch at once. A
+   * user id takes precedence over a consultant id with the same Matrix user id.
+   */
+  private Map<String, String> resolveDomainUserIdsOfMessageSenders(
+      Map<String, List<Map<String, Object>>> eventsByRoom) {
+    Set<String> matrixUserIds = new HashSet<>();
+    eventsByRoom
+        .values()
+        .forEach(
+            events ->
+                events.stream()
+                    .filter(event -> "m.room.message".equals(event.get("type")))
+                    .map(event -> event.get("sender"))
+                    .filter(sender -> sender instanceof String && !((String) sender).isBlank())
+                    .forEach(sender -> matrixUserIds.add((String) sender)));
+    if (matrixUserIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, String> domainUserIds = new HashMap<>();
+    consultantRepository
+        .findByMatrixUserIdInAndDeleteDateIsNull(matrixUserIds)
+        .forEach(consultant -> domainUserIds.put(consultant.getMatrixUserId(), consultant.getId()));
+    userRepository
+        .findByMatrixUserIdInAndDeleteDateIsNull(matrixUserIds)
+        .forEach(user -> domainUserIds.put(user.getMatrixUserId(), user.getUserId()));
+    return domainUserIds;
   }
 
   private Optional<Long> resolveSessionIdForRoom(String roomId) {
-    Long cached = roomToSessionMap.get(roomId);
-    if (cached != null) {
-      return Optional.of(cached);
+    return Optional.ofNullable(getCachedRoom(roomId))
+        .or(() -> loadRoom(roomId))
+        .map(RoomContext::getSessionId);
+  }
+
+  private Set<String> getRecipientCandidatesForRoom(String roomId) {
+    RoomContext cached = getCachedRoom(roomId);
+    if (cached != null && !cached.getRecipients().isEmpty()) {
+      return cached.getRecipients();
+    }
+
+    return loadRoom(roomId).map(RoomContext::getRecipients).orElse(Collections.emptySet());
+  }
+
+  private Optional<RoomContext> loadRoom(String roomId) {
+    Cache unknownRoomCache = cacheManager.getCache(CacheManagerConfig.MATRIX_UNKNOWN_ROOM_CACHE);
+    if (unknownRoomCache != null && unknownRoomCache.get(roomId) != null) {
+      return Optional.empty();
     }
 
     Optional<Session> sessionOpt = sessionRepository.findByMatrixRoomId(roomId);
     if (sessionOpt.isEmpty()) {
+      if (unknownRoomCache != null) {
+        unknownRoomCache.put(roomId, Boolean.TRUE);
+      }
       return Optional.empty();
     }
 
     Session session = sessionOpt.get();
-    roomToSessionMap.put(roomId, session.getId());
-    roomToUsersMap.put(roomId, buildRecipientSet(session));
-    return Optional.of(session.getId());
+    var roomContext = new RoomContext(session.getId(), buildRecipientSet(session));
+    cacheRoom(roomId, roomContext);
+    return Optional.of(roomContext);
   }
 
-  private Set<String> getRecipientCandidatesForRoom(String roomId) {
-    Set<String> cached = roomToUsersMap.get(roomId);
-    if (cached != null && !cached.isEmpty()) {
-      return cached;
-    }
+  private RoomContext getCachedRoom(String roomId) {
+    Cache roomCache = cacheManager.getCache(CacheManagerConfig.MATRIX_ROOM_CACHE);
+    return roomCache == null ? null : roomCache.get(roomId, RoomContext.class);
+  }
 
-    Optional<Session> sessionOpt = sessionRepository.findByMatrixRoomId(roomId);
-    if (sessionOpt.isEmpty()) {
-      return Collections.emptySet();
+  private void cacheRoom(String roomId, RoomContext roomContext) {
+    Cache roomCache = cacheManager.getCache(CacheManagerConfig.MATRIX_ROOM_CACHE);
+    if (roomCache != null) {
+      roomCache.put(roomId, roomContext);
     }
+    evict(CacheManagerConfig.MATRIX_UNKNOWN_ROOM_CACHE, roomId);
+  }
 
-    Session session = sessionOpt.get();
-    Set<String> recipients = buildRecipientSet(session);
-    roomToSessionMap.put(roomId, session.getId());
-    roomToUsersMap.put(roomId, recipients);
-    return recipients;
+  private void evict(String cacheName, String roomId) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.evict(roomId);
+    }
   }
 
   private Set<String> buildRecipientSet(Session session) {
@@ -564,8 +741,8 @@ public class MatrixEventListenerService {
         lifetime);
 
     // Get users who should receive notification (exclude sender)
-    Set<String> userIds = roomToUsersMap.get(roomId);
-    if (userIds == null || userIds.isEmpty()) {
+    Set<String> userIds = getRecipientCandidatesForRoom(roomId);
+    if (userIds.isEmpty()) {
       return;
     }
 
@@ -608,4 +785,45 @@ public class MatrixEventListenerService {
     log.info("📞 Call ended in room {} by {}", roomId, senderId);
     // Can trigger additional live events if needed
   }
+
+  /** Session of a Matrix room and the users to notify about its events. */
+  @Getter
+  static class RoomContext {
+
+    private final Long sessionId;
+    private final Set<String> recipients;
+
+    RoomContext(Long sessionId, Set<String> recipients) {
+      this.sessionId = sessionId;
+      this.recipients =
+          recipients == null
+              ? Collections.emptySet()
+              : Collections.unmodifiableSet(new HashSet<>(recipients));
+    }
+  }
+
+  /** Notification data of a received message. */
+  @Getter
+  @RequiredArgsConstructor
+  private static class MessageNotification {
+
+    private final String senderDomainUserId;
+    private final String threadRootId;
+    private final PrivacyEnvelope privacyEnvelope;
+  }
+
+  /** Notifications and latest message date collected from the events of a room in a sync batch. */
+  @Getter
+  private static class RoomBatch {
+
+    private final List<MessageNotification> notifications = new ArrayList<>();
+    private Long latestMessageTimestamp;
+
+    void addMessageTimestamp(Long timestamp) {
+      if (timestamp != null
+          && (latestMessageTimestamp == null || timestamp > latestMessageTimestamp)) {
+        latestMessageTimestamp = timestamp;
+      }
+    }
+  }
 }
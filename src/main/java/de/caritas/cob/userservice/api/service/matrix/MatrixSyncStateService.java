@@ -0,0 +1,101 @@
+package de.caritas.cob.userservice.api.service.matrix;
+
+import static de.caritas.cob.userservice.api.helper.CustomLocalDateTime.nowInUtc;
+import static de.caritas.cob.userservice.api.helper.NodeIdGenerator.generateNodeId;
+
+import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import de.caritas.cob.userservice.api.model.MatrixSyncState;
+import de.caritas.cob.userservice.api.port.out.MatrixSyncStateRepository;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persists the cursor of the admin Matrix /sync loop and elects the node which runs it. The node
+ * holding the lease of the sync state row is the only one consuming /sync; it renews the lease
+ * before every sync request. When it stops, or its lease expires, another node takes over and
+ * resumes from the stored cursor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatrixSyncStateService {
+
+  static final String ADMIN_SYNC_STATE_ID = "admin";
+
+  private final @NonNull MatrixSyncStateRepository matrixSyncStateRepository;
+  private final @NonNull MatrixConfig matrixConfig;
+
+  @Getter private final String nodeId = generateNodeId();
+
+  /**
+   * Acquires the lease for the admin sync loop or renews it, if it is already held by this node.
+   *
+   * @return true if this node holds the lease
+   */
+  public boolean tryAcquireLease() {
+    var now = nowInUtc();
+    var leaseUntil = now.plus(Duration.ofMillis(matrixConfig.getSyncLeaseTtlMs()));
+    if (matrixSyncStateRepository.acquireLease(ADMIN_SYNC_STATE_ID, nodeId, now, leaseUntil) > 0) {
+      return true;
+    }
+    if (!matrixSyncStateRepository.existsById(ADMIN_SYNC_STATE_ID)) {
+      createSyncState();
+      return matrixSyncStateRepository.acquireLease(ADMIN_SYNC_STATE_ID, nodeId, now, leaseUntil)
+          > 0;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the stored sync token to resume the admin sync loop from.
+   *
+   * @return an {@link Optional} of the stored sync token
+   */
+  public Optional<String> loadSyncToken() {
+    return matrixSyncStateRepository
+        .findById(ADMIN_SYNC_STATE_ID)
+        .map(MatrixSyncState::getSyncToken);
+  }
+
+  /**
+   * Stores the sync token of the admin sync loop. The token is only written while this node still
+   * holds the lease, so a node which lost its lease can not move the cursor of its successor.
+   *
+   * @param syncToken the token to resume from
+   * @return true if the token has been stored, false if the lease has been lost
+   */
+  public boolean saveSyncToken(String syncToken) {
+    return matrixSyncStateRepository.updateSyncToken(
+            ADMIN_SYNC_STATE_ID, nodeId, syncToken, nowInUtc())
+        > 0;
+  }
+
+  /**
+   * Returns how long a node without the lease waits before trying to acquire it again.
+   *
+   * @return the retry interval in milliseconds
+   */
+  public long getLeaseRetryMs() {
+    return matrixConfig.getSyncLeaseRetryMs();
+  }
+
+  /** Releases the lease of this node, so another node can take over without waiting. */
+  public void releaseLease() {
+    matrixSyncStateRepository.releaseLease(ADMIN_SYNC_STATE_ID, nodeId);
+  }
+
+  private void createSyncState() {
+    try {
+      matrixSyncStateRepository.save(
+          MatrixSyncState.builder().id(ADMIN_SYNC_STATE_ID).updateDate(nowInUtc()).build());
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Matrix sync state has been created by another node");
+    }
+  }
+}
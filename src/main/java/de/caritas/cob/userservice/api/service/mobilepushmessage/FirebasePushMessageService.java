@@ -1,14 +1,25 @@
 package de.caritas.cob.userservice.api.service.mobilepushmessage;
 
+import static java.util.Collections.emptySet;
+
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
 import de.caritas.cob.userservice.api.service.LogService;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +31,9 @@ import org.springframework.stereotype.Service;
 @Service
 public class FirebasePushMessageService {
 
+  /** Maximum number of registration tokens Firebase accepts in one multicast message. */
+  static final int MAX_MULTICAST_TOKENS = 500;
+
   @Value("${firebase.configuration.push-notifications.enabled}")
   private boolean isEnabled;
 
@@ -52,24 +66,71 @@ public class FirebasePushMessageService {
   }
 
   /**
-   * Sends a push notification message to mobile device with given registration token.
+   * Sends a push notification message to all mobile devices with the given registration tokens.
+   * The tokens are sent as multicast messages of up to {@link #MAX_MULTICAST_TOKENS} tokens each,
+   * which Firebase delivers as one send request per token.
    *
-   * @param registrationToken the mobile device identifier
+   * @param registrationTokens the mobile device identifiers
+   * @return the registration tokens Firebase rejected as no longer valid
    */
-  public void pushNewMessageEvent(String registrationToken) {
-    if (!this.isEnabled) {
-      return;
+  public Set<String> pushNewMessageEvents(Collection<String> registrationTokens) {
+    if (!this.isEnabled || registrationTokens.isEmpty()) {
+      return emptySet();
     }
+    var tokens = new ArrayList<>(new LinkedHashSet<>(registrationTokens));
+    Set<String> invalidTokens = new HashSet<>();
+    for (int start = 0; start < tokens.size(); start += MAX_MULTICAST_TOKENS) {
+      var chunk = tokens.subList(start, Math.min(start + MAX_MULTICAST_TOKENS, tokens.size()));
+      invalidTokens.addAll(sendEachForMulticast(chunk));
+    }
+    return invalidTokens;
+  }
+
+  private Set<String> sendEachForMulticast(List<String> registrationTokens) {
     var message =
-        Message.builder()
-            .setNotification(Notification.builder().setBody(this.pushNotificationMessage).build())
-            .setToken(registrationToken)
+        MulticastMessage.builder()
+            .setNotification(buildNotification())
+            .addAllTokens(registrationTokens)
             .build();
 
     try {
-      this.firebaseMessaging.send(message);
+      return collectInvalidTokens(
+          registrationTokens, this.firebaseMessaging.sendEachForMulticast(message));
     } catch (FirebaseMessagingException e) {
       LogService.logWarn(e);
+      return emptySet();
     }
   }
+
+  /**
+   * The responses are in the order of the tokens of the multicast message. An invalid argument is
+   * only accounted to the token if another token of the same message was delivered, otherwise the
+   * message itself may have been rejected.
+   */
+  private Set<String> collectInvalidTokens(
+      List<String> registrationTokens, BatchResponse batchResponse) {
+    var responses = batchResponse.getResponses();
+    var messageAccepted = batchResponse.getSuccessCount() > 0;
+    Set<String> invalidTokens = new HashSet<>();
+    for (int i = 0; i < responses.size(); i++) {
+      if (isInvalidToken(responses.get(i), messageAccepted)) {
+        invalidTokens.add(registrationTokens.get(i));
+      }
+    }
+    return invalidTokens;
+  }
+
+  private boolean isInvalidToken(SendResponse sendResponse, boolean messageAccepted) {
+    if (sendResponse.isSuccessful() || sendResponse.getException() == null) {
+      return false;
+    }
+    var errorCode = sendResponse.getException().getMessagingErrorCode();
+    return errorCode == MessagingErrorCode.UNREGISTERED
+        || errorCode == MessagingErrorCode.SENDER_ID_MISMATCH
+        || (errorCode == MessagingErrorCode.INVALID_ARGUMENT && messageAccepted);
+  }
+
+  private Notification buildNotification() {
+    return Notification.builder().setBody(this.pushNotificationMessage).build();
+  }
 }
@@ -1,15 +1,15 @@
 package de.caritas.cob.userservice.api.service.mobilepushmessage;
 
-import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 
-import de.caritas.cob.userservice.api.model.Consultant;
-import de.caritas.cob.userservice.api.model.ConsultantMobileToken;
-import de.caritas.cob.userservice.api.model.User;
-import de.caritas.cob.userservice.api.model.UserMobileToken;
-import de.caritas.cob.userservice.api.service.ConsultantService;
-import de.caritas.cob.userservice.api.service.user.UserService;
+import de.caritas.cob.userservice.api.port.out.ConsultantMobileTokenRepository;
+import de.caritas.cob.userservice.api.port.out.UserMobileTokenRepository;
+import de.caritas.cob.userservice.api.port.out.UserRepository;
+import de.caritas.cob.userservice.api.service.LogService;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Set;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -23,45 +23,47 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MobilePushNotificationService {
 
-  private final @NonNull UserService userService;
-  private final @NonNull ConsultantService consultantService;
+  private final @NonNull UserRepository userRepository;
+  private final @NonNull UserMobileTokenRepository userMobileTokenRepository;
+  private final @NonNull ConsultantMobileTokenRepository consultantMobileTokenRepository;
   private final @NonNull FirebasePushMessageService firebasePushMessageService;
 
   /**
-   * Triggers mobile push notifications to users who have a mobile device identifier.
+   * Triggers mobile push notifications to users who have a mobile device identifier. The tokens of
+   * all users and consultants are loaded at once and sent in batches. Tokens rejected as no longer
+   * valid are removed.
    *
    * @param userIds user ids to send push notifications
    */
   public void triggerMobilePushNotification(List<String> userIds) {
-    userIds.forEach(this::sendPushNotificationForUser);
-  }
-
-  private void sendPushNotificationForUser(String userId) {
-    this.userService.getUser(userId).ifPresent(this::sendPushNotificationIfUserHasMobileTokens);
-    this.consultantService
-        .getConsultant(userId)
-        .ifPresent(this::sendPushNotificationIfConsultantHasMobileTokens);
-  }
-
-  private void sendPushNotificationIfUserHasMobileTokens(User user) {
-    Stream.concat(Stream.of(user.getMobileToken()), extractMobileAppTokens(user))
-        .filter(StringUtils::isNotBlank)
-        .forEach(this.firebasePushMessageService::pushNewMessageEvent);
+    if (isEmpty(userIds)) {
+      return;
+    }
+    var mobileTokens = collectMobileTokens(new HashSet<>(userIds));
+    if (mobileTokens.isEmpty()) {
+      return;
+    }
+    var invalidTokens = this.firebasePushMessageService.pushNewMessageEvents(mobileTokens);
+    if (!invalidTokens.isEmpty()) {
+      removeMobileTokens(invalidTokens);
+    }
   }
 
-  private Stream<String> extractMobileAppTokens(User user) {
-    if (isNotEmpty(user.getUserMobileTokens())) {
-      return user.getUserMobileTokens().stream().map(UserMobileToken::getMobileAppToken);
-    }
-    return Stream.empty();
+  private Set<String> collectMobileTokens(Set<String> userIds) {
+    Set<String> mobileTokens = new LinkedHashSet<>();
+    mobileTokens.addAll(this.userRepository.findMobileTokensByUserIds(userIds));
+    mobileTokens.addAll(this.userMobileTokenRepository.findMobileAppTokensByUserIds(userIds));
+    mobileTokens.addAll(
+        this.consultantMobileTokenRepository.findMobileAppTokensByConsultantIds(userIds));
+    mobileTokens.removeIf(StringUtils::isBlank);
+    return mobileTokens;
   }
 
-  private void sendPushNotificationIfConsultantHasMobileTokens(Consultant consultant) {
-    if (isNotEmpty(consultant.getConsultantMobileTokens())) {
-      consultant.getConsultantMobileTokens().stream()
-          .map(ConsultantMobileToken::getMobileAppToken)
-          .filter(StringUtils::isNotBlank)
-          .forEach(this.firebasePushMessageService::pushNewMessageEvent);
-    }
+  private void removeMobileTokens(Set<String> invalidTokens) {
+    this.userRepository.removeMobileTokens(invalidTokens);
+    this.userMobileTokenRepository.deleteByMobileAppTokens(invalidTokens);
+    this.consultantMobileTokenRepository.deleteByMobileAppTokens(invalidTokens);
+    LogService.logInfo(
+        String.format("Removed %s mobile tokens rejected by Firebase", invalidTokens.size()));
   }
 }
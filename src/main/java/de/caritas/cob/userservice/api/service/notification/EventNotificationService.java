@@ -12,6 +12,7 @@ import de.caritas.cob.userservice.api.port.out.UserRepository;
 import de.caritas.cob.userservice.api.workflow.delete.service.IdentityTombstoneService;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -177,12 +178,14 @@ public class EventNotificationService {
     String senderLabel = resolveSenderName(senderUserId, senderDisplayName);
     String text = buildMessageNotificationText(senderLabel, messagePreview, envelope);
 
+    List<EventNotification> events = new ArrayList<>();
     if (!supervisorMessage
         && session.getUser() != null
         && session.getUser().getUserId() != null
         && !session.getUser().getUserId().equals(senderUserId)
         && !shouldSuppressNotification(session.getUser().getUserId(), roomId, null)) {
-      createEvent(
+      addEvent(
+          events,
           session.getUser().getUserId(),
           "message.new",
           CATEGORY_MESSAGE,
@@ -197,7 +200,8 @@ public class EventNotificationService {
         && session.getConsultant().getId() != null
         && !session.getConsultant().getId().equals(senderUserId)
         && !shouldSuppressNotification(session.getConsultant().getId(), roomId, null)) {
-      createEvent(
+      addEvent(
+          events,
           session.getConsultant().getId(),
           "message.new",
           CATEGORY_MESSAGE,
@@ -207,6 +211,7 @@ public class EventNotificationService {
           session.getId(),
           session.getTenantId());
     }
+    eventNotificationRepository.saveAll(events);
   }
 
   @Transactional
@@ -285,12 +290,14 @@ public class EventNotificationService {
         buildThreadReplyNotificationText(
             senderLabel, messagePreview, threadParentPreview, envelope);
 
+    List<EventNotification> events = new ArrayList<>();
     if (!supervisorMessage
         && session.getUser() != null
         && session.getUser().getUserId() != null
         && !session.getUser().getUserId().equals(senderUserId)
         && !shouldSuppressNotification(session.getUser().getUserId(), roomId, threadRootId)) {
-      createEvent(
+      addEvent(
+          events,
           session.getUser().getUserId(),
           "thread.reply.new",
           CATEGORY_MESSAGE,
@@ -305,7 +312,8 @@ public class EventNotificationService {
         && session.getConsultant().getId() != null
         && !session.getConsultant().getId().equals(senderUserId)
         && !shouldSuppressNotification(session.getConsultant().getId(), roomId, threadRootId)) {
-      createEvent(
+      addEvent(
+          events,
           session.getConsultant().getId(),
           "thread.reply.new",
           CATEGORY_MESSAGE,
@@ -316,6 +324,7 @@ public class EventNotificationService {
           session.getId(),
           session.getTenantId());
     }
+    eventNotificationRepository.saveAll(events);
   }
 
   @Transactional(readOnly = true)
@@ -356,14 +365,7 @@ public class EventNotificationService {
 
   @Transactional
   public void markAllAsRead(String recipientUserId) {
-    var unread =
-        eventNotificationRepository.findByRecipientUserIdAndReadDateIsNull(recipientUserId);
-    if (unread.isEmpty()) {
-      return;
-    }
-    var now = LocalDateTime.now();
-    unread.forEach(item -> item.setReadDate(now));
-    eventNotificationRepository.saveAll(unread);
+    eventNotificationRepository.markAllAsRead(recipientUserId, LocalDateTime.now());
   }
 
   @Transactional
@@ -396,10 +398,38 @@ public class EventNotificationService {
       String actionPath,
       Long sourceSessionId,
       Long tenantId) {
+    List<EventNotification> events = new ArrayList<>(1);
+    addEvent(
+        events,
+        recipientUserId,
+        eventType,
+        category,
+        title,
+        text,
+        actionPath,
+        sourceSessionId,
+        tenantId);
+    eventNotificationRepository.saveAll(events);
+  }
+
+  /**
+   * Adds the notification of the given recipient to the given events, which are saved together
+   * afterwards, so the notifications of several recipients are inserted in one batch.
+   */
+  private void addEvent(
+      List<EventNotification> events,
+      String recipientUserId,
+      String eventType,
+      String category,
+      String title,
+      String text,
+      String actionPath,
+      Long sourceSessionId,
+      Long tenantId) {
     if (recipientUserId == null || recipientUserId.isBlank()) {
       return;
     }
-    var event =
+    events.add(
         EventNotification.builder()
             .recipientUserId(recipientUserId)
             .eventType(eventType)
@@ -411,8 +441,7 @@ public class EventNotificationService {
             .readDate(null)
             .createDate(LocalDateTime.now())
             .tenantId(tenantId)
-            .build();
-    eventNotificationRepository.save(event);
+            .build());
   }
 
   private NotificationItem toItem(EventNotification item) {
@@ -37,10 +37,14 @@ import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
 import de.caritas.cob.userservice.api.service.user.UserService;
 import de.caritas.cob.userservice.consultingtypeservice.generated.web.model.ExtendedConsultingTypeResponseDTO;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
@@ -55,8 +59,12 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
 /** Service for sessions */
@@ -65,6 +73,16 @@ import org.springframework.web.client.HttpClientErrorException;
 @Slf4j
 public class SessionService {
 
+  private static final List<SessionStatus> ACTIVE_AND_DONE_STATUSES =
+      List.of(SessionStatus.IN_PROGRESS, SessionStatus.DONE);
+
+  private static final Comparator<Session> LATEST_MESSAGE_FIRST =
+      Comparator.comparing(
+              Session::getLatestMessageDate,
+              Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+          .thenComparing(Session::getId)
+          .reversed();
+
   private final @NonNull SessionRepository sessionRepository;
   private final @NonNull ConsultantTopicRepository consultantTopicRepository;
   private final @NonNull GroupChatParticipantRepository groupChatParticipantRepository;
@@ -127,14 +145,15 @@ public class SessionService {
 
   /**
    * Returns a list of current sessions (no matter if an enquiry message has been written or not)
-   * for the provided user ID.
+   * for the provided user ID. The sessions are loaded together with everything they are mapped
+   * from, so no transaction is open while the agencies are requested.
    *
    * @param userId Keycloak/MariaDB user ID
    * @return {@link List} of {@link UserSessionResponseDTO}
    */
   public List<UserSessionResponseDTO> getSessionsForUserId(String userId) {
     List<UserSessionResponseDTO> sessionResponseDTOs = new ArrayList<>();
-    List<Session> sessions = sessionRepository.findByUserUserId(userId);
+    List<Session> sessions = sessionRepository.findWithSessionDataByUserUserId(userId);
     if (isNotEmpty(sessions)) {
       List<Long> agencyIds =
           sessions.stream()
@@ -205,6 +224,7 @@ public class SessionService {
             .teamSession(isTeamSession)
             .createDate(nowInUtc())
             .updateDate(nowInUtc())
+            .latestMessageDate(nowInUtc())
             .mainTopicId(userDto.getMainTopicId())
             .userGender(userDto.getUserGender())
             .userAge(userDto.getUserAge())
@@ -260,6 +280,16 @@ public class SessionService {
     return sessionRepository.save(session);
   }
 
+  /**
+   * Sets the latest message date of the {@link Session} with the given Rocket.Chat group id to now.
+   * It is the key the consultant session list is ordered and paged by.
+   *
+   * @param rcGroupId the Rocket.Chat group id of the session
+   */
+  public void updateLatestMessageDate(String rcGroupId) {
+    sessionRepository.updateLatestMessageDateByGroupId(rcGroupId, nowInUtc());
+  }
+
   /**
    * Returns a list of {@link ConsultantSessionResponseDTO} containing team sessions excluding
    * sessions which are taken by the consultant.
@@ -267,6 +297,7 @@ public class SessionService {
    * @param consultant the consultant
    * @return A list of {@link ConsultantSessionResponseDTO}
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getTeamSessionsForConsultant(Consultant consultant) {
 
     List<Session> sessions = new ArrayList<>();
@@ -336,6 +367,7 @@ public class SessionService {
    * @param consultant the consultant
    * @return the related {@link ConsultantSessionResponseDTO}s
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getRegisteredEnquiriesForConsultant(
       Consultant consultant) {
     List<Session> mergedSessions = new ArrayList<>();
@@ -399,6 +431,44 @@ public class SessionService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Retrieves the requested page of anonymous enquiries of the given consulting types, or of the
+   * given topics if the consultant has topics assigned, which were updated after the given date.
+   *
+   * @param consultingTypeIds the consulting type ids of the agencies of the consultant
+   * @param topicIds the topic ids of the consultant
+   * @param minUpdateDate the minimum update date of the enquiries
+   * @param pageable the requested page
+   * @return the related {@link ConsultantSessionResponseDTO}s
+   */
+  @Transactional(readOnly = true)
+  public Page<ConsultantSessionResponseDTO> getAnonymousEnquiriesForConsultant(
+      Set<Integer> consultingTypeIds,
+      List<Long> topicIds,
+      LocalDateTime minUpdateDate,
+      Pageable pageable) {
+    var sessionMapper = new SessionMapper();
+    if (isNull(topicIds) || topicIds.isEmpty()) {
+      return sessionRepository
+          .findAnonymousEnquiriesVisibleForConsultantsWithoutTopic(
+              consultingTypeIds,
+              SessionStatus.NEW,
+              minUpdateDate,
+              RegistrationType.ANONYMOUS,
+              pageable)
+          .map(sessionMapper::toConsultantSessionDto);
+    }
+    return sessionRepository
+        .findAnonymousEnquiriesVisibleForConsultantsByTopics(
+            consultingTypeIds,
+            new HashSet<>(topicIds),
+            SessionStatus.NEW,
+            minUpdateDate,
+            RegistrationType.ANONYMOUS,
+            pageable)
+        .map(sessionMapper::toConsultantSessionDto);
+  }
+
   private boolean isVisibleRegisteredEnquiryForConsultant(Session session) {
     if (!isAnonymousStyleRegistration(session)) {
       return true;
@@ -424,45 +494,86 @@ public class SessionService {
   }
 
   /**
-   * Retrieves all related active sessions of given {@link Consultant}.
+   * Retrieves the first {@code limit} active and done sessions of given {@link Consultant} ordered
+   * by latest message date descending. Paging is done by the database, so at most {@code limit}
+   * assigned and {@code limit} supervised sessions are loaded. The latest message of the returned
+   * sessions is their latest message date, the key they are ordered by.
    *
    * @param consultant the consultant
+   * @param limit the maximum number of sessions to return
    * @return the related {@link ConsultantSessionResponseDTO}s
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getActiveAndDoneSessionsForConsultant(
-      Consultant consultant) {
-    return Stream.of(
-            getSessionsForConsultantByStatus(consultant, SessionStatus.IN_PROGRESS),
-            getSessionsForConsultantByStatus(consultant, SessionStatus.DONE))
-        .flatMap(Collection::stream)
-        .map(session -> new SessionMapper().toConsultantSessionDto(session))
+      Consultant consultant, int limit) {
+    if (limit <= 0) {
+      return emptyList();
+    }
+    var sessionMapper = new SessionMapper();
+    return getLatestSessionsForConsultantByStatuses(consultant, ACTIVE_AND_DONE_STATUSES, limit)
+        .stream()
+        .map(
+            session ->
+                sessionMapper
+                    .toConsultantSessionDto(session)
+                    .latestMessage(latestMessageDateOf(session)))
         .collect(Collectors.toList());
   }
 
-  private List<Session> getSessionsForConsultantByStatus(
-      Consultant consultant, SessionStatus sessionStatus) {
-    // Get sessions where consultant is assigned
-    List<Session> assignedSessions =
-        sessionRepository.findByConsultantAndStatus(consultant, sessionStatus);
+  private Date latestMessageDateOf(Session session) {
+    var latestMessageDate = session.getLatestMessageDate();
+    return nonNull(latestMessageDate) ? Timestamp.valueOf(latestMessageDate) : null;
+  }
 
-    // Get sessions where consultant is a supervisor
-    List<SessionSupervisor> supervisions =
-        sessionSupervisorRepository.findActiveSupervisionsByConsultantId(consultant.getId());
-    List<Session> supervisedSessions =
-        supervisions.stream()
-            .map(ss -> ss.getSession())
-            .filter(s -> s.getStatus() == sessionStatus)
-            .collect(Collectors.toList());
+  /**
+   * Counts the active and done sessions of given {@link Consultant}.
+   *
+   * @param consultant the consultant
+   * @return the count
+   */
+  public long countActiveAndDoneSessionsForConsultant(Consultant consultant) {
+    return sessionRepository.countByConsultantOrSupervisorAndStatusIn(
+        consultant, ACTIVE_AND_DONE_STATUSES);
+  }
 
-    // Combine and deduplicate
-    List<Session> allSessions = new ArrayList<>(assignedSessions);
-    for (Session supervised : supervisedSessions) {
-      if (!allSessions.stream().anyMatch(s -> s.getId().equals(supervised.getId()))) {
-        allSessions.add(supervised);
-      }
+  /**
+   * Returns those of the given group ids which belong to an active or done session of given {@link
+   * Consultant}.
+   *
+   * @param consultant the consultant
+   * @param groupIds the group ids to check
+   * @return the matching group ids
+   */
+  public Set<String> findActiveAndDoneSessionGroupIdsForConsultant(
+      Consultant consultant, Collection<String> groupIds) {
+    if (groupIds.isEmpty()) {
+      return Collections.emptySet();
     }
+    return sessionRepository.findGroupIdsByConsultantOrSupervisorAndStatusIn(
+        consultant, ACTIVE_AND_DONE_STATUSES, groupIds);
+  }
 
-    return allSessions;
+  /**
+   * Loads the newest sessions assigned to and the newest sessions actively supervised by the
+   * consultant with one limited query each. The sessions are merged with every session only once,
+   * newest message first, and cut to the limit.
+   */
+  private List<Session> getLatestSessionsForConsultantByStatuses(
+      Consultant consultant, List<SessionStatus> sessionStatuses, int limit) {
+    var pageable = PageRequest.of(0, limit);
+    var assignedSessions =
+        sessionRepository.findByConsultantAndStatusInOrderByLatestMessageDateDescIdDesc(
+            consultant, sessionStatuses, pageable);
+    var supervisedSessions =
+        sessionSupervisorRepository.findActiveSupervisedSessionsByConsultantIdAndStatusIn(
+            consultant.getId(), sessionStatuses, pageable);
+
+    Set<Long> sessionIds = new HashSet<>();
+    return Stream.concat(assignedSessions.stream(), supervisedSessions.stream())
+        .filter(session -> sessionIds.add(session.getId()))
+        .sorted(LATEST_MESSAGE_FIRST)
+        .limit(limit)
+        .collect(Collectors.toList());
   }
 
   private List<UserSessionResponseDTO> convertToUserSessionResponseDTO(
@@ -505,7 +616,9 @@ public class SessionService {
   }
 
   /**
-   * Retrieves user sessions by user ID and rocket chat group IDs
+   * Retrieves user sessions by user ID and rocket chat group IDs. The sessions are loaded together
+   * with everything they are mapped from, so no transaction is open while the agencies are
+   * requested.
    *
    * @param userId the user ID
    * @param rcGroupIds rocket chat group IDs
@@ -515,14 +628,15 @@ public class SessionService {
   public List<UserSessionResponseDTO> getSessionsByUserAndGroupIds(
       String userId, Set<String> rcGroupIds, Set<String> roles) {
     checkForAskerRoles(roles);
-    var sessions = sessionRepository.findByGroupIds(rcGroupIds);
+    var sessions = sessionRepository.findWithSessionDataByGroupIdIn(rcGroupIds);
     sessions.forEach(session -> checkAskerPermissionForSession(session, userId, roles));
     List<AgencyDTO> agencies = fetchAgencies(sessions);
     return convertToUserSessionResponseDTO(sessions, agencies);
   }
 
   /**
-   * Retrieves user sessions by user ID and session IDs
+   * Retrieves user sessions by user ID and session IDs. The sessions are loaded together with
+   * everything they are mapped from, so no transaction is open while the agencies are requested.
    *
    * @param userId the user ID
    * @param sessionIds the session IDs
@@ -532,9 +646,7 @@ public class SessionService {
   public List<UserSessionResponseDTO> getSessionsByUserAndSessionIds(
       String userId, Set<Long> sessionIds, Set<String> roles) {
     checkForAskerRoles(roles);
-    var sessions =
-        StreamSupport.stream(sessionRepository.findAllById(sessionIds).spliterator(), false)
-            .collect(Collectors.toList());
+    var sessions = sessionRepository.findWithSessionDataByIdIn(sessionIds);
     sessions.forEach(session -> checkAskerPermissionForSession(session, userId, roles));
     List<AgencyDTO> agencies = fetchAgencies(sessions);
     return convertToUserSessionResponseDTO(sessions, agencies);
@@ -570,6 +682,7 @@ public class SessionService {
    * @param roles the roles of the given consultant
    * @return {@link ConsultantSessionResponseDTO}
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getAllowedSessionsByConsultantAndGroupIds(
       Consultant consultant, Set<String> rcGroupIds, Set<String> roles) {
     checkForUserOrConsultantRole(roles);
@@ -591,6 +704,7 @@ public class SessionService {
    * @param roles the roles of the given consultant
    * @return {@link ConsultantSessionResponseDTO}
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getSessionsByIds(
       Consultant consultant, Set<Long> sessionIds, Set<String> roles) {
     checkForUserOrConsultantRole(roles);
@@ -740,7 +854,8 @@ public class SessionService {
   }
 
   /**
-   * Returns a {@link ConsultantSessionDTO} for a specific session.
+   * Returns a {@link ConsultantSessionDTO} for a specific session. The session is loaded together
+   * with its topics, so no transaction is open while the topics are enriched by the topic service.
    *
    * @param sessionId the session ID to fetch
    * @param consultant the calling consultant
@@ -750,7 +865,8 @@ public class SessionService {
       @NonNull Long sessionId, @NonNull Consultant consultant) {
 
     var session =
-        getSession(sessionId)
+        sessionRepository
+            .findWithTopicsById(sessionId)
             .orElseThrow(() -> new NotFoundException("Session with id %s not found.", sessionId));
 
     checkPermissionForConsultantSession(session, consultant);
@@ -824,6 +940,7 @@ public class SessionService {
    * @param consultant the consultant
    * @return the related {@link ConsultantSessionResponseDTO}s
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getArchivedSessionsForConsultant(
       Consultant consultant) {
     final List<Session> sessions = retrieveArchivedSessions(consultant);
@@ -842,6 +959,7 @@ public class SessionService {
    * @param consultant the consultant
    * @return the related {@link ConsultantSessionResponseDTO}s
    */
+  @Transactional(readOnly = true)
   public List<ConsultantSessionResponseDTO> getArchivedTeamSessionsForConsultant(
       Consultant consultant) {
     final List<Session> sessions = retrieveArchivedTeamSessionsForConsultant(consultant);
@@ -891,7 +1009,7 @@ public class SessionService {
 
   public List<Session> findSessionsByUser(User user) {
     if (nonNull(user)) {
-      return sessionRepository.findByUser(user);
+      return sessionRepository.findWithSessionDataByUser(user);
     }
     return emptyList();
   }
@@ -16,7 +16,11 @@ import de.caritas.cob.userservice.api.helper.Helper;
 import de.caritas.cob.userservice.api.helper.SessionListAnalyser;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +33,36 @@ public class AvailableLastMessageUpdater {
 
   private final @NonNull SessionListAnalyser sessionListAnalyser;
 
+  private final Map<String, String> decryptedLastMessages = new HashMap<>();
+
+  /**
+   * Decrypts the last messages of the given Rocket.Chat groups in one batch. Later updates of these
+   * groups use the decrypted messages instead of decrypting them one by one.
+   *
+   * @param groupIds the Rocket.Chat group ids of the session list
+   * @param rocketChatRoomInformation the {@link RocketChatRoomInformation}
+   */
+  void decryptLastMessages(
+      Collection<String> groupIds, RocketChatRoomInformation rocketChatRoomInformation) {
+    var lastMessagesRoom = rocketChatRoomInformation.getLastMessagesRoom();
+    if (isNull(lastMessagesRoom)) {
+      return;
+    }
+    Map<String, String> encryptedLastMessages = new LinkedHashMap<>();
+    for (var groupId : groupIds) {
+      var roomsLastMessage = nonNull(groupId) ? lastMessagesRoom.get(groupId) : null;
+      if (nonNull(roomsLastMessage)
+          && isNotBlank(roomsLastMessage.getMessage())
+          && !isLastMessageFurtherStepsAlias(roomsLastMessage)) {
+        encryptedLastMessages.put(groupId, roomsLastMessage.getMessage());
+      }
+    }
+    if (!encryptedLastMessages.isEmpty()) {
+      decryptedLastMessages.putAll(
+          sessionListAnalyser.prepareMessagesForSessionList(encryptedLastMessages));
+    }
+  }
+
   /**
    * Updates the given session with further Rocket.Chat last message information.
    *
@@ -92,8 +126,12 @@ public class AvailableLastMessageUpdater {
 
     lastMessage.setT(roomsLastMessage.getType());
     if (isNotBlank(roomsLastMessage.getMessage())) {
-      var message =
-          sessionListAnalyser.prepareMessageForSessionList(roomsLastMessage.getMessage(), groupId);
+      var message = decryptedLastMessages.get(groupId);
+      if (isNull(message)) {
+        message =
+            sessionListAnalyser.prepareMessageForSessionList(
+                roomsLastMessage.getMessage(), groupId);
+      }
       lastMessage.setMsg(message);
       return lastMessage;
     }
@@ -130,10 +168,7 @@ public class AvailableLastMessageUpdater {
       RocketChatRoomInformation rocketChatRoomInformation,
       String groupId,
       RoomsLastMessageDTO roomsLastMessage) {
-    var updateRoomTimestamp =
-        rocketChatRoomInformation.getRoomsForUpdate().stream()
-            .filter(room -> room.getId().equals(groupId))
-            .findFirst();
+    var updateRoomTimestamp = rocketChatRoomInformation.findRoomForUpdate(groupId);
     var latestMessageFromUpdateRoom =
         updateRoomTimestamp.isPresent()
             ? updateRoomTimestamp.get().getLastMessageDate()
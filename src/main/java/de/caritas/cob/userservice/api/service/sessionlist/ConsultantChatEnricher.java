@@ -11,6 +11,7 @@ import de.caritas.cob.userservice.api.facade.userdata.ConsultantDataFacade;
 import de.caritas.cob.userservice.api.helper.SessionListAnalyser;
 import de.caritas.cob.userservice.api.model.Consultant;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -47,12 +48,19 @@ public class ConsultantChatEnricher {
                 .build(),
             consultant);
 
+    var messageUpdater = new AvailableLastMessageUpdater(this.sessionListAnalyser);
+    messageUpdater.decryptLastMessages(
+        consultantSessionResponseDTOs.stream()
+            .map(sessionResponse -> sessionResponse.getChat().getGroupId())
+            .collect(Collectors.toList()),
+        rocketChatRoomInformation);
     consultantSessionResponseDTOs.forEach(
         consultantSessionResponseDTO ->
             updateRequiredChatValues(
                 rocketChatRoomInformation,
                 consultant.getRocketChatId(),
-                consultantSessionResponseDTO));
+                consultantSessionResponseDTO,
+                messageUpdater));
 
     consultantDataFacade.addConsultantDisplayNameToSessionList(consultantSessionResponseDTOs);
 
@@ -62,7 +70,8 @@ public class ConsultantChatEnricher {
   private void updateRequiredChatValues(
       RocketChatRoomInformation rocketChatRoomInformation,
       String rcUserId,
-      ConsultantSessionResponseDTO consultantSessionResponseDTO) {
+      ConsultantSessionResponseDTO consultantSessionResponseDTO,
+      AvailableLastMessageUpdater messageUpdater) {
     UserChatDTO chat = consultantSessionResponseDTO.getChat();
 
     chat.setSubscribed(
@@ -71,12 +80,8 @@ public class ConsultantChatEnricher {
     chat.setMessagesRead(
         rocketChatRoomInformation.getReadMessages().getOrDefault(chat.getGroupId(), true));
 
-    new AvailableLastMessageUpdater(sessionListAnalyser)
-        .updateChatWithAvailableLastMessage(
-            chat,
-            consultantSessionResponseDTO::setLatestMessage,
-            rocketChatRoomInformation,
-            rcUserId);
+    messageUpdater.updateChatWithAvailableLastMessage(
+        chat, consultantSessionResponseDTO::setLatestMessage, rocketChatRoomInformation, rcUserId);
   }
 
   private boolean isRoomSubscribedByConsultant(
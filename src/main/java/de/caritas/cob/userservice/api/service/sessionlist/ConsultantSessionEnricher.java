@@ -8,6 +8,7 @@ import de.caritas.cob.userservice.api.helper.SessionListAnalyser;
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.service.session.SessionTopicEnrichmentService;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,17 +41,27 @@ public class ConsultantSessionEnricher {
                 .rocketChatUserId(consultant.getRocketChatId())
                 .build());
 
+    var messageUpdater = new AvailableLastMessageUpdater(this.sessionListAnalyser);
+    messageUpdater.decryptLastMessages(
+        consultantSessionResponseDTOs.stream()
+            .map(sessionResponse -> sessionResponse.getSession().getGroupId())
+            .collect(Collectors.toList()),
+        rocketChatRoomInformation);
     consultantSessionResponseDTOs.forEach(
         consultantSessionResponseDTO ->
             this.enrichConsultantSession(
-                consultantSessionResponseDTO, rocketChatRoomInformation, consultant));
+                consultantSessionResponseDTO,
+                rocketChatRoomInformation,
+                consultant,
+                messageUpdater));
     return consultantSessionResponseDTOs;
   }
 
   private void enrichConsultantSession(
       ConsultantSessionResponseDTO consultantSessionResponseDTO,
       RocketChatRoomInformation rocketChatRoomInformation,
-      Consultant consultant) {
+      Consultant consultant,
+      AvailableLastMessageUpdater messageUpdater) {
     var session = consultantSessionResponseDTO.getSession();
     var groupId = session.getGroupId();
 
@@ -58,7 +69,6 @@ public class ConsultantSessionEnricher {
         sessionListAnalyser.areMessagesForRocketChatGroupReadByUser(
             rocketChatRoomInformation.getReadMessages(), groupId));
 
-    var messageUpdater = new AvailableLastMessageUpdater(this.sessionListAnalyser);
     messageUpdater.updateSessionWithAvailableLastMessage(
         consultantSessionResponseDTO.getSession(),
         consultantSessionResponseDTO::setLatestMessage,
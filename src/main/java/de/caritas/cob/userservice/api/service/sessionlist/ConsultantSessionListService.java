@@ -1,21 +1,29 @@
 package de.caritas.cob.userservice.api.service.sessionlist;
 
 import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
 import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatCredentials;
 import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionListResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponseDTO;
+import de.caritas.cob.userservice.api.adapters.web.dto.SessionDTO;
+import de.caritas.cob.userservice.api.container.ConsultantSessionListPage;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.exception.httpresponses.BadRequestException;
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.service.ChatService;
 import de.caritas.cob.userservice.api.service.session.SessionService;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.NonNull;
@@ -28,6 +36,11 @@ import org.springframework.stereotype.Service;
 @Service
 public class ConsultantSessionListService {
 
+  private static final Comparator<ConsultantSessionResponseDTO> BY_PAGING_DATE_DESC =
+      Comparator.comparing(
+          ConsultantSessionListService::pagingDateOf,
+          Comparator.nullsLast(Comparator.reverseOrder()));
+
   private final @NonNull SessionService sessionService;
   private final @NonNull ChatService chatService;
   private final @NonNull ConsultantSessionEnricher consultantSessionEnricher;
@@ -89,39 +102,154 @@ public class ConsultantSessionListService {
   }
 
   /**
-   * Returns a list of {@link ConsultantSessionResponseDTO} for the specified consultant id and
-   * status.
+   * Returns the page of sessions and chats of the specified consultant and status requested by the
+   * query parameters. Only the entries on the page are enriched with Rocket.Chat data.
+   *
+   * <p>Active sessions are paged by the database: only the first {@code offset + count} sessions
+   * ordered by latest message date are loaded. Chats without a session are merged into them by
+   * their start date, chats of a session travel with it. Chats belonging to a session outside of
+   * the loaded sessions are left out, they are merged into that session on the page where it
+   * appears.
    *
    * @param consultant {@link Consultant}
    * @param sessionListQueryParameter session list query parameters as {@link
    *     SessionListQueryParameter}
-   * @return the response dto
+   * @return the {@link ConsultantSessionListPage}
    */
-  public List<ConsultantSessionResponseDTO> retrieveSessionsForAuthenticatedConsultant(
+  public ConsultantSessionListPage retrieveSessionsForAuthenticatedConsultant(
       Consultant consultant, SessionListQueryParameter sessionListQueryParameter) {
 
-    List<ConsultantSessionResponseDTO> sessions =
-        retrieveSessionsForStatus(consultant, sessionListQueryParameter.getSessionStatus());
-    List<ConsultantSessionResponseDTO> chats = new ArrayList<>();
+    var sessionStatus = getVerifiedSessionStatus(sessionListQueryParameter.getSessionStatus());
+    if (sessionStatus.equals(SessionStatus.IN_PROGRESS)) {
+      return retrieveActiveAndDoneSessionsPage(consultant, sessionListQueryParameter);
+    }
 
-    if (SessionStatus.isStatusValueInProgress(sessionListQueryParameter.getSessionStatus())) {
-      chats = chatService.getChatsForConsultant(consultant);
+    List<ConsultantSessionResponseDTO> sessions = emptyList();
+    if (sessionStatus.equals(SessionStatus.NEW)) {
+      sessions = this.sessionService.getRegisteredEnquiriesForConsultant(consultant);
     }
+    var page =
+        mergeConsultantSessionsAndChats(
+            consultant, pageOf(sessions, sessionListQueryParameter), emptyList());
 
-    return mergeConsultantSessionsAndChats(consultant, sessions, chats);
+    return ConsultantSessionListPage.builder().sessions(page).total(sessions.size()).build();
   }
 
-  private List<ConsultantSessionResponseDTO> retrieveSessionsForStatus(
-      Consultant consultant, Integer status) {
-    var sessionStatus = getVerifiedSessionStatus(status);
+  private ConsultantSessionListPage retrieveActiveAndDoneSessionsPage(
+      Consultant consultant, SessionListQueryParameter sessionListQueryParameter) {
+    var limit = sessionListQueryParameter.getOffset() + sessionListQueryParameter.getCount();
+    var sessions = this.sessionService.getActiveAndDoneSessionsForConsultant(consultant, limit);
+    var chats =
+        withoutChatsOfSessionsOutsideOfPage(
+            consultant, sessions, chatService.getChatsForConsultant(consultant));
+
+    var sessionGroupIds = groupIdsOf(sessions);
+    var standaloneChats =
+        chats.stream()
+            .filter(chat -> !sessionGroupIds.contains(chatGroupIdOf(chat)))
+            .collect(Collectors.toList());
+    var page = pageOf(mergeByPagingDate(sessions, standaloneChats), sessionListQueryParameter);
+
+    // The enrichers update the entries in place, so the page keeps its order.
+    var pageSessions =
+        page.stream().filter(entry -> nonNull(entry.getSession())).collect(Collectors.toList());
+    var pageSessionGroupIds = groupIdsOf(pageSessions);
+    var pageChats =
+        chats.stream()
+            .filter(
+                chat -> page.contains(chat) || pageSessionGroupIds.contains(chatGroupIdOf(chat)))
+            .collect(Collectors.toList());
+    mergeConsultantSessionsAndChats(consultant, pageSessions, pageChats);
+
+    return ConsultantSessionListPage.builder()
+        .sessions(page)
+        .total(
+            this.sessionService.countActiveAndDoneSessionsForConsultant(consultant)
+                + standaloneChats.size())
+        .build();
+  }
 
-    if (sessionStatus.equals(SessionStatus.NEW)) {
-      return this.sessionService.getRegisteredEnquiriesForConsultant(consultant);
+  /**
+   * Merges the chats into the sessions, which are already ordered by the database. Both are
+   * ordered by the date they are paged by, newest first.
+   */
+  private List<ConsultantSessionResponseDTO> mergeByPagingDate(
+      List<ConsultantSessionResponseDTO> sessions, List<ConsultantSessionResponseDTO> chats) {
+    var sortedChats = new ArrayList<>(chats);
+    sortedChats.sort(BY_PAGING_DATE_DESC);
+
+    List<ConsultantSessionResponseDTO> merged = new ArrayList<>(sessions.size() + chats.size());
+    var chatIndex = 0;
+    for (ConsultantSessionResponseDTO session : sessions) {
+      while (chatIndex < sortedChats.size()
+          && BY_PAGING_DATE_DESC.compare(sortedChats.get(chatIndex), session) < 0) {
+        merged.add(sortedChats.get(chatIndex++));
+      }
+      merged.add(session);
     }
-    if (sessionStatus.equals(SessionStatus.IN_PROGRESS)) {
-      return this.sessionService.getActiveAndDoneSessionsForConsultant(consultant);
+    merged.addAll(sortedChats.subList(chatIndex, sortedChats.size()));
+    return merged;
+  }
+
+  /**
+   * Sessions are paged by their latest message date, which the {@link SessionService} provides as
+   * latest message before enrichment. Chats have no such date and are paged by their start date.
+   */
+  private static Date pagingDateOf(ConsultantSessionResponseDTO entry) {
+    if (nonNull(entry.getSession())) {
+      return entry.getLatestMessage();
     }
-    return emptyList();
+    var startDate = entry.getChat().getStartDateWithTime();
+    return nonNull(startDate) ? Timestamp.valueOf(startDate) : null;
+  }
+
+  private List<ConsultantSessionResponseDTO> pageOf(
+      List<ConsultantSessionResponseDTO> entries,
+      SessionListQueryParameter sessionListQueryParameter) {
+    var from = Math.min(sessionListQueryParameter.getOffset(), entries.size());
+    var to =
+        Math.min(
+            sessionListQueryParameter.getOffset() + sessionListQueryParameter.getCount(),
+            entries.size());
+    return new ArrayList<>(entries.subList(from, to));
+  }
+
+  private Set<String> groupIdsOf(List<ConsultantSessionResponseDTO> sessions) {
+    return sessions.stream()
+        .map(ConsultantSessionResponseDTO::getSession)
+        .filter(Objects::nonNull)
+        .map(SessionDTO::getGroupId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+  }
+
+  private List<ConsultantSessionResponseDTO> withoutChatsOfSessionsOutsideOfPage(
+      Consultant consultant,
+      List<ConsultantSessionResponseDTO> sessions,
+      List<ConsultantSessionResponseDTO> chats) {
+    if (isEmpty(chats)) {
+      return chats;
+    }
+    var sessionGroupIds = groupIdsOf(sessions);
+    var chatGroupIdsOutsideOfPage =
+        chats.stream()
+            .map(this::chatGroupIdOf)
+            .filter(groupId -> nonNull(groupId) && !sessionGroupIds.contains(groupId))
+            .collect(Collectors.toSet());
+    var groupIdsOfSessionsOutsideOfPage =
+        this.sessionService.findActiveAndDoneSessionGroupIdsForConsultant(
+            consultant, chatGroupIdsOutsideOfPage);
+
+    return chats.stream()
+        .filter(
+            chat ->
+                isNull(chatGroupIdOf(chat))
+                    || !groupIdsOfSessionsOutsideOfPage.contains(chatGroupIdOf(chat)))
+        .collect(Collectors.toList());
+  }
+
+  private String chatGroupIdOf(ConsultantSessionResponseDTO chat) {
+    return nonNull(chat.getChat()) ? chat.getChat().getGroupId() : null;
   }
 
   private SessionStatus getVerifiedSessionStatus(Integer status) {
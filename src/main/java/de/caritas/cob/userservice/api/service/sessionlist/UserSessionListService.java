@@ -145,17 +145,25 @@ public class UserSessionListService {
       RocketChatRoomInformation rocketChatRoomInformation,
       String rcUserId) {
 
+    var messageUpdater = new AvailableLastMessageUpdater(this.sessionListAnalyser);
+    messageUpdater.decryptLastMessages(
+        sessions.stream()
+            .map(sessionDTO -> sessionDTO.getSession().getGroupId())
+            .collect(Collectors.toList()),
+        rocketChatRoomInformation);
     return sessions.stream()
         .map(
             sessionDTO ->
-                updateRequiredUserSessionValues(rocketChatRoomInformation, rcUserId, sessionDTO))
+                updateRequiredUserSessionValues(
+                    rocketChatRoomInformation, rcUserId, sessionDTO, messageUpdater))
         .collect(Collectors.toList());
   }
 
   private UserSessionResponseDTO updateRequiredUserSessionValues(
       RocketChatRoomInformation rocketChatRoomInformation,
       String rcUserId,
-      UserSessionResponseDTO userSessionDTO) {
+      UserSessionResponseDTO userSessionDTO,
+      AvailableLastMessageUpdater messageUpdater) {
 
     SessionDTO session = userSessionDTO.getSession();
     String groupId = session.getGroupId();
@@ -163,7 +171,6 @@ public class UserSessionListService {
     session.setMessagesRead(
         sessionListAnalyser.areMessagesForRocketChatGroupReadByUser(
             rocketChatRoomInformation.getReadMessages(), groupId));
-    var messageUpdater = new AvailableLastMessageUpdater(this.sessionListAnalyser);
     messageUpdater.updateSessionWithAvailableLastMessage(
         userSessionDTO.getSession(),
         userSessionDTO::setLatestMessage,
@@ -177,15 +184,23 @@ public class UserSessionListService {
       RocketChatRoomInformation rocketChatRoomInformation,
       String rcUserId) {
 
+    var messageUpdater = new AvailableLastMessageUpdater(this.sessionListAnalyser);
+    messageUpdater.decryptLastMessages(
+        chats.stream().map(chat -> chat.getChat().getGroupId()).collect(Collectors.toList()),
+        rocketChatRoomInformation);
     return chats.stream()
-        .map(chat -> updateRequiredUserChatValues(rocketChatRoomInformation, rcUserId, chat))
+        .map(
+            chat ->
+                updateRequiredUserChatValues(
+                    rocketChatRoomInformation, rcUserId, chat, messageUpdater))
         .collect(Collectors.toList());
   }
 
   private UserSessionResponseDTO updateRequiredUserChatValues(
       RocketChatRoomInformation rocketChatRoomInformation,
       String rcUserId,
-      UserSessionResponseDTO sessionResponse) {
+      UserSessionResponseDTO sessionResponse,
+      AvailableLastMessageUpdater messageUpdater) {
     UserChatDTO chat = sessionResponse.getChat();
     String groupId = chat.getGroupId();
 
@@ -194,21 +209,11 @@ public class UserSessionListService {
     chat.setMessagesRead(
         sessionListAnalyser.areMessagesForRocketChatGroupReadByUser(
             rocketChatRoomInformation.getReadMessages(), groupId));
-    updateUserChatValuesForAvailableLastMessage(
-        rocketChatRoomInformation, rcUserId, sessionResponse, chat);
+    messageUpdater.updateChatWithAvailableLastMessage(
+        chat, sessionResponse::setLatestMessage, rocketChatRoomInformation, rcUserId);
     return sessionResponse;
   }
 
-  private void updateUserChatValuesForAvailableLastMessage(
-      RocketChatRoomInformation rocketChatRoomInformation,
-      String rcUserId,
-      UserSessionResponseDTO sessionResponse,
-      UserChatDTO chat) {
-    new AvailableLastMessageUpdater(sessionListAnalyser)
-        .updateChatWithAvailableLastMessage(
-            chat, sessionResponse::setLatestMessage, rocketChatRoomInformation, rcUserId);
-  }
-
   private boolean isRocketChatRoomSubscribedByUser(List<String> userRoomsList, String groupId) {
     return nonNull(userRoomsList) && userRoomsList.contains(groupId);
   }
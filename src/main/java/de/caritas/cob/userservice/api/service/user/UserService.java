@@ -18,6 +18,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -160,6 +161,7 @@ public class UserService {
    * @param userId the id of the user
    * @param mobileToken the new mobile device identifier token
    */
+  @Transactional
   public void addMobileAppToken(String userId, String mobileToken) {
     if (isNotBlank(mobileToken)) {
       this.getUser(userId).ifPresent(user -> this.addUserToken(user, mobileToken));
@@ -2,8 +2,10 @@ package de.caritas.cob.userservice.api.workflow.deactivate.scheduler;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.deactivate.service.DeactivateAnonymousUserService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -11,12 +13,19 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class DeactivateAnonymousUserScheduler {
 
+  private static final String JOB_NAME = "deactivateAnonymousUser";
+
   private final @NonNull DeactivateAnonymousUserService deactivateAnonymousUserService;
   private final @NonNull TenantContextProvider tenantContextProvider;
+  private final @NonNull JobLeaseService jobLeaseService;
+
+  @Value("${user.anonymous.deactivateworkflow.cron}")
+  private String cron;
 
   @Scheduled(cron = "${user.anonymous.deactivateworkflow.cron}")
   public void performDeactivationWorkflow() {
     tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
-    deactivateAnonymousUserService.deactivateStaleAnonymousUsers();
+    jobLeaseService.runExclusively(
+        JOB_NAME, cron, deactivateAnonymousUserService::deactivateStaleAnonymousUsers);
   }
 }
@@ -2,8 +2,10 @@ package de.caritas.cob.userservice.api.workflow.deactivate.scheduler;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.deactivate.service.DeactivateGroupChatService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -11,12 +13,19 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class DeactivateGroupChatScheduler {
 
+  private static final String JOB_NAME = "deactivateGroupChat";
+
   private final @NonNull DeactivateGroupChatService deactivateGroupChatService;
   private final @NonNull TenantContextProvider tenantContextProvider;
+  private final @NonNull JobLeaseService jobLeaseService;
+
+  @Value("${group.chat.deactivateworkflow.cron}")
+  private String cron;
 
   @Scheduled(cron = "${group.chat.deactivateworkflow.cron}")
   public void performDeactivationWorkflow() {
     tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
-    deactivateGroupChatService.deactivateStaleGroupChats();
+    jobLeaseService.runExclusively(
+        JOB_NAME, cron, deactivateGroupChatService::deactivateStaleGroupChats);
   }
 }
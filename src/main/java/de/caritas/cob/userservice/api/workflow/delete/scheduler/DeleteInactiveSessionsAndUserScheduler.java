@@ -24,7 +24,7 @@ public class DeleteInactiveSessionsAndUserScheduler {
   public void performDeletionWorkflow() {
     tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
     if (sessionInactiveDeleteWorkflowEnabled) {
-      this.deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
+      deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
     }
   }
 }
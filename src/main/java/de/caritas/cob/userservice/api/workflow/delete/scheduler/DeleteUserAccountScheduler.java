@@ -2,8 +2,10 @@ package de.caritas.cob.userservice.api.workflow.delete.scheduler;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.delete.service.DeleteUserAccountService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -12,13 +14,19 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class DeleteUserAccountScheduler {
 
+  private static final String JOB_NAME = "deleteUserAccount";
+
   private final @NonNull DeleteUserAccountService deleteUserAccountService;
   private final @NonNull TenantContextProvider tenantContextProvider;
+  private final @NonNull JobLeaseService jobLeaseService;
+
+  @Value("${user.account.deleteworkflow.cron}")
+  private String cron;
 
   /** Entry method to perform deletion workflow. */
   @Scheduled(cron = "${user.account.deleteworkflow.cron}")
   public void performDeletionWorkflow() {
     tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
-    this.deleteUserAccountService.deleteUserAccounts();
+    jobLeaseService.runExclusively(JOB_NAME, cron, deleteUserAccountService::deleteUserAccounts);
   }
 }
@@ -2,8 +2,10 @@ package de.caritas.cob.userservice.api.workflow.delete.scheduler;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.delete.service.DeleteUserAnonymousService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -12,13 +14,20 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class DeleteUserAnonymousScheduler {
 
+  private static final String JOB_NAME = "deleteUserAnonymous";
+
   private final @NonNull DeleteUserAnonymousService deleteUserAnonymousService;
   private final @NonNull TenantContextProvider tenantContextProvider;
+  private final @NonNull JobLeaseService jobLeaseService;
+
+  @Value("${user.anonymous.deleteworkflow.cron}")
+  private String cron;
 
   /** Entry method to perform deletion workflow. */
   @Scheduled(cron = "${user.anonymous.deleteworkflow.cron}")
   public void performDeletionWorkflow() {
     tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
-    deleteUserAnonymousService.deleteInactiveAnonymousUsers();
+    jobLeaseService.runExclusively(
+        JOB_NAME, cron, deleteUserAnonymousService::deleteInactiveAnonymousUsers);
   }
 }
@@ -2,6 +2,7 @@ package de.caritas.cob.userservice.api.workflow.delete.scheduler;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.delete.service.DeleteUsersRegisteredOnlyService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,8 +14,11 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class DeleteUsersRegisteredOnlyScheduler {
 
+  private static final String JOB_NAME = "deleteUsersRegisteredOnly";
+
   private final @NonNull DeleteUsersRegisteredOnlyService deleteUsersRegisteredOnlyService;
   private final @NonNull TenantContextProvider tenantContextProvider;
+  private final @NonNull JobLeaseService jobLeaseService;
 
   @Value("${user.registeredonly.deleteWorkflow.enabled}")
   private boolean userRegisteredOnlyDeleteWorkflowEnabled;
@@ -22,10 +26,21 @@ public class DeleteUsersRegisteredOnlyScheduler {
   @Value("${user.registeredonly.deleteWorkflow.afterSessionPurge.enabled}")
   private boolean userRegisteredOnlyDeleteWorkflowAfterSessionPurgeEnabled;
 
+  @Value("${user.registeredonly.deleteWorkflow.cron}")
+  private String cron;
+
   /** Entry method to perform deletion workflow. */
   @Scheduled(cron = "${user.registeredonly.deleteWorkflow.cron}")
   public void performDeletionWorkflow() {
     tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
+    if (!userRegisteredOnlyDeleteWorkflowEnabled
+        && !userRegisteredOnlyDeleteWorkflowAfterSessionPurgeEnabled) {
+      return;
+    }
+    jobLeaseService.runExclusively(JOB_NAME, cron, this::deleteUserAccounts);
+  }
+
+  private void deleteUserAccounts() {
     if (userRegisteredOnlyDeleteWorkflowEnabled) {
       deleteUsersRegisteredOnlyService.deleteUserAccountsTimeSensitive();
     }
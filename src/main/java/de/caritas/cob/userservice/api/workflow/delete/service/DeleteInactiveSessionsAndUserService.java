@@ -1,29 +1,54 @@
 package de.caritas.cob.userservice.api.workflow.delete.service;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 
 import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.User;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
 import de.caritas.cob.userservice.api.port.out.UserRepository;
+import de.caritas.cob.userservice.api.tenant.TenantContext;
+import de.caritas.cob.userservice.api.tenant.TenantData;
 import de.caritas.cob.userservice.api.workflow.delete.model.DeletionWorkflowError;
 import de.caritas.cob.userservice.api.workflow.delete.service.provider.InactivePrivateGroupsProvider;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-/** Service to trigger deletion of inactive sessions and asker accounts. */
+/**
+ * Service to trigger deletion of inactive sessions and asker accounts.
+ *
+ * <p>The users with inactive groups are processed in pages ordered by their Rocket.Chat user id.
+ * The users and sessions of a page are loaded with one query each, and the deletions of a page,
+ * which call Keycloak and Rocket.Chat, run on a bounded number of worker threads. The last
+ * Rocket.Chat user id of each page is stored as checkpoint of the job lease, so an interrupted run
+ * is resumed after the last deleted page.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DeleteInactiveSessionsAndUserService {
 
+  private static final String JOB_NAME = "deleteInactiveSessionsAndUser";
+
   private final @NonNull UserRepository userRepository;
   private final @NonNull SessionRepository sessionRepository;
   private final @NonNull DeleteUserAccountService deleteUserAccountService;
@@ -31,25 +56,34 @@ public class DeleteInactiveSessionsAndUserService {
   private final @NonNull WorkflowErrorLogService workflowErrorLogService;
   private final @NonNull DeleteSessionService deleteSessionService;
   private final @NonNull InactivePrivateGroupsProvider inactivePrivateGroupsProvider;
+  private final @NonNull JobLeaseService jobLeaseService;
 
   private static final String USER_NOT_FOUND_REASON = "User could not be found.";
   private static final String RC_SESSION_GROUP_NOT_FOUND_REASON =
       "Session with rc group id could not be found.";
 
+  @Value("${session.inactive.deleteWorkflow.cron}")
+  private String cron;
+
+  @Value("${session.inactive.deleteWorkflow.pageSize}")
+  private int pageSize;
+
+  @Value("${session.inactive.deleteWorkflow.workers}")
+  private int workers;
+
   /**
    * Deletes all inactive sessions and even the asker accounts, if there are no more active
    * sessions.
    */
   public void deleteInactiveSessionsAndUsers() {
-
-    Map<String, List<String>> userWithInactiveGroupsMap =
-        inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap();
-
-    List<DeletionWorkflowError> workflowErrors =
-        userWithInactiveGroupsMap.entrySet().stream()
-            .map(this::performDeletionWorkflow)
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList());
+    List<DeletionWorkflowError> workflowErrors = new ArrayList<>();
+    var executor = Executors.newFixedThreadPool(Math.max(1, workers));
+    try {
+      jobLeaseService.runInChunks(
+          JOB_NAME, cron, new InactiveGroupsDeletion(executor, workflowErrors)::deleteNextPage);
+    } finally {
+      executor.shutdown();
+    }
 
     findWorkflowErrorByReason(workflowErrors);
   }
@@ -74,25 +108,103 @@ public class DeleteInactiveSessionsAndUserService {
   }
 
   private List<DeletionWorkflowError> performDeletionWorkflow(
-      Entry<String, List<String>> userInactiveGroupEntry) {
+      List<Entry<String, List<String>>> userInactiveGroupEntries, ExecutorService executor) {
 
-    List<DeletionWorkflowError> workflowErrors = new ArrayList<>();
+    Map<String, User> usersByRcUserId = findUsersByRcUserId(userInactiveGroupEntries);
+    Map<String, List<Session>> sessionsByUserId = findSessionsByUserId(usersByRcUserId.values());
+    Map<String, Session> sessionsOfNonExistingUsersByGroupId =
+        findSessionsOfNonExistingUsersByGroupId(userInactiveGroupEntries, usersByRcUserId);
 
-    Optional<User> user =
-        userRepository.findByRcUserIdAndDeleteDateIsNull(userInactiveGroupEntry.getKey());
-    user.ifPresentOrElse(
-        u -> workflowErrors.addAll(deleteInactiveGroupsOrUser(userInactiveGroupEntry, u)),
-        () ->
-            workflowErrors.addAll(
-                performUserSessionDeletionForNonExistingUser(userInactiveGroupEntry.getValue())));
+    var tenantData = TenantContext.getCurrentTenantData();
+    List<Callable<List<DeletionWorkflowError>>> deletions = new ArrayList<>();
+    for (var userInactiveGroupEntry : userInactiveGroupEntries) {
+      var user = usersByRcUserId.get(userInactiveGroupEntry.getKey());
+      if (nonNull(user)) {
+        var userSessionList = sessionsByUserId.getOrDefault(user.getUserId(), List.of());
+        deletions.add(
+            withTenantContext(
+                tenantData,
+                () -> deleteInactiveGroupsOrUser(userInactiveGroupEntry, user, userSessionList)));
+      } else {
+        deletions.add(
+            withTenantContext(
+                tenantData,
+                () ->
+                    performUserSessionDeletionForNonExistingUser(
+                        userInactiveGroupEntry.getValue(), sessionsOfNonExistingUsersByGroupId)));
+      }
+    }
+    return runDeletions(deletions, executor);
+  }
 
+  private Map<String, User> findUsersByRcUserId(
+      List<Entry<String, List<String>>> userInactiveGroupEntries) {
+    var rcUserIds =
+        userInactiveGroupEntries.stream().map(Entry::getKey).collect(Collectors.toSet());
+    return userRepository.findByRcUserIdInAndDeleteDateIsNull(rcUserIds).stream()
+        .collect(
+            Collectors.toMap(User::getRcUserId, Function.identity(), (first, second) -> first));
+  }
+
+  private Map<String, List<Session>> findSessionsByUserId(Collection<User> users) {
+    if (users.isEmpty()) {
+      return Map.of();
+    }
+    var userIds = users.stream().map(User::getUserId).collect(Collectors.toSet());
+    return sessionRepository.findByUserUserIdIn(userIds).stream()
+        .collect(Collectors.groupingBy(session -> session.getUser().getUserId()));
+  }
+
+  private Map<String, Session> findSessionsOfNonExistingUsersByGroupId(
+      List<Entry<String, List<String>>> userInactiveGroupEntries,
+      Map<String, User> usersByRcUserId) {
+    var groupIds =
+        userInactiveGroupEntries.stream()
+            .filter(entry -> !usersByRcUserId.containsKey(entry.getKey()))
+            .flatMap(entry -> entry.getValue().stream())
+            .collect(Collectors.toSet());
+    if (groupIds.isEmpty()) {
+      return Map.of();
+    }
+    return sessionRepository.findByGroupIdIn(groupIds).stream()
+        .collect(
+            Collectors.toMap(Session::getGroupId, Function.identity(), (first, second) -> first));
+  }
+
+  private Callable<List<DeletionWorkflowError>> withTenantContext(
+      TenantData tenantData, Supplier<List<DeletionWorkflowError>> deletion) {
+    return () -> {
+      TenantContext.setCurrentTenantData(tenantData);
+      try {
+        return deletion.get();
+      } finally {
+        TenantContext.clear();
+      }
+    };
+  }
+
+  private List<DeletionWorkflowError> runDeletions(
+      List<Callable<List<DeletionWorkflowError>>> deletions, ExecutorService executor) {
+    List<DeletionWorkflowError> workflowErrors = new ArrayList<>();
+    try {
+      for (var result : executor.invokeAll(deletions)) {
+        try {
+          workflowErrors.addAll(result.get());
+        } catch (ExecutionException e) {
+          log.error("Deletion of inactive sessions failed", e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
     return workflowErrors;
   }
 
   private List<DeletionWorkflowError> deleteInactiveGroupsOrUser(
-      Entry<String, List<String>> userInactiveGroupEntry, User user) {
+      Entry<String, List<String>> userInactiveGroupEntry,
+      User user,
+      List<Session> userSessionList) {
 
-    List<Session> userSessionList = sessionRepository.findByUser(user);
     if (allSessionsOfUserAreInactive(userInactiveGroupEntry, userSessionList)) {
       return deleteUserAccountService.performUserDeletion(user);
     }
@@ -121,19 +233,12 @@ public class DeleteInactiveSessionsAndUserService {
   }
 
   private List<DeletionWorkflowError> performUserSessionDeletionForNonExistingUser(
-      List<String> rcGroupIds) {
+      List<String> rcGroupIds, Map<String, Session> sessionsByGroupId) {
     List<DeletionWorkflowError> workflowErrors = new ArrayList<>();
-    rcGroupIds.forEach(
-        rcGroupId ->
-            workflowErrors.addAll(performUserSessionDeletionForNonExistingUser(rcGroupId)));
-    return workflowErrors;
-  }
-
-  private Collection<? extends DeletionWorkflowError> performUserSessionDeletionForNonExistingUser(
-      String rcGroupId) {
-    List<DeletionWorkflowError> workflowErrors = new ArrayList<>();
-    Optional<Session> session = sessionRepository.findByGroupId(rcGroupId);
-    session.ifPresent(s -> workflowErrors.addAll(deleteSessionService.performSessionDeletion(s)));
+    rcGroupIds.stream()
+        .map(sessionsByGroupId::get)
+        .filter(Objects::nonNull)
+        .forEach(s -> workflowErrors.addAll(deleteSessionService.performSessionDeletion(s)));
     return workflowErrors;
   }
 
@@ -144,4 +249,36 @@ public class DeleteInactiveSessionsAndUserService {
         .filter(s -> s.getGroupId() != null && s.getGroupId().equals(rcGroupId))
         .findFirst();
   }
+
+  /** Deletes the users with inactive groups of one run page by page. */
+  @RequiredArgsConstructor
+  private class InactiveGroupsDeletion {
+
+    private final ExecutorService executor;
+    private final List<DeletionWorkflowError> workflowErrors;
+    private List<Entry<String, List<String>>> userInactiveGroupEntries;
+
+    Optional<String> deleteNextPage(String lastRcUserId) {
+      var page =
+          userInactiveGroupEntries().stream()
+              .filter(entry -> isNull(lastRcUserId) || entry.getKey().compareTo(lastRcUserId) > 0)
+              .limit(Math.max(1, pageSize))
+              .collect(Collectors.toList());
+      if (page.isEmpty()) {
+        return Optional.empty();
+      }
+      workflowErrors.addAll(performDeletionWorkflow(page, executor));
+      return Optional.of(page.get(page.size() - 1).getKey());
+    }
+
+    private List<Entry<String, List<String>>> userInactiveGroupEntries() {
+      if (isNull(userInactiveGroupEntries)) {
+        userInactiveGroupEntries =
+            inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap().entrySet().stream()
+                .sorted(Entry.comparingByKey())
+                .collect(Collectors.toList());
+      }
+      return userInactiveGroupEntries;
+    }
+  }
 }
@@ -43,7 +43,7 @@ public class DeleteUserAnonymousService {
   }
 
   private List<DeletionWorkflowError> deleteAnonymousUsersWithOverdueSessions() {
-    List<Session> doneSessions = this.sessionRepository.findByStatus(SessionStatus.DONE);
+    List<Session> doneSessions = this.sessionRepository.findWithUserByStatus(SessionStatus.DONE);
     LocalDateTime deletionTime = LocalDateTime.now().minusMinutes(deletionPeriodMinutes);
 
     Set<User> usersWithoutOpenSessions =
@@ -4,7 +4,6 @@ import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.group.GroupDTO;
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatGetGroupsListAllException;
 import de.caritas.cob.userservice.api.helper.CustomLocalDateTime;
-import de.caritas.cob.userservice.api.model.Chat;
 import de.caritas.cob.userservice.api.port.out.ChatRepository;
 import de.caritas.cob.userservice.api.service.LogService;
 import java.time.LocalDateTime;
@@ -12,13 +11,14 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -27,6 +27,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class InactivePrivateGroupsProvider {
 
+  private static final int GROUP_ID_PAGE_SIZE = 500;
+
   private final @NonNull RocketChatService rocketChatService;
   private final @NonNull ChatRepository chatRepository;
 
@@ -41,10 +43,11 @@ public class InactivePrivateGroupsProvider {
    */
   public Map<String, List<String>> retrieveUserWithInactiveGroupsMap() {
 
-    Set<String> groupChatIdSet = buildSetOfGroupChatGroupdIds();
+    List<GroupDTO> inactiveGroups = fetchAllInactivePrivateGroups();
+    Set<String> groupChatIdSet = findGroupChatGroupIds(inactiveGroups);
 
     Map<String, List<String>> userWithInactiveGroupsMap = new HashMap<>();
-    fetchAllInactivePrivateGroups().stream()
+    inactiveGroups.stream()
         .filter(group -> !groupChatIdSet.contains(group.getId()))
         .forEach(
             group ->
@@ -54,9 +57,13 @@ public class InactivePrivateGroupsProvider {
     return userWithInactiveGroupsMap;
   }
 
-  private Set<String> buildSetOfGroupChatGroupdIds() {
-    List<Chat> chatList = IterableUtils.toList(chatRepository.findAll());
-    return chatList.stream().map(Chat::getGroupId).collect(Collectors.toSet());
+  /** Only the group ids of the inactive groups are checked, in pages, instead of all chats. */
+  private Set<String> findGroupChatGroupIds(List<GroupDTO> groups) {
+    List<String> groupIds = groups.stream().map(GroupDTO::getId).collect(Collectors.toList());
+    Set<String> groupChatIds = new HashSet<>();
+    ListUtils.partition(groupIds, GROUP_ID_PAGE_SIZE)
+        .forEach(page -> groupChatIds.addAll(chatRepository.findGroupIdsByGroupIdIn(page)));
+    return groupChatIds;
   }
 
   private List<GroupDTO> fetchAllInactivePrivateGroups() {
@@ -0,0 +1,9 @@
+package de.caritas.cob.userservice.api.workflow.enquirynotification.model;
+
+/** Number of open enquiries of one agency, counted by the database. */
+public interface AgencyOpenEnquiries {
+
+  Long getAgencyId();
+
+  Long getOpenEnquiries();
+}
@@ -3,6 +3,7 @@ package de.caritas.cob.userservice.api.workflow.enquirynotification.scheduler;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 
 import de.caritas.cob.userservice.api.workflow.enquirynotification.service.EnquiryNotificationService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,16 +15,23 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class EnquiryNotificationScheduler {
 
+  private static final String JOB_NAME = "enquiryNotification";
+
   private final @NonNull EnquiryNotificationService enquiryNotificationService;
+  private final @NonNull JobLeaseService jobLeaseService;
 
   @Value("${enquiry.open.notification.enabled}")
   private Boolean enquiryNotificationsEnabled;
 
+  @Value("${enquiry.open.notification.cron}")
+  private String cron;
+
   /** Entry method to build and send email notifications. */
   @Scheduled(cron = "${enquiry.open.notification.cron}")
   public void sendEmailNotificationsForOpenEnquiries() {
     if (isTrue(enquiryNotificationsEnabled)) {
-      enquiryNotificationService.sendEmailNotificationsForOpenEnquiries();
+      jobLeaseService.runExclusively(
+          JOB_NAME, cron, enquiryNotificationService::sendEmailNotificationsForOpenEnquiries);
     }
   }
 }
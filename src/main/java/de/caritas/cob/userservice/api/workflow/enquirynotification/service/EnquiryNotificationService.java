@@ -11,7 +11,6 @@ import com.neovisionaries.i18n.LanguageCode;
 import de.caritas.cob.userservice.api.adapters.web.dto.AgencyDTO;
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.ConsultantAgency;
-import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
 import de.caritas.cob.userservice.api.service.ConsultantAgencyService;
@@ -19,6 +18,7 @@ import de.caritas.cob.userservice.api.service.agency.AgencyService;
 import de.caritas.cob.userservice.api.service.consultingtype.ReleaseToggle;
 import de.caritas.cob.userservice.api.service.consultingtype.ReleaseToggleService;
 import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.api.workflow.enquirynotification.model.AgencyOpenEnquiries;
 import de.caritas.cob.userservice.api.workflow.enquirynotification.model.EnquiriesNotificationMailContent;
 import de.caritas.cob.userservice.mailservice.generated.web.model.MailDTO;
 import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
@@ -56,35 +56,47 @@ public class EnquiryNotificationService {
   @Value("${app.base.url}")
   private String applicationBaseUrl;
 
-  /** Entry method to build and send email notifications. */
+  /**
+   * Entry method to build and send email notifications.
+   *
+   * <p>The overdue enquiries are counted per agency by the database and the consultants of all
+   * these agencies are loaded at once, so the run only depends on the number of agencies with
+   * overdue enquiries. The mails of one agency are sent in one request to the mail service.
+   */
   public void sendEmailNotificationsForOpenEnquiries() {
     var agencyIdsWithOpenEnquiries = findAgencyIdsWithOpenEnquiries();
-    var agenciesWithOpenEnquiries =
-        agencyService.getAgencies(new ArrayList<>(agencyIdsWithOpenEnquiries.keySet()));
+    if (agencyIdsWithOpenEnquiries.isEmpty()) {
+      return;
+    }
+    var agencyIds = new ArrayList<>(agencyIdsWithOpenEnquiries.keySet());
     var agencyIdToAgency =
-        agenciesWithOpenEnquiries.stream()
+        agencyService.getAgencies(agencyIds).stream()
             .collect(Collectors.toMap(AgencyDTO::getId, Function.identity()));
+    var agencyIdToConsultants =
+        consultantAgencyService.getConsultantsOfAgencies(agencyIds).stream()
+            .collect(
+                Collectors.groupingBy(
+                    ConsultantAgency::getAgencyId,
+                    Collectors.mapping(ConsultantAgency::getConsultant, Collectors.toList())));
     var mailsContentForAgencies =
         createMailsContentForAgencies(agencyIdsWithOpenEnquiries, agencyIdToAgency);
 
-    mailsContentForAgencies.forEach(this::buildAndSendEnquiryNotificationMails);
+    mailsContentForAgencies.forEach(
+        mailContent ->
+            buildAndSendEnquiryNotificationMails(
+                mailContent,
+                agencyIdToConsultants.getOrDefault(mailContent.getAgencyId(), List.of())));
   }
 
   private Map<Long, Long> findAgencyIdsWithOpenEnquiries() {
-    return sessionRepository.findByStatus(SessionStatus.NEW).stream()
-        .filter(this::longerOpenThanCheckHours)
-        .map(Session::getAgencyId)
-        .collect(Collectors.groupingBy(e -> e, Collectors.counting()));
-  }
-
-  private boolean longerOpenThanCheckHours(Session session) {
-    var rightNow = nowInUtc();
-    var enquiryMessageDate = session.getEnquiryMessageDate();
-
-    if (nonNull(enquiryMessageDate)) {
-      return rightNow.minusHours(openEnquiryCheckHours).isAfter(enquiryMessageDate);
-    }
-    return false;
+    var openSince = nowInUtc().minusHours(openEnquiryCheckHours);
+    return sessionRepository
+        .countByStatusAndEnquiryMessageDateBeforeGroupedByAgency(SessionStatus.NEW, openSince)
+        .stream()
+        .filter(openEnquiries -> nonNull(openEnquiries.getAgencyId()))
+        .collect(
+            Collectors.toMap(
+                AgencyOpenEnquiries::getAgencyId, AgencyOpenEnquiries::getOpenEnquiries));
   }
 
   private Collection<EnquiriesNotificationMailContent> createMailsContentForAgencies(
@@ -110,11 +122,10 @@ public class EnquiryNotificationService {
   }
 
   private void buildAndSendEnquiryNotificationMails(
-      EnquiriesNotificationMailContent enquiryMailContent) {
+      EnquiriesNotificationMailContent enquiryMailContent, List<Consultant> consultants) {
     var mailDTOs =
-        consultantAgencyService.findConsultantsByAgencyId(enquiryMailContent.getAgencyId()).stream()
-            .map(ConsultantAgency::getConsultant)
-            .filter(c -> wantsToReceiveNotifications(c))
+        consultants.stream()
+            .filter(this::wantsToReceiveNotifications)
             .map(consultant -> buildMailTO(consultant, enquiryMailContent))
             .collect(Collectors.toList());
 
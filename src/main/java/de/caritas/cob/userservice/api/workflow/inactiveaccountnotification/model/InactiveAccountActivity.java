@@ -0,0 +1,31 @@
+package de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/** Activity dates of an account, aggregated by the database for inactivity monitoring. */
+public interface InactiveAccountActivity {
+
+  String getAccountId();
+
+  Long getTenantId();
+
+  LocalDateTime getCreateDate();
+
+  LocalDateTime getUpdateDate();
+
+  LocalDateTime getLastSessionActivity();
+
+  /**
+   * Returns the latest of the activity dates of the account.
+   *
+   * @return the last activity, empty if the account has no activity date at all
+   */
+  default Optional<LocalDateTime> lastActivity() {
+    return Stream.of(getUpdateDate(), getLastSessionActivity(), getCreateDate())
+        .filter(Objects::nonNull)
+        .max(LocalDateTime::compareTo);
+  }
+}
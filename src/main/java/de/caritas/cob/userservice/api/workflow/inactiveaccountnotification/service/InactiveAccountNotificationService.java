@@ -1,29 +1,38 @@
 package de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.service;
 
+import static java.util.Objects.isNull;
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+
 import de.caritas.cob.userservice.api.model.Admin;
-import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.InactiveAccountNotificationAuditLog;
-import de.caritas.cob.userservice.api.model.User;
 import de.caritas.cob.userservice.api.port.out.AdminRepository;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import de.caritas.cob.userservice.api.port.out.InactiveAccountNotificationAuditLogRepository;
 import de.caritas.cob.userservice.api.port.out.UserRepository;
 import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountActivity;
 import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountRole;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import de.caritas.cob.userservice.mailservice.generated.web.model.MailDTO;
 import de.caritas.cob.userservice.mailservice.generated.web.model.MailsDTO;
 import de.caritas.cob.userservice.mailservice.generated.web.model.TemplateDataDTO;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /** Security-06 inactivity threshold monitor for askers, consultants and admins. */
 @Service
@@ -31,17 +40,22 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class InactiveAccountNotificationService {
 
+  private static final String JOB_NAME = "inactiveAccountNotification";
   private static final String TEMPLATE_FREE_TEXT = "free_text";
+  private static final String CHECKPOINT_SEPARATOR = ":";
+  private static final List<InactiveAccountRole> ROLES = List.of(InactiveAccountRole.values());
 
   private final @NonNull UserRepository userRepository;
   private final @NonNull ConsultantRepository consultantRepository;
   private final @NonNull AdminRepository adminRepository;
-  private final @NonNull AskerActivityCalculator askerActivityCalculator;
-  private final @NonNull ConsultantActivityCalculator consultantActivityCalculator;
   private final @NonNull AdminActivityCalculator adminActivityCalculator;
   private final @NonNull InactiveAccountNotificationRecipientResolver recipientResolver;
   private final @NonNull InactiveAccountNotificationAuditLogRepository auditLogRepository;
   private final @NonNull MailService mailService;
+  private final @NonNull JobLeaseService jobLeaseService;
+
+  @Value("${inactive.account.notification.cron:0 30 2 * * ?}")
+  private String cron;
 
   @Value("${inactive.account.notification.threshold.days:365}")
   private long inactivityThresholdDays;
@@ -52,116 +66,160 @@ public class InactiveAccountNotificationService {
   @Value("${inactive.account.notification.app-base-url:${app.base.url}}")
   private String appBaseUrl;
 
-  @Transactional
+  @Value("${inactive.account.notification.page.size:500}")
+  private int pageSize;
+
+  /**
+   * Notifies the admins about all accounts that crossed the inactivity threshold.
+   *
+   * <p>The candidates are read in pages ordered by account id, with their last activity already
+   * aggregated by the database. The audit rows of each page are written in their own transaction,
+   * so a run never holds one long transaction or all accounts in memory. The role and last account
+   * id of each page are stored as checkpoint of the job lease, so an interrupted run is resumed
+   * after the last notified page.
+   */
   public void scanAndNotifyInactiveAccounts() {
     LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
     LocalDateTime cutoff = now.minusDays(inactivityThresholdDays);
-    notifyInactiveAskers(cutoff, now);
-    notifyInactiveConsultants(cutoff, now);
-    notifyInactiveAdmins(cutoff, now);
+    Map<Long, List<Admin>> recipientsByTenant = new HashMap<>();
+    jobLeaseService.runInChunks(
+        JOB_NAME, cron, checkpoint -> notifyNextPage(checkpoint, cutoff, now, recipientsByTenant));
   }
 
-  private void notifyInactiveAskers(LocalDateTime cutoff, LocalDateTime now) {
-    for (User user : userRepository.findAllByDeleteDateIsNull()) {
-      Optional<LocalDateTime> lastActivity = askerActivityCalculator.lastActivity(user);
-      if (isInactive(lastActivity, cutoff)) {
-        emitForRecipients(
-            InactiveAccountRole.ASKER,
-            user.getUserId(),
-            user.getTenantId(),
-            lastActivity.orElse(null),
-            now);
-      }
+  private Optional<String> notifyNextPage(
+      String checkpoint,
+      LocalDateTime cutoff,
+      LocalDateTime now,
+      Map<Long, List<Admin>> recipientsByTenant) {
+    InactiveAccountRole role =
+        isNull(checkpoint)
+            ? ROLES.get(0)
+            : InactiveAccountRole.valueOf(substringBefore(checkpoint, CHECKPOINT_SEPARATOR));
+    String afterId = isNull(checkpoint) ? "" : substringAfter(checkpoint, CHECKPOINT_SEPARATOR);
+    List<Candidate> page = findCandidates(role, cutoff, afterId);
+    notifyPage(role, page, cutoff, now, recipientsByTenant);
+    if (page.size() == pageSize) {
+      return Optional.of(checkpointOf(role, page.get(page.size() - 1).accountId));
     }
+    int nextRoleIndex = ROLES.indexOf(role) + 1;
+    return nextRoleIndex < ROLES.size()
+        ? Optional.of(checkpointOf(ROLES.get(nextRoleIndex), ""))
+        : Optional.empty();
   }
 
-  private void notifyInactiveConsultants(LocalDateTime cutoff, LocalDateTime now) {
-    for (Consultant consultant : consultantRepository.findByDeleteDateIsNull()) {
-      Optional<LocalDateTime> lastActivity = consultantActivityCalculator.lastActivity(consultant);
-      if (isInactive(lastActivity, cutoff)) {
-        emitForRecipients(
-            InactiveAccountRole.CONSULTANT,
-            consultant.getId(),
-            consultant.getTenantId(),
-            lastActivity.orElse(null),
-            now);
-      }
+  private String checkpointOf(InactiveAccountRole role, String afterId) {
+    return role.name() + CHECKPOINT_SEPARATOR + afterId;
+  }
+
+  private List<Candidate> findCandidates(
+      InactiveAccountRole role, LocalDateTime cutoff, String afterId) {
+    PageRequest pageRequest = PageRequest.of(0, pageSize);
+    switch (role) {
+      case ASKER:
+        return toCandidates(userRepository.findInactiveAskers(cutoff, afterId, pageRequest));
+      case CONSULTANT:
+        return toCandidates(
+            consultantRepository.findInactiveConsultants(cutoff, afterId, pageRequest));
+      default:
+        List<Candidate> candidates = new ArrayList<>();
+        for (Admin admin : adminRepository.findInactiveAdmins(cutoff, afterId, pageRequest)) {
+          candidates.add(
+              new Candidate(
+                  admin.getId(), admin.getTenantId(), adminActivityCalculator.lastActivity(admin)));
+        }
+        return candidates;
     }
   }
 
-  private void notifyInactiveAdmins(LocalDateTime cutoff, LocalDateTime now) {
-    for (Admin admin : adminRepository.findAll()) {
-      Optional<LocalDateTime> lastActivity = adminActivityCalculator.lastActivity(admin);
-      if (isInactive(lastActivity, cutoff)) {
-        emitForRecipients(
-            InactiveAccountRole.ADMIN,
-            admin.getId(),
-            admin.getTenantId(),
-            lastActivity.orElse(null),
-            now);
-      }
+  private List<Candidate> toCandidates(List<InactiveAccountActivity> activities) {
+    List<Candidate> candidates = new ArrayList<>();
+    for (InactiveAccountActivity activity : activities) {
+      candidates.add(
+          new Candidate(activity.getAccountId(), activity.getTenantId(), activity.lastActivity()));
     }
+    return candidates;
   }
 
   private boolean isInactive(Optional<LocalDateTime> lastActivity, LocalDateTime cutoff) {
     return lastActivity.isPresent() && lastActivity.get().isBefore(cutoff);
   }
 
-  private void emitForRecipients(
+  private void notifyPage(
       InactiveAccountRole role,
-      String accountId,
-      Long accountTenantId,
-      LocalDateTime lastActivityAt,
-      LocalDateTime now) {
-    for (Admin recipient : recipientResolver.resolveRecipients(accountTenantId)) {
-      String fingerprint =
-          buildFingerprint(
-              role, accountId, recipient.getId(), lastActivityAt, inactivityThresholdDays);
-      if (auditLogRepository.existsByNotificationFingerprint(fingerprint)) {
+      List<Candidate> candidates,
+      LocalDateTime cutoff,
+      LocalDateTime now,
+      Map<Long, List<Admin>> recipientsByTenant) {
+    Map<String, InactiveAccountNotificationAuditLog> pendingByFingerprint = new LinkedHashMap<>();
+    for (Candidate candidate : candidates) {
+      if (!isInactive(candidate.lastActivity, cutoff)) {
+        continue;
+      }
+      LocalDateTime lastActivityAt = candidate.lastActivity.get();
+      List<Admin> recipients =
+          recipientsByTenant.computeIfAbsent(
+              candidate.tenantId, recipientResolver::resolveRecipients);
+      for (Admin recipient : recipients) {
+        String fingerprint =
+            buildFingerprint(
+                role,
+                candidate.accountId,
+                recipient.getId(),
+                lastActivityAt,
+                inactivityThresholdDays);
+        pendingByFingerprint.putIfAbsent(
+            fingerprint,
+            InactiveAccountNotificationAuditLog.builder()
+                .notificationFingerprint(fingerprint)
+                .accountRole(role)
+                .accountId(candidate.accountId)
+                .accountTenantId(candidate.tenantId)
+                .lastActivityAt(lastActivityAt)
+                .thresholdDays((int) inactivityThresholdDays)
+                .recipientAdminId(recipient.getId())
+                .recipientEmail(recipient.getEmail())
+                .createDate(now)
+                .tenantId(candidate.tenantId)
+                .build());
+      }
+    }
+    if (pendingByFingerprint.isEmpty()) {
+      return;
+    }
+
+    Set<String> existingFingerprints =
+        auditLogRepository.findExistingNotificationFingerprints(pendingByFingerprint.keySet());
+    List<InactiveAccountNotificationAuditLog> auditLogs = new ArrayList<>();
+    for (InactiveAccountNotificationAuditLog auditLog : pendingByFingerprint.values()) {
+      if (existingFingerprints.contains(auditLog.getNotificationFingerprint())) {
         continue;
       }
-      boolean dispatched = false;
       if (emailDispatchEnabled) {
-        dispatchEmail(recipient, role, accountId, accountTenantId, lastActivityAt);
-        dispatched = true;
+        dispatchEmail(auditLog);
+        auditLog.setEmailDispatched(true);
       }
-      auditLogRepository.save(
-          InactiveAccountNotificationAuditLog.builder()
-              .notificationFingerprint(fingerprint)
-              .accountRole(role)
-              .accountId(accountId)
-              .accountTenantId(accountTenantId)
-              .lastActivityAt(lastActivityAt)
-              .thresholdDays((int) inactivityThresholdDays)
-              .recipientAdminId(recipient.getId())
-              .recipientEmail(recipient.getEmail())
-              .emailDispatched(dispatched)
-              .createDate(now)
-              .tenantId(accountTenantId)
-              .build());
+      auditLogs.add(auditLog);
+    }
+    if (!auditLogs.isEmpty()) {
+      auditLogRepository.saveAll(auditLogs);
     }
   }
 
-  private void dispatchEmail(
-      Admin recipient,
-      InactiveAccountRole role,
-      String accountId,
-      Long accountTenantId,
-      LocalDateTime lastActivityAt) {
+  private void dispatchEmail(InactiveAccountNotificationAuditLog auditLog) {
     String subject = "Inactive account threshold reached (12 months)";
     String body =
         String.format(
             Locale.ROOT,
             "Account role=%s, accountId=%s, tenantId=%s crossed inactivity threshold (%d days). Last activity=%s.",
-            role.name(),
-            accountId,
-            accountTenantId,
+            auditLog.getAccountRole().name(),
+            auditLog.getAccountId(),
+            auditLog.getAccountTenantId(),
             inactivityThresholdDays,
-            String.valueOf(lastActivityAt));
+            String.valueOf(auditLog.getLastActivityAt()));
     MailDTO mail =
         new MailDTO()
             .template(TEMPLATE_FREE_TEXT)
-            .email(recipient.getEmail())
+            .email(auditLog.getRecipientEmail())
             .templateData(
                 List.of(
                     new TemplateDataDTO().key("subject").value(subject),
@@ -170,9 +228,9 @@ public class InactiveAccountNotificationService {
     mailService.sendEmailNotification(new MailsDTO().mails(List.of(mail)));
     log.info(
         "Inactive account notification dispatched to adminId={} role={} accountId={}",
-        recipient.getId(),
-        role,
-        accountId);
+        auditLog.getRecipientAdminId(),
+        auditLog.getAccountRole(),
+        auditLog.getAccountId());
   }
 
   private String buildFingerprint(
@@ -190,4 +248,13 @@ public class InactiveAccountNotificationService {
         String.valueOf(lastActivityAt),
         thresholdDays);
   }
+
+  /** An account of one page together with its last activity. */
+  @RequiredArgsConstructor
+  private static class Candidate {
+
+    private final String accountId;
+    private final Long tenantId;
+    private final Optional<LocalDateTime> lastActivity;
+  }
 }
@@ -0,0 +1,16 @@
+package de.caritas.cob.userservice.api.workflow.lease.service;
+
+import java.util.Optional;
+
+/** A workflow job which processes its data in chunks and can be resumed after every chunk. */
+@FunctionalInterface
+public interface ChunkedJob {
+
+  /**
+   * Processes the chunk following the given checkpoint.
+   *
+   * @param checkpoint the checkpoint of the last processed chunk, null on the first chunk
+   * @return the checkpoint to continue from, or an empty {@link Optional} if the job is complete
+   */
+  Optional<String> processChunk(String checkpoint);
+}
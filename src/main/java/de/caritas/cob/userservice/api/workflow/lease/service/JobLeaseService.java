@@ -0,0 +1,193 @@
+package de.caritas.cob.userservice.api.workflow.lease.service;
+
+import static de.caritas.cob.userservice.api.helper.CustomLocalDateTime.nowInUtc;
+import static de.caritas.cob.userservice.api.helper.NodeIdGenerator.generateNodeId;
+
+import de.caritas.cob.userservice.api.model.JobLease;
+import de.caritas.cob.userservice.api.port.out.JobLeaseRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+/**
+ * Makes sure a scheduled workflow job runs on one node of the cluster at a time. The node holding
+ * the lease of the job row runs the job, all other nodes skip their run. The lease is renewed while
+ * the job runs, and a node which crashes keeps its lease until it expires, after which any node can
+ * take over.
+ *
+ * <p>A finished run keeps the lease until shortly before the next fire time of its schedule, so
+ * nodes firing the same schedule a few seconds later do not run the job a second time.
+ *
+ * <p>Chunked jobs store a checkpoint after every chunk. A run which has been interrupted, crashed
+ * or lost its lease is resumed from the last checkpoint by the next run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobLeaseService {
+
+  private final @NonNull JobLeaseRepository jobLeaseRepository;
+
+  private final ScheduledExecutorService leaseRenewalExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            var thread = new Thread(runnable, "job-lease-renewal");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  @Value("${job.lease.ttlMinutes}")
+  private long leaseTtlMinutes;
+
+  @Value("${job.lease.releaseBeforeNextRunSeconds}")
+  private long releaseBeforeNextRunSeconds;
+
+  @Getter private final String nodeId = generateNodeId();
+
+  /**
+   * Runs the given job, if no other node currently runs it or has run it for the current fire time
+   * of its schedule.
+   *
+   * @param jobName the unique name of the job
+   * @param cron the cron expression the job is scheduled with
+   * @param job the job to run
+   * @return true if the job has been run by this node
+   */
+  public boolean runExclusively(String jobName, String cron, Runnable job) {
+    return runWithLease(jobName, cron, job);
+  }
+
+  /**
+   * Runs the given chunked job from its last checkpoint, if no other node currently runs it or has
+   * run it for the current fire time of its schedule. The checkpoint is stored after every chunk
+   * and cleared once the job is complete. The run stops early, keeping the checkpoint, when the
+   * thread is interrupted or the lease has been lost.
+   *
+   * @param jobName the unique name of the job
+   * @param cron the cron expression the job is scheduled with
+   * @param job the job to run
+   * @return true if the job has been run by this node
+   */
+  public boolean runInChunks(String jobName, String cron, ChunkedJob job) {
+    return runWithLease(jobName, cron, () -> processChunks(jobName, job));
+  }
+
+  private boolean runWithLease(String jobName, String cron, Runnable job) {
+    var startDate = ZonedDateTime.now();
+    if (!tryAcquireLease(jobName)) {
+      log.info("Skipping job {} as it is running or has just run on another node", jobName);
+      return false;
+    }
+    var leaseRenewal = scheduleLeaseRenewal(jobName);
+    try {
+      job.run();
+      return true;
+    } finally {
+      leaseRenewal.cancel(false);
+      jobLeaseRepository.releaseLease(jobName, nodeId, releaseDate(cron, startDate));
+    }
+  }
+
+  private void processChunks(String jobName, ChunkedJob job) {
+    var checkpoint = jobLeaseRepository.findById(jobName).map(JobLease::getCheckpoint).orElse(null);
+    if (checkpoint != null) {
+      log.info("Resuming job {} from checkpoint {}", jobName, checkpoint);
+    }
+    Optional<String> nextCheckpoint;
+    while ((nextCheckpoint = job.processChunk(checkpoint)).isPresent()) {
+      checkpoint = nextCheckpoint.get();
+      if (!saveCheckpoint(jobName, checkpoint)) {
+        log.warn("Job {} lost its lease at checkpoint {}", jobName, checkpoint);
+        return;
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        log.warn("Job {} interrupted at checkpoint {}", jobName, checkpoint);
+        return;
+      }
+    }
+    saveCheckpoint(jobName, null);
+  }
+
+  private boolean tryAcquireLease(String jobName) {
+    var now = nowInUtc();
+    var leaseUntil = now.plusMinutes(leaseTtlMinutes);
+    if (jobLeaseRepository.acquireLease(jobName, nodeId, now, leaseUntil) > 0) {
+      return true;
+    }
+    if (!jobLeaseRepository.existsById(jobName)) {
+      createJobLease(jobName);
+      return jobLeaseRepository.acquireLease(jobName, nodeId, now, leaseUntil) > 0;
+    }
+    return false;
+  }
+
+  private ScheduledFuture<?> scheduleLeaseRenewal(String jobName) {
+    var renewalPeriodSeconds = Math.max(1, TimeUnit.MINUTES.toSeconds(leaseTtlMinutes) / 3);
+    return leaseRenewalExecutor.scheduleAtFixedRate(
+        () -> renewLease(jobName), renewalPeriodSeconds, renewalPeriodSeconds, TimeUnit.SECONDS);
+  }
+
+  private void renewLease(String jobName) {
+    try {
+      var now = nowInUtc();
+      if (jobLeaseRepository.renewLease(jobName, nodeId, now, now.plusMinutes(leaseTtlMinutes))
+          == 0) {
+        log.warn("Job {} lost its lease while running", jobName);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Could not renew lease of job {}: {}", jobName, e.getMessage());
+    }
+  }
+
+  private boolean saveCheckpoint(String jobName, String checkpoint) {
+    var now = nowInUtc();
+    return jobLeaseRepository.updateCheckpoint(
+            jobName, nodeId, checkpoint, now, now.plusMinutes(leaseTtlMinutes))
+        > 0;
+  }
+
+  /**
+   * The lease of a run is released shortly before the first fire time of the schedule after the
+   * start of the run, or right away if the run took longer than that.
+   */
+  private LocalDateTime releaseDate(String cron, ZonedDateTime startDate) {
+    var now = nowInUtc();
+    var nextRunDate = CronExpression.parse(cron).next(startDate);
+    if (nextRunDate == null) {
+      return now;
+    }
+    var releaseDate =
+        nextRunDate
+            .minusSeconds(releaseBeforeNextRunSeconds)
+            .withZoneSameInstant(ZoneOffset.UTC)
+            .toLocalDateTime();
+    return releaseDate.isAfter(now) ? releaseDate : now;
+  }
+
+  private void createJobLease(String jobName) {
+    try {
+      jobLeaseRepository.save(JobLease.builder().id(jobName).updateDate(nowInUtc()).build());
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Lease of job {} has been created by another node", jobName);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    leaseRenewalExecutor.shutdownNow();
+  }
+}
@@ -0,0 +1,30 @@
+package de.caritas.cob.userservice.api.workflow.notificationretention.scheduler;
+
+import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
+import de.caritas.cob.userservice.api.workflow.notificationretention.service.EventNotificationRetentionService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Scheduler for the deletion of expired in-app notifications. */
+@Component
+@RequiredArgsConstructor
+public class EventNotificationRetentionScheduler {
+
+  private final @NonNull EventNotificationRetentionService eventNotificationRetentionService;
+  private final @NonNull TenantContextProvider tenantContextProvider;
+
+  @Value("${event.notification.retention.enabled}")
+  private boolean eventNotificationRetentionEnabled;
+
+  /** Entry method to delete expired notifications. */
+  @Scheduled(cron = "${event.notification.retention.cron}")
+  public void deleteExpiredNotifications() {
+    tenantContextProvider.setTechnicalContextIfMultiTenancyIsEnabled();
+    if (eventNotificationRetentionEnabled) {
+      eventNotificationRetentionService.deleteExpiredNotifications();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package de.caritas.cob.userservice.api.workflow.notificationretention.service;
+
+import static java.util.Objects.isNull;
+
+import de.caritas.cob.userservice.api.model.EventNotification;
+import de.caritas.cob.userservice.api.port.out.EventNotificationRepository;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service to delete in-app notifications which were read or created longer ago than the configured
+ * retention periods.
+ *
+ * <p>Notifications are deleted in chunks of consecutive ids, each in its own short transaction,
+ * with a pause between the chunks. The ids grow with the creation date, so only the ids up to the
+ * newest notification created before the later cutoff are visited. The next id to delete from is
+ * stored as checkpoint of the job lease, so an interrupted run is resumed where it stopped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventNotificationRetentionService {
+
+  private static final String JOB_NAME = "eventNotificationRetention";
+
+  private final @NonNull EventNotificationRepository eventNotificationRepository;
+  private final @NonNull JobLeaseService jobLeaseService;
+
+  @Value("${event.notification.retention.cron}")
+  private String cron;
+
+  @Value("${event.notification.retention.read.days}")
+  private long readRetentionDays;
+
+  @Value("${event.notification.retention.max.days}")
+  private long maxRetentionDays;
+
+  @Value("${event.notification.retention.chunk.size}")
+  private int chunkSize;
+
+  @Value("${event.notification.retention.chunk.pauseMillis}")
+  private long chunkPauseMillis;
+
+  /** Deletes all notifications which exceeded their retention period. */
+  public void deleteExpiredNotifications() {
+    var now = LocalDateTime.now();
+    var createdBefore = now.minusDays(maxRetentionDays);
+    var readBefore = now.minusDays(readRetentionDays);
+    var latestCutoff = readBefore.isAfter(createdBefore) ? readBefore : createdBefore;
+
+    var minId = eventNotificationRepository.findMinId();
+    var maxId =
+        eventNotificationRepository
+            .findFirstByCreateDateBeforeOrderByCreateDateDesc(latestCutoff)
+            .map(EventNotification::getId);
+    if (minId.isEmpty() || maxId.isEmpty()) {
+      return;
+    }
+
+    var firstId = minId.get();
+    var lastId = maxId.get();
+    var deleted = new AtomicLong();
+    var hasRun =
+        jobLeaseService.runInChunks(
+            JOB_NAME,
+            cron,
+            checkpoint -> {
+              var fromId =
+                  isNull(checkpoint) ? firstId : Math.max(firstId, Long.parseLong(checkpoint));
+              if (fromId > lastId) {
+                return Optional.empty();
+              }
+              var toId = fromId + chunkSize;
+              deleted.addAndGet(
+                  eventNotificationRepository.deleteExpiredInIdRange(
+                      fromId, toId, createdBefore, readBefore));
+              pauseBetweenChunks();
+              return Optional.of(String.valueOf(toId));
+            });
+    if (hasRun) {
+      log.info("Notification retention deleted {} notifications", deleted.get());
+    }
+  }
+
+  private void pauseBetweenChunks() {
+    if (chunkPauseMillis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(chunkPauseMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,2 @@
+DROP INDEX idx_session_consultant_status_latest_message ON `userservice`.`session`;
+ALTER TABLE `userservice`.`session` DROP COLUMN `latest_message_date`;
@@ -0,0 +1,13 @@
+-- Date of the newest chat message of a session. Used to order and page the consultant session
+-- list in the database instead of sorting the full, enriched list in memory.
+ALTER TABLE `userservice`.`session`
+ADD COLUMN `latest_message_date` datetime NULL DEFAULT NULL AFTER `update_date`;
+
+-- Best known approximation until the next message arrives. This also covers group chat sessions,
+-- which were created without a latest message date.
+UPDATE `userservice`.`session`
+SET `latest_message_date` = COALESCE(`update_date`, `create_date`)
+WHERE `latest_message_date` IS NULL;
+
+CREATE INDEX idx_session_consultant_status_latest_message
+  ON `userservice`.`session` (consultant_id, status, latest_message_date, id);
@@ -0,0 +1 @@
+DROP TABLE `userservice`.`matrix_sync_state`;
@@ -0,0 +1,12 @@
+-- Cursor and leader lease of the Matrix /sync consumer. Exactly one replica holds the lease of a
+-- row and consumes /sync, starting from the stored cursor after a restart or fail-over.
+CREATE TABLE `userservice`.`matrix_sync_state` (
+    `id` varchar(64) NOT NULL,
+    `sync_token` varchar(255) NULL DEFAULT NULL,
+    `lease_owner` varchar(255) NULL DEFAULT NULL,
+    `lease_until` datetime NULL DEFAULT NULL,
+    `update_date` datetime NOT NULL DEFAULT (UTC_TIMESTAMP),
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_unicode_ci;
+
+INSERT INTO `userservice`.`matrix_sync_state` (`id`) VALUES ('admin');
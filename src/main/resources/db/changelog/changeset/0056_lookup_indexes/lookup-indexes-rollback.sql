@@ -0,0 +1,3 @@
+DROP INDEX idx_chat_rc_group_id ON `userservice`.`chat`;
+DROP INDEX idx_session_user_status ON `userservice`.`session`;
+DROP INDEX idx_session_rc_group_id ON `userservice`.`session`;
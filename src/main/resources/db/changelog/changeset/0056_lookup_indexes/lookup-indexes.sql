@@ -0,0 +1,7 @@
+-- Indexes for the columns of frequent single row and per user lookups, which were resolved by full
+-- table scans so far. Sessions by consultant and status are covered by index_consultant_id_status
+-- and idx_session_consultant_status_latest_message, notifications by recipient by the indexes of
+-- the event_notification table.
+CREATE INDEX IF NOT EXISTS idx_session_rc_group_id ON `userservice`.`session` (rc_group_id);
+CREATE INDEX IF NOT EXISTS idx_session_user_status ON `userservice`.`session` (user_id, status);
+CREATE INDEX IF NOT EXISTS idx_chat_rc_group_id ON `userservice`.`chat` (rc_group_id);
@@ -0,0 +1 @@
+DROP INDEX idx_session_matrix_room_id ON `userservice`.`session`;
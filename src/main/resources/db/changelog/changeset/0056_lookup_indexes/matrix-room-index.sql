@@ -0,0 +1,2 @@
+-- Matrix events only carry the room id, so every event of a room resolves its session by it.
+CREATE INDEX IF NOT EXISTS idx_session_matrix_room_id ON `userservice`.`session` (matrix_room_id);
@@ -0,0 +1 @@
+DROP SEQUENCE `userservice`.`sequence_event_notification`;
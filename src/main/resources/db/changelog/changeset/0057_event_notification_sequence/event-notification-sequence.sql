@@ -0,0 +1,13 @@
+-- Ids of new notifications are taken from a sequence in blocks of 50, so notifications can be
+-- inserted in JDBC batches. Hibernate uses the 50 ids up to each sequence value.
+-- During a rolling deploy, nodes of the previous release still insert with the AUTO_INCREMENT of
+-- the table, which continues right after the highest id. The sequence therefore starts 1,000,000
+-- ids above the highest id, so these inserts cannot collide with ids taken from the sequence.
+SET @event_notification_start =
+  (SELECT COALESCE(MAX(id), 0) + 1000000 FROM `userservice`.`event_notification`);
+SET @create_sequence = CONCAT(
+  'CREATE SEQUENCE `userservice`.`sequence_event_notification` ',
+  'INCREMENT BY 50 MINVALUE = 0 NOMAXVALUE START WITH ', @event_notification_start, ' CACHE 10');
+PREPARE create_sequence_statement FROM @create_sequence;
+EXECUTE create_sequence_statement;
+DEALLOCATE PREPARE create_sequence_statement;
@@ -0,0 +1 @@
+DROP INDEX idx_event_notification_create_read ON `userservice`.`event_notification`;
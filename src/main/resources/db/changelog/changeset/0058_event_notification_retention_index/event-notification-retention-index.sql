@@ -0,0 +1,4 @@
+-- Finds the newest notification before a retention cutoff without a table scan. The unread count
+-- per recipient is served by idx_event_notification_recipient_read.
+CREATE INDEX IF NOT EXISTS idx_event_notification_create_read
+  ON `userservice`.`event_notification` (create_date, read_date);
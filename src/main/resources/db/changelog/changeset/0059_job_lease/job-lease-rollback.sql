@@ -0,0 +1 @@
+DROP TABLE `userservice`.`job_lease`;
@@ -0,0 +1,10 @@
+-- Lease and checkpoint of the scheduled workflow jobs. Only the replica holding the lease of a job
+-- runs it; chunked jobs resume from the stored checkpoint. Rows are created on the first run.
+CREATE TABLE `userservice`.`job_lease` (
+    `id` varchar(64) NOT NULL,
+    `lease_owner` varchar(255) NULL DEFAULT NULL,
+    `lease_until` datetime NULL DEFAULT NULL,
+    `checkpoint` varchar(255) NULL DEFAULT NULL,
+    `update_date` datetime NOT NULL DEFAULT (UTC_TIMESTAMP),
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_unicode_ci;
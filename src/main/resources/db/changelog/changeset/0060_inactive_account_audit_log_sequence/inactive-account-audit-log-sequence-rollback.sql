@@ -0,0 +1 @@
+DROP SEQUENCE `userservice`.`sequence_inactive_account_notification_audit_log`;
@@ -0,0 +1,10 @@
+-- Ids of new audit log rows are taken from a sequence in blocks of 50, so the rows of a page can
+-- be inserted in JDBC batches. The sequence starts 50 above the highest id generated so far.
+SET @audit_log_start =
+  (SELECT COALESCE(MAX(id), 0) + 50 FROM `userservice`.`inactive_account_notification_audit_log`);
+SET @create_sequence = CONCAT(
+  'CREATE SEQUENCE `userservice`.`sequence_inactive_account_notification_audit_log` ',
+  'INCREMENT BY 50 MINVALUE = 0 NOMAXVALUE START WITH ', @audit_log_start, ' CACHE 10');
+PREPARE create_sequence_statement FROM @create_sequence;
+EXECUTE create_sequence_statement;
+DEALLOCATE PREPARE create_sequence_statement;
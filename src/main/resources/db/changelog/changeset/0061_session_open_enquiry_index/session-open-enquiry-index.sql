@@ -0,0 +1,4 @@
+-- Counts the overdue enquiries per agency from the index alone, so the daily enquiry notification
+-- only reads the sessions which are still new and older than the check window.
+CREATE INDEX IF NOT EXISTS idx_session_status_message_date
+  ON `userservice`.`session` (status, message_date, agency_id);
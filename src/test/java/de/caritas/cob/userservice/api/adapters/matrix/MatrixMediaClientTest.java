@@ -9,6 +9,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,11 +20,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 
 @ExtendWith(MockitoExtension.class)
 class MatrixMediaClientTest {
@@ -31,12 +40,14 @@ class MatrixMediaClientTest {
   private static final String ROOM_ID = "!room:matrix.local";
 
   @Mock private RestTemplate restTemplate;
+  @Mock private ClientHttpRequestFactory requestFactory;
 
+  private MatrixConfig matrixConfig;
   private MatrixMediaClient matrixMediaClient;
 
   @BeforeEach
   void setUp() {
-    var matrixConfig = new MatrixConfig();
+    matrixConfig = new MatrixConfig();
     matrixConfig.setApiUrl(BASE_URL);
     matrixMediaClient = new MatrixMediaClient(matrixConfig, restTemplate);
   }
@@ -68,25 +79,62 @@ class MatrixMediaClientTest {
   }
 
   @Test
-  void downloadFile_Should_ReturnDownloadedBytes() {
-    byte[] expectedBytes = "content".getBytes();
+  void openDownload_Should_StreamDownloadedBytes() throws Exception {
+    var response = new MockClientHttpResponse("content".getBytes(), HttpStatus.OK);
+    response.getHeaders().setContentLength(7);
+    var request = givenDownloadRequestAnsweredWith(response);
+
+    try (var download =
+        matrixMediaClient.openDownload("matrix.local", "media-id", ACCESS_TOKEN, null)) {
+      var outputStream = new ByteArrayOutputStream();
+
+      assertThat(download.getStatusCode()).isEqualTo(200);
+      assertThat(download.getContentLength()).isEqualTo(7);
+      assertThat(download.transferTo(outputStream)).isEqualTo(7);
+      assertThat(outputStream.toByteArray()).isEqualTo("content".getBytes());
+    }
+    assertThat(request.getHeaders().getFirst("Authorization")).isEqualTo("Bearer " + ACCESS_TOKEN);
+    assertThat(request.getHeaders().containsKey(HttpHeaders.RANGE)).isFalse();
+  }
 
-    when(restTemplate.exchange(
-            eq(BASE_URL + "/_matrix/media/r0/download/matrix.local/media-id"),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(byte[].class)))
-        .thenReturn(new ResponseEntity<>(expectedBytes, HttpStatus.OK));
+  @Test
+  void openDownload_Should_PassRangeAndReturnPartialContent() throws Exception {
+    var response = new MockClientHttpResponse("nt".getBytes(), HttpStatus.PARTIAL_CONTENT);
+    response.getHeaders().set(HttpHeaders.CONTENT_RANGE, "bytes 2-3/7");
+    var request = givenDownloadRequestAnsweredWith(response);
+
+    try (var download =
+        matrixMediaClient.openDownload("matrix.local", "media-id", ACCESS_TOKEN, "bytes=2-3")) {
+      assertThat(download.getStatusCode()).isEqualTo(206);
+      assertThat(download.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+          .isEqualTo("bytes 2-3/7");
+    }
+    assertThat(request.getHeaders().getFirst(HttpHeaders.RANGE)).isEqualTo("bytes=2-3");
+  }
 
-    byte[] result = matrixMediaClient.downloadFile("matrix.local", "media-id", ACCESS_TOKEN);
+  @Test
+  void openDownload_Should_AbortTransfer_When_DownloadLimitIsExceeded() throws Exception {
+    matrixConfig.setMediaDownloadMaxSizeBytes(4);
+    givenDownloadRequestAnsweredWith(
+        new MockClientHttpResponse("content".getBytes(), HttpStatus.OK));
+
+    try (var download =
+        matrixMediaClient.openDownload("matrix.local", "media-id", ACCESS_TOKEN, null)) {
+      assertThatThrownBy(() -> download.transferTo(new ByteArrayOutputStream()))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("download limit");
+    }
+  }
 
-    assertThat(result).isEqualTo(expectedBytes);
-    verify(restTemplate)
-        .exchange(
-            eq(BASE_URL + "/_matrix/media/r0/download/matrix.local/media-id"),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(byte[].class));
+  private MockClientHttpRequest givenDownloadRequestAnsweredWith(MockClientHttpResponse response)
+      throws IOException {
+    var uri = URI.create(BASE_URL + "/_matrix/media/r0/download/matrix.local/media-id");
+    var request = new MockClientHttpRequest(HttpMethod.GET, uri);
+    request.setResponse(response);
+    when(restTemplate.getUriTemplateHandler()).thenReturn(new DefaultUriBuilderFactory());
+    when(restTemplate.getRequestFactory()).thenReturn(requestFactory);
+    when(requestFactory.createRequest(uri, HttpMethod.GET)).thenReturn(request);
+    return request;
   }
 
   // -------------------------------------------------------------------------
@@ -282,35 +330,29 @@ class MatrixMediaClientTest {
   }
 
   // -------------------------------------------------------------------------
-  // downloadFile – error paths
+  // openDownload – error paths
   // -------------------------------------------------------------------------
 
   @Test
-  void downloadFile_Should_ThrowException_When_ResponseBodyIsNull() {
-    when(restTemplate.exchange(
-            eq(BASE_URL + "/_matrix/media/r0/download/matrix.local/media-id"),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(byte[].class)))
-        .thenReturn(new ResponseEntity<>(null, HttpStatus.OK));
+  void openDownload_Should_ThrowResponseException_When_MediaIsNotFound() throws Exception {
+    givenDownloadRequestAnsweredWith(new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
 
     assertThatThrownBy(
-            () -> matrixMediaClient.downloadFile("matrix.local", "media-id", ACCESS_TOKEN))
-        .isInstanceOf(RuntimeException.class)
+            () -> matrixMediaClient.openDownload("matrix.local", "media-id", ACCESS_TOKEN, null))
+        .isInstanceOf(RestClientResponseException.class)
         .hasMessageContaining("Failed to download file");
   }
 
   @Test
-  void downloadFile_Should_ThrowException_When_RestTemplateThrows() {
-    when(restTemplate.exchange(
-            eq(BASE_URL + "/_matrix/media/r0/download/matrix.local/media-id"),
-            eq(HttpMethod.GET),
-            any(HttpEntity.class),
-            eq(byte[].class)))
-        .thenThrow(new RuntimeException("Connection refused"));
+  void openDownload_Should_ThrowException_When_ConnectionFails() throws Exception {
+    var uri = URI.create(BASE_URL + "/_matrix/media/r0/download/matrix.local/media-id");
+    when(restTemplate.getUriTemplateHandler()).thenReturn(new DefaultUriBuilderFactory());
+    when(restTemplate.getRequestFactory()).thenReturn(requestFactory);
+    when(requestFactory.createRequest(uri, HttpMethod.GET))
+        .thenThrow(new IOException("Connection refused"));
 
     assertThatThrownBy(
-            () -> matrixMediaClient.downloadFile("matrix.local", "media-id", ACCESS_TOKEN))
+            () -> matrixMediaClient.openDownload("matrix.local", "media-id", ACCESS_TOKEN, null))
         .isInstanceOf(RuntimeException.class)
         .hasMessageContaining("Failed to download file");
   }
@@ -3,20 +3,26 @@ package de.caritas.cob.userservice.api.adapters.matrix;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +30,10 @@ class MatrixSynapseServiceTest {
 
   private static final String SYNC_URL = "https://matrix.example/_matrix/client/r0/sync";
   private static final String ACCESS_TOKEN = "access-token";
+  private static final String API_URL = "https://matrix.example";
+  private static final String MATRIX_USER_ID = "@consultant:example.org";
+  private static final String LOGIN_AS_USER_URL =
+      API_URL + "/_synapse/admin/v1/users/" + MATRIX_USER_ID + "/login";
 
   @Mock private MatrixConfig matrixConfig;
   @Mock private RestTemplate restTemplate;
@@ -103,6 +113,75 @@ class MatrixSynapseServiceTest {
     verifyNoInteractions(restTemplate);
   }
 
+  @Test
+  void getJoinedRoomsForMatrixUserShouldReuseCachedUserAccessToken() {
+    givenMatrixAdminLoginAndUserTokens("user-token");
+    when(restTemplate.exchange(
+            eq(API_URL + "/_matrix/client/r0/joined_rooms"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(Map.class)))
+        .thenReturn(ResponseEntity.ok(Map.of("joined_rooms", List.of("!room:example.org"))));
+    var service = matrixSynapseService();
+
+    service.getJoinedRoomsForMatrixUser(MATRIX_USER_ID);
+    var result = service.getJoinedRoomsForMatrixUser(MATRIX_USER_ID);
+
+    assertThat(result).containsExactly("!room:example.org");
+    verify(restTemplate, times(1))
+        .postForEntity(eq(LOGIN_AS_USER_URL), any(HttpEntity.class), eq(Map.class));
+  }
+
+  @Test
+  void getJoinedRoomsForMatrixUserShouldRefreshTokenAndRetryOnce_When_tokenIsRejected() {
+    givenMatrixAdminLoginAndUserTokens("expired-token", "fresh-token");
+    when(restTemplate.exchange(
+            eq(API_URL + "/_matrix/client/r0/joined_rooms"),
+            eq(HttpMethod.GET),
+            any(HttpEntity.class),
+            eq(Map.class)))
+        .thenThrow(
+            HttpClientErrorException.create(
+                HttpStatus.UNAUTHORIZED, "Unauthorized", HttpHeaders.EMPTY, null, null))
+        .thenReturn(ResponseEntity.ok(Map.of("joined_rooms", List.of("!room:example.org"))));
+    var requestCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+    var service = matrixSynapseService();
+
+    var result = service.getJoinedRoomsForMatrixUser(MATRIX_USER_ID);
+
+    assertThat(result).containsExactly("!room:example.org");
+    verify(restTemplate, times(2))
+        .postForEntity(eq(LOGIN_AS_USER_URL), any(HttpEntity.class), eq(Map.class));
+    verify(restTemplate, times(2))
+        .exchange(
+            eq(API_URL + "/_matrix/client/r0/joined_rooms"),
+            eq(HttpMethod.GET),
+            requestCaptor.capture(),
+            eq(Map.class));
+    assertThat(requestCaptor.getValue().getHeaders().getFirst("Authorization"))
+        .isEqualTo("Bearer fresh-token");
+  }
+
+  private void givenMatrixAdminLoginAndUserTokens(String... userTokens) {
+    when(matrixConfig.getApiUrl(any(String.class)))
+        .thenAnswer(invocation -> API_URL + invocation.getArgument(0));
+    when(matrixConfig.getAdminUsername()).thenReturn("admin");
+    when(matrixConfig.getAdminPassword()).thenReturn("secret");
+    when(matrixConfig.getUserTokenCacheTtlMs()).thenReturn(60_000L);
+    when(matrixConfig.getUserTokenCacheMaxSize()).thenReturn(10);
+    when(restTemplate.postForEntity(
+            eq(API_URL + "/_matrix/client/r0/login"), any(HttpEntity.class), eq(Map.class)))
+        .thenReturn(ResponseEntity.ok(Map.of("access_token", "admin-token")));
+    var loginCount = new AtomicInteger();
+    when(restTemplate.postForEntity(eq(LOGIN_AS_USER_URL), any(HttpEntity.class), eq(Map.class)))
+        .thenAnswer(
+            invocation ->
+                ResponseEntity.ok(
+                    Map.of(
+                        "access_token",
+                        userTokens[Math.min(loginCount.getAndIncrement(), userTokens.length - 1)])));
+  }
+
   private MatrixSynapseService matrixSynapseService() {
     return new MatrixSynapseService(
         matrixConfig,
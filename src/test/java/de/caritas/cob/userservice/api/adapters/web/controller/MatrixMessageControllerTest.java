@@ -0,0 +1,80 @@
+package de.caritas.cob.userservice.api.adapters.web.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.adapters.matrix.MatrixMediaDownload;
+import de.caritas.cob.userservice.api.adapters.matrix.MatrixSynapseService;
+import de.caritas.cob.userservice.api.helper.AuthenticatedUser;
+import de.caritas.cob.userservice.api.service.ChatService;
+import de.caritas.cob.userservice.api.service.ConsultantService;
+import de.caritas.cob.userservice.api.service.agency.AgencyMatrixCredentialClient;
+import de.caritas.cob.userservice.api.service.matrix.RedisMessageMirrorService;
+import de.caritas.cob.userservice.api.service.session.SessionService;
+import de.caritas.cob.userservice.api.service.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class MatrixMessageControllerTest {
+
+  private static final String SERVER_NAME = "matrix.example.org";
+  private static final String MEDIA_ID = "mediaId";
+  private static final String ADMIN_TOKEN = "adminToken";
+
+  @Mock private MatrixSynapseService matrixSynapseService;
+  @Mock private SessionService sessionService;
+  @Mock private ChatService chatService;
+  @Mock private AuthenticatedUser authenticatedUser;
+  @Mock private ConsultantService consultantService;
+  @Mock private UserService userService;
+  @Mock private AgencyMatrixCredentialClient matrixCredentialClient;
+  @Mock private RedisMessageMirrorService redisMessageMirrorService;
+
+  @InjectMocks private MatrixMessageController matrixMessageController;
+
+  @Test
+  void downloadFile_Should_returnPartialContentWithContentRange_When_rangeIsRequested() {
+    var synapseHeaders = new HttpHeaders();
+    synapseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes 0-99/1000");
+    var download = mock(MatrixMediaDownload.class);
+    when(download.exceedsSizeLimit()).thenReturn(false);
+    when(download.getContentLength()).thenReturn(100L);
+    when(download.getHeaders()).thenReturn(synapseHeaders);
+    when(download.getStatusCode()).thenReturn(HttpStatus.PARTIAL_CONTENT.value());
+    when(matrixSynapseService.getAdminToken()).thenReturn(ADMIN_TOKEN);
+    when(matrixSynapseService.openDownload(SERVER_NAME, MEDIA_ID, ADMIN_TOKEN, "bytes=0-99"))
+        .thenReturn(download);
+
+    var response = matrixMessageController.downloadFile(SERVER_NAME, MEDIA_ID, "bytes=0-99");
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+        .isEqualTo("bytes 0-99/1000");
+    assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    assertThat(response.getHeaders().getContentLength()).isEqualTo(100L);
+    assertThat(response.getBody()).isNotNull();
+  }
+
+  @Test
+  void downloadFile_Should_returnPayloadTooLargeAndCloseDownload_When_mediaExceedsLimit() {
+    var download = mock(MatrixMediaDownload.class);
+    when(download.exceedsSizeLimit()).thenReturn(true);
+    when(matrixSynapseService.getAdminToken()).thenReturn(ADMIN_TOKEN);
+    when(matrixSynapseService.openDownload(SERVER_NAME, MEDIA_ID, ADMIN_TOKEN, null))
+        .thenReturn(download);
+
+    var response = matrixMessageController.downloadFile(SERVER_NAME, MEDIA_ID, null);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    assertThat(response.getBody()).isNull();
+    verify(download).close();
+  }
+}
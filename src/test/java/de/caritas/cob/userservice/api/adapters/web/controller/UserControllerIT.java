@@ -1441,6 +1441,7 @@ class UserControllerIT {
     verify(emailNotificationFacade, atLeastOnce())
         .sendNewMessageNotification(
             RC_GROUP_ID, authenticatedUser.getRoles(), authenticatedUser.getUserId(), null);
+    verify(sessionService).updateLatestMessageDate(RC_GROUP_ID);
   }
 
   /** Method: getConsultants (authority: VIEW_AGENCY_CONSULTANTS) */
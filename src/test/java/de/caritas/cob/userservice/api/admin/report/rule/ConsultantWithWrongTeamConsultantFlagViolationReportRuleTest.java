@@ -6,13 +6,16 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.agencyadminserivce.generated.web.model.AgencyAdminResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.admin.service.agency.AgencyAdminService;
+import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.ConsultantAgency;
-import de.caritas.cob.userservice.api.port.out.ConsultantAgencyRepository;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,8 +31,6 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRuleTest {
 
   @InjectMocks private ConsultantWithWrongTeamConsultantFlagViolationReportRule reportRule;
 
-  @Mock private ConsultantAgencyRepository consultantAgencyRepository;
-
   @Mock private AgencyAdminService agencyAdminService;
 
   @Mock private ConsultantRepository consultantRepository;
@@ -44,14 +45,13 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRuleTest {
   @Test
   public void generateViolations_Should_returnExpectedViolation_When_oneViolatedConsultantExists() {
     ConsultantAgency violatedConsultantAgency = new EasyRandom().nextObject(ConsultantAgency.class);
-    violatedConsultantAgency.setAgencyId(1L);
     violatedConsultantAgency.getConsultant().setTeamConsultant(true);
-    when(this.consultantRepository.findAll())
+    when(this.consultantRepository.findTeamConsultantsWithoutAgencyIn(List.of(2L)))
         .thenReturn(singletonList(violatedConsultantAgency.getConsultant()));
-    when(this.consultantAgencyRepository.findAll())
-        .thenReturn(singletonList(violatedConsultantAgency));
     this.reportRule.setAllAgencies(
-        singletonList(new AgencyAdminResponseDTO().id(1L).teamAgency(false)));
+        asList(
+            new AgencyAdminResponseDTO().id(1L).teamAgency(false),
+            new AgencyAdminResponseDTO().id(2L).teamAgency(true)));
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
 
@@ -75,40 +75,16 @@ public class ConsultantWithWrongTeamConsultantFlagViolationReportRuleTest {
   }
 
   @Test
-  public void generateViolations_Should_returnViolationsOnlyForViolatedConsultants() {
-    List<ConsultantAgency> consultantAgencies =
-        new EasyRandom().objects(ConsultantAgency.class, 10).collect(Collectors.toList());
-    consultantAgencies.get(0).setAgencyId(1L);
-    consultantAgencies.get(0).getConsultant().setTeamConsultant(true);
-    consultantAgencies.get(1).getConsultant().setTeamConsultant(false);
-    consultantAgencies.get(2).setAgencyId(2L);
-    consultantAgencies.get(2).getConsultant().setTeamConsultant(true);
-    consultantAgencies.get(3).getConsultant().setTeamConsultant(false);
-    consultantAgencies.get(4).setAgencyId(3L);
-    consultantAgencies.get(4).getConsultant().setTeamConsultant(true);
-    consultantAgencies.get(5).getConsultant().setTeamConsultant(false);
-    consultantAgencies.get(6).setAgencyId(4L);
-    consultantAgencies.get(6).getConsultant().setTeamConsultant(true);
-    consultantAgencies.get(7).getConsultant().setTeamConsultant(false);
-    consultantAgencies.get(8).getConsultant().setTeamConsultant(false);
-    consultantAgencies.get(9).setAgencyId(5L);
-    consultantAgencies.get(9).getConsultant().setTeamConsultant(true);
-    when(this.consultantAgencyRepository.findAll()).thenReturn(consultantAgencies);
+  public void generateViolations_Should_returnAllTeamConsultants_When_noTeamAgencyExists() {
+    List<Consultant> teamConsultants =
+        new EasyRandom().objects(Consultant.class, 5).collect(Collectors.toList());
+    when(this.consultantRepository.findByTeamConsultantIsTrue()).thenReturn(teamConsultants);
     this.reportRule.setAllAgencies(
-        asList(
-            new AgencyAdminResponseDTO().id(1L).teamAgency(false),
-            new AgencyAdminResponseDTO().id(2L).teamAgency(false),
-            new AgencyAdminResponseDTO().id(3L).teamAgency(false),
-            new AgencyAdminResponseDTO().id(4L).teamAgency(false),
-            new AgencyAdminResponseDTO().id(5L).teamAgency(false)));
-    when(this.consultantRepository.findAll())
-        .thenReturn(
-            consultantAgencies.stream()
-                .map(ConsultantAgency::getConsultant)
-                .collect(Collectors.toList()));
+        singletonList(new AgencyAdminResponseDTO().id(1L).teamAgency(false)));
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
 
     assertThat(violations, hasSize(5));
+    verify(this.consultantRepository, never()).findTeamConsultantsWithoutAgencyIn(any());
   }
 }
@@ -40,7 +40,7 @@ public class InvalidAgencyForConsultantViolationReportRuleTest {
   public void generateViolations_Should_returnExpectedViolation_When_oneViolatedConsultantExists() {
     ConsultantAgency violatedConsultantAgency = new EasyRandom().nextObject(ConsultantAgency.class);
     violatedConsultantAgency.setAgencyId(1L);
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(any()))
+    when(this.consultantAgencyRepository.findByAgencyIdInAndDeleteDateIsNull(any()))
         .thenReturn(singletonList(violatedConsultantAgency));
     this.reportRule.setAllAgencies(singletonList(new AgencyAdminResponseDTO().id(1L)));
 
@@ -72,16 +72,15 @@ public class InvalidAgencyForConsultantViolationReportRuleTest {
     consultantAgencies.get(4).setAgencyId(3L);
     consultantAgencies.get(6).setAgencyId(4L);
     consultantAgencies.get(9).setAgencyId(5L);
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(1L))
-        .thenReturn(singletonList(consultantAgencies.get(0)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(2L))
-        .thenReturn(singletonList(consultantAgencies.get(2)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(3L))
-        .thenReturn(singletonList(consultantAgencies.get(4)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(4L))
-        .thenReturn(singletonList(consultantAgencies.get(6)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(5L))
-        .thenReturn(singletonList(consultantAgencies.get(9)));
+    when(this.consultantAgencyRepository.findByAgencyIdInAndDeleteDateIsNull(
+            asList(1L, 2L, 3L, 4L, 5L)))
+        .thenReturn(
+            asList(
+                consultantAgencies.get(0),
+                consultantAgencies.get(2),
+                consultantAgencies.get(4),
+                consultantAgencies.get(6),
+                consultantAgencies.get(9)));
     this.reportRule.setAllAgencies(
         asList(
             new AgencyAdminResponseDTO().id(1L),
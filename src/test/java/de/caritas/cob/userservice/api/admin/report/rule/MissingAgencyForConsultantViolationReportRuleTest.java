@@ -37,7 +37,8 @@ public class MissingAgencyForConsultantViolationReportRuleTest {
   public void generateViolations_Should_returnExpectedViolation_When_oneViolatedConsultantExists() {
     Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
     violatedConsultant.setConsultantAgencies(null);
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
+    when(this.consultantRepository.findWithoutConsultantAgency())
+        .thenReturn(singletonList(violatedConsultant));
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
 
@@ -58,15 +59,10 @@ public class MissingAgencyForConsultantViolationReportRuleTest {
   }
 
   @Test
-  public void generateViolations_Should_returnViolationsOnlyForConsultantsWithoutAgency() {
+  public void generateViolations_Should_returnViolationsForAllConsultantsWithoutAgency() {
     List<Consultant> consultants =
-        new EasyRandom().objects(Consultant.class, 10).collect(Collectors.toList());
-    consultants.get(0).setConsultantAgencies(null);
-    consultants.get(2).setConsultantAgencies(null);
-    consultants.get(4).setConsultantAgencies(null);
-    consultants.get(6).setConsultantAgencies(null);
-    consultants.get(9).setConsultantAgencies(null);
-    when(this.consultantRepository.findAll()).thenReturn(consultants);
+        new EasyRandom().objects(Consultant.class, 5).collect(Collectors.toList());
+    when(this.consultantRepository.findWithoutConsultantAgency()).thenReturn(consultants);
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
 
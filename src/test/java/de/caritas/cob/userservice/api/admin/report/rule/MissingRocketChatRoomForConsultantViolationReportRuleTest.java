@@ -8,7 +8,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.user.UserInfoResponseDTO;
@@ -17,16 +20,19 @@ import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.exception.httpresponses.InternalServerErrorException;
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
 import de.caritas.cob.userservice.api.service.LogService;
 import java.util.List;
 import org.jeasy.random.EasyRandom;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 @ExtendWith(MockitoExtension.class)
 class MissingRocketChatRoomForConsultantViolationReportRuleTest {
@@ -39,6 +45,11 @@ class MissingRocketChatRoomForConsultantViolationReportRuleTest {
 
   @Mock private RocketChatService rocketChatService;
 
+  @BeforeEach
+  void setup() {
+    setField(this.reportRule, "batchSize", 100);
+  }
+
   @Test
   void generateViolations_Should_returnEmptyList_When_noViolationExists() {
     List<ViolationDTO> violations = this.reportRule.generateViolations();
@@ -55,9 +66,8 @@ class MissingRocketChatRoomForConsultantViolationReportRuleTest {
         new EasyRandom().nextObject(UserInfoResponseDTO.class);
     userInfoResponseDTO.getUser().setRooms(emptyList());
 
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
-        .thenReturn(singletonList(violatedSession));
+    violatedSession.setConsultant(violatedConsultant);
+    givenConsultantWithSessionsInProgress(violatedConsultant, violatedSession);
     when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
@@ -81,9 +91,8 @@ class MissingRocketChatRoomForConsultantViolationReportRuleTest {
         new EasyRandom().nextObject(UserInfoResponseDTO.class);
     userInfoResponseDTO.getUser().setRooms(singletonList(new UserRoomDTO("A")));
 
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
-        .thenReturn(singletonList(violatedSession));
+    violatedSession.setConsultant(violatedConsultant);
+    givenConsultantWithSessionsInProgress(violatedConsultant, violatedSession);
     when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
@@ -106,9 +115,8 @@ class MissingRocketChatRoomForConsultantViolationReportRuleTest {
         new EasyRandom().nextObject(UserInfoResponseDTO.class);
     userInfoResponseDTO.getUser().setRooms(List.of(new UserRoomDTO(violatedSession.getGroupId())));
 
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
-        .thenReturn(singletonList(violatedSession));
+    violatedSession.setConsultant(violatedConsultant);
+    givenConsultantWithSessionsInProgress(violatedConsultant, violatedSession);
     when(this.rocketChatService.getUserInfo(any())).thenReturn(userInfoResponseDTO);
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
@@ -125,9 +133,8 @@ class MissingRocketChatRoomForConsultantViolationReportRuleTest {
         new EasyRandom().nextObject(UserInfoResponseDTO.class);
     userInfoResponseDTO.getUser().setRooms(List.of(new UserRoomDTO(violatedSession.getGroupId())));
 
-    when(this.consultantRepository.findAll()).thenReturn(singletonList(violatedConsultant));
-    when(this.sessionRepository.findByConsultantAndStatus(any(), any()))
-        .thenReturn(singletonList(violatedSession));
+    violatedSession.setConsultant(violatedConsultant);
+    givenConsultantWithSessionsInProgress(violatedConsultant, violatedSession);
     when(this.rocketChatService.getUserInfo(any()))
         .thenThrow(
             new InternalServerErrorException(
@@ -140,4 +147,49 @@ class MissingRocketChatRoomForConsultantViolationReportRuleTest {
     assertThat(violations, hasSize(1));
     assertThat(violations.get(0).getReason(), is("caused message"));
   }
+
+  @Test
+  void generateViolations_Should_requestRoomsOncePerConsultant_When_consultantHasSeveralSessions() {
+    Consultant violatedConsultant = new EasyRandom().nextObject(Consultant.class);
+    Session firstSession = new EasyRandom().nextObject(Session.class);
+    firstSession.setConsultant(violatedConsultant);
+    Session secondSession = new EasyRandom().nextObject(Session.class);
+    secondSession.setConsultant(violatedConsultant);
+    UserInfoResponseDTO userInfoResponseDTO =
+        new EasyRandom().nextObject(UserInfoResponseDTO.class);
+    userInfoResponseDTO.getUser().setRooms(emptyList());
+
+    givenConsultantWithSessionsInProgress(violatedConsultant, firstSession, secondSession);
+    when(this.rocketChatService.getUserInfo(violatedConsultant.getRocketChatId()))
+        .thenReturn(userInfoResponseDTO);
+
+    List<ViolationDTO> violations = this.reportRule.generateViolations();
+
+    assertThat(violations, hasSize(2));
+    verify(this.rocketChatService, times(1)).getUserInfo(any());
+  }
+
+  @Test
+  void generateViolations_Should_readNextBatchAfterLastConsultant_When_batchIsFull() {
+    setField(this.reportRule, "batchSize", 1);
+    Consultant consultant = new EasyRandom().nextObject(Consultant.class);
+    when(this.consultantRepository.findWithSessionsInStatus(
+            SessionStatus.IN_PROGRESS, "", PageRequest.of(0, 1)))
+        .thenReturn(singletonList(consultant));
+
+    this.reportRule.generateViolations();
+
+    verify(this.consultantRepository)
+        .findWithSessionsInStatus(
+            SessionStatus.IN_PROGRESS, consultant.getId(), PageRequest.of(0, 1));
+  }
+
+  private void givenConsultantWithSessionsInProgress(Consultant consultant, Session... sessions) {
+    when(this.consultantRepository.findWithSessionsInStatus(
+            SessionStatus.IN_PROGRESS, "", PageRequest.of(0, 100)))
+        .thenReturn(singletonList(consultant));
+    when(this.sessionRepository.findByConsultantInAndStatus(
+            singletonList(consultant), SessionStatus.IN_PROGRESS))
+        .thenReturn(List.of(sessions));
+  }
 }
@@ -9,7 +9,6 @@ import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.model.User;
-import de.caritas.cob.userservice.api.port.out.UserAgencyRepository;
 import de.caritas.cob.userservice.api.port.out.UserRepository;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,8 +26,6 @@ public class MissingSessionAndChatForAskerViolationReportRuleTest {
 
   @Mock private UserRepository userRepository;
 
-  @Mock private UserAgencyRepository userAgencyRepository;
-
   @Test
   public void generateViolations_Should_returnEmptyList_When_noViolationExists() {
     List<ViolationDTO> violations = this.reportRule.generateViolations();
@@ -40,7 +37,8 @@ public class MissingSessionAndChatForAskerViolationReportRuleTest {
   public void generateViolations_Should_returnExpectedViolation_When_oneViolatedAskerExists() {
     User violatedUser = new EasyRandom().nextObject(User.class);
     violatedUser.setSessions(null);
-    when(this.userRepository.findAll()).thenReturn(singletonList(violatedUser));
+    when(this.userRepository.findWithoutSessionAndUserAgency())
+        .thenReturn(singletonList(violatedUser));
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
 
@@ -52,14 +50,9 @@ public class MissingSessionAndChatForAskerViolationReportRuleTest {
   }
 
   @Test
-  public void generateViolations_Should_returnViolationsOnlyForAskersWithoutSessions() {
-    List<User> users = new EasyRandom().objects(User.class, 10).collect(Collectors.toList());
-    users.get(0).setSessions(null);
-    users.get(2).setSessions(null);
-    users.get(4).setSessions(null);
-    users.get(6).setSessions(null);
-    users.get(9).setSessions(null);
-    when(this.userRepository.findAll()).thenReturn(users);
+  public void generateViolations_Should_returnViolationsForAllAskersWithoutSessionAndChat() {
+    List<User> users = new EasyRandom().objects(User.class, 5).collect(Collectors.toList());
+    when(this.userRepository.findWithoutSessionAndUserAgency()).thenReturn(users);
 
     List<ViolationDTO> violations = this.reportRule.generateViolations();
 
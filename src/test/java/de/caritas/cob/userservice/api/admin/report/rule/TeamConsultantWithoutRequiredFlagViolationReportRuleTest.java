@@ -41,7 +41,8 @@ public class TeamConsultantWithoutRequiredFlagViolationReportRuleTest {
     ConsultantAgency violatedConsultantAgency = new EasyRandom().nextObject(ConsultantAgency.class);
     violatedConsultantAgency.setAgencyId(1L);
     violatedConsultantAgency.getConsultant().setTeamConsultant(false);
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(any()))
+    when(this.consultantAgencyRepository
+            .findByAgencyIdInAndConsultantTeamConsultantIsFalseAndDeleteDateIsNull(any()))
         .thenReturn(singletonList(violatedConsultantAgency));
     this.reportRule.setAllAgencies(
         singletonList(new AgencyAdminResponseDTO().id(1L).teamAgency(true)));
@@ -81,16 +82,16 @@ public class TeamConsultantWithoutRequiredFlagViolationReportRuleTest {
     consultantAgencies.get(6).getConsultant().setTeamConsultant(false);
     consultantAgencies.get(9).setAgencyId(5L);
     consultantAgencies.get(9).getConsultant().setTeamConsultant(false);
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(1L))
-        .thenReturn(singletonList(consultantAgencies.get(0)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(2L))
-        .thenReturn(singletonList(consultantAgencies.get(2)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(3L))
-        .thenReturn(singletonList(consultantAgencies.get(4)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(4L))
-        .thenReturn(singletonList(consultantAgencies.get(6)));
-    when(this.consultantAgencyRepository.findByAgencyIdAndDeleteDateIsNull(5L))
-        .thenReturn(singletonList(consultantAgencies.get(9)));
+    when(this.consultantAgencyRepository
+            .findByAgencyIdInAndConsultantTeamConsultantIsFalseAndDeleteDateIsNull(
+                asList(1L, 2L, 3L, 4L, 5L)))
+        .thenReturn(
+            asList(
+                consultantAgencies.get(0),
+                consultantAgencies.get(2),
+                consultantAgencies.get(4),
+                consultantAgencies.get(6),
+                consultantAgencies.get(9)));
     this.reportRule.setAllAgencies(
         asList(
             new AgencyAdminResponseDTO().id(1L).teamAgency(true),
@@ -2,7 +2,9 @@ package de.caritas.cob.userservice.api.admin.report.service;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -10,8 +12,11 @@ import static org.mockito.Mockito.when;
 import de.caritas.cob.userservice.api.adapters.web.dto.ViolationDTO;
 import de.caritas.cob.userservice.api.admin.report.registry.ViolationRuleRegistry;
 import de.caritas.cob.userservice.api.admin.service.agency.AgencyAdminService;
+import io.swagger.util.Json;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -57,6 +62,25 @@ public class ViolationReportGeneratorTest {
     violations.forEach(violationDTO -> assertThat(violationDTO.getIdentifier(), notNullValue()));
   }
 
+  @Test
+  public void generateReport_Should_writeOneJsonLinePerViolation_When_violationsAreFound()
+      throws IOException {
+    when(this.violationRuleRegistry.getViolationReportRules(any()))
+        .thenReturn(
+            asList(
+                () -> asList(identifiedViolation("first"), identifiedViolation("second")),
+                () -> asList(identifiedViolation("third"))));
+
+    this.violationReportGenerator.generateReport();
+
+    File[] reports = new File("report").listFiles((dir, name) -> name.endsWith(".ndjson"));
+    assertThat(reports, arrayWithSize(1));
+    List<String> lines = Files.readAllLines(reports[0].toPath(), StandardCharsets.UTF_8);
+    assertThat(lines, hasSize(3));
+    assertThat(
+        Json.mapper().readValue(lines.get(2), ViolationDTO.class).getIdentifier(), is("third"));
+  }
+
   private ViolationDTO identifiedViolation(String identifier) {
     return new ViolationDTO().identifier(identifier);
   }
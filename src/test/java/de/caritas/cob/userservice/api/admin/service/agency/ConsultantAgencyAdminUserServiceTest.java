@@ -108,6 +108,8 @@ public class ConsultantAgencyAdminUserServiceTest {
         .thenReturn(singletonList(session));
     when(this.consultantRepository.findByConsultantAgenciesAgencyIdInAndDeleteDateIsNull(anyList()))
         .thenReturn(consultants);
+    when(this.consultantAgencyRepository.findByConsultantIdAndDeleteDateIsNull(any()))
+        .thenReturn(singletonList(new EasyRandom().nextObject(ConsultantAgency.class)));
     when(this.agencyService.getAgency(any())).thenReturn(agencyDTO);
 
     this.consultantAgencyAdminService.removeConsultantsFromTeamSessionsByAgencyId(1L);
@@ -131,6 +133,8 @@ public class ConsultantAgencyAdminUserServiceTest {
           when(this.consultantRepository.findByConsultantAgenciesAgencyIdInAndDeleteDateIsNull(
                   anyList()))
               .thenReturn(consultants);
+          when(this.consultantAgencyRepository.findByConsultantIdAndDeleteDateIsNull(any()))
+              .thenReturn(singletonList(new EasyRandom().nextObject(ConsultantAgency.class)));
           when(this.agencyService.getAgency(any())).thenThrow(new InternalServerErrorException(""));
 
           this.consultantAgencyAdminService.removeConsultantsFromTeamSessionsByAgencyId(1L);
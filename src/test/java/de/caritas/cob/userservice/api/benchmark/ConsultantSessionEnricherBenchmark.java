@@ -0,0 +1,66 @@
+package de.caritas.cob.userservice.api.benchmark;
+
+import static de.caritas.cob.userservice.api.benchmark.SessionListBenchmarkData.RC_TOKEN;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatCredentials;
+import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponseDTO;
+import de.caritas.cob.userservice.api.facade.sessionlist.RocketChatRoomInformationProvider;
+import de.caritas.cob.userservice.api.helper.SessionListAnalyser;
+import de.caritas.cob.userservice.api.service.sessionlist.ConsultantSessionEnricher;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Enriches all sessions of a consultant with read state and decrypted last message of their rooms,
+ * which runs {@link SessionListAnalyser} and the {@code AvailableLastMessageUpdater} per session.
+ * The Rocket.Chat room information is prepared up front, so no remote call is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultantSessionEnricherBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int sessionCount;
+
+  private ConsultantSessionEnricher consultantSessionEnricher;
+  private SessionListBenchmarkData data;
+
+  @Setup
+  public void setup() {
+    this.data = SessionListBenchmarkData.create(sessionCount);
+    var rocketChatRoomInformationProvider =
+        mock(RocketChatRoomInformationProvider.class, withSettings().stubOnly());
+    when(rocketChatRoomInformationProvider.retrieveRocketChatInformation(
+            any(RocketChatCredentials.class)))
+        .thenReturn(data.getRoomInformation());
+    this.consultantSessionEnricher =
+        new ConsultantSessionEnricher(
+            new SessionListAnalyser(data.getDecryptionService()),
+            rocketChatRoomInformationProvider);
+  }
+
+  @Benchmark
+  public List<ConsultantSessionResponseDTO> updateRequiredConsultantSessionValues() {
+    return consultantSessionEnricher.updateRequiredConsultantSessionValues(
+        data.getSessionResponses(), RC_TOKEN, data.getConsultant());
+  }
+}
@@ -0,0 +1,54 @@
+package de.caritas.cob.userservice.api.benchmark;
+
+import de.caritas.cob.userservice.api.exception.CustomCryptoException;
+import de.caritas.cob.userservice.api.service.DecryptionService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Decrypts the last messages of all rooms of a session list, one by one and as a batch. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecryptionServiceBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int sessionCount;
+
+  private DecryptionService decryptionService;
+  private Map<String, String> encryptedMessagesByGroupId;
+
+  @Setup
+  public void setup() {
+    var data = SessionListBenchmarkData.create(sessionCount);
+    this.decryptionService = data.getDecryptionService();
+    this.encryptedMessagesByGroupId = data.getEncryptedMessagesByGroupId();
+  }
+
+  @Benchmark
+  public void decryptOneByOne(Blackhole blackhole) throws CustomCryptoException {
+    for (var encryptedMessage : encryptedMessagesByGroupId.entrySet()) {
+      blackhole.consume(
+          decryptionService.decrypt(encryptedMessage.getValue(), encryptedMessage.getKey()));
+    }
+  }
+
+  @Benchmark
+  public Map<String, String> decryptBatch() throws CustomCryptoException {
+    return decryptionService.decrypt(encryptedMessagesByGroupId);
+  }
+}
@@ -0,0 +1,182 @@
+package de.caritas.cob.userservice.api.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.neovisionaries.i18n.LanguageCode;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsLastMessageDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.user.RocketChatUserDTO;
+import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponseDTO;
+import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
+import de.caritas.cob.userservice.api.model.Consultant;
+import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.Session.RegistrationType;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
+import de.caritas.cob.userservice.api.model.User;
+import de.caritas.cob.userservice.api.service.DecryptionService;
+import de.caritas.cob.userservice.api.service.session.SessionMapper;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.Getter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Synthetic session list of one consultant for the session list benchmarks. Every session has its
+ * own Rocket.Chat room with an encrypted last message. The data only depends on the number of
+ * sessions, so results of different runs are comparable.
+ */
+@Getter
+public class SessionListBenchmarkData {
+
+  static final String RC_TOKEN = "rcToken";
+
+  private static final String MASTER_KEY = "benchmarkMasterKey";
+  private static final String APPLICATION_KEY = "benchmarkApplicationKey";
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 1, 1, 8, 0);
+  private static final long RANDOM_SEED = 42L;
+
+  private final Consultant consultant;
+  private final List<Session> sessions;
+  private final List<ConsultantSessionResponseDTO> sessionResponses;
+  private final RocketChatRoomInformation roomInformation;
+  private final Map<String, String> encryptedMessagesByGroupId;
+  private final DecryptionService decryptionService;
+
+  private SessionListBenchmarkData(int sessionCount) {
+    var random = new Random(RANDOM_SEED);
+    this.consultant =
+        Consultant.builder()
+            .id("consultant-id")
+            .rocketChatId("consultant-rc-id")
+            .firstName("first")
+            .lastName("last")
+            .build();
+    this.sessions = new ArrayList<>(sessionCount);
+    this.encryptedMessagesByGroupId = new LinkedHashMap<>(sessionCount * 2);
+    Map<String, Boolean> readMessages = new HashMap<>(sessionCount * 2);
+    Map<String, RoomsLastMessageDTO> lastMessagesRoom = new HashMap<>(sessionCount * 2);
+    List<RoomsUpdateDTO> roomsForUpdate = new ArrayList<>(sessionCount);
+
+    for (int i = 0; i < sessionCount; i++) {
+      var groupId = "group-" + i;
+      var session = buildSession(i, groupId, random);
+      sessions.add(session);
+
+      var lastMessage = buildLastMessage(groupId, random);
+      encryptedMessagesByGroupId.put(groupId, lastMessage.getMessage());
+      lastMessagesRoom.put(groupId, lastMessage);
+      readMessages.put(groupId, random.nextBoolean());
+      roomsForUpdate.add(buildRoomForUpdate(groupId, lastMessage));
+    }
+
+    var sessionMapper = new SessionMapper();
+    this.sessionResponses =
+        sessions.stream().map(sessionMapper::toConsultantSessionDto).collect(Collectors.toList());
+    this.roomInformation =
+        RocketChatRoomInformation.builder()
+            .readMessages(readMessages)
+            .roomsForUpdate(roomsForUpdate)
+            .userRooms(
+                roomsForUpdate.stream().map(RoomsUpdateDTO::getId).collect(Collectors.toList()))
+            .lastMessagesRoom(lastMessagesRoom)
+            .groupIdToLastMessageFallbackDate(new HashMap<>())
+            .build();
+    this.decryptionService = buildDecryptionService();
+  }
+
+  /**
+   * Creates the data for the given number of sessions and rooms.
+   *
+   * @param sessionCount the number of sessions
+   * @return the {@link SessionListBenchmarkData}
+   */
+  public static SessionListBenchmarkData create(int sessionCount) {
+    return new SessionListBenchmarkData(sessionCount);
+  }
+
+  private Session buildSession(int index, String groupId, Random random) {
+    var createDate = BASE_DATE.plusMinutes(index);
+    var user =
+        User.builder()
+            .userId("user-" + index)
+            .username("user" + index)
+            .rcUserId("user-rc-" + index)
+            .build();
+    return Session.builder()
+        .id((long) index + 1)
+        .user(user)
+        .consultant(consultant)
+        .consultingTypeId(1)
+        .registrationType(RegistrationType.REGISTERED)
+        .postcode("12345")
+        .agencyId(1L)
+        .languageCode(LanguageCode.de)
+        .status(random.nextInt(4) == 0 ? SessionStatus.DONE : SessionStatus.IN_PROGRESS)
+        .groupId(groupId)
+        .teamSession(false)
+        .isConsultantDirectlySet(false)
+        .createDate(createDate)
+        .updateDate(createDate)
+        .enquiryMessageDate(createDate)
+        .latestMessageDate(createDate)
+        .build();
+  }
+
+  private RoomsLastMessageDTO buildLastMessage(String groupId, Random random) {
+    var lastMessage = new RoomsLastMessageDTO();
+    lastMessage.setId("message-" + groupId);
+    lastMessage.setRoomId(groupId);
+    lastMessage.setTimestamp(randomDate(random));
+    lastMessage.setUser(new RocketChatUserDTO("user-rc-" + groupId, groupId, groupId, null));
+    lastMessage.setMessage(encrypt("Last message of " + groupId, groupId));
+    return lastMessage;
+  }
+
+  private RoomsUpdateDTO buildRoomForUpdate(String groupId, RoomsLastMessageDTO lastMessage) {
+    var room = new RoomsUpdateDTO();
+    room.setId(groupId);
+    room.setName(groupId);
+    room.setLastMessage(lastMessage);
+    room.setLastMessageDate(lastMessage.getTimestamp());
+    return room;
+  }
+
+  private Date randomDate(Random random) {
+    return Date.from(
+        BASE_DATE.plusSeconds(random.nextInt(365 * 24 * 60 * 60)).toInstant(ZoneOffset.UTC));
+  }
+
+  private static DecryptionService buildDecryptionService() {
+    var decryptionService = new DecryptionService();
+    ReflectionTestUtils.setField(decryptionService, "fragment_applicationKey", APPLICATION_KEY);
+    decryptionService.updateMasterKey(MASTER_KEY);
+    return decryptionService;
+  }
+
+  private static String encrypt(String message, String secret) {
+    try {
+      var keyBytes =
+          MessageDigest.getInstance("SHA-1")
+              .digest((MASTER_KEY + secret + APPLICATION_KEY).getBytes(UTF_8));
+      var cipher = Cipher.getInstance("AES/ECB/PKCS5PADDING");
+      cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(Arrays.copyOf(keyBytes, 16), "AES"));
+      return "enc:" + Base64.getEncoder().encodeToString(cipher.doFinal(message.getBytes(UTF_8)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Could not encrypt benchmark message", e);
+    }
+  }
+}
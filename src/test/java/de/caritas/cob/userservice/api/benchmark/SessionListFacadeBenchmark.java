@@ -0,0 +1,114 @@
+package de.caritas.cob.userservice.api.benchmark;
+
+import static de.caritas.cob.userservice.api.benchmark.SessionListBenchmarkData.RC_TOKEN;
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatCredentials;
+import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionListResponseDTO;
+import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
+import de.caritas.cob.userservice.api.facade.sessionlist.RocketChatRoomInformationProvider;
+import de.caritas.cob.userservice.api.facade.sessionlist.SessionListFacade;
+import de.caritas.cob.userservice.api.helper.SessionListAnalyser;
+import de.caritas.cob.userservice.api.model.Consultant;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
+import de.caritas.cob.userservice.api.service.ChatService;
+import de.caritas.cob.userservice.api.service.session.SessionService;
+import de.caritas.cob.userservice.api.service.sessionlist.ConsultantChatEnricher;
+import de.caritas.cob.userservice.api.service.sessionlist.ConsultantSessionEnricher;
+import de.caritas.cob.userservice.api.service.sessionlist.ConsultantSessionListService;
+import de.caritas.cob.userservice.api.service.sessionlist.UserSessionListService;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds a page of the session list of a consultant with active sessions. The database and
+ * Rocket.Chat are replaced by stubs answering with the prepared data, so only the in-process steps
+ * of the pipeline are measured: enriching, merging, sorting and slicing the page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionListFacadeBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int sessionCount;
+
+  @Param({"0", "90"})
+  private int offset;
+
+  @Param({"15"})
+  private int count;
+
+  private SessionListFacade sessionListFacade;
+  private Consultant consultant;
+  private SessionListQueryParameter sessionListQueryParameter;
+
+  @Setup
+  public void setup() {
+    var data = SessionListBenchmarkData.create(sessionCount);
+    this.consultant = data.getConsultant();
+    this.sessionListQueryParameter =
+        SessionListQueryParameter.builder()
+            .sessionStatus(SessionStatus.IN_PROGRESS.getValue())
+            .offset(offset)
+            .count(count)
+            .build();
+
+    var sessionService = mock(SessionService.class, withSettings().stubOnly());
+    when(sessionService.getActiveAndDoneSessionsForConsultant(any(Consultant.class), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              int limit = invocation.getArgument(1);
+              var sessions = data.getSessionResponses();
+              return new ArrayList<>(sessions.subList(0, Math.min(limit, sessions.size())));
+            });
+    when(sessionService.countActiveAndDoneSessionsForConsultant(any(Consultant.class)))
+        .thenReturn((long) sessionCount);
+    var chatService = mock(ChatService.class, withSettings().stubOnly());
+    when(chatService.getChatsForConsultant(any(Consultant.class))).thenReturn(emptyList());
+    var rocketChatRoomInformationProvider =
+        mock(RocketChatRoomInformationProvider.class, withSettings().stubOnly());
+    when(rocketChatRoomInformationProvider.retrieveRocketChatInformation(
+            any(RocketChatCredentials.class)))
+        .thenReturn(data.getRoomInformation());
+
+    var consultantSessionListService =
+        new ConsultantSessionListService(
+            sessionService,
+            chatService,
+            new ConsultantSessionEnricher(
+                new SessionListAnalyser(data.getDecryptionService()),
+                rocketChatRoomInformationProvider),
+            mock(ConsultantChatEnricher.class, withSettings().stubOnly()),
+            RocketChatCredentials.builder().rocketChatToken(RC_TOKEN).build());
+    this.sessionListFacade =
+        new SessionListFacade(
+            mock(UserSessionListService.class, withSettings().stubOnly()),
+            consultantSessionListService);
+  }
+
+  @Benchmark
+  public ConsultantSessionListResponseDTO retrieveSessionsDtoForAuthenticatedConsultant() {
+    return sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
+        consultant, sessionListQueryParameter);
+  }
+}
@@ -0,0 +1,46 @@
+package de.caritas.cob.userservice.api.benchmark;
+
+import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.service.session.SessionMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Maps the sessions of a consultant to the dtos of the session list. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionMapperBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int sessionCount;
+
+  private SessionMapper sessionMapper;
+  private SessionListBenchmarkData data;
+
+  @Setup
+  public void setup() {
+    this.sessionMapper = new SessionMapper();
+    this.data = SessionListBenchmarkData.create(sessionCount);
+  }
+
+  @Benchmark
+  public void toConsultantSessionDto(Blackhole blackhole) {
+    for (Session session : data.getSessions()) {
+      blackhole.consume(sessionMapper.toConsultantSessionDto(session));
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package de.caritas.cob.userservice.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Tag;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class NormalizedUriRestTemplateExchangeTagsProviderTest {
+
+  private final NormalizedUriRestTemplateExchangeTagsProvider tagsProvider =
+      new NormalizedUriRestTemplateExchangeTagsProvider();
+
+  @Test
+  void normalize_Should_RemoveHostAndQueryString() {
+    var uri = tagsProvider.normalize("http://agencyservice:8080/agencies?postcode=12345");
+
+    assertThat(uri).isEqualTo("/agencies");
+  }
+
+  @Test
+  void normalize_Should_ReplaceNumericIdsAndUuids() {
+    var uri =
+        tagsProvider.normalize(
+            "/agencies/42/users/2d0f2a8e-6a37-4bc5-9a3a-5d2d7f2c1b0e/sessions/7");
+
+    assertThat(uri).isEqualTo("/agencies/{id}/users/{id}/sessions/{id}");
+  }
+
+  @Test
+  void normalize_Should_ReplaceMatrixAndRocketChatIds() {
+    var uri =
+        tagsProvider.normalize(
+            "/_matrix/client/v3/rooms/%21abcdef%3Amatrix.local/members/@user:matrix.local/"
+                + "xyz9a7Bq2cD4eF");
+
+    assertThat(uri).isEqualTo("/_matrix/client/v3/rooms/{id}/members/{id}/{id}");
+  }
+
+  @Test
+  void normalize_Should_KeepTemplateVariablesAndEndpointNames() {
+    var uri = tagsProvider.normalize("/api/v1/subscriptions.get/{roomId}/online-beratung");
+
+    assertThat(uri).isEqualTo("/api/v1/subscriptions.get/{roomId}/online-beratung");
+  }
+
+  @Test
+  void getTags_Should_UseNormalizedRequestPath_When_NoUrlTemplateIsAvailable() {
+    var request =
+        new MockClientHttpRequest(
+            HttpMethod.GET, URI.create("http://tenantservice/tenant/12?lang=de"));
+    var response = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    var tags = tagsProvider.getTags(null, request, response);
+
+    assertThat(tags)
+        .contains(
+            Tag.of("uri", "/tenant/{id}"),
+            Tag.of("method", "GET"),
+            Tag.of("status", "200"),
+            Tag.of("clientName", "tenantservice"),
+            Tag.of("outcome", "SUCCESS"));
+  }
+}
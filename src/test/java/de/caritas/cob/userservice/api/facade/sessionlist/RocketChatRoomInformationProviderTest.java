@@ -13,9 +13,10 @@ import static de.caritas.cob.userservice.api.testHelper.TestConstants.USER_DTO_3
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
-import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.adapters.matrix.MatrixSynapseService;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
 import de.caritas.cob.userservice.api.container.RocketChatRoomInformation;
+import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Objects;
@@ -31,12 +32,16 @@ class RocketChatRoomInformationProviderTest {
 
   @InjectMocks private RocketChatRoomInformationProvider rocketChatRoomInformationProvider;
 
-  @Mock private RocketChatService rocketChatService;
+  @Mock private RocketChatUserRoomsCache rocketChatUserRoomsCache;
+
+  @Mock private MatrixSynapseService matrixSynapseService;
+
+  @Mock private ConsultantRepository consultantRepository;
 
   @Test
   void retrieveRocketChatInformation_Should_Return_CorrectMessagesReadMap() {
 
-    when(rocketChatService.getSubscriptionsOfUser(RC_CREDENTIALS))
+    when(rocketChatUserRoomsCache.getSubscriptionsOfUser(RC_CREDENTIALS))
         .thenReturn(SUBSCRIPTIONS_UPDATE_LIST_DTO);
     RocketChatRoomInformation rocketChatRoomInformation =
         rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
@@ -49,7 +54,7 @@ class RocketChatRoomInformationProviderTest {
   @Test
   void retrieveRocketChatInformation_Should_Return_RocketChatRoomsUpdateList() {
 
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
+    when(rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
     RocketChatRoomInformation rocketChatRoomInformation =
         rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
     assertEquals(ROOMS_UPDATE_DTO_LIST, rocketChatRoomInformation.getRoomsForUpdate());
@@ -58,7 +63,7 @@ class RocketChatRoomInformationProviderTest {
   @Test
   void retrieveRocketChatInformation_Should_Return_CorrectRocketChatUserRoomList() {
 
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
+    when(rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
     RocketChatRoomInformation rocketChatRoomInformation =
         rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
     assertEquals(USERS_ROOMS_LIST, rocketChatRoomInformation.getUserRooms());
@@ -67,7 +72,7 @@ class RocketChatRoomInformationProviderTest {
   @Test
   void retrieveRocketChatInformation_Should_Return_CorrectRocketChatLastMessageRoom() {
 
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
+    when(rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(ROOMS_UPDATE_DTO_LIST);
     RocketChatRoomInformation rocketChatRoomInformation =
         rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
     assertEquals(ROOMS_LAST_MESSAGE_DTO_MAP, rocketChatRoomInformation.getLastMessagesRoom());
@@ -103,7 +108,7 @@ class RocketChatRoomInformationProviderTest {
             fallbackDate);
     var rooms = new ArrayList<>(ROOMS_UPDATE_DTO_LIST);
     rooms.add(roomUpdateWithoutLastMessage);
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(rooms);
+    when(rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(rooms);
 
     RocketChatRoomInformation rocketChatRoomInformation =
         rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
@@ -130,7 +135,7 @@ class RocketChatRoomInformationProviderTest {
             null);
     var rooms = new ArrayList<>(ROOMS_UPDATE_DTO_LIST);
     rooms.add(roomUpdateWithoutLastMessage);
-    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(rooms);
+    when(rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS)).thenReturn(rooms);
 
     RocketChatRoomInformation rocketChatRoomInformation =
         rocketChatRoomInformationProvider.retrieveRocketChatInformation(RC_CREDENTIALS);
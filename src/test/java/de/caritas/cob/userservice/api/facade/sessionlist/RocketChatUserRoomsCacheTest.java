@@ -0,0 +1,167 @@
+package de.caritas.cob.userservice.api.facade.sessionlist;
+
+import static de.caritas.cob.userservice.api.testHelper.TestConstants.RC_CREDENTIALS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.RemovedRecordDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsGetDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.subscriptions.SubscriptionsGetDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.subscriptions.SubscriptionsUpdateDTO;
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
+import de.caritas.cob.userservice.api.facade.sessionlist.RocketChatUserRoomsCache.CachedRecords;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class RocketChatUserRoomsCacheTest {
+
+  private static final Date FIRST_UPDATE = new Date(1_700_000_000_000L);
+  private static final Date SECOND_UPDATE = new Date(1_700_000_060_000L);
+  private static final long TIME_TO_LIVE_SECONDS = 300L;
+
+  @Mock private RocketChatService rocketChatService;
+
+  private ConcurrentMapCacheManager cacheManager;
+  private RocketChatUserRoomsCache rocketChatUserRoomsCache;
+
+  @BeforeEach
+  void setup() {
+    cacheManager = new ConcurrentMapCacheManager(CacheManagerConfig.ROCKET_CHAT_ROOMS_CACHE);
+    rocketChatUserRoomsCache = new RocketChatUserRoomsCache(rocketChatService, cacheManager);
+    setField(rocketChatUserRoomsCache, "timeToLiveSeconds", TIME_TO_LIVE_SECONDS);
+  }
+
+  @Test
+  void getRoomsOfUser_Should_loadAllRooms_When_noRoomsAreCached() {
+    var rooms = roomsResponse(new RoomsUpdateDTO[] {room("a", FIRST_UPDATE)}, null);
+    when(rocketChatService.getRoomsOfUser(eq(RC_CREDENTIALS), isNull())).thenReturn(rooms);
+
+    var result = rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+
+    assertThat(result).extracting(RoomsUpdateDTO::getId).containsExactly("a");
+  }
+
+  @Test
+  void getRoomsOfUser_Should_mergeChangesSinceLatestUpdate_When_roomsAreCached() {
+    var allRooms =
+        roomsResponse(
+            new RoomsUpdateDTO[] {room("a", FIRST_UPDATE), room("b", FIRST_UPDATE)}, null);
+    var updatedRoom = room("a", SECOND_UPDATE);
+    var changedRooms =
+        roomsResponse(
+            new RoomsUpdateDTO[] {updatedRoom, room("c", SECOND_UPDATE)},
+            new RemovedRecordDTO[] {new RemovedRecordDTO("b", SECOND_UPDATE)});
+    when(rocketChatService.getRoomsOfUser(eq(RC_CREDENTIALS), isNull())).thenReturn(allRooms);
+    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS, FIRST_UPDATE)).thenReturn(changedRooms);
+
+    rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+    var result = rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+
+    assertThat(result).extracting(RoomsUpdateDTO::getId).containsExactly("a", "c");
+    assertThat(result.get(0)).isSameAs(updatedRoom);
+  }
+
+  @Test
+  void getRoomsOfUser_Should_keepLatestUpdate_When_nothingChanged() {
+    var allRooms = roomsResponse(new RoomsUpdateDTO[] {room("a", FIRST_UPDATE)}, null);
+    var noChanges = roomsResponse(new RoomsUpdateDTO[0], new RemovedRecordDTO[0]);
+    when(rocketChatService.getRoomsOfUser(eq(RC_CREDENTIALS), isNull())).thenReturn(allRooms);
+    when(rocketChatService.getRoomsOfUser(RC_CREDENTIALS, FIRST_UPDATE)).thenReturn(noChanges);
+
+    rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+    rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+    var result = rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+
+    assertThat(result).extracting(RoomsUpdateDTO::getId).containsExactly("a");
+    verify(rocketChatService, times(2)).getRoomsOfUser(RC_CREDENTIALS, FIRST_UPDATE);
+  }
+
+  @Test
+  void getRoomsOfUser_Should_loadAllRoomsAgain_When_fullLoadIsOlderThanTimeToLive() {
+    var cachedRooms =
+        new CachedRecords<>(
+            List.of(room("a", FIRST_UPDATE)),
+            FIRST_UPDATE,
+            Instant.now().minusSeconds(TIME_TO_LIVE_SECONDS + 1));
+    cacheManager
+        .getCache(CacheManagerConfig.ROCKET_CHAT_ROOMS_CACHE)
+        .put(RC_CREDENTIALS.getRocketChatUserId() + ":rooms", cachedRooms);
+    var allRooms = roomsResponse(new RoomsUpdateDTO[] {room("b", SECOND_UPDATE)}, null);
+    when(rocketChatService.getRoomsOfUser(eq(RC_CREDENTIALS), isNull())).thenReturn(allRooms);
+
+    var result = rocketChatUserRoomsCache.getRoomsOfUser(RC_CREDENTIALS);
+
+    assertThat(result).extracting(RoomsUpdateDTO::getId).containsExactly("b");
+    verify(rocketChatService, never()).getRoomsOfUser(RC_CREDENTIALS, FIRST_UPDATE);
+  }
+
+  @Test
+  void getSubscriptionsOfUser_Should_removeSubscriptionsById_When_subscriptionWasRemoved() {
+    var allSubscriptions =
+        subscriptionsResponse(
+            new SubscriptionsUpdateDTO[] {
+              subscription("s1", "a", FIRST_UPDATE), subscription("s2", "b", FIRST_UPDATE)
+            },
+            null);
+    var updatedSubscription = subscription("s1", "a", SECOND_UPDATE);
+    var changedSubscriptions =
+        subscriptionsResponse(
+            new SubscriptionsUpdateDTO[] {updatedSubscription},
+            new RemovedRecordDTO[] {new RemovedRecordDTO("s2", SECOND_UPDATE)});
+    when(rocketChatService.getSubscriptionsOfUser(eq(RC_CREDENTIALS), isNull()))
+        .thenReturn(allSubscriptions);
+    when(rocketChatService.getSubscriptionsOfUser(RC_CREDENTIALS, FIRST_UPDATE))
+        .thenReturn(changedSubscriptions);
+
+    rocketChatUserRoomsCache.getSubscriptionsOfUser(RC_CREDENTIALS);
+    var result = rocketChatUserRoomsCache.getSubscriptionsOfUser(RC_CREDENTIALS);
+
+    assertThat(result).containsExactly(updatedSubscription);
+  }
+
+  private RoomsUpdateDTO room(String id, Date updatedAt) {
+    var room = new RoomsUpdateDTO();
+    room.setId(id);
+    room.setUpdatedAt(updatedAt);
+    return room;
+  }
+
+  private RoomsGetDTO roomsResponse(RoomsUpdateDTO[] update, RemovedRecordDTO[] remove) {
+    var response = new RoomsGetDTO();
+    response.setUpdate(update);
+    response.setRemove(remove);
+    return response;
+  }
+
+  private SubscriptionsUpdateDTO subscription(String id, String roomId, Date updatedAt) {
+    var subscription = new SubscriptionsUpdateDTO();
+    subscription.set_id(id);
+    subscription.setRoomId(roomId);
+    subscription.setUpdatedAt(updatedAt);
+    return subscription;
+  }
+
+  private SubscriptionsGetDTO subscriptionsResponse(
+      SubscriptionsUpdateDTO[] update, RemovedRecordDTO[] remove) {
+    var response = new SubscriptionsGetDTO();
+    response.setUpdate(update);
+    response.setRemove(remove);
+    return response;
+  }
+}
@@ -23,11 +23,13 @@ import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponse
 import de.caritas.cob.userservice.api.adapters.web.dto.SessionDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.UserSessionListResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.UserSessionResponseDTO;
+import de.caritas.cob.userservice.api.container.ConsultantSessionListPage;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.service.session.SessionFilter;
 import de.caritas.cob.userservice.api.service.session.SessionTopicEnrichmentService;
 import de.caritas.cob.userservice.api.service.sessionlist.ConsultantSessionListService;
 import de.caritas.cob.userservice.api.service.sessionlist.UserSessionListService;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -82,7 +84,7 @@ public class SessionListFacadeTest {
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(pageOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST));
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
@@ -114,7 +116,7 @@ public class SessionListFacadeTest {
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(pageOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST));
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
@@ -166,7 +168,7 @@ public class SessionListFacadeTest {
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(pageOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST));
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
@@ -185,7 +187,7 @@ public class SessionListFacadeTest {
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(pageOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST));
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
@@ -194,60 +196,44 @@ public class SessionListFacadeTest {
     assertEquals(Integer.valueOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST.size()), result.getTotal());
   }
 
-  @Test
-  public void retrieveSessionsForAuthenticatedConsultant_Should_ReturnCorrectOffset() {
-
-    SessionListQueryParameter sessionListQueryParameter =
-        createStandardSessionListQueryParameterObject(OFFSET_0, COUNT_10, SessionFilter.ALL);
-
-    when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
-            CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
-
-    ConsultantSessionListResponseDTO result =
-        sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
-            CONSULTANT, sessionListQueryParameter);
-
-    assertEquals(OFFSET_0, result.getOffset());
-  }
-
   @Test
   public void
-      retrieveSessionsForAuthenticatedConsultant_Should_ReturnNoSessions_When_OffsetIsGreaterThanTotal() {
+      retrieveSessionsForAuthenticatedConsultant_Should_ReturnTotalOfPage_When_OnlyPageWasLoaded() {
 
     SessionListQueryParameter sessionListQueryParameter =
-        createStandardSessionListQueryParameterObject(
-            OFFSET_0 + CONSULTANT_SESSION_RESPONSE_DTO_LIST.size() + 1,
-            COUNT_10,
-            SessionFilter.ALL);
+        createStandardSessionListQueryParameterObject(OFFSET_0, COUNT_1, SessionFilter.ALL);
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(
+            ConsultantSessionListPage.builder()
+                .sessions(List.of(CONSULTANT_SESSION_RESPONSE_DTO_LIST.get(0)))
+                .total(250)
+                .build());
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter);
 
-    assertEquals(COUNT_0, result.getSessions().size());
+    assertEquals(COUNT_1, result.getSessions().size());
+    assertEquals(Integer.valueOf(250), result.getTotal());
   }
 
   @Test
-  public void
-      retrieveSessionsForAuthenticatedConsultant_Should_ReturnCorrectNumberOfSessions_When_CountIsSmallerThanTotal() {
+  public void retrieveSessionsForAuthenticatedConsultant_Should_ReturnCorrectOffset() {
 
     SessionListQueryParameter sessionListQueryParameter =
-        createStandardSessionListQueryParameterObject(OFFSET_0, COUNT_1, SessionFilter.ALL);
+        createStandardSessionListQueryParameterObject(OFFSET_0, COUNT_10, SessionFilter.ALL);
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(pageOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST));
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter);
 
-    assertEquals(COUNT_1, result.getSessions().size());
+    assertEquals(OFFSET_0, result.getOffset());
   }
 
   @Test
@@ -260,7 +246,7 @@ public class SessionListFacadeTest {
 
     when(consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
             CONSULTANT, sessionListQueryParameter))
-        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+        .thenReturn(pageOf(CONSULTANT_SESSION_RESPONSE_DTO_LIST));
 
     ConsultantSessionListResponseDTO result =
         sessionListFacade.retrieveSessionsDtoForAuthenticatedConsultant(
@@ -388,6 +374,10 @@ public class SessionListFacadeTest {
     assertEquals(COUNT_1, result.getSessions().size());
   }
 
+  private ConsultantSessionListPage pageOf(List<ConsultantSessionResponseDTO> sessions) {
+    return ConsultantSessionListPage.builder().sessions(sessions).total(sessions.size()).build();
+  }
+
   private SessionListQueryParameter createStandardSessionListQueryParameterObject(
       int offset, int count, SessionFilter sessionFilter) {
     return SessionListQueryParameter.builder()
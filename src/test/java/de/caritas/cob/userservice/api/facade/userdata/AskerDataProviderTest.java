@@ -2,10 +2,12 @@ package de.caritas.cob.userservice.api.facade.userdata;
 
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.AGENCY_DTO_KREUZBUND;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.AGENCY_DTO_SUCHT;
+import static de.caritas.cob.userservice.api.testHelper.TestConstants.AGENCY_ID;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.CONSULTANT_WITH_AGENCY;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.CONSULTING_TYPE_ID_AIDS;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.CONSULTING_TYPE_ID_SUCHT;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.GRANTED_AUTHORIZATION_USER;
+import static de.caritas.cob.userservice.api.testHelper.TestConstants.SESSION_ID;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.USER;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.USER_WITH_SESSIONS;
 import static org.hibernate.validator.internal.util.CollectionHelper.asSet;
@@ -23,6 +25,8 @@ import de.caritas.cob.userservice.api.helper.AuthenticatedUser;
 import de.caritas.cob.userservice.api.helper.SessionDataProvider;
 import de.caritas.cob.userservice.api.manager.consultingtype.ConsultingTypeManager;
 import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.Session.RegistrationType;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.model.User;
 import de.caritas.cob.userservice.api.port.out.IdentityClientConfig;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
@@ -179,6 +183,16 @@ class AskerDataProviderTest {
     when(authenticatedUser.getRoles()).thenReturn(asSet(UserRole.USER.toString()));
     when(consultingTypeManager.getAllConsultingTypeIds())
         .thenReturn(IntStream.range(0, 22).boxed().collect(Collectors.toList()));
+    var session =
+        Session.builder()
+            .id(SESSION_ID)
+            .consultingTypeId(CONSULTING_TYPE_ID_SUCHT)
+            .agencyId(AGENCY_ID)
+            .registrationType(RegistrationType.REGISTERED)
+            .status(SessionStatus.NEW)
+            .languageCode(LanguageCode.de)
+            .build();
+    when(sessionService.findSessionsByUser(USER_WITH_SESSIONS)).thenReturn(List.of(session));
     UserDataResponseDTO result = askerDataProvider.retrieveData(USER_WITH_SESSIONS);
 
     assertEquals(USER_WITH_SESSIONS.getUserId(), result.getUserId());
@@ -205,6 +219,7 @@ class AskerDataProviderTest {
     assertFalse((boolean) consultingTypeOtherEntry.get("isRegistered"));
     assertFalse(result.isHasAnonymousConversations());
     assertFalse(result.isHasArchive());
+    assertEquals(1, result.getSessions().size());
   }
 
   @Test
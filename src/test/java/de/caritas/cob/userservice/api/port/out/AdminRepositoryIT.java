@@ -4,16 +4,22 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import de.caritas.cob.userservice.api.config.JpaAuditingConfiguration;
 import de.caritas.cob.userservice.api.model.Admin;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataJpaTest
@@ -32,6 +38,8 @@ class AdminRepositoryIT {
   @Autowired
   private AuditingHandler auditingHandler;
 
+  @Autowired private TestEntityManager entityManager;
+
   @AfterEach
   public void reset() {
     if (Objects.nonNull(admin)) {
@@ -57,13 +65,66 @@ class AdminRepositoryIT {
     assertTrue(admin.getCreateDate().isBefore(admin.getUpdateDate()));
   }
 
+  @Test
+  void findInactiveAdminsShouldOnlyFindAdminsNotUpdatedSinceCutoff() {
+    var cutoff = LocalDateTime.now().plusDays(1);
+    var inactiveAdmin = aPersistedAdmin();
+    var recentlyUpdatedAdmin = aPersistedAdmin();
+    givenUpdateDate(recentlyUpdatedAdmin, cutoff.plusDays(1));
+
+    var adminIds =
+        idsOf(adminRepository.findInactiveAdmins(cutoff, "", PageRequest.of(0, Integer.MAX_VALUE)));
+
+    assertTrue(adminIds.contains(inactiveAdmin.getId()));
+    assertFalse(adminIds.contains(recentlyUpdatedAdmin.getId()));
+  }
+
+  @Test
+  void findInactiveAdminsShouldReturnPageAfterGivenId() {
+    var cutoff = LocalDateTime.now().plusDays(1);
+    var orderedIds =
+        Stream.of(aPersistedAdmin(), aPersistedAdmin())
+            .map(Admin::getId)
+            .sorted()
+            .collect(Collectors.toList());
+
+    var nextPage =
+        idsOf(
+            adminRepository.findInactiveAdmins(
+                cutoff, orderedIds.get(0), PageRequest.of(0, Integer.MAX_VALUE)));
+    var singleEntryPage =
+        idsOf(adminRepository.findInactiveAdmins(cutoff, orderedIds.get(0), PageRequest.of(0, 1)));
+
+    assertFalse(nextPage.contains(orderedIds.get(0)));
+    assertTrue(nextPage.contains(orderedIds.get(1)));
+    assertEquals(1, singleEntryPage.size());
+    assertTrue(singleEntryPage.get(0).compareTo(orderedIds.get(0)) > 0);
+  }
+
   private void givenPersistedAdmin() {
-    admin = easyRandom.nextObject(Admin.class);
-    admin.setId(UUID.randomUUID().toString());
-    admin.setRcUserId(null);
-    admin.setCreateDate(null);
-    admin.setUpdateDate(null);
+    admin = aPersistedAdmin();
+  }
 
-    admin = adminRepository.save(admin);
+  private Admin aPersistedAdmin() {
+    var newAdmin = easyRandom.nextObject(Admin.class);
+    newAdmin.setId(UUID.randomUUID().toString());
+    newAdmin.setRcUserId(null);
+    newAdmin.setCreateDate(null);
+    newAdmin.setUpdateDate(null);
+
+    return adminRepository.save(newAdmin);
+  }
+
+  private void givenUpdateDate(Admin updatedAdmin, LocalDateTime updateDate) {
+    entityManager
+        .getEntityManager()
+        .createQuery("UPDATE Admin a SET a.updateDate = :updateDate WHERE a.id = :id")
+        .setParameter("updateDate", updateDate)
+        .setParameter("id", updatedAdmin.getId())
+        .executeUpdate();
+  }
+
+  private static List<String> idsOf(List<Admin> admins) {
+    return admins.stream().map(Admin::getId).collect(Collectors.toList());
   }
 }
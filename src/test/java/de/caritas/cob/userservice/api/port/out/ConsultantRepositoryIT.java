@@ -13,16 +13,24 @@ import de.caritas.cob.userservice.api.model.Appointment;
 import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.ConsultantAgency;
 import de.caritas.cob.userservice.api.model.Language;
+import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.Session.RegistrationType;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountActivity;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.PositiveOrZero;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.Hibernate;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +39,7 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -57,6 +66,12 @@ class ConsultantRepositoryIT {
 
   @Autowired private AppointmentRepository appointmentRepository;
 
+  @Autowired private SessionRepository sessionRepository;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private TestEntityManager entityManager;
+
   @BeforeEach
   public void backup() {
     originalConsultant = underTest.findAll().iterator().next();
@@ -74,6 +89,17 @@ class ConsultantRepositoryIT {
     nonMatchingIds = new ArrayList<>();
   }
 
+  @Test
+  void findByIdAndDeleteDateIsNullShouldLoadAgenciesOfConsultant() {
+    var consultantId = underTest.findByDeleteDateIsNull().get(0).getId();
+    entityManager.flush();
+    entityManager.clear();
+
+    var foundConsultant = underTest.findByIdAndDeleteDateIsNull(consultantId).orElseThrow();
+
+    assertTrue(Hibernate.isInitialized(foundConsultant.getConsultantAgencies()));
+  }
+
   @Test
   void deleteShouldDeleteConsultantAndAppointment() {
     givenACreatedConsultantWithAnAppointment();
@@ -442,6 +468,196 @@ class ConsultantRepositoryIT {
     assertEquals(0, consultantChatIds.size());
   }
 
+  @Test
+  void findWithoutConsultantAgencyShouldFindConsultantsWithoutActiveAgencyAssignment() {
+    var withoutAgency = givenAConsultant(false);
+    var withDeletedAgency = givenAConsultant(false);
+    givenAConsultantAgency(withDeletedAgency, givenANewAgencyId(), LocalDateTime.now());
+    var withAgency = givenAConsultant(false);
+    givenAConsultantAgency(withAgency, givenANewAgencyId(), null);
+
+    var consultantIds = idsOf(underTest.findWithoutConsultantAgency());
+
+    assertTrue(consultantIds.contains(withoutAgency.getId()));
+    assertTrue(consultantIds.contains(withDeletedAgency.getId()));
+    assertFalse(consultantIds.contains(withAgency.getId()));
+  }
+
+  @Test
+  void findTeamConsultantsWithoutAgencyInShouldFindTeamConsultantsWithoutTeamAgency() {
+    var teamAgencyId = givenANewAgencyId();
+    var otherAgencyId = teamAgencyId + 1000;
+    var withTeamAgency = givenAConsultant(true);
+    givenAConsultantAgency(withTeamAgency, teamAgencyId, null);
+    var withOtherAgency = givenAConsultant(true);
+    givenAConsultantAgency(withOtherAgency, otherAgencyId, null);
+    var withoutAgency = givenAConsultant(true);
+    var notTeamConsultant = givenAConsultant(false);
+    givenAConsultantAgency(notTeamConsultant, otherAgencyId, null);
+
+    var consultantIds = idsOf(underTest.findTeamConsultantsWithoutAgencyIn(List.of(teamAgencyId)));
+
+    assertFalse(consultantIds.contains(withTeamAgency.getId()));
+    assertTrue(consultantIds.contains(withOtherAgency.getId()));
+    assertTrue(consultantIds.contains(withoutAgency.getId()));
+    assertFalse(consultantIds.contains(notTeamConsultant.getId()));
+  }
+
+  @Test
+  void findWithSessionsInStatusShouldFindEachConsultantOnceAndPageAfterGivenId() {
+    var withTwoSessions = givenAConsultant(false);
+    givenASession(withTwoSessions, SessionStatus.IN_PROGRESS);
+    givenASession(withTwoSessions, SessionStatus.IN_PROGRESS);
+    var withOneSession = givenAConsultant(false);
+    givenASession(withOneSession, SessionStatus.IN_PROGRESS);
+    var withNewSession = givenAConsultant(false);
+    givenASession(withNewSession, SessionStatus.NEW);
+    var orderedIds =
+        List.of(withTwoSessions.getId(), withOneSession.getId()).stream()
+            .sorted()
+            .collect(Collectors.toList());
+    var allConsultants = PageRequest.of(0, Integer.MAX_VALUE);
+
+    var firstPage =
+        idsOf(underTest.findWithSessionsInStatus(SessionStatus.IN_PROGRESS, "", allConsultants));
+    var nextPage =
+        idsOf(
+            underTest.findWithSessionsInStatus(
+                SessionStatus.IN_PROGRESS, orderedIds.get(0), allConsultants));
+
+    assertEquals(1, Collections.frequency(firstPage, withTwoSessions.getId()));
+    assertTrue(firstPage.contains(withOneSession.getId()));
+    assertFalse(firstPage.contains(withNewSession.getId()));
+    assertTrue(firstPage.indexOf(orderedIds.get(0)) < firstPage.indexOf(orderedIds.get(1)));
+    assertFalse(nextPage.contains(orderedIds.get(0)));
+    assertTrue(nextPage.contains(orderedIds.get(1)));
+  }
+
+  @Test
+  void
+      findByAgencyIdInAndConsultantTeamConsultantIsFalseAndDeleteDateIsNullShouldOnlyFindActiveAssignmentsOfNonTeamConsultants() {
+    var agencyId = givenANewAgencyId();
+    var notTeamConsultant = givenAConsultant(false);
+    givenAConsultantAgency(notTeamConsultant, agencyId, null);
+    var teamConsultant = givenAConsultant(true);
+    givenAConsultantAgency(teamConsultant, agencyId, null);
+    var withDeletedAgency = givenAConsultant(false);
+    givenAConsultantAgency(withDeletedAgency, agencyId, LocalDateTime.now());
+    var withOtherAgency = givenAConsultant(false);
+    givenAConsultantAgency(withOtherAgency, agencyId + 1000, null);
+
+    var consultantAgencies =
+        consultantAgencyRepository
+            .findByAgencyIdInAndConsultantTeamConsultantIsFalseAndDeleteDateIsNull(
+                List.of(agencyId));
+
+    assertEquals(1, consultantAgencies.size());
+    assertEquals(notTeamConsultant.getId(), consultantAgencies.get(0).getConsultant().getId());
+  }
+
+  @Test
+  void findInactiveConsultantsShouldOnlyFindConsultantsWithoutActivitySinceCutoff() {
+    var cutoff = LocalDateTime.now().minusDays(365).truncatedTo(ChronoUnit.SECONDS);
+    var withoutSession = givenAConsultantActiveAt(cutoff.minusDays(10));
+    var withOldSession = givenAConsultantActiveAt(cutoff.minusDays(10));
+    givenASessionUpdatedAt(withOldSession, cutoff.minusDays(1));
+    var withRecentSession = givenAConsultantActiveAt(cutoff.minusDays(10));
+    givenASessionUpdatedAt(withRecentSession, cutoff.minusDays(1));
+    givenASessionUpdatedAt(withRecentSession, cutoff.plusDays(1));
+    var recentlyUpdated = givenAConsultantActiveAt(cutoff.plusDays(1));
+    var deleted = givenAConsultantActiveAt(cutoff.minusDays(10));
+    deleted.setDeleteDate(LocalDateTime.now());
+    underTest.save(deleted);
+
+    var activities =
+        underTest.findInactiveConsultants(cutoff, "", PageRequest.of(0, Integer.MAX_VALUE));
+
+    var accountIds = accountIdsOf(activities);
+    assertTrue(accountIds.contains(withoutSession.getId()));
+    assertTrue(accountIds.contains(withOldSession.getId()));
+    assertFalse(accountIds.contains(withRecentSession.getId()));
+    assertFalse(accountIds.contains(recentlyUpdated.getId()));
+    assertFalse(accountIds.contains(deleted.getId()));
+    var activityWithOldSession = activities.get(accountIds.indexOf(withOldSession.getId()));
+    assertEquals(cutoff.minusDays(1), activityWithOldSession.getLastSessionActivity());
+  }
+
+  @Test
+  void findInactiveConsultantsShouldReturnPageAfterGivenId() {
+    var cutoff = LocalDateTime.now().minusDays(365);
+    var orderedIds =
+        Stream.of(
+                givenAConsultantActiveAt(cutoff.minusDays(10)),
+                givenAConsultantActiveAt(cutoff.minusDays(10)))
+            .map(Consultant::getId)
+            .sorted()
+            .collect(Collectors.toList());
+
+    var nextPage =
+        accountIdsOf(
+            underTest.findInactiveConsultants(
+                cutoff, orderedIds.get(0), PageRequest.of(0, Integer.MAX_VALUE)));
+    var singleEntryPage =
+        accountIdsOf(
+            underTest.findInactiveConsultants(cutoff, orderedIds.get(0), PageRequest.of(0, 1)));
+
+    assertFalse(nextPage.contains(orderedIds.get(0)));
+    assertTrue(nextPage.contains(orderedIds.get(1)));
+    assertEquals(1, singleEntryPage.size());
+    assertTrue(singleEntryPage.get(0).compareTo(orderedIds.get(0)) > 0);
+  }
+
+  private Consultant givenAConsultantActiveAt(LocalDateTime activityDate) {
+    var consultant = givenConsultantMatchingEmail(RandomStringUtils.randomAlphanumeric(8));
+    consultant.setCreateDate(activityDate.minusDays(1));
+    consultant.setUpdateDate(activityDate);
+    consultant.setDeleteDate(null);
+    return underTest.save(consultant);
+  }
+
+  private void givenASessionUpdatedAt(Consultant consultant, LocalDateTime updateDate) {
+    var session = givenASession(consultant, SessionStatus.IN_PROGRESS);
+    session.setUpdateDate(updateDate);
+    sessionRepository.save(session);
+  }
+
+  private static List<String> accountIdsOf(List<InactiveAccountActivity> activities) {
+    return activities.stream()
+        .map(InactiveAccountActivity::getAccountId)
+        .collect(Collectors.toList());
+  }
+
+  private Consultant givenAConsultant(boolean teamConsultant) {
+    var consultant = givenConsultantMatchingEmail(RandomStringUtils.randomAlphanumeric(8));
+    consultant.setTeamConsultant(teamConsultant);
+    return underTest.save(consultant);
+  }
+
+  private void givenAConsultantAgency(
+      Consultant consultant, Long agencyId, LocalDateTime deleteDate) {
+    var consultantAgency = new ConsultantAgency();
+    consultantAgency.setConsultant(consultant);
+    consultantAgency.setAgencyId(agencyId);
+    consultantAgency.setDeleteDate(deleteDate);
+    consultantAgencyRepository.save(consultantAgency);
+  }
+
+  private Session givenASession(Consultant consultant, SessionStatus status) {
+    var session = new Session();
+    session.setUser(userRepository.findAll().iterator().next());
+    session.setConsultant(consultant);
+    session.setConsultingTypeId(1);
+    session.setRegistrationType(RegistrationType.REGISTERED);
+    session.setPostcode(RandomStringUtils.randomNumeric(5));
+    session.setLanguageCode(LanguageCode.de);
+    session.setStatus(status);
+    return sessionRepository.save(session);
+  }
+
+  private static List<String> idsOf(List<Consultant> consultants) {
+    return consultants.stream().map(Consultant::getId).collect(Collectors.toList());
+  }
+
   private void givenConsultantsMatchingFirstName(
       @PositiveOrZero int count, @NotBlank String infix) {
     while (count-- > 0) {
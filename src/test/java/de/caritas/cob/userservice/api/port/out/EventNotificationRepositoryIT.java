@@ -0,0 +1,62 @@
+package de.caritas.cob.userservice.api.port.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.caritas.cob.userservice.api.model.EventNotification;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.profiles.active=testing")
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+class EventNotificationRepositoryIT {
+
+  private static final String RECIPIENT_USER_ID = "recipient";
+  private static final String OTHER_USER_ID = "other";
+
+  @Autowired private EventNotificationRepository underTest;
+
+  @Test
+  void markAllAsReadShouldOnlyUpdateUnreadNotificationsOfRecipient() {
+    var readDate = LocalDateTime.now().minusDays(1);
+    underTest.saveAll(
+        List.of(
+            notification(RECIPIENT_USER_ID, null),
+            notification(RECIPIENT_USER_ID, null),
+            notification(RECIPIENT_USER_ID, readDate),
+            notification(OTHER_USER_ID, null)));
+
+    var updated = underTest.markAllAsRead(RECIPIENT_USER_ID, LocalDateTime.now());
+
+    assertEquals(2, updated);
+    assertEquals(0, underTest.countByRecipientUserIdAndReadDateIsNull(RECIPIENT_USER_ID));
+    assertEquals(1, underTest.countByRecipientUserIdAndReadDateIsNull(OTHER_USER_ID));
+  }
+
+  @Test
+  void saveAllShouldAssignDistinctIdsFromSequence() {
+    var saved =
+        underTest.saveAll(
+            List.of(notification(RECIPIENT_USER_ID, null), notification(OTHER_USER_ID, null)));
+
+    assertEquals(2, saved.stream().map(EventNotification::getId).distinct().count());
+  }
+
+  private EventNotification notification(String recipientUserId, LocalDateTime readDate) {
+    return EventNotification.builder()
+        .recipientUserId(recipientUserId)
+        .eventType("message.new")
+        .category("message")
+        .title("New message")
+        .text("")
+        .readDate(readDate)
+        .createDate(LocalDateTime.now())
+        .build();
+  }
+}
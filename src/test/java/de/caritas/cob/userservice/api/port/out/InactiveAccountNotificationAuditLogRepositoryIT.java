@@ -0,0 +1,64 @@
+package de.caritas.cob.userservice.api.port.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.caritas.cob.userservice.api.model.InactiveAccountNotificationAuditLog;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountRole;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.profiles.active=testing")
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+class InactiveAccountNotificationAuditLogRepositoryIT {
+
+  @Autowired private InactiveAccountNotificationAuditLogRepository underTest;
+
+  @Test
+  void findExistingNotificationFingerprintsShouldOnlyReturnRecordedFingerprints() {
+    var recorded = givenARecordedNotification();
+    var otherRecorded = givenARecordedNotification();
+    var unknown = UUID.randomUUID().toString();
+
+    var fingerprints = underTest.findExistingNotificationFingerprints(List.of(recorded, unknown));
+
+    assertEquals(Set.of(recorded), fingerprints);
+    assertEquals(
+        Set.of(recorded, otherRecorded),
+        underTest.findExistingNotificationFingerprints(List.of(recorded, otherRecorded)));
+  }
+
+  @Test
+  void findExistingNotificationFingerprintsShouldReturnNothingForUnknownFingerprints() {
+    givenARecordedNotification();
+
+    var fingerprints =
+        underTest.findExistingNotificationFingerprints(List.of(UUID.randomUUID().toString()));
+
+    assertTrue(fingerprints.isEmpty());
+  }
+
+  private String givenARecordedNotification() {
+    var fingerprint = UUID.randomUUID().toString();
+    underTest.save(
+        InactiveAccountNotificationAuditLog.builder()
+            .notificationFingerprint(fingerprint)
+            .accountRole(InactiveAccountRole.ASKER)
+            .accountId(UUID.randomUUID().toString())
+            .thresholdDays(365)
+            .recipientAdminId(UUID.randomUUID().toString())
+            .recipientEmail("admin@example.com")
+            .createDate(LocalDateTime.now())
+            .build());
+    return fingerprint;
+  }
+}
@@ -0,0 +1,96 @@
+package de.caritas.cob.userservice.api.port.out;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Checks that the frequent derived lookups are resolved by an index instead of a table scan.
+ *
+ * <p>The plans are taken from the test schema, which Hibernate generates from the {@code @Index}
+ * annotations of the entities, not from the Liquibase changesets. These tests therefore keep the
+ * entity mappings and the queries in line with the intended indexes, but do not detect a missing or
+ * broken changeset.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.profiles.active=testing")
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+class LookupIndexIT {
+
+  private static final String TABLE_SCAN = "tableScan";
+
+  @Autowired private TestEntityManager entityManager;
+
+  @Test
+  void findSessionByMatrixRoomIdShouldUseIndex() {
+    var plan = explain("SELECT * FROM session WHERE matrix_room_id = '!room:matrix'");
+
+    assertThat(plan).containsIgnoringCase("idx_session_matrix_room_id").doesNotContain(TABLE_SCAN);
+  }
+
+  @Test
+  void findSessionByGroupIdShouldUseIndex() {
+    var plan = explain("SELECT * FROM session WHERE rc_group_id = 'groupId'");
+
+    assertThat(plan).containsIgnoringCase("idx_session_rc_group_id").doesNotContain(TABLE_SCAN);
+  }
+
+  @Test
+  void findSessionsByUserAndStatusShouldUseIndex() {
+    var plan = explain("SELECT * FROM session WHERE user_id = 'userId' AND status = 2");
+
+    assertThat(plan).containsIgnoringCase("idx_session_user_status").doesNotContain(TABLE_SCAN);
+  }
+
+  @Test
+  void findSessionsByConsultantAndStatusShouldUseIndex() {
+    var plan = explain("SELECT * FROM session WHERE consultant_id = 'consultantId' AND status = 2");
+
+    // both indexes start with consultant_id and status, so either one resolves the lookup
+    assertThat(plan.toLowerCase())
+        .containsAnyOf("index_consultant_id_status", "idx_session_consultant_status_latest_message")
+        .doesNotContain(TABLE_SCAN.toLowerCase());
+  }
+
+  @Test
+  void findChatByGroupIdShouldUseIndex() {
+    var plan = explain("SELECT * FROM chat WHERE rc_group_id = 'groupId'");
+
+    assertThat(plan).containsIgnoringCase("idx_chat_rc_group_id").doesNotContain(TABLE_SCAN);
+  }
+
+  @Test
+  void findNotificationsByRecipientShouldUseIndex() {
+    var plan =
+        explain(
+            "SELECT * FROM event_notification WHERE recipient_user_id = 'userId'"
+                + " ORDER BY create_date DESC");
+
+    assertThat(plan)
+        .containsIgnoringCase("idx_event_notification_recipient")
+        .doesNotContain(TABLE_SCAN);
+  }
+
+  @Test
+  void countUnreadNotificationsByRecipientShouldUseIndex() {
+    var plan =
+        explain(
+            "SELECT count(*) FROM event_notification"
+                + " WHERE recipient_user_id = 'userId' AND read_date IS NULL");
+
+    assertThat(plan)
+        .containsIgnoringCase("idx_event_notification_recipient")
+        .doesNotContain(TABLE_SCAN);
+  }
+
+  private String explain(String query) {
+    return String.valueOf(
+        entityManager.getEntityManager().createNativeQuery("EXPLAIN " + query).getSingleResult());
+  }
+}
@@ -5,14 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.neovisionaries.i18n.LanguageCode;
+import de.caritas.cob.userservice.api.model.Consultant;
 import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.Session.RegistrationType;
 import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.model.SessionData;
 import de.caritas.cob.userservice.api.model.SessionData.SessionDataType;
 import de.caritas.cob.userservice.api.model.User;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.Hibernate;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.TestPropertySource;
 
 @DataJpaTest
@@ -28,11 +33,16 @@ import org.springframework.test.context.TestPropertySource;
 class SessionRepositoryIT {
 
   private static final EasyRandom easyRandom = new EasyRandom();
+  private static final Long OPEN_ENQUIRY_AGENCY_ID = 999_999L;
 
   @Autowired private SessionRepository underTest;
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private ConsultantRepository consultantRepository;
+
+  @Autowired private TestEntityManager entityManager;
+
   private User user;
 
   private Session session;
@@ -62,6 +72,102 @@ class SessionRepositoryIT {
     assertFalse(foundSession.isTeamSession());
   }
 
+  @Test
+  void findByIdShouldLoadUserOfSession() {
+    givenAUser();
+    givenValidSession();
+    var persistedSession = underTest.save(session);
+    entityManager.flush();
+    entityManager.clear();
+
+    var foundSession = underTest.findById(persistedSession.getId()).orElseThrow();
+
+    assertTrue(Hibernate.isInitialized(foundSession.getUser()));
+  }
+
+  @Test
+  void findWithSessionDataByUserUserIdShouldLoadSessionDataOfEachSessionOnce() {
+    givenAUser();
+    givenValidSession();
+    var persistedSession = underTest.save(session);
+    entityManager.flush();
+    entityManager.clear();
+
+    var foundSessions =
+        underTest.findWithSessionDataByUserUserId(user.getUserId()).stream()
+            .filter(s -> s.getId().equals(persistedSession.getId()))
+            .collect(Collectors.toList());
+
+    assertEquals(1, foundSessions.size());
+    var foundSession = foundSessions.get(0);
+    assertTrue(Hibernate.isInitialized(foundSession.getUser()));
+    assertTrue(Hibernate.isInitialized(foundSession.getSessionData()));
+    assertEquals(2, foundSession.getSessionData().size());
+  }
+
+  @Test
+  void countByStatusAndEnquiryMessageDateBeforeShouldOnlyCountOverdueNewEnquiries() {
+    givenAUser();
+    var checkDate = LocalDateTime.now().minusHours(12);
+    underTest.saveAll(
+        List.of(
+            enquiry(SessionStatus.NEW, checkDate.minusHours(1)),
+            enquiry(SessionStatus.NEW, checkDate.minusHours(2)),
+            enquiry(SessionStatus.NEW, checkDate.plusHours(1)),
+            enquiry(SessionStatus.NEW, null),
+            enquiry(SessionStatus.IN_PROGRESS, checkDate.minusHours(1))));
+
+    var openEnquiries =
+        underTest.countByStatusAndEnquiryMessageDateBeforeGroupedByAgency(
+            SessionStatus.NEW, checkDate);
+
+    var openEnquiriesOfAgency =
+        openEnquiries.stream()
+            .filter(enquiries -> OPEN_ENQUIRY_AGENCY_ID.equals(enquiries.getAgencyId()))
+            .findFirst()
+            .orElseThrow();
+    assertEquals(2L, openEnquiriesOfAgency.getOpenEnquiries());
+  }
+
+  @Test
+  void findByConsultantInAndStatusShouldOnlyFindSessionsOfGivenConsultantsInGivenStatus() {
+    givenAUser();
+    var consultants = consultantRepository.findAll().iterator();
+    var consultant = consultants.next();
+    var otherConsultant = consultants.next();
+    var sessionInProgress = underTest.save(sessionOf(consultant, SessionStatus.IN_PROGRESS));
+    var newSession = underTest.save(sessionOf(consultant, SessionStatus.NEW));
+    var sessionOfOtherConsultant =
+        underTest.save(sessionOf(otherConsultant, SessionStatus.IN_PROGRESS));
+
+    var sessionIds =
+        underTest.findByConsultantInAndStatus(List.of(consultant), SessionStatus.IN_PROGRESS)
+            .stream()
+            .map(Session::getId)
+            .collect(Collectors.toList());
+
+    assertTrue(sessionIds.contains(sessionInProgress.getId()));
+    assertFalse(sessionIds.contains(newSession.getId()));
+    assertFalse(sessionIds.contains(sessionOfOtherConsultant.getId()));
+  }
+
+  private Session sessionOf(Consultant consultant, SessionStatus status) {
+    givenValidSession();
+    session.setConsultant(consultant);
+    session.setStatus(status);
+    session.setSessionData(List.of());
+    return session;
+  }
+
+  private Session enquiry(SessionStatus status, LocalDateTime enquiryMessageDate) {
+    givenValidSession();
+    session.setStatus(status);
+    session.setAgencyId(OPEN_ENQUIRY_AGENCY_ID);
+    session.setEnquiryMessageDate(enquiryMessageDate);
+    session.setSessionData(List.of());
+    return session;
+  }
+
   private void givenValidSession() {
     session = new Session();
     session.setUser(user);
@@ -3,15 +3,25 @@ package de.caritas.cob.userservice.api.port.out;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.neovisionaries.i18n.LanguageCode;
 import de.caritas.cob.userservice.api.config.JpaAuditingConfiguration;
+import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.Session.RegistrationType;
+import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.model.User;
+import de.caritas.cob.userservice.api.model.UserAgency;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountActivity;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +29,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
 
 @DataJpaTest
@@ -32,6 +44,12 @@ class UserRepositoryIT {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private SessionRepository sessionRepository;
+
+  @Autowired private UserAgencyRepository userAgencyRepository;
+
+  @Autowired private TestEntityManager entityManager;
+
   @AfterEach
   public void reset() {
     if (Objects.nonNull(user)) {
@@ -92,7 +110,95 @@ class UserRepositoryIT {
     assertEquals(LanguageCode.de, user.getLanguageCode());
   }
 
+  @Test
+  void findWithoutSessionAndUserAgencyShouldOnlyFindUsersWithoutSessionAndChatRelation() {
+    var withoutRelation = aPersistedUser();
+    var withSession = aPersistedUser();
+    givenASession(withSession, LocalDateTime.now());
+    var withUserAgency = aPersistedUser();
+    userAgencyRepository.save(new UserAgency(withUserAgency, 1L));
+
+    var userIds =
+        userRepository.findWithoutSessionAndUserAgency().stream()
+            .map(User::getUserId)
+            .collect(Collectors.toList());
+
+    assertThat(userIds).contains(withoutRelation.getUserId());
+    assertThat(userIds).doesNotContain(withSession.getUserId(), withUserAgency.getUserId());
+  }
+
+  @Test
+  void findInactiveAskersShouldOnlyFindAskersWithoutActivitySinceCutoff() {
+    var cutoff = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    var withoutSession = aPersistedUser();
+    var withOldSession = aPersistedUser();
+    givenASession(withOldSession, cutoff.minusDays(2));
+    var withRecentSession = aPersistedUser();
+    givenASession(withRecentSession, cutoff.minusDays(2));
+    givenASession(withRecentSession, cutoff.plusDays(1));
+    var recentlyUpdated = aPersistedUser();
+    givenUpdateDate(recentlyUpdated, cutoff.plusDays(1));
+    var deleted = aPersistedUser();
+    deleted.setDeleteDate(LocalDateTime.now());
+    userRepository.save(deleted);
+
+    var activities =
+        userRepository.findInactiveAskers(cutoff, "", PageRequest.of(0, Integer.MAX_VALUE));
+
+    var accountIds = accountIdsOf(activities);
+    assertThat(accountIds).contains(withoutSession.getUserId(), withOldSession.getUserId());
+    assertThat(accountIds)
+        .doesNotContain(
+            withRecentSession.getUserId(), recentlyUpdated.getUserId(), deleted.getUserId());
+    var activityWithOldSession = activities.get(accountIds.indexOf(withOldSession.getUserId()));
+    assertEquals(cutoff.minusDays(2), activityWithOldSession.getLastSessionActivity());
+    var activityWithoutSession = activities.get(accountIds.indexOf(withoutSession.getUserId()));
+    assertNull(activityWithoutSession.getLastSessionActivity());
+  }
+
+  @Test
+  void findInactiveAskersShouldReturnPageAfterGivenUserId() {
+    var cutoff = LocalDateTime.now().plusDays(1);
+    var orderedUserIds =
+        Stream.of(aPersistedUser(), aPersistedUser())
+            .map(User::getUserId)
+            .sorted()
+            .collect(Collectors.toList());
+
+    var nextPage =
+        accountIdsOf(
+            userRepository.findInactiveAskers(
+                cutoff, orderedUserIds.get(0), PageRequest.of(0, Integer.MAX_VALUE)));
+    var singleEntryPage =
+        accountIdsOf(
+            userRepository.findInactiveAskers(cutoff, orderedUserIds.get(0), PageRequest.of(0, 1)));
+
+    assertThat(nextPage).doesNotContain(orderedUserIds.get(0));
+    assertThat(nextPage).contains(orderedUserIds.get(1));
+    assertEquals(1, singleEntryPage.size());
+    assertTrue(singleEntryPage.get(0).compareTo(orderedUserIds.get(0)) > 0);
+  }
+
+  private static List<String> accountIdsOf(List<InactiveAccountActivity> activities) {
+    return activities.stream()
+        .map(InactiveAccountActivity::getAccountId)
+        .collect(Collectors.toList());
+  }
+
+  private void givenUpdateDate(User user, LocalDateTime updateDate) {
+    entityManager
+        .getEntityManager()
+        .createQuery("UPDATE User u SET u.updateDate = :updateDate WHERE u.userId = :userId")
+        .setParameter("updateDate", updateDate)
+        .setParameter("userId", user.getUserId())
+        .executeUpdate();
+  }
+
   private void givenPersistedUser() {
+    this.user = aPersistedUser();
+  }
+
+  private User aPersistedUser() {
     var user =
         new User(
             UUID.randomUUID().toString(),
@@ -100,6 +206,18 @@ class UserRepositoryIT {
             RandomStringUtils.randomAlphabetic(255),
             RandomStringUtils.randomAlphabetic(255),
             false);
-    this.user = userRepository.save(user);
+    return userRepository.save(user);
+  }
+
+  private void givenASession(User user, LocalDateTime enquiryMessageDate) {
+    var session = new Session();
+    session.setUser(user);
+    session.setEnquiryMessageDate(enquiryMessageDate);
+    session.setConsultingTypeId(1);
+    session.setRegistrationType(RegistrationType.REGISTERED);
+    session.setPostcode(RandomStringUtils.randomNumeric(5));
+    session.setLanguageCode(LanguageCode.de);
+    session.setStatus(SessionStatus.IN_PROGRESS);
+    sessionRepository.save(session);
   }
 }
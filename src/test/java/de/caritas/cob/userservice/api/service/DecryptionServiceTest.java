@@ -3,6 +3,8 @@ package de.caritas.cob.userservice.api.service;
 import static org.junit.jupiter.api.Assertions.*;
 
 import de.caritas.cob.userservice.api.exception.CustomCryptoException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,4 +67,37 @@ public class DecryptionServiceTest {
       assertTrue(true, "Expected BadPaddingException thrown");
     }
   }
+
+  @Test
+  public void decrypt_Should_ReturnDecryptedTextsBySecret_WhenProvidedWithMessagesBySecret()
+      throws Exception {
+    Map<String, String> messagesBySecret = new LinkedHashMap<>();
+    messagesBySecret.put(KEY_SESSION, MESSAGE_ENCRYPTED);
+    messagesBySecret.put(KEY_SESSION_WRONG, MESSAGE_PLAIN);
+
+    Map<String, String> decryptedMessages = encryptionService.decrypt(messagesBySecret);
+
+    assertEquals(MESSAGE_PLAIN, decryptedMessages.get(KEY_SESSION));
+    assertEquals(MESSAGE_PLAIN, decryptedMessages.get(KEY_SESSION_WRONG));
+  }
+
+  @Test
+  public void decrypt_Should_ReturnSameDecryptedText_WhenCalledRepeatedlyWithSameSecret()
+      throws Exception {
+    encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+
+    String decryptedMessage = encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+
+    assertEquals(MESSAGE_PLAIN, decryptedMessage, "Did not get the expected decrypted result.");
+  }
+
+  @Test
+  public void decrypt_Should_NotUseCachedKey_WhenMasterKeyHasBeenUpdated() throws Exception {
+    encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION);
+    encryptionService.updateMasterKey("OtherMasterKey");
+
+    assertThrows(
+        CustomCryptoException.class,
+        () -> encryptionService.decrypt(MESSAGE_ENCRYPTED, KEY_SESSION));
+  }
 }
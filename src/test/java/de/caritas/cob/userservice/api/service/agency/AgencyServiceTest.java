@@ -1,12 +1,17 @@
 package de.caritas.cob.userservice.api.service.agency;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
 import de.caritas.cob.userservice.agencyserivce.generated.ApiClient;
 import de.caritas.cob.userservice.agencyserivce.generated.web.AgencyControllerApi;
+import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.AgencyDTO;
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
 import de.caritas.cob.userservice.api.config.apiclient.AgencyServiceApiControllerFactory;
 import de.caritas.cob.userservice.api.service.httpheader.HttpHeadersResolver;
 import de.caritas.cob.userservice.api.service.httpheader.SecurityHeaderSupplier;
@@ -20,6 +25,8 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.http.HttpHeaders;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -40,6 +47,8 @@ class AgencyServiceTest {
 
   @Mock ApiClient apiClient;
 
+  @Mock CacheManager cacheManager;
+
   @ParameterizedTest
   @NullAndEmptySource
   void getAgenciesFromAgencyService_Should_returnEmptyList_When_nullPassed(List<Long> emptyIds) {
@@ -67,4 +76,57 @@ class AgencyServiceTest {
     assertThat(headers.get("tenantId").get(0)).isEqualTo("1");
     TenantContext.clear();
   }
+
+  @Test
+  void getAgencies_Should_fetchOnlyUncachedAgencies_When_someAgenciesAreCached() {
+    var agencyCache = new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE);
+    when(cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE)).thenReturn(agencyCache);
+    when(securityHeaderSupplier.getOptionalKeycloakAndCsrfHttpHeaders())
+        .thenReturn(new HttpHeaders());
+    when(this.agencyControllerApi.getApiClient()).thenReturn(apiClient);
+    when(agencyServiceApiControllerFactory.createControllerApi()).thenReturn(agencyControllerApi);
+    when(this.agencyControllerApi.getAgenciesByIds(Lists.newArrayList(1L)))
+        .thenReturn(Lists.newArrayList(new AgencyResponseDTO().id(1L)));
+    when(this.agencyControllerApi.getAgenciesByIds(Lists.newArrayList(2L)))
+        .thenReturn(Lists.newArrayList(new AgencyResponseDTO().id(2L)));
+    this.agencyService.getAgencies(Lists.newArrayList(1L));
+
+    var result = this.agencyService.getAgencies(Lists.newArrayList(2L, 1L, 2L));
+
+    assertThat(result).extracting(AgencyDTO::getId).containsExactly(2L, 1L);
+    verify(this.agencyControllerApi).getAgenciesByIds(Lists.newArrayList(2L));
+  }
+
+  @Test
+  void getAgencies_Should_notCallAgencyService_When_allAgenciesAreCached() {
+    var agencyCache = new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE);
+    agencyCache.put("null:1", new AgencyDTO().id(1L));
+    agencyCache.put("null:2", new AgencyDTO().id(2L));
+    when(cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE)).thenReturn(agencyCache);
+
+    var result = this.agencyService.getAgencies(Lists.newArrayList(2L, 1L));
+
+    assertThat(result).extracting(AgencyDTO::getId).containsExactly(2L, 1L);
+    verify(this.agencyControllerApi, never()).getAgenciesByIds(any());
+  }
+
+  @Test
+  void getAgencies_Should_separateCacheEntriesPerTenant() {
+    var agencyCache = new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE);
+    agencyCache.put("2:1", new AgencyDTO().id(1L));
+    when(cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE)).thenReturn(agencyCache);
+    when(securityHeaderSupplier.getOptionalKeycloakAndCsrfHttpHeaders())
+        .thenReturn(new HttpHeaders());
+    when(this.agencyControllerApi.getApiClient()).thenReturn(apiClient);
+    when(agencyServiceApiControllerFactory.createControllerApi()).thenReturn(agencyControllerApi);
+    when(this.agencyControllerApi.getAgenciesByIds(Lists.newArrayList(1L)))
+        .thenReturn(Lists.newArrayList(new AgencyResponseDTO().id(1L)));
+    TenantContext.setCurrentTenant(1L);
+
+    this.agencyService.getAgency(1L);
+
+    verify(this.agencyControllerApi).getAgenciesByIds(Lists.newArrayList(1L));
+    assertThat(agencyCache.get("1:1")).isNotNull();
+    TenantContext.clear();
+  }
 }
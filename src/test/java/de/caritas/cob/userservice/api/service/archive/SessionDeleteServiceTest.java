@@ -16,8 +16,8 @@ import de.caritas.cob.userservice.api.service.statistics.StatisticsService;
 import de.caritas.cob.userservice.api.service.statistics.event.ArchiveOrDeleteSessionStatisticsEvent;
 import de.caritas.cob.userservice.api.workflow.delete.action.asker.DeleteSingleRoomAndSessionAction;
 import de.caritas.cob.userservice.api.workflow.delete.model.SessionDeletionWorkflowDTO;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -73,7 +73,7 @@ class SessionDeleteServiceTest {
     var sessionId = easyRandom.nextLong();
     var session = easyRandom.nextObject(Session.class);
     if (isOnlySession) {
-      session.getUser().setSessions(Set.of(session));
+      when(sessionService.getSessionsForUser(session.getUser())).thenReturn(List.of(session));
     }
 
     when(sessionService.getSession(sessionId)).thenReturn(Optional.of(session));
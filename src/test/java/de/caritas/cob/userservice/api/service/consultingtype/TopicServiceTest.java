@@ -0,0 +1,137 @@
+package de.caritas.cob.userservice.api.service.consultingtype;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
+import de.caritas.cob.userservice.api.config.apiclient.TopicServiceApiControllerFactory;
+import de.caritas.cob.userservice.api.service.httpheader.SecurityHeaderSupplier;
+import de.caritas.cob.userservice.api.service.httpheader.TenantHeaderSupplier;
+import de.caritas.cob.userservice.api.tenant.TenantContext;
+import de.caritas.cob.userservice.topicservice.generated.ApiClient;
+import de.caritas.cob.userservice.topicservice.generated.web.TopicControllerApi;
+import de.caritas.cob.userservice.topicservice.generated.web.model.TopicDTO;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class TopicServiceTest {
+
+  private static final TopicDTO FIRST_TOPIC =
+      new TopicDTO().id(1L).name("first").internalIdentifier("first-internal");
+  private static final TopicDTO SECOND_TOPIC =
+      new TopicDTO().id(2L).name("second").internalIdentifier("second-internal");
+
+  @Mock private TopicServiceApiControllerFactory topicServiceApiControllerFactory;
+
+  @Mock private SecurityHeaderSupplier securityHeaderSupplier;
+
+  @Mock private TenantHeaderSupplier tenantHeaderSupplier;
+
+  @Mock private TopicControllerApi topicControllerApi;
+
+  @Mock private ApiClient apiClient;
+
+  private TopicService topicService;
+
+  @BeforeEach
+  void setup() {
+    topicService =
+        new TopicService(
+            topicServiceApiControllerFactory,
+            securityHeaderSupplier,
+            tenantHeaderSupplier,
+            new ConcurrentMapCacheManager(CacheManagerConfig.TOPICS_CACHE));
+    ReflectionTestUtils.setField(topicService, "refreshAheadSeconds", 45L);
+    when(topicServiceApiControllerFactory.createControllerApi()).thenReturn(topicControllerApi);
+    when(topicControllerApi.getApiClient()).thenReturn(apiClient);
+  }
+
+  @AfterEach
+  void tearDown() {
+    topicService.shutdown();
+    TenantContext.clear();
+  }
+
+  @Test
+  void getAllActiveTopicsMap_Should_callTopicServiceOnlyOnce_When_calledRepeatedly() {
+    when(topicControllerApi.getAllActiveTopics()).thenReturn(List.of(FIRST_TOPIC, SECOND_TOPIC));
+
+    topicService.getAllActiveTopicsMap();
+    var topicsById = topicService.getAllActiveTopicsMap();
+
+    assertThat(topicsById).containsEntry(1L, FIRST_TOPIC).containsEntry(2L, SECOND_TOPIC);
+    verify(topicControllerApi, times(1)).getAllActiveTopics();
+  }
+
+  @Test
+  void getAllTopicsMap_Should_notShareCacheEntryWithAllTopicsListOrActiveTopics() {
+    when(securityHeaderSupplier.getKeycloakAndCsrfHttpHeaders()).thenReturn(new HttpHeaders());
+    when(topicControllerApi.getAllTopics()).thenReturn(List.of(FIRST_TOPIC, SECOND_TOPIC));
+    when(topicControllerApi.getAllActiveTopics()).thenReturn(List.of(FIRST_TOPIC));
+
+    var allTopics = topicService.getAllTopics();
+    var allTopicsMap = topicService.getAllTopicsMap();
+    var activeTopicsMap = topicService.getAllActiveTopicsMap();
+
+    assertThat(allTopics).containsExactly(FIRST_TOPIC, SECOND_TOPIC);
+    assertThat(allTopicsMap).containsOnlyKeys(1L, 2L);
+    assertThat(activeTopicsMap).containsOnlyKeys(1L);
+    verify(topicControllerApi, times(1)).getAllTopics();
+    verify(topicControllerApi, times(1)).getAllActiveTopics();
+  }
+
+  @Test
+  void getAllActiveTopicsMap_Should_cacheTopicsPerTenant() {
+    when(topicControllerApi.getAllActiveTopics())
+        .thenReturn(List.of(FIRST_TOPIC))
+        .thenReturn(List.of(SECOND_TOPIC));
+
+    TenantContext.setCurrentTenant(1L);
+    var topicsOfFirstTenant = topicService.getAllActiveTopicsMap();
+    TenantContext.setCurrentTenant(2L);
+    var topicsOfSecondTenant = topicService.getAllActiveTopicsMap();
+    TenantContext.setCurrentTenant(1L);
+    var topicsOfFirstTenantAgain = topicService.getAllActiveTopicsMap();
+
+    assertThat(topicsOfFirstTenant).containsOnlyKeys(1L);
+    assertThat(topicsOfSecondTenant).containsOnlyKeys(2L);
+    assertThat(topicsOfFirstTenantAgain).containsOnlyKeys(1L);
+    verify(topicControllerApi, times(2)).getAllActiveTopics();
+  }
+
+  @Test
+  void getAllActiveTopicsMap_Should_returnCachedTopicsAndRefreshInBackground_When_refreshIsDue() {
+    ReflectionTestUtils.setField(topicService, "refreshAheadSeconds", -1L);
+    when(topicControllerApi.getAllActiveTopics())
+        .thenReturn(List.of(FIRST_TOPIC))
+        .thenReturn(List.of(FIRST_TOPIC, SECOND_TOPIC));
+
+    topicService.getAllActiveTopicsMap();
+    var cachedTopics = topicService.getAllActiveTopicsMap();
+
+    assertThat(cachedTopics).containsOnlyKeys(1L);
+    verify(topicControllerApi, timeout(1000).times(2)).getAllActiveTopics();
+  }
+
+  @Test
+  void findTopicsInternalAttributes_Should_resolveAllTopicsWithOneCallToTopicService() {
+    when(topicControllerApi.getAllActiveTopics()).thenReturn(List.of(FIRST_TOPIC, SECOND_TOPIC));
+
+    var internalAttributes = topicService.findTopicsInternalAttributes(List.of(1L, 2L, 3L));
+
+    assertThat(internalAttributes).containsExactly("first-internal", "second-internal", "");
+    verify(topicControllerApi, times(1)).getAllActiveTopics();
+  }
+}
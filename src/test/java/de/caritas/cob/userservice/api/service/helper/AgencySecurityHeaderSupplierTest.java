@@ -5,19 +5,19 @@ import static de.caritas.cob.userservice.api.testHelper.TestConstants.AGENCY_ID;
 import static de.caritas.cob.userservice.api.testHelper.TestConstants.AGENCY_ID_LIST;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.caritas.cob.userservice.agencyserivce.generated.web.AgencyControllerApi;
 import de.caritas.cob.userservice.agencyserivce.generated.web.model.AgencyResponseDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.AgencyDTO;
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
 import de.caritas.cob.userservice.api.config.apiclient.AgencyServiceApiControllerFactory;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
 import de.caritas.cob.userservice.api.service.httpheader.SecurityHeaderSupplier;
 import de.caritas.cob.userservice.api.service.httpheader.TenantHeaderSupplier;
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
@@ -30,7 +30,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.context.request.RequestContextHolder;
 
@@ -38,11 +39,6 @@ import org.springframework.web.context.request.RequestContextHolder;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class AgencySecurityHeaderSupplierTest {
 
-  private final String GET_AGENCY_METHOD_NAME = "getAgency";
-  private final String GET_AGENCIES_METHOD_NAME = "getAgencies";
-  private final Class<?>[] GET_AGENCY_METHOD_PARAMS = new Class[] {Long.class};
-  private final Class<?>[] GET_AGENCIES_METHOD_PARAMS = new Class[] {List.class};
-
   @InjectMocks private AgencyService agencyService;
 
   @Mock private AgencyControllerApi agencyControllerApi;
@@ -55,6 +51,8 @@ class AgencySecurityHeaderSupplierTest {
 
   @Mock private AgencyServiceApiControllerFactory agencyServiceApiControllerFactory;
 
+  @Mock private CacheManager cacheManager;
+
   @BeforeEach
   void setup() throws NoSuchFieldException, SecurityException {
     when(agencyServiceApiControllerFactory.createControllerApi()).thenReturn(agencyControllerApi);
@@ -83,22 +81,18 @@ class AgencySecurityHeaderSupplierTest {
     resetRequestAttributes();
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
   @Test
-  void test_Should_Fail_When_MethodgetAgenciesFromAgencyServiceDoesNotHaveCacheableAnnotation()
-      throws NoSuchMethodException, SecurityException {
-
-    AgencyService agencyService =
-        new AgencyService(
-            mock(SecurityHeaderSupplier.class),
-            mock(TenantHeaderSupplier.class),
-            mock(AgencyServiceApiControllerFactory.class));
-    Class classToTest = agencyService.getClass();
-    Method methodToTest =
-        classToTest.getMethod(GET_AGENCIES_METHOD_NAME, GET_AGENCIES_METHOD_PARAMS);
-    Cacheable annotation = methodToTest.getAnnotation(Cacheable.class);
-
-    assertNotNull(annotation);
+  void getAgencies_Should_serveAgenciesFromCache_When_requestedAgain() {
+    when(cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE))
+        .thenReturn(new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE));
+    when(agencyControllerApi.getAgenciesByIds(ArgumentMatchers.any()))
+        .thenReturn(this.agencyResponseDTOS);
+
+    agencyService.getAgencies(List.of(AGENCY_ID));
+    agencyService.getAgencies(List.of(AGENCY_ID));
+
+    verify(agencyControllerApi, times(1)).getAgenciesByIds(ArgumentMatchers.any());
+    resetRequestAttributes();
   }
 
   @Test
@@ -111,21 +105,17 @@ class AgencySecurityHeaderSupplierTest {
     resetRequestAttributes();
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
   @Test
-  void test_Should_Fail_When_MethodgetAgencyFromAgencyServiceDoesNotHaveCacheableAnnotation()
-      throws NoSuchMethodException, SecurityException {
-
-    AgencyService agencyService =
-        new AgencyService(
-            mock(SecurityHeaderSupplier.class),
-            mock(TenantHeaderSupplier.class),
-            mock(AgencyServiceApiControllerFactory.class));
-    Class classToTest = agencyService.getClass();
-    Method methodToTest = classToTest.getMethod(GET_AGENCY_METHOD_NAME, GET_AGENCY_METHOD_PARAMS);
-    Cacheable annotation = methodToTest.getAnnotation(Cacheable.class);
-
-    assertNotNull(annotation);
+  void getAgency_Should_serveAgencyFromCache_When_requestedAgain() {
+    when(cacheManager.getCache(CacheManagerConfig.AGENCY_CACHE))
+        .thenReturn(new ConcurrentMapCache(CacheManagerConfig.AGENCY_CACHE));
+    when(agencyControllerApi.getAgenciesByIds(ArgumentMatchers.any()))
+        .thenReturn(this.agencyResponseDTOS);
+
+    agencyService.getAgency(AGENCY_ID);
+    agencyService.getAgency(AGENCY_ID);
+
+    verify(agencyControllerApi, times(1)).getAgenciesByIds(ArgumentMatchers.any());
     resetRequestAttributes();
   }
 
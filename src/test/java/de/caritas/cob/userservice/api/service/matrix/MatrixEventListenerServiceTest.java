@@ -0,0 +1,175 @@
+package de.caritas.cob.userservice.api.service.matrix;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.adapters.matrix.MatrixSynapseService;
+import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import de.caritas.cob.userservice.api.config.CacheManagerConfig;
+import de.caritas.cob.userservice.api.model.Session;
+import de.caritas.cob.userservice.api.model.User;
+import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
+import de.caritas.cob.userservice.api.port.out.SessionRepository;
+import de.caritas.cob.userservice.api.port.out.UserRepository;
+import de.caritas.cob.userservice.api.service.liveevents.LiveEventNotificationService;
+import de.caritas.cob.userservice.api.service.notification.EventNotificationService;
+import de.caritas.cob.userservice.api.service.session.SessionService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class MatrixEventListenerServiceTest {
+
+  private static final String ROOM_ID = "!room:matrix";
+  private static final String MATRIX_USER_ID = "@user:matrix";
+
+  @Mock private MatrixSynapseService matrixSynapseService;
+  @Mock private SessionService sessionService;
+  @Mock private LiveEventNotificationService liveEventNotificationService;
+  @Mock private EventNotificationService eventNotificationService;
+  @Mock private RedisMessageMirrorService redisMessageMirrorService;
+  @Mock private UserRepository userRepository;
+  @Mock private ConsultantRepository consultantRepository;
+  @Mock private SessionRepository sessionRepository;
+  @Mock private MatrixSyncStateService matrixSyncStateService;
+
+  private MatrixEventListenerService matrixEventListenerService;
+
+  @BeforeEach
+  void setup() {
+    matrixEventListenerService =
+        new MatrixEventListenerService(
+            matrixSynapseService,
+            sessionService,
+            liveEventNotificationService,
+            eventNotificationService,
+            redisMessageMirrorService,
+            userRepository,
+            consultantRepository,
+            sessionRepository,
+            matrixSyncStateService,
+            new ConcurrentMapCacheManager(
+                CacheManagerConfig.MATRIX_ROOM_CACHE,
+                CacheManagerConfig.MATRIX_UNKNOWN_ROOM_CACHE),
+            new MatrixConfig());
+  }
+
+  @Test
+  void processMatrixSyncEvents_Should_lookUpUnknownRoomOnlyOnce() {
+    when(sessionRepository.findByMatrixRoomId(ROOM_ID)).thenReturn(Optional.empty());
+
+    matrixEventListenerService.processMatrixSyncEvents(syncResult());
+    matrixEventListenerService.processMatrixSyncEvents(syncResult());
+
+    verify(sessionRepository, times(1)).findByMatrixRoomId(ROOM_ID);
+  }
+
+  @Test
+  void processMatrixSyncEvents_Should_lookUpKnownRoomOnlyOnce() {
+    var session = new Session();
+    session.setId(1L);
+    when(sessionRepository.findByMatrixRoomId(ROOM_ID)).thenReturn(Optional.of(session));
+
+    matrixEventListenerService.processMatrixSyncEvents(syncResult());
+    matrixEventListenerService.processMatrixSyncEvents(syncResult());
+
+    verify(sessionRepository, times(1)).findByMatrixRoomId(ROOM_ID);
+  }
+
+  @Test
+  void processMatrixSyncEvents_Should_notLookUpRoom_When_roomWasRegistered() {
+    matrixEventListenerService.registerRoom(1L, ROOM_ID, Set.of("userId"));
+
+    matrixEventListenerService.processMatrixSyncEvents(syncResult());
+
+    verifyNoInteractions(sessionRepository);
+  }
+
+  @Test
+  void processMatrixSyncEvents_Should_lookUpRoomAgain_When_roomWasUnregistered() {
+    matrixEventListenerService.registerRoom(1L, ROOM_ID, Set.of("userId"));
+    matrixEventListenerService.unregisterRoom(ROOM_ID);
+    when(sessionRepository.findByMatrixRoomId(ROOM_ID)).thenReturn(Optional.empty());
+
+    matrixEventListenerService.processMatrixSyncEvents(syncResult());
+
+    verify(sessionRepository).findByMatrixRoomId(ROOM_ID);
+  }
+
+  @Test
+  void processMatrixSyncEvents_Should_resolveSendersOnceAndUpdateLatestMessageDateOncePerRoom() {
+    var user = new User();
+    user.setUserId("userId");
+    user.setMatrixUserId(MATRIX_USER_ID);
+    when(userRepository.findByMatrixUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    matrixEventListenerService.registerRoom(1L, ROOM_ID, Set.of("userId"));
+
+    matrixEventListenerService.processMatrixSyncEvents(
+        syncResult(message("$1", 1_000L), message("$2", 2_000L)));
+
+    verify(userRepository).findByMatrixUserIdInAndDeleteDateIsNull(Set.of(MATRIX_USER_ID));
+    verify(consultantRepository).findByMatrixUserIdInAndDeleteDateIsNull(Set.of(MATRIX_USER_ID));
+    verify(sessionRepository).updateLatestMessageDate(eq(1L), any(LocalDateTime.class));
+    verifyNoInteractions(eventNotificationService, liveEventNotificationService);
+  }
+
+  @Test
+  void processMatrixSyncEvents_Should_loadRecipientsOfCallInvite_When_cachedRoomHasNoRecipients() {
+    matrixEventListenerService.registerRoom(1L, ROOM_ID, Set.of());
+    when(sessionRepository.findByMatrixRoomId(ROOM_ID)).thenReturn(Optional.empty());
+
+    matrixEventListenerService.processMatrixSyncEvents(syncResult(callInvite()));
+
+    verify(sessionRepository).findByMatrixRoomId(ROOM_ID);
+  }
+
+  private Map<String, Object> syncResult() {
+    return Map.of("rooms", Map.of("join", Map.of(ROOM_ID, Map.of())));
+  }
+
+  @SafeVarargs
+  private Map<String, Object> syncResult(Map<String, Object>... events) {
+    return Map.of(
+        "rooms",
+        Map.of("join", Map.of(ROOM_ID, Map.of("timeline", Map.of("events", List.of(events))))));
+  }
+
+  private Map<String, Object> callInvite() {
+    return Map.of(
+        "type",
+        "m.call.invite",
+        "sender",
+        MATRIX_USER_ID,
+        "content",
+        Map.of("call_id", "callId", "lifetime", 60_000));
+  }
+
+  private Map<String, Object> message(String eventId, long timestamp) {
+    return Map.of(
+        "type",
+        "m.room.message",
+        "sender",
+        MATRIX_USER_ID,
+        "event_id",
+        eventId,
+        "origin_server_ts",
+        timestamp,
+        "content",
+        Map.of("msgtype", "m.text", "body", "message"));
+  }
+}
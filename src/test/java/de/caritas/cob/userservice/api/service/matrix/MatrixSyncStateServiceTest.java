@@ -0,0 +1,78 @@
+package de.caritas.cob.userservice.api.service.matrix;
+
+import static de.caritas.cob.userservice.api.service.matrix.MatrixSyncStateService.ADMIN_SYNC_STATE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.caritas.cob.userservice.api.adapters.matrix.config.MatrixConfig;
+import de.caritas.cob.userservice.api.model.MatrixSyncState;
+import de.caritas.cob.userservice.api.port.out.MatrixSyncStateRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MatrixSyncStateServiceTest {
+
+  @InjectMocks private MatrixSyncStateService matrixSyncStateService;
+  @Mock private MatrixSyncStateRepository matrixSyncStateRepository;
+  @Mock private MatrixConfig matrixConfig;
+
+  @Test
+  void tryAcquireLease_Should_ReturnTrue_When_LeaseIsGranted() {
+    when(matrixConfig.getSyncLeaseTtlMs()).thenReturn(90_000L);
+    when(matrixSyncStateRepository.acquireLease(
+            eq(ADMIN_SYNC_STATE_ID), eq(matrixSyncStateService.getNodeId()), any(), any()))
+        .thenReturn(1);
+
+    assertTrue(matrixSyncStateService.tryAcquireLease());
+    verify(matrixSyncStateRepository, never()).save(any());
+  }
+
+  @Test
+  void tryAcquireLease_Should_ReturnFalse_When_LeaseIsHeldByAnotherNode() {
+    when(matrixConfig.getSyncLeaseTtlMs()).thenReturn(90_000L);
+    when(matrixSyncStateRepository.acquireLease(any(), any(), any(), any())).thenReturn(0);
+    when(matrixSyncStateRepository.existsById(ADMIN_SYNC_STATE_ID)).thenReturn(true);
+
+    assertFalse(matrixSyncStateService.tryAcquireLease());
+    verify(matrixSyncStateRepository, never()).save(any());
+  }
+
+  @Test
+  void tryAcquireLease_Should_CreateSyncState_When_NoSyncStateExists() {
+    when(matrixConfig.getSyncLeaseTtlMs()).thenReturn(90_000L);
+    when(matrixSyncStateRepository.acquireLease(any(), any(), any(), any())).thenReturn(0, 1);
+    when(matrixSyncStateRepository.existsById(ADMIN_SYNC_STATE_ID)).thenReturn(false);
+
+    assertTrue(matrixSyncStateService.tryAcquireLease());
+    verify(matrixSyncStateRepository).save(any(MatrixSyncState.class));
+  }
+
+  @Test
+  void loadSyncToken_Should_ReturnStoredToken() {
+    var syncState = MatrixSyncState.builder().id(ADMIN_SYNC_STATE_ID).syncToken("s42").build();
+    when(matrixSyncStateRepository.findById(ADMIN_SYNC_STATE_ID))
+        .thenReturn(Optional.of(syncState));
+
+    assertEquals(Optional.of("s42"), matrixSyncStateService.loadSyncToken());
+  }
+
+  @Test
+  void saveSyncToken_Should_ReturnFalse_When_LeaseHasBeenLost() {
+    when(matrixSyncStateRepository.updateSyncToken(
+            eq(ADMIN_SYNC_STATE_ID), eq(matrixSyncStateService.getNodeId()), eq("s43"), any()))
+        .thenReturn(0);
+
+    assertFalse(matrixSyncStateService.saveSyncToken("s43"));
+  }
+}
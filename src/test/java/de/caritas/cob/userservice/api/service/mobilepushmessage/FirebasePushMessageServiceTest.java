@@ -1,5 +1,6 @@
 package de.caritas.cob.userservice.api.service.mobilepushmessage;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -13,9 +14,15 @@ import static org.powermock.reflect.Whitebox.setInternalState;
 import static org.springframework.test.util.ReflectionTestUtils.getField;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
 import de.caritas.cob.userservice.api.service.LogService;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -60,33 +67,96 @@ public class FirebasePushMessageServiceTest {
   }
 
   @Test
-  public void pushMessage_Should_pushFirebaseMessage() throws FirebaseMessagingException {
+  public void pushMessages_Should_sendMulticastMessagesOfAtMost500Tokens()
+      throws FirebaseMessagingException {
     setField(this.firebasePushMessageService, "isEnabled", true);
+    var tokens = IntStream.range(0, 1001).mapToObj(i -> "token" + i).collect(Collectors.toList());
+    var batchResponse = mock(BatchResponse.class);
+    when(batchResponse.getResponses()).thenReturn(List.of());
+    when(this.firebaseMessaging.sendEachForMulticast(any())).thenReturn(batchResponse);
+
+    var invalidTokens = this.firebasePushMessageService.pushNewMessageEvents(tokens);
+
+    verify(this.firebaseMessaging, times(3)).sendEachForMulticast(any());
+    assertThat(invalidTokens).isEmpty();
+  }
 
-    this.firebasePushMessageService.pushNewMessageEvent("registrationToken");
+  @Test
+  public void pushMessages_Should_returnTokens_When_firebaseReportsThemAsUnregistered()
+      throws FirebaseMessagingException {
+    setField(this.firebasePushMessageService, "isEnabled", true);
+    var responses =
+        List.of(
+            successfulResponse(),
+            failedResponse(MessagingErrorCode.UNREGISTERED),
+            failedResponse(MessagingErrorCode.INVALID_ARGUMENT),
+            failedResponse(MessagingErrorCode.UNAVAILABLE));
+    var batchResponse = mock(BatchResponse.class);
+    when(batchResponse.getSuccessCount()).thenReturn(1);
+    when(batchResponse.getResponses()).thenReturn(responses);
+    when(this.firebaseMessaging.sendEachForMulticast(any())).thenReturn(batchResponse);
+
+    var invalidTokens =
+        this.firebasePushMessageService.pushNewMessageEvents(
+            List.of("valid", "unregistered", "invalid", "unavailable"));
+
+    assertThat(invalidTokens).containsExactlyInAnyOrder("unregistered", "invalid");
+  }
 
-    verify(this.firebaseMessaging, times(1)).send(any());
-    verifyNoMoreInteractions(logger);
+  @Test
+  public void pushMessages_Should_notReturnTokens_When_allTokensFailWithInvalidArgument()
+      throws FirebaseMessagingException {
+    setField(this.firebasePushMessageService, "isEnabled", true);
+    var responses =
+        List.of(
+            failedResponse(MessagingErrorCode.INVALID_ARGUMENT),
+            failedResponse(MessagingErrorCode.INVALID_ARGUMENT));
+    var batchResponse = mock(BatchResponse.class);
+    when(batchResponse.getSuccessCount()).thenReturn(0);
+    when(batchResponse.getResponses()).thenReturn(responses);
+    when(this.firebaseMessaging.sendEachForMulticast(any())).thenReturn(batchResponse);
+
+    var invalidTokens =
+        this.firebasePushMessageService.pushNewMessageEvents(List.of("token1", "token2"));
+
+    assertThat(invalidTokens).isEmpty();
   }
 
   @Test
-  public void pushMessage_Should_logWarning_When_sendFails() throws FirebaseMessagingException {
+  public void pushMessages_Should_logWarning_When_sendFails() throws FirebaseMessagingException {
     setField(this.firebasePushMessageService, "isEnabled", true);
     FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
-    when(this.firebaseMessaging.send(any())).thenThrow(exception);
+    when(this.firebaseMessaging.sendEachForMulticast(any())).thenThrow(exception);
 
-    this.firebasePushMessageService.pushNewMessageEvent("registrationToken");
+    var invalidTokens =
+        this.firebasePushMessageService.pushNewMessageEvents(List.of("registrationToken"));
 
     verify(logger, times(1)).warn(anyString());
+    assertThat(invalidTokens).isEmpty();
   }
 
   @Test
-  public void pushMessage_Should_notSendNotification_When_firebaseIsDisabled()
-      throws FirebaseMessagingException {
+  public void pushMessages_Should_notSendNotification_When_firebaseIsDisabled() {
     setField(this.firebasePushMessageService, "isEnabled", false);
 
-    this.firebasePushMessageService.pushNewMessageEvent("registrationToken");
+    var invalidTokens =
+        this.firebasePushMessageService.pushNewMessageEvents(List.of("registrationToken"));
 
     verifyNoMoreInteractions(this.firebaseMessaging);
+    assertThat(invalidTokens).isEmpty();
+  }
+
+  private SendResponse successfulResponse() {
+    var sendResponse = mock(SendResponse.class);
+    when(sendResponse.isSuccessful()).thenReturn(true);
+    return sendResponse;
+  }
+
+  private SendResponse failedResponse(MessagingErrorCode errorCode) {
+    var exception = mock(FirebaseMessagingException.class);
+    when(exception.getMessagingErrorCode()).thenReturn(errorCode);
+    var sendResponse = mock(SendResponse.class);
+    when(sendResponse.getException()).thenReturn(exception);
+    return sendResponse;
   }
 }
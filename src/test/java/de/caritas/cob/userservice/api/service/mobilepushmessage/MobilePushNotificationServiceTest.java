@@ -2,27 +2,25 @@ package de.caritas.cob.userservice.api.service.mobilepushmessage;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.times;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import de.caritas.cob.userservice.api.model.Consultant;
-import de.caritas.cob.userservice.api.model.ConsultantMobileToken;
-import de.caritas.cob.userservice.api.model.User;
-import de.caritas.cob.userservice.api.model.UserMobileToken;
-import de.caritas.cob.userservice.api.service.ConsultantService;
-import de.caritas.cob.userservice.api.service.user.UserService;
+import de.caritas.cob.userservice.api.port.out.ConsultantMobileTokenRepository;
+import de.caritas.cob.userservice.api.port.out.UserMobileTokenRepository;
+import de.caritas.cob.userservice.api.port.out.UserRepository;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -32,116 +30,76 @@ class MobilePushNotificationServiceTest {
 
   @InjectMocks private MobilePushNotificationService mobilePushNotificationService;
 
-  @Mock private UserService userService;
+  @Mock private UserRepository userRepository;
 
-  @Mock private ConsultantService consultantService;
+  @Mock private UserMobileTokenRepository userMobileTokenRepository;
 
-  @Mock private FirebasePushMessageService firebasePushMessageService;
-
-  @Test
-  void sendLiveDirectMessageEventToUsers_Should_sendPushMessage_When_usersHaveMobileToken() {
-    var user = new User();
-    user.setMobileToken("mobileToken");
-    when(this.userService.getUser(anyString())).thenReturn(Optional.of(user));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2"));
-
-    verify(this.firebasePushMessageService, times(2)).pushNewMessageEvent("mobileToken");
-  }
-
-  @Test
-  void sendLiveDirectMessageEventToUsers_Should_sendPushMessageOnlyToUsersWithMobileToken() {
-    var user = new User();
-    user.setMobileToken("mobileToken");
-    when(this.userService.getUser("1")).thenReturn(Optional.of(user));
-    when(this.userService.getUser("2")).thenReturn(Optional.of(new User()));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2"));
-
-    verify(this.firebasePushMessageService, times(1)).pushNewMessageEvent("mobileToken");
-  }
-
-  @Test
-  void sendLiveDirectMessageEventToUsers_Should_notSendPushMessage_When_noUserHasMobileToken() {
-    when(this.userService.getUser(any())).thenReturn(Optional.of(new User()));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2"));
-
-    verifyNoInteractions(this.firebasePushMessageService);
-  }
-
-  @Test
-  void sendLiveDirectMessageEventToUsers_Should_notSendPushMessage_When_userIdsAreEmpty() {
-    this.mobilePushNotificationService.triggerMobilePushNotification(emptyList());
+  @Mock private ConsultantMobileTokenRepository consultantMobileTokenRepository;
 
-    verifyNoInteractions(this.firebasePushMessageService);
-  }
+  @Mock private FirebasePushMessageService firebasePushMessageService;
 
-  @Test
-  void
-      sendLiveDirectMessageEventToUsers_Should_sendPushMessageToAllDevices_When_usersHaveMultipleMobileTokensIncludingU25MobileTOken() {
-    var user = new EasyRandom().nextObject(User.class);
-    var allUserMobileTokens =
-        Stream.concat(
-                Stream.of(user.getMobileToken()),
-                user.getUserMobileTokens().stream().map(UserMobileToken::getMobileAppToken))
-            .collect(Collectors.toList());
-    when(this.userService.getUser(anyString())).thenReturn(Optional.of(user));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(List.of("user id"));
-
-    verify(this.firebasePushMessageService, times(allUserMobileTokens.size()))
-        .pushNewMessageEvent(anyString());
-  }
+  @Captor private ArgumentCaptor<Collection<String>> tokensCaptor;
 
   @Test
-  void
-      sendLiveDirectMessageEventToUsers_Should_sendPushMessageToAllDevices_When_usersHaveMultipleMobileTokens() {
-    var user = new EasyRandom().nextObject(User.class);
-    user.setMobileToken(null);
-    var allUserMobileTokens =
-        user.getUserMobileTokens().stream()
-            .map(UserMobileToken::getMobileAppToken)
-            .collect(Collectors.toList());
-    when(this.userService.getUser(anyString())).thenReturn(Optional.of(user));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(List.of("user id"));
-
-    verify(this.firebasePushMessageService, times(allUserMobileTokens.size()))
-        .pushNewMessageEvent(anyString());
+  void triggerMobilePushNotification_Should_sendAllTokensOfUsersAndConsultantsInOneBatch() {
+    when(this.userRepository.findMobileTokensByUserIds(Set.of("1", "2")))
+        .thenReturn(List.of("userToken"));
+    when(this.userMobileTokenRepository.findMobileAppTokensByUserIds(Set.of("1", "2")))
+        .thenReturn(List.of("userAppToken1", "userAppToken2"));
+    when(this.consultantMobileTokenRepository.findMobileAppTokensByConsultantIds(Set.of("1", "2")))
+        .thenReturn(List.of("consultantAppToken"));
+    when(this.firebasePushMessageService.pushNewMessageEvents(anyCollection()))
+        .thenReturn(emptySet());
+
+    this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2", "1"));
+
+    verify(this.firebasePushMessageService).pushNewMessageEvents(tokensCaptor.capture());
+    assertThat(tokensCaptor.getValue())
+        .containsExactly("userToken", "userAppToken1", "userAppToken2", "consultantAppToken");
+    verify(this.userRepository, never()).removeMobileTokens(any());
   }
 
   @Test
-  void sendLiveDirectMessageEventToUsers_Should_sendPushMessage_When_consultantsHaveMobileToken() {
-    var consultant = new Consultant();
-    var consultantMobileToken = new ConsultantMobileToken();
-    consultantMobileToken.setMobileAppToken("mobileToken");
-    consultant.setConsultantMobileTokens(Set.of(consultantMobileToken));
-    when(this.consultantService.getConsultant(anyString())).thenReturn(Optional.of(consultant));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2"));
-
-    verify(this.firebasePushMessageService, times(2)).pushNewMessageEvent("mobileToken");
+  void triggerMobilePushNotification_Should_sendEachTokenOnlyOnceAndSkipBlankTokens() {
+    when(this.userRepository.findMobileTokensByUserIds(Set.of("1")))
+        .thenReturn(List.of("token", " "));
+    when(this.userMobileTokenRepository.findMobileAppTokensByUserIds(Set.of("1")))
+        .thenReturn(List.of("token"));
+    when(this.consultantMobileTokenRepository.findMobileAppTokensByConsultantIds(Set.of("1")))
+        .thenReturn(emptyList());
+    when(this.firebasePushMessageService.pushNewMessageEvents(anyCollection()))
+        .thenReturn(emptySet());
+
+    this.mobilePushNotificationService.triggerMobilePushNotification(List.of("1"));
+
+    verify(this.firebasePushMessageService).pushNewMessageEvents(tokensCaptor.capture());
+    assertThat(tokensCaptor.getValue()).containsExactly("token");
   }
 
   @Test
-  void sendLiveDirectMessageEventToUsers_Should_sendPushMessageOnlyToConsultantsWithMobileToken() {
-    var consultant = new Consultant();
-    var consultantMobileToken = new ConsultantMobileToken();
-    consultantMobileToken.setMobileAppToken("mobileToken");
-    consultant.setConsultantMobileTokens(Set.of(consultantMobileToken));
-    when(this.consultantService.getConsultant("1")).thenReturn(Optional.of(consultant));
-    when(this.consultantService.getConsultant("2")).thenReturn(Optional.of(new Consultant()));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2"));
-
-    verify(this.firebasePushMessageService, times(1)).pushNewMessageEvent("mobileToken");
+  void triggerMobilePushNotification_Should_removeTokens_When_firebaseRejectsThem() {
+    when(this.userRepository.findMobileTokensByUserIds(any())).thenReturn(List.of("token1"));
+    when(this.userMobileTokenRepository.findMobileAppTokensByUserIds(any()))
+        .thenReturn(List.of("token2"));
+    when(this.consultantMobileTokenRepository.findMobileAppTokensByConsultantIds(any()))
+        .thenReturn(List.of("token3"));
+    when(this.firebasePushMessageService.pushNewMessageEvents(anyCollection()))
+        .thenReturn(Set.of("token2"));
+
+    this.mobilePushNotificationService.triggerMobilePushNotification(List.of("1"));
+
+    verify(this.userRepository).removeMobileTokens(Set.of("token2"));
+    verify(this.userMobileTokenRepository).deleteByMobileAppTokens(Set.of("token2"));
+    verify(this.consultantMobileTokenRepository).deleteByMobileAppTokens(Set.of("token2"));
   }
 
   @Test
-  void
-      sendLiveDirectMessageEventToUsers_Should_notSendPushMessage_When_noConsultantHasMobileToken() {
-    when(this.consultantService.getConsultant(any())).thenReturn(Optional.of(new Consultant()));
+  void triggerMobilePushNotification_Should_notSendPushMessage_When_noUserHasMobileToken() {
+    when(this.userRepository.findMobileTokensByUserIds(any())).thenReturn(emptyList());
+    when(this.userMobileTokenRepository.findMobileAppTokensByUserIds(any()))
+        .thenReturn(emptyList());
+    when(this.consultantMobileTokenRepository.findMobileAppTokensByConsultantIds(any()))
+        .thenReturn(emptyList());
 
     this.mobilePushNotificationService.triggerMobilePushNotification(asList("1", "2"));
 
@@ -149,18 +107,13 @@ class MobilePushNotificationServiceTest {
   }
 
   @Test
-  void
-      sendLiveDirectMessageEventToUsers_Should_sendPushMessageToAllDevices_When_consultantsHaveMultipleMobileTokens() {
-    var consultant = new EasyRandom().nextObject(Consultant.class);
-    var allConsultantMobileTokens =
-        consultant.getConsultantMobileTokens().stream()
-            .map(ConsultantMobileToken::getMobileAppToken)
-            .collect(Collectors.toList());
-    when(this.consultantService.getConsultant(anyString())).thenReturn(Optional.of(consultant));
-
-    this.mobilePushNotificationService.triggerMobilePushNotification(List.of("consultant id"));
-
-    verify(this.firebasePushMessageService, times(allConsultantMobileTokens.size()))
-        .pushNewMessageEvent(anyString());
+  void triggerMobilePushNotification_Should_notSendPushMessage_When_userIdsAreEmpty() {
+    this.mobilePushNotificationService.triggerMobilePushNotification(emptyList());
+
+    verifyNoInteractions(
+        this.userRepository,
+        this.userMobileTokenRepository,
+        this.consultantMobileTokenRepository,
+        this.firebasePushMessageService);
   }
 }
@@ -66,12 +66,16 @@ import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.Session.SessionStatus;
 import de.caritas.cob.userservice.api.model.User;
 import de.caritas.cob.userservice.api.port.out.ConsultantTopicRepository;
+import de.caritas.cob.userservice.api.port.out.GroupChatParticipantRepository;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
+import de.caritas.cob.userservice.api.port.out.SessionSupervisorRepository;
 import de.caritas.cob.userservice.api.service.ConsultantService;
 import de.caritas.cob.userservice.api.service.LogService;
 import de.caritas.cob.userservice.api.service.agency.AgencyService;
 import de.caritas.cob.userservice.api.service.user.UserService;
 import de.caritas.cob.userservice.api.testHelper.TestConstants;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -88,6 +92,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -192,6 +197,8 @@ class SessionServiceTest {
   @Mock private ConsultantService consultantService;
   @Mock private ConsultingTypeManager consultingTypeManager;
   @Mock UserService userService;
+  @Mock private GroupChatParticipantRepository groupChatParticipantRepository;
+  @Mock private SessionSupervisorRepository sessionSupervisorRepository;
 
   private final EasyRandom easyRandom = new EasyRandom();
 
@@ -287,7 +294,7 @@ class SessionServiceTest {
     List<Session> sessions = new ArrayList<>();
     sessions.add(ACCEPTED_SESSION);
 
-    when(sessionRepository.findByUserUserId(USER_ID)).thenReturn(sessions);
+    when(sessionRepository.findWithSessionDataByUserUserId(USER_ID)).thenReturn(sessions);
     when(agencyService.getAgencies(any())).thenThrow(new InternalServerErrorException(""));
 
     try {
@@ -304,7 +311,7 @@ class SessionServiceTest {
     List<Session> sessions = new ArrayList<>();
     sessions.add(ACCEPTED_SESSION);
 
-    when(sessionRepository.findByUserUserId(USER_ID)).thenReturn(sessions);
+    when(sessionRepository.findWithSessionDataByUserUserId(USER_ID)).thenReturn(sessions);
     when(agencyService.getAgencies(any())).thenReturn(AGENCY_DTO_LIST);
 
     assertThat(
@@ -360,26 +367,6 @@ class SessionServiceTest {
         everyItem(instanceOf(ConsultantSessionResponseDTO.class)));
   }
 
-  @Test
-  void
-      getEnquiriesForConsultant_Should_ReturnListOfConsultantSessionResponseDTO_WhenProvidedWithValidConsultantAndStatusInProgress() {
-
-    when(sessionRepository.findByConsultantAndStatus(any(), any()))
-        .thenReturn(SESSION_LIST_WITH_CONSULTANT);
-
-    assertThat(
-        sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT),
-        everyItem(instanceOf(ConsultantSessionResponseDTO.class)));
-
-    verify(sessionRepository, times(1))
-        .findByConsultantAndStatus(any(), eq(SessionStatus.IN_PROGRESS));
-    verify(sessionRepository, times(1)).findByConsultantAndStatus(any(), eq(SessionStatus.DONE));
-    verify(sessionRepository, never())
-        .findByConsultantAndStatus(any(), eq(SessionStatus.IN_ARCHIVE));
-    verify(sessionRepository, never()).findByConsultantAndStatus(any(), eq(SessionStatus.INITIAL));
-    verify(sessionRepository, never()).findByConsultantAndStatus(any(), eq(SessionStatus.NEW));
-  }
-
   @Test
   void getSessionByGroupIdAndUser_Should_ReturnSession_WhenAskerIsSessionOwner() {
     Session session = easyRandom.nextObject(Session.class);
@@ -525,7 +512,7 @@ class SessionServiceTest {
   @Test
   void fetchSessionForConsultant_Should_ThrowNotFoundException_When_SessionIsNotFound() {
 
-    when(sessionRepository.findById(SESSION_ID)).thenReturn(Optional.empty());
+    when(sessionRepository.findWithTopicsById(SESSION_ID)).thenReturn(Optional.empty());
 
     assertThrows(
         NotFoundException.class,
@@ -538,7 +525,7 @@ class SessionServiceTest {
     Session session = easyRandom.nextObject(Session.class);
     session.setConsultant(CONSULTANT_WITH_AGENCY);
     session.setUser(USER_WITH_RC_ID);
-    when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+    when(sessionRepository.findWithTopicsById(session.getId())).thenReturn(Optional.of(session));
 
     ConsultantSessionDTO result =
         sessionService.fetchSessionForConsultant(session.getId(), CONSULTANT_WITH_AGENCY);
@@ -570,7 +557,7 @@ class SessionServiceTest {
     Session session = easyRandom.nextObject(Session.class);
     session.setConsultant(CONSULTANT_WITH_AGENCY);
     session.setUser(USER_WITH_RC_ID);
-    when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+    when(sessionRepository.findWithTopicsById(session.getId())).thenReturn(Optional.of(session));
 
     ConsultantSessionDTO result =
         sessionService.fetchSessionForConsultant(session.getId(), CONSULTANT_WITH_AGENCY);
@@ -593,7 +580,7 @@ class SessionServiceTest {
     Session session = easyRandom.nextObject(Session.class);
     session.setConsultant(CONSULTANT_WITH_AGENCY);
     session.setUser(USER_WITH_RC_ID);
-    when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+    when(sessionRepository.findWithTopicsById(session.getId())).thenReturn(Optional.of(session));
 
     sessionService.fetchSessionForConsultant(session.getId(), CONSULTANT_WITH_AGENCY);
 
@@ -614,7 +601,7 @@ class SessionServiceTest {
     session.setTeamSession(true);
     session.setAgencyId(AGENCY_3);
     Long sessionId = session.getId();
-    when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+    when(sessionRepository.findWithTopicsById(sessionId)).thenReturn(Optional.of(session));
 
     assertThrows(
         ForbiddenException.class,
@@ -629,7 +616,7 @@ class SessionServiceTest {
     session.setUser(USER_WITH_RC_ID);
     session.setAgencyId(
         CONSULTANT_WITH_AGENCY.getConsultantAgencies().iterator().next().getAgencyId());
-    when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+    when(sessionRepository.findWithTopicsById(session.getId())).thenReturn(Optional.of(session));
 
     assertNotNull(
         sessionService.fetchSessionForConsultant(session.getId(), CONSULTANT_WITH_AGENCY));
@@ -645,7 +632,7 @@ class SessionServiceTest {
     session.setTeamSession(true);
     session.setAgencyId(
         CONSULTANT_WITH_AGENCY.getConsultantAgencies().iterator().next().getAgencyId());
-    when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+    when(sessionRepository.findWithTopicsById(session.getId())).thenReturn(Optional.of(session));
 
     assertNotNull(
         sessionService.fetchSessionForConsultant(session.getId(), CONSULTANT_WITH_AGENCY));
@@ -703,7 +690,8 @@ class SessionServiceTest {
       getSessionsForUser_Should_ReturnListOfUserSessionResponseDTOWithoutAgency_When_sessionHasNoAgencyAssigned() {
     Session session = easyRandom.nextObject(Session.class);
     session.setAgencyId(null);
-    when(sessionRepository.findByUserUserId(USER_ID)).thenReturn(singletonList(session));
+    when(sessionRepository.findWithSessionDataByUserUserId(USER_ID))
+        .thenReturn(singletonList(session));
 
     List<UserSessionResponseDTO> sessionsForUserId = sessionService.getSessionsForUserId(USER_ID);
 
@@ -711,18 +699,71 @@ class SessionServiceTest {
   }
 
   @Test
-  void
-      getActiveAndDoneSessionsForConsultant_Should_ReturnListOfActiveAndDoneSessions_When_statusInProgress() {
+  void getActiveAndDoneSessionsForConsultant_Should_LoadOnlyRequestedNumberOfSessions() {
     Session session = easyRandom.nextObject(Session.class);
-    when(sessionRepository.findByConsultantAndStatus(any(), eq(SessionStatus.IN_PROGRESS)))
-        .thenReturn(List.of(session));
-    when(sessionRepository.findByConsultantAndStatus(any(), eq(SessionStatus.DONE)))
+    var activeAndDoneStatuses = List.of(SessionStatus.IN_PROGRESS, SessionStatus.DONE);
+    when(sessionRepository.findByConsultantAndStatusInOrderByLatestMessageDateDescIdDesc(
+            CONSULTANT, activeAndDoneStatuses, PageRequest.of(0, 15)))
         .thenReturn(List.of(session));
 
     var activeAndDoneSessionsForConsultant =
-        sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT);
+        sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT, 15);
+
+    assertThat(activeAndDoneSessionsForConsultant, hasSize(1));
+    assertEquals(
+        Timestamp.valueOf(session.getLatestMessageDate()),
+        activeAndDoneSessionsForConsultant.get(0).getLatestMessage());
+    verify(sessionSupervisorRepository)
+        .findActiveSupervisedSessionsByConsultantIdAndStatusIn(
+            CONSULTANT_ID, activeAndDoneStatuses, PageRequest.of(0, 15));
+  }
+
+  @Test
+  void
+      getActiveAndDoneSessionsForConsultant_Should_MergeAssignedAndSupervisedSessionsByLatestMessageUpToLimit() {
+    var now = LocalDateTime.now();
+    var assignedSession = sessionWithLatestMessageDate(1L, now.minusHours(1));
+    var olderAssignedSession = sessionWithLatestMessageDate(2L, now.minusHours(3));
+    var supervisedSession = sessionWithLatestMessageDate(3L, now.minusHours(2));
+    var sessionWithoutMessage = sessionWithLatestMessageDate(4L, null);
+    when(sessionRepository.findByConsultantAndStatusInOrderByLatestMessageDateDescIdDesc(
+            any(), any(), any()))
+        .thenReturn(List.of(assignedSession, olderAssignedSession, sessionWithoutMessage));
+    when(sessionSupervisorRepository.findActiveSupervisedSessionsByConsultantIdAndStatusIn(
+            any(), any(), any()))
+        .thenReturn(List.of(assignedSession, supervisedSession, sessionWithoutMessage));
+
+    var activeAndDoneSessionsForConsultant =
+        sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT, 3);
 
-    assertThat(activeAndDoneSessionsForConsultant, hasSize(2));
+    assertThat(activeAndDoneSessionsForConsultant, hasSize(3));
+    assertEquals(1L, activeAndDoneSessionsForConsultant.get(0).getSession().getId());
+    assertEquals(3L, activeAndDoneSessionsForConsultant.get(1).getSession().getId());
+    assertEquals(2L, activeAndDoneSessionsForConsultant.get(2).getSession().getId());
+  }
+
+  private Session sessionWithLatestMessageDate(Long id, LocalDateTime latestMessageDate) {
+    Session session = easyRandom.nextObject(Session.class);
+    session.setId(id);
+    session.setStatus(SessionStatus.IN_PROGRESS);
+    session.setLatestMessageDate(latestMessageDate);
+    return session;
+  }
+
+  @Test
+  void getActiveAndDoneSessionsForConsultant_ShouldNot_QueryRepository_When_LimitIsZero() {
+    var activeAndDoneSessionsForConsultant =
+        sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT, 0);
+
+    assertThat(activeAndDoneSessionsForConsultant, hasSize(0));
+    verifyNoInteractions(sessionRepository);
+  }
+
+  @Test
+  void updateLatestMessageDate_Should_MoveLatestMessageDateOfSessionWithGroupIdForward() {
+    sessionService.updateLatestMessageDate(RC_GROUP_ID);
+
+    verify(sessionRepository).updateLatestMessageDateByGroupId(eq(RC_GROUP_ID), any());
   }
 
   @Test
@@ -791,7 +832,7 @@ class SessionServiceTest {
     Session anonymousEnquiry =
         createAnonymousNewEnquiryWithConsultingType(AGENCY_DTO_SUCHT.getConsultingType());
     anonymousEnquiry.setUser(USER);
-    when(sessionRepository.findByGroupIds(singleton("rcGroupId")))
+    when(sessionRepository.findWithSessionDataByGroupIdIn(singleton("rcGroupId")))
         .thenReturn(singletonList(anonymousEnquiry));
 
     var sessionResponse = getSessionsByUserAndGroupIds(USER_ID);
@@ -804,7 +845,7 @@ class SessionServiceTest {
     Session anonymousEnquiry =
         createAnonymousNewEnquiryWithConsultingType(AGENCY_DTO_SUCHT.getConsultingType());
     anonymousEnquiry.setUser(USER);
-    when(sessionRepository.findByGroupIds(singleton("rcGroupId")))
+    when(sessionRepository.findWithSessionDataByGroupIdIn(singleton("rcGroupId")))
         .thenReturn(singletonList(anonymousEnquiry));
 
     assertThrows(ForbiddenException.class, () -> getSessionsByUserAndGroupIds("someOtherId"));
@@ -820,7 +861,7 @@ class SessionServiceTest {
     Session anonymousEnquiry =
         createAnonymousNewEnquiryWithConsultingType(AGENCY_DTO_SUCHT.getConsultingType());
     anonymousEnquiry.setUser(USER);
-    when(sessionRepository.findAllById(singleton(anonymousEnquiry.getId())))
+    when(sessionRepository.findWithSessionDataByIdIn(singleton(anonymousEnquiry.getId())))
         .thenReturn(singletonList(anonymousEnquiry));
 
     var sessionResponse = getSomeUserId(USER_ID, anonymousEnquiry);
@@ -833,7 +874,7 @@ class SessionServiceTest {
     Session anonymousEnquiry =
         createAnonymousNewEnquiryWithConsultingType(AGENCY_DTO_SUCHT.getConsultingType());
     anonymousEnquiry.setUser(USER);
-    when(sessionRepository.findAllById(singleton(anonymousEnquiry.getId())))
+    when(sessionRepository.findWithSessionDataByIdIn(singleton(anonymousEnquiry.getId())))
         .thenReturn(singletonList(anonymousEnquiry));
 
     assertThrows(ForbiddenException.class, () -> getSomeUserId("someUserId", anonymousEnquiry));
@@ -4,11 +4,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsLastMessageDTO;
+import de.caritas.cob.userservice.api.adapters.rocketchat.dto.room.RoomsUpdateDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.AliasMessageDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.LastMessageDTO;
 import de.caritas.cob.userservice.api.adapters.web.dto.MessageType;
@@ -23,7 +26,9 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
@@ -97,6 +102,22 @@ public class AvailableLastMessageUpdaterTest {
     verify(sessionListAnalyser).prepareMessageForSessionList("message", GROUP_ID);
   }
 
+  @Test
+  public void
+      updateSessionWithAvailableLastMessage_Should_useBatchDecryptedMessage_When_lastMessagesWereDecrypted() {
+    when(roomsLastMessageDTO.getMessage()).thenReturn("encrypted");
+    when(sessionListAnalyser.prepareMessagesForSessionList(Map.of(GROUP_ID, "encrypted")))
+        .thenReturn(Map.of(GROUP_ID, "decrypted"));
+
+    this.availableLastMessageUpdater.decryptLastMessages(
+        List.of(GROUP_ID), this.rocketChatRoomInformation);
+    this.availableLastMessageUpdater.updateSessionWithAvailableLastMessage(
+        session, mock(Consumer.class), this.rocketChatRoomInformation, "");
+
+    assertThat(session.getLastMessage(), is("decrypted"));
+    verify(sessionListAnalyser, never()).prepareMessageForSessionList(any(), any());
+  }
+
   @Test
   public void
       updateSessionWithAvailableLastMessage_Should_setFurtherStepsMessage_When_lasMessageHasFurtherStepsAlias() {
@@ -180,6 +201,24 @@ public class AvailableLastMessageUpdaterTest {
     assertThat(date.get(), is(Timestamp.valueOf(startDateWithTime)));
   }
 
+  @Test
+  public void
+      updateSessionWithAvailableLastMessage_Should_useLastMessageDateOfUpdateRoom_When_newerThanRoomsLastMessage() {
+    var updateRoomDate = new Date(1655730990000L);
+    var updateRoom = new RoomsUpdateDTO();
+    updateRoom.setId(GROUP_ID);
+    updateRoom.setLastMessageDate(updateRoomDate);
+    when(rocketChatRoomInformation.findRoomForUpdate(GROUP_ID)).thenReturn(Optional.of(updateRoom));
+    when(roomsLastMessageDTO.getTimestamp()).thenReturn(new Date(1655730882738L));
+    AtomicReference<Date> date = new AtomicReference<>();
+
+    this.availableLastMessageUpdater.updateSessionWithAvailableLastMessage(
+        session, date::set, this.rocketChatRoomInformation, "rc4711");
+
+    assertThat(date.get(), is(updateRoomDate));
+    assertThat(session.getMessageDate(), is(1655730990L));
+  }
+
   private void givenAnE2eRoomsLastMessage() {
     when(roomsLastMessageDTO.getTimestamp()).thenReturn(new Date(1655730882738L));
     when(roomsLastMessageDTO.getMessage()).thenReturn("e2e_encrypted_message");
@@ -20,11 +20,16 @@ import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatCredentials;
 import de.caritas.cob.userservice.api.adapters.web.dto.ConsultantSessionResponseDTO;
+import de.caritas.cob.userservice.api.adapters.web.dto.SessionDTO;
+import de.caritas.cob.userservice.api.adapters.web.dto.UserChatDTO;
 import de.caritas.cob.userservice.api.container.SessionListQueryParameter;
 import de.caritas.cob.userservice.api.service.ChatService;
 import de.caritas.cob.userservice.api.service.session.SessionFilter;
 import de.caritas.cob.userservice.api.service.session.SessionService;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -58,8 +63,10 @@ class ConsultantSessionListServiceTest {
     when(rocketChatCredentials.getRocketChatToken()).thenReturn(RC_TOKEN);
 
     List<ConsultantSessionResponseDTO> result =
-        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
-            CONSULTANT, createStandardSessionListQueryParameterObject(SESSION_STATUS_NEW));
+        consultantSessionListService
+            .retrieveSessionsForAuthenticatedConsultant(
+                CONSULTANT, createStandardSessionListQueryParameterObject(SESSION_STATUS_NEW))
+            .getSessions();
 
     assertFalse(result.isEmpty());
     assertEquals(CONSULTANT_SESSION_RESPONSE_DTO_LIST.size(), result.size());
@@ -80,8 +87,10 @@ class ConsultantSessionListServiceTest {
     when(rocketChatCredentials.getRocketChatToken()).thenReturn(RC_TOKEN);
 
     List<ConsultantSessionResponseDTO> result =
-        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
-            CONSULTANT, createStandardSessionListQueryParameterObject(SESSION_STATUS_NEW));
+        consultantSessionListService
+            .retrieveSessionsForAuthenticatedConsultant(
+                CONSULTANT, createStandardSessionListQueryParameterObject(SESSION_STATUS_NEW))
+            .getSessions();
 
     assertNull(result.get(0).getChat());
     verify(chatService, never()).getChatsForConsultant(Mockito.any());
@@ -98,13 +107,16 @@ class ConsultantSessionListServiceTest {
         .thenReturn(List.of(CONSULTANT_SESSION_RESPONSE_DTO_WITH_ENCRYPTED_CHAT_MESSAGE));
     when(chatService.getChatsForConsultant(Mockito.any()))
         .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST_WITH_ENCRYPTED_CHAT_MESSAGE);
-    when(sessionService.getActiveAndDoneSessionsForConsultant(Mockito.any()))
+    when(sessionService.getActiveAndDoneSessionsForConsultant(Mockito.any(), eq(COUNT_10)))
         .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
     when(rocketChatCredentials.getRocketChatToken()).thenReturn(RC_TOKEN);
 
     List<ConsultantSessionResponseDTO> result =
-        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
-            CONSULTANT, createStandardSessionListQueryParameterObject(SESSION_STATUS_IN_PROGRESS));
+        consultantSessionListService
+            .retrieveSessionsForAuthenticatedConsultant(
+                CONSULTANT,
+                createStandardSessionListQueryParameterObject(SESSION_STATUS_IN_PROGRESS))
+            .getSessions();
 
     assertNotNull(result);
     assertEquals(
@@ -140,6 +152,98 @@ class ConsultantSessionListServiceTest {
     }
   }
 
+  @Test
+  void
+      retrieveSessionsForAuthenticatedConsultant_Should_LeaveOutChatsOfSessionsOutsideOfPage_When_StatusIsInProgress() {
+    var pagedSession = new ConsultantSessionResponseDTO().session(new SessionDTO().groupId("g1"));
+    var chatOfPagedSession = chat("g1", null);
+    var chatOfSessionOutsideOfPage = chat("g2", null);
+    var standaloneChat = chat("g3", null);
+
+    when(sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT, COUNT_10))
+        .thenReturn(List.of(pagedSession));
+    when(chatService.getChatsForConsultant(CONSULTANT))
+        .thenReturn(List.of(chatOfPagedSession, chatOfSessionOutsideOfPage, standaloneChat));
+    when(sessionService.findActiveAndDoneSessionGroupIdsForConsultant(
+            CONSULTANT, Set.of("g2", "g3")))
+        .thenReturn(Set.of("g2"));
+    when(sessionService.countActiveAndDoneSessionsForConsultant(CONSULTANT)).thenReturn(42L);
+    when(consultantSessionEnricher.updateRequiredConsultantSessionValues(
+            eq(List.of(pagedSession)), any(), any()))
+        .thenReturn(List.of(pagedSession));
+    when(consultantChatEnricher.updateRequiredConsultantChatValues(
+            eq(List.of(chatOfPagedSession, standaloneChat)), any(), any()))
+        .thenReturn(List.of(chatOfPagedSession, standaloneChat));
+
+    var result =
+        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
+            CONSULTANT, createStandardSessionListQueryParameterObject(SESSION_STATUS_IN_PROGRESS));
+
+    assertEquals(List.of(pagedSession, standaloneChat), result.getSessions());
+    assertEquals(chatOfPagedSession.getChat(), pagedSession.getChat());
+    assertEquals(43L, result.getTotal());
+  }
+
+  @Test
+  void
+      retrieveSessionsForAuthenticatedConsultant_Should_OrderChatsByStartDateBetweenSessionsAndEnrichOnlyThePage() {
+    var newestSession = session("g1", LocalDateTime.of(2024, 5, 1, 10, 0));
+    var olderSession = session("g2", LocalDateTime.of(2024, 5, 1, 8, 0));
+    var standaloneChat = chat("g3", LocalDateTime.of(2024, 5, 1, 9, 0));
+
+    when(sessionService.getActiveAndDoneSessionsForConsultant(CONSULTANT, 2))
+        .thenReturn(List.of(newestSession, olderSession));
+    when(chatService.getChatsForConsultant(CONSULTANT)).thenReturn(List.of(standaloneChat));
+    when(sessionService.countActiveAndDoneSessionsForConsultant(CONSULTANT)).thenReturn(2L);
+    when(consultantChatEnricher.updateRequiredConsultantChatValues(
+            eq(List.of(standaloneChat)), any(), any()))
+        .thenReturn(List.of(standaloneChat));
+
+    var result =
+        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
+            CONSULTANT, createSessionListQueryParameterObject(SESSION_STATUS_IN_PROGRESS, 1, 1));
+
+    assertEquals(List.of(standaloneChat), result.getSessions());
+    assertEquals(3L, result.getTotal());
+    verify(consultantSessionEnricher, never())
+        .updateRequiredConsultantSessionValues(any(), any(), any());
+  }
+
+  @Test
+  void retrieveSessionsForAuthenticatedConsultant_Should_EnrichOnlyThePage_When_StatusIsNew() {
+    when(sessionService.getRegisteredEnquiriesForConsultant(CONSULTANT))
+        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+    var secondEnquiry = List.of(CONSULTANT_SESSION_RESPONSE_DTO_LIST.get(1));
+    when(consultantSessionEnricher.updateRequiredConsultantSessionValues(
+            eq(secondEnquiry), any(), any()))
+        .thenReturn(secondEnquiry);
+
+    var result =
+        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
+            CONSULTANT, createSessionListQueryParameterObject(SESSION_STATUS_NEW, 1, 1));
+
+    assertEquals(secondEnquiry, result.getSessions());
+    assertEquals(CONSULTANT_SESSION_RESPONSE_DTO_LIST.size(), result.getTotal());
+  }
+
+  @Test
+  void
+      retrieveSessionsForAuthenticatedConsultant_Should_ReturnNoSessions_When_OffsetIsGreaterThanTotal() {
+    when(sessionService.getRegisteredEnquiriesForConsultant(CONSULTANT))
+        .thenReturn(CONSULTANT_SESSION_RESPONSE_DTO_LIST);
+
+    var result =
+        consultantSessionListService.retrieveSessionsForAuthenticatedConsultant(
+            CONSULTANT,
+            createSessionListQueryParameterObject(
+                SESSION_STATUS_NEW, CONSULTANT_SESSION_RESPONSE_DTO_LIST.size() + 1, COUNT_10));
+
+    assertTrue(result.getSessions().isEmpty());
+    assertEquals(CONSULTANT_SESSION_RESPONSE_DTO_LIST.size(), result.getTotal());
+    verify(consultantSessionEnricher, never())
+        .updateRequiredConsultantSessionValues(any(), any(), any());
+  }
+
   @Test
   void
       retrieveSessionsForAuthenticatedConsultant_Should_returnEmptyList_When_SessionStatusIsInitial() {
@@ -155,11 +259,29 @@ class ConsultantSessionListServiceTest {
 
   private SessionListQueryParameter createStandardSessionListQueryParameterObject(
       int sessionStatus) {
+    return createSessionListQueryParameterObject(sessionStatus, OFFSET_0, COUNT_10);
+  }
+
+  private SessionListQueryParameter createSessionListQueryParameterObject(
+      int sessionStatus, int offset, int count) {
     return SessionListQueryParameter.builder()
         .sessionStatus(sessionStatus)
-        .offset(OFFSET_0)
-        .count(COUNT_10)
+        .offset(offset)
+        .count(count)
         .sessionFilter(SessionFilter.ALL)
         .build();
   }
+
+  private ConsultantSessionResponseDTO session(String groupId, LocalDateTime latestMessageDate) {
+    return new ConsultantSessionResponseDTO()
+        .session(new SessionDTO().groupId(groupId))
+        .latestMessage(Timestamp.valueOf(latestMessageDate));
+  }
+
+  private ConsultantSessionResponseDTO chat(String groupId, LocalDateTime startDate) {
+    var chat = new UserChatDTO();
+    chat.setGroupId(groupId);
+    chat.setStartDateWithTime(startDate);
+    return new ConsultantSessionResponseDTO().chat(chat);
+  }
 }
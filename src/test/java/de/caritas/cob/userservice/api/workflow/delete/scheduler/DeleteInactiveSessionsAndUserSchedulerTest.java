@@ -27,7 +27,6 @@ public class DeleteInactiveSessionsAndUserSchedulerTest {
   @Test
   public void
       performDeletionWorkflow_Should_executeDeleteInactiveSessionsAndUsers_WhenFeatureIsEnabled() {
-
     setField(
         deleteInactiveSessionsAndUserScheduler,
         FIELD_NAME_SESSION_INACTIVE_DELETE_WORKFLOW_ENABLED,
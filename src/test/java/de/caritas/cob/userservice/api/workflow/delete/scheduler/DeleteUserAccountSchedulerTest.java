@@ -1,9 +1,12 @@
 package de.caritas.cob.userservice.api.workflow.delete.scheduler;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.delete.service.DeleteUserAccountService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,11 +22,23 @@ public class DeleteUserAccountSchedulerTest {
 
   @Mock private TenantContextProvider tenantContextProvider;
 
+  @Mock private JobLeaseService jobLeaseService;
+
   @Test
   public void performDeletionWorkflow_Should_executeDeleteUserAccounts() {
+    runJobsImmediately();
     this.deleteUserAccountScheduler.performDeletionWorkflow();
 
     verify(tenantContextProvider).setTechnicalContextIfMultiTenancyIsEnabled();
     verify(this.deleteUserAccountService).deleteUserAccounts();
   }
+
+  private void runJobsImmediately() {
+    when(jobLeaseService.runExclusively(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.getArgument(2, Runnable.class).run();
+              return true;
+            });
+  }
 }
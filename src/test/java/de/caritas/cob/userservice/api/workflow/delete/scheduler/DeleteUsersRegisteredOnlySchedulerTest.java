@@ -1,11 +1,14 @@
 package de.caritas.cob.userservice.api.workflow.delete.scheduler;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
 import de.caritas.cob.userservice.api.workflow.delete.service.DeleteUsersRegisteredOnlyService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -21,9 +24,12 @@ public class DeleteUsersRegisteredOnlySchedulerTest {
 
   @Mock TenantContextProvider tenantContextProvider;
 
+  @Mock JobLeaseService jobLeaseService;
+
   @Test
   public void
       performDeletionWorkflow_Should_executeDeleteUserAccountsTimeSensitive_WhenFeatureIsEnabled() {
+    runJobsImmediately();
     setField(deleteUsersRegisteredOnlyScheduler, "userRegisteredOnlyDeleteWorkflowEnabled", true);
     deleteUsersRegisteredOnlyScheduler.performDeletionWorkflow();
 
@@ -44,6 +50,7 @@ public class DeleteUsersRegisteredOnlySchedulerTest {
   @Test
   public void
       performDeletionWorkflow_Should_executeDeleteUserAccountsTimeInsensitive_WhenFeatureIsEnabled() {
+    runJobsImmediately();
     setField(
         deleteUsersRegisteredOnlyScheduler,
         "userRegisteredOnlyDeleteWorkflowAfterSessionPurgeEnabled",
@@ -66,4 +73,13 @@ public class DeleteUsersRegisteredOnlySchedulerTest {
     verify(tenantContextProvider).setTechnicalContextIfMultiTenancyIsEnabled();
     verify(deleteUsersRegisteredOnlyService, never()).deleteUserAccountsTimeInsensitive();
   }
+
+  private void runJobsImmediately() {
+    when(jobLeaseService.runExclusively(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.getArgument(2, Runnable.class).run();
+              return true;
+            });
+  }
 }
@@ -3,24 +3,34 @@ package de.caritas.cob.userservice.api.workflow.delete.service;
 import static de.caritas.cob.userservice.api.helper.CustomLocalDateTime.nowInUtc;
 import static de.caritas.cob.userservice.api.workflow.delete.model.DeletionSourceType.ASKER;
 import static de.caritas.cob.userservice.api.workflow.delete.model.DeletionTargetType.ALL;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import de.caritas.cob.userservice.api.model.Session;
 import de.caritas.cob.userservice.api.model.User;
 import de.caritas.cob.userservice.api.port.out.SessionRepository;
 import de.caritas.cob.userservice.api.port.out.UserRepository;
+import de.caritas.cob.userservice.api.tenant.TenantContext;
 import de.caritas.cob.userservice.api.workflow.delete.model.DeletionWorkflowError;
 import de.caritas.cob.userservice.api.workflow.delete.service.provider.InactivePrivateGroupsProvider;
+import de.caritas.cob.userservice.api.workflow.lease.service.ChunkedJob;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import org.jeasy.random.EasyRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -40,6 +50,32 @@ public class DeleteInactiveSessionsAndUserServiceTest {
   @Mock private DeleteUserAccountService deleteUserAccountService;
   @Mock private DeleteSessionService deleteSessionService;
   @Mock private InactivePrivateGroupsProvider inactivePrivateGroupsProvider;
+  @Mock private JobLeaseService jobLeaseService;
+
+  @BeforeEach
+  void setup() {
+    setField(deleteInactiveSessionsAndUserService, "pageSize", 100);
+    setField(deleteInactiveSessionsAndUserService, "workers", 2);
+  }
+
+  private void runChunksImmediately() {
+    when(jobLeaseService.runInChunks(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var job = invocation.getArgument(2, ChunkedJob.class);
+              String checkpoint = null;
+              Optional<String> nextCheckpoint;
+              while ((nextCheckpoint = job.processChunk(checkpoint)).isPresent()) {
+                checkpoint = nextCheckpoint.get();
+              }
+              return true;
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    TenantContext.clear();
+  }
 
   @Test
   void deleteInactiveSessionsAndUsers_Should_SendWorkflowErrorsMail_When_userNotFoundReason() {
@@ -47,21 +83,25 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     EasyRandom easyRandom = new EasyRandom();
     User user = easyRandom.nextObject(User.class);
     Session session = easyRandom.nextObject(Session.class);
+    session.setUser(user);
     Map<String, List<String>> userWithInactiveGroupsMap =
         new HashMap<>() {
           {
-            put(user.getUserId(), Collections.singletonList(session.getGroupId()));
+            put(user.getRcUserId(), Collections.singletonList(session.getGroupId()));
           }
         };
     when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
         .thenReturn(userWithInactiveGroupsMap);
-    when(userRepository.findByRcUserIdAndDeleteDateIsNull(anyString()))
-        .thenReturn(Optional.of(user));
-    when(sessionRepository.findByUser(user)).thenReturn(Collections.singletonList(session));
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    when(sessionRepository.findByUserUserIdIn(anyCollection()))
+        .thenReturn(Collections.singletonList(session));
     DeletionWorkflowError deletionWorkflowError = Mockito.mock(DeletionWorkflowError.class);
     when(deleteUserAccountService.performUserDeletion(user))
         .thenReturn(Collections.singletonList(deletionWorkflowError));
 
+    runChunksImmediately();
+
     // when
     deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
 
@@ -78,18 +118,23 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     EasyRandom easyRandom = new EasyRandom();
     User user = easyRandom.nextObject(User.class);
     Session session1 = easyRandom.nextObject(Session.class);
+    session1.setUser(user);
     Session session2 = easyRandom.nextObject(Session.class);
+    session2.setUser(user);
     Map<String, List<String>> userWithInactiveGroupsMap =
         new HashMap<>() {
           {
-            put(user.getUserId(), Arrays.asList(session1.getGroupId(), session2.getGroupId()));
+            put(user.getRcUserId(), Arrays.asList(session1.getGroupId(), session2.getGroupId()));
           }
         };
     when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
         .thenReturn(userWithInactiveGroupsMap);
-    when(userRepository.findByRcUserIdAndDeleteDateIsNull(anyString()))
-        .thenReturn(Optional.of(user));
-    when(sessionRepository.findByUser(user)).thenReturn(Arrays.asList(session1, session2));
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    when(sessionRepository.findByUserUserIdIn(anyCollection()))
+        .thenReturn(Arrays.asList(session1, session2));
+
+    runChunksImmediately();
 
     // when
     deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
@@ -105,18 +150,23 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     EasyRandom easyRandom = new EasyRandom();
     User user = easyRandom.nextObject(User.class);
     Session session1 = easyRandom.nextObject(Session.class);
+    session1.setUser(user);
     Session session2 = easyRandom.nextObject(Session.class);
+    session2.setUser(user);
     Map<String, List<String>> userWithInactiveGroupsMap =
         new HashMap<>() {
           {
-            put(user.getUserId(), Collections.singletonList(session1.getGroupId()));
+            put(user.getRcUserId(), Collections.singletonList(session1.getGroupId()));
           }
         };
     when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
         .thenReturn(userWithInactiveGroupsMap);
-    when(userRepository.findByRcUserIdAndDeleteDateIsNull(anyString()))
-        .thenReturn(Optional.of(user));
-    when(sessionRepository.findByUser(user)).thenReturn(Arrays.asList(session1, session2));
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    when(sessionRepository.findByUserUserIdIn(anyCollection()))
+        .thenReturn(Arrays.asList(session1, session2));
+
+    runChunksImmediately();
 
     // when
     deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
@@ -132,18 +182,21 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     EasyRandom easyRandom = new EasyRandom();
     User user = easyRandom.nextObject(User.class);
     Session session1 = easyRandom.nextObject(Session.class);
+    session1.setUser(user);
     Session session2 = easyRandom.nextObject(Session.class);
+    session2.setUser(user);
     Map<String, List<String>> userWithInactiveGroupsMap =
         new HashMap<>() {
           {
-            put(user.getUserId(), Collections.singletonList(session1.getGroupId()));
+            put(user.getRcUserId(), Collections.singletonList(session1.getGroupId()));
           }
         };
     when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
         .thenReturn(userWithInactiveGroupsMap);
-    when(userRepository.findByRcUserIdAndDeleteDateIsNull(anyString()))
-        .thenReturn(Optional.of(user));
-    when(sessionRepository.findByUser(user)).thenReturn(Arrays.asList(session1, session2));
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    when(sessionRepository.findByUserUserIdIn(anyCollection()))
+        .thenReturn(Arrays.asList(session1, session2));
     DeletionWorkflowError deletionWorkflowError =
         DeletionWorkflowError.builder()
             .deletionSourceType(ASKER)
@@ -155,6 +208,8 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     when(deleteSessionService.performSessionDeletion(session1))
         .thenReturn(Collections.singletonList(deletionWorkflowError));
 
+    runChunksImmediately();
+
     // when
     deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
 
@@ -172,19 +227,25 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     EasyRandom easyRandom = new EasyRandom();
     User user = easyRandom.nextObject(User.class);
     Session session1 = easyRandom.nextObject(Session.class);
+    session1.setUser(user);
     Session session2 = easyRandom.nextObject(Session.class);
+    session2.setUser(user);
     Session session3 = easyRandom.nextObject(Session.class);
+    session3.setUser(user);
     Map<String, List<String>> userWithInactiveGroupsMap =
         new HashMap<>() {
           {
-            put(user.getUserId(), Collections.singletonList(session1.getGroupId()));
+            put(user.getRcUserId(), Collections.singletonList(session1.getGroupId()));
           }
         };
     when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
         .thenReturn(userWithInactiveGroupsMap);
-    when(userRepository.findByRcUserIdAndDeleteDateIsNull(anyString()))
-        .thenReturn(Optional.of(user));
-    when(sessionRepository.findByUser(user)).thenReturn(Arrays.asList(session2, session3));
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    when(sessionRepository.findByUserUserIdIn(anyCollection()))
+        .thenReturn(Arrays.asList(session2, session3));
+
+    runChunksImmediately();
 
     // when
     deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
@@ -200,21 +261,92 @@ public class DeleteInactiveSessionsAndUserServiceTest {
     EasyRandom easyRandom = new EasyRandom();
     User user = easyRandom.nextObject(User.class);
     Session session1 = easyRandom.nextObject(Session.class);
+    session1.setUser(user);
     Map<String, List<String>> userWithInactiveGroupsMap =
         new HashMap<>() {
           {
-            put(user.getUserId(), Collections.singletonList(session1.getGroupId()));
+            put(user.getRcUserId(), Collections.singletonList(session1.getGroupId()));
           }
         };
     when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
         .thenReturn(userWithInactiveGroupsMap);
-    when(userRepository.findByRcUserIdAndDeleteDateIsNull(anyString()))
-        .thenReturn(Optional.empty());
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of());
+    when(sessionRepository.findByGroupIdIn(anyCollection())).thenReturn(List.of(session1));
+
+    runChunksImmediately();
+
+    // when
+    deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
+
+    // then
+    verify(deleteSessionService).performSessionDeletion(session1);
+  }
+
+  @Test
+  void deleteInactiveSessionsAndUsers_Should_runDeletionsWithTenantContextOfCaller() {
+    // given
+    EasyRandom easyRandom = new EasyRandom();
+    User user = easyRandom.nextObject(User.class);
+    Session session = easyRandom.nextObject(Session.class);
+    session.setUser(user);
+    Map<String, List<String>> userWithInactiveGroupsMap =
+        Map.of(user.getRcUserId(), List.of(session.getGroupId()));
+    when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
+        .thenReturn(userWithInactiveGroupsMap);
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(anyCollection()))
+        .thenReturn(List.of(user));
+    when(sessionRepository.findByUserUserIdIn(anyCollection())).thenReturn(List.of(session));
+    var tenantOfDeletion = new AtomicReference<Long>();
+    when(deleteUserAccountService.performUserDeletion(user))
+        .thenAnswer(
+            invocation -> {
+              tenantOfDeletion.set(TenantContext.getCurrentTenant());
+              return List.of();
+            });
+    TenantContext.setCurrentTenant(TenantContext.TECHNICAL_TENANT_ID);
+
+    runChunksImmediately();
+
+    // when
+    deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
+
+    // then
+    assertThat(tenantOfDeletion.get()).isEqualTo(TenantContext.TECHNICAL_TENANT_ID);
+  }
+
+  @Test
+  void deleteInactiveSessionsAndUsers_Should_resumeAfterRocketChatUserIdOfCheckpoint() {
+    // given
+    EasyRandom easyRandom = new EasyRandom();
+    User deletedUser = easyRandom.nextObject(User.class);
+    deletedUser.setRcUserId("rcUserId-1");
+    User remainingUser = easyRandom.nextObject(User.class);
+    remainingUser.setRcUserId("rcUserId-2");
+    Session session = easyRandom.nextObject(Session.class);
+    session.setUser(remainingUser);
+    when(inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap())
+        .thenReturn(
+            Map.of(
+                "rcUserId-2", List.of(session.getGroupId()),
+                "rcUserId-1", List.of("deletedGroupId")));
+    when(userRepository.findByRcUserIdInAndDeleteDateIsNull(Set.of("rcUserId-2")))
+        .thenReturn(List.of(remainingUser));
+    when(sessionRepository.findByUserUserIdIn(anyCollection())).thenReturn(List.of(session));
+    when(jobLeaseService.runInChunks(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var job = invocation.getArgument(2, ChunkedJob.class);
+              assertThat(job.processChunk("rcUserId-1")).contains("rcUserId-2");
+              assertThat(job.processChunk("rcUserId-2")).isEmpty();
+              return true;
+            });
 
     // when
     deleteInactiveSessionsAndUserService.deleteInactiveSessionsAndUsers();
 
     // then
-    deleteSessionService.performSessionDeletion(session1);
+    verify(deleteUserAccountService).performUserDeletion(remainingUser);
+    verify(deleteUserAccountService, Mockito.never()).performUserDeletion(deletedUser);
   }
 }
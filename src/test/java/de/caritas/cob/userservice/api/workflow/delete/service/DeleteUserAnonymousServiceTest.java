@@ -82,7 +82,8 @@ class DeleteUserAnonymousServiceTest {
             .collect(Collectors.toSet());
     user.setSessions(userSessions);
 
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
+    when(this.sessionRepository.findWithUserByStatus(any()))
+        .thenReturn(new ArrayList<>(userSessions));
   }
 
   private Function<SessionStatus, Session> createSessionForUserWithUpdateDateNow(User user) {
@@ -124,7 +125,8 @@ class DeleteUserAnonymousServiceTest {
     Set<Session> userSessions = Set.of(createSessionForUser(user, updateDate, SessionStatus.DONE));
     user.setSessions(userSessions);
 
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
+    when(this.sessionRepository.findWithUserByStatus(any()))
+        .thenReturn(new ArrayList<>(userSessions));
 
     this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
 
@@ -150,7 +152,8 @@ class DeleteUserAnonymousServiceTest {
         Set.of(createSessionForUser(user, overdueUpdateDate, SessionStatus.DONE));
     user.setSessions(userSessions);
 
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
+    when(this.sessionRepository.findWithUserByStatus(any()))
+        .thenReturn(new ArrayList<>(userSessions));
 
     this.deleteUserAnonymousService.deleteInactiveAnonymousUsers();
 
@@ -173,7 +176,8 @@ class DeleteUserAnonymousServiceTest {
         Set.of(createSessionForUser(user, createOverdueUpdateDates().get(0), SessionStatus.DONE));
     user.setSessions(userSessions);
 
-    when(this.sessionRepository.findByStatus(any())).thenReturn(new ArrayList<>(userSessions));
+    when(this.sessionRepository.findWithUserByStatus(any()))
+        .thenReturn(new ArrayList<>(userSessions));
 
     DeletionWorkflowError error = mock(DeletionWorkflowError.class);
     when(this.deleteUserAccountService.performUserDeletion(any())).thenReturn(List.of(error));
@@ -17,14 +17,12 @@ import static org.springframework.test.util.ReflectionTestUtils.setField;
 import de.caritas.cob.userservice.api.adapters.rocketchat.RocketChatService;
 import de.caritas.cob.userservice.api.adapters.rocketchat.dto.group.GroupDTO;
 import de.caritas.cob.userservice.api.exception.rocketchat.RocketChatGetGroupsListAllException;
-import de.caritas.cob.userservice.api.model.Chat;
 import de.caritas.cob.userservice.api.port.out.ChatRepository;
 import de.caritas.cob.userservice.api.service.LogService;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
-import org.apache.commons.collections4.IterableUtils;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,7 +51,6 @@ public class InactivePrivateGroupsProviderTest {
       retrieveUserWithInactiveGroupsMap_ShouldReturnEmptyMap_WhenFetchOfInactiveGroupsFails()
           throws RocketChatGetGroupsListAllException {
 
-    when(chatRepository.findAll()).thenReturn(IterableUtils.emptyIterable());
     doThrow(new RocketChatGetGroupsListAllException(new RuntimeException()))
         .when(this.rocketChatService)
         .fetchAllInactivePrivateGroupsSinceGivenDate(any());
@@ -80,7 +77,6 @@ public class InactivePrivateGroupsProviderTest {
         LocalDateTime.now()
             .with(LocalTime.MIDNIGHT)
             .minusDays(valueSessionInactiveDeleteWorkflowCheckDays);
-    when(chatRepository.findAll()).thenReturn(IterableUtils.emptyIterable());
 
     inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap();
 
@@ -91,7 +87,6 @@ public class InactivePrivateGroupsProviderTest {
   public void retrieveUserWithInactiveGroupsMap_ShouldLogError_WhenFetchOfInactiveGroupsFails()
       throws RocketChatGetGroupsListAllException {
 
-    when(chatRepository.findAll()).thenReturn(IterableUtils.emptyIterable());
     doThrow(new RocketChatGetGroupsListAllException(new RuntimeException()))
         .when(this.rocketChatService)
         .fetchAllInactivePrivateGroupsSinceGivenDate(any());
@@ -115,7 +110,7 @@ public class InactivePrivateGroupsProviderTest {
     List<GroupDTO> groupDtoResponseList = asList(groupDTO1User1, groupDTO2User1, groupDTO1User2);
     when(this.rocketChatService.fetchAllInactivePrivateGroupsSinceGivenDate(any()))
         .thenReturn(groupDtoResponseList);
-    when(chatRepository.findAll()).thenReturn(IterableUtils.emptyIterable());
+    when(chatRepository.findGroupIdsByGroupIdIn(any())).thenReturn(Collections.emptySet());
 
     var result = inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap();
 
@@ -146,9 +141,8 @@ public class InactivePrivateGroupsProviderTest {
     List<GroupDTO> groupDtoResponseList = asList(groupDTO1User1, groupDTO2User1, groupDTO1User2);
     when(this.rocketChatService.fetchAllInactivePrivateGroupsSinceGivenDate(any()))
         .thenReturn(groupDtoResponseList);
-    Chat chat = easyRandom.nextObject(Chat.class);
-    chat.setGroupId(groupDTO1User2.getId());
-    when(chatRepository.findAll()).thenReturn(Collections.singletonList(chat));
+    when(chatRepository.findGroupIdsByGroupIdIn(any()))
+        .thenReturn(Collections.singleton(groupDTO1User2.getId()));
 
     var result = inactivePrivateGroupsProvider.retrieveUserWithInactiveGroupsMap();
 
@@ -1,10 +1,13 @@
 package de.caritas.cob.userservice.api.workflow.enquirynotification.scheduler;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import de.caritas.cob.userservice.api.workflow.enquirynotification.service.EnquiryNotificationService;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -21,9 +24,12 @@ class EnquiryNotificationSchedulerTest {
 
   @Mock private EnquiryNotificationService enquiryNotificationService;
 
+  @Mock private JobLeaseService jobLeaseService;
+
   @Test
   void
       sendEmailNotificationsForOpenEnquiries_Should_callEnquiryNotificationService_When_featureIsEnabled() {
+    runJobsImmediately();
     setField(enquiryNotificationScheduler, "enquiryNotificationsEnabled", true);
 
     enquiryNotificationScheduler.sendEmailNotificationsForOpenEnquiries();
@@ -43,4 +49,13 @@ class EnquiryNotificationSchedulerTest {
 
     verifyNoInteractions(enquiryNotificationService);
   }
+
+  private void runJobsImmediately() {
+    when(jobLeaseService.runExclusively(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.getArgument(2, Runnable.class).run();
+              return true;
+            });
+  }
 }
@@ -2,29 +2,40 @@ package de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.serv
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 import de.caritas.cob.userservice.api.model.Admin;
-import de.caritas.cob.userservice.api.model.Consultant;
-import de.caritas.cob.userservice.api.model.User;
+import de.caritas.cob.userservice.api.model.InactiveAccountNotificationAuditLog;
 import de.caritas.cob.userservice.api.port.out.AdminRepository;
 import de.caritas.cob.userservice.api.port.out.ConsultantRepository;
 import de.caritas.cob.userservice.api.port.out.InactiveAccountNotificationAuditLogRepository;
 import de.caritas.cob.userservice.api.port.out.UserRepository;
 import de.caritas.cob.userservice.api.service.helper.MailService;
+import de.caritas.cob.userservice.api.workflow.inactiveaccountnotification.model.InactiveAccountActivity;
+import de.caritas.cob.userservice.api.workflow.lease.service.ChunkedJob;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 @ExtendWith(MockitoExtension.class)
 class InactiveAccountNotificationServiceTest {
@@ -34,12 +45,13 @@ class InactiveAccountNotificationServiceTest {
   @Mock private UserRepository userRepository;
   @Mock private ConsultantRepository consultantRepository;
   @Mock private AdminRepository adminRepository;
-  @Mock private AskerActivityCalculator askerActivityCalculator;
-  @Mock private ConsultantActivityCalculator consultantActivityCalculator;
   @Mock private AdminActivityCalculator adminActivityCalculator;
   @Mock private InactiveAccountNotificationRecipientResolver recipientResolver;
   @Mock private InactiveAccountNotificationAuditLogRepository auditLogRepository;
   @Mock private MailService mailService;
+  @Mock private JobLeaseService jobLeaseService;
+
+  @Captor private ArgumentCaptor<List<InactiveAccountNotificationAuditLog>> auditLogsCaptor;
 
   private Admin recipientAdmin;
 
@@ -48,6 +60,7 @@ class InactiveAccountNotificationServiceTest {
     setField(service, "inactivityThresholdDays", 365L);
     setField(service, "emailDispatchEnabled", false);
     setField(service, "appBaseUrl", "https://app.oriso.org");
+    setField(service, "pageSize", 500);
 
     recipientAdmin =
         Admin.builder()
@@ -60,56 +73,144 @@ class InactiveAccountNotificationServiceTest {
             .tenantId(1L)
             .build();
 
-    when(consultantRepository.findByDeleteDateIsNull()).thenReturn(emptyList());
-    when(adminRepository.findAll()).thenReturn(emptyList());
     when(recipientResolver.resolveRecipients(any())).thenReturn(singletonList(recipientAdmin));
-    when(auditLogRepository.existsByNotificationFingerprint(any())).thenReturn(false);
+  }
+
+  private void runChunksImmediately() {
+    when(jobLeaseService.runInChunks(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var job = invocation.getArgument(2, ChunkedJob.class);
+              String checkpoint = null;
+              Optional<String> nextCheckpoint;
+              while ((nextCheckpoint = job.processChunk(checkpoint)).isPresent()) {
+                checkpoint = nextCheckpoint.get();
+              }
+              return true;
+            });
   }
 
   @Test
   void scanAndNotifyInactiveAccounts_shouldTriggerOnlyForBeyondThresholdBoundary() {
-    User user364 = new User("user-364", null, "user364", "u364@example.com", true);
-    user364.setTenantId(1L);
-    User user366 = new User("user-366", null, "user366", "u366@example.com", true);
-    user366.setTenantId(1L);
-
     LocalDateTime now = LocalDateTime.now();
-    when(userRepository.findAllByDeleteDateIsNull()).thenReturn(Arrays.asList(user364, user366));
-    when(askerActivityCalculator.lastActivity(user364)).thenReturn(Optional.of(now.minusDays(364)));
-    when(askerActivityCalculator.lastActivity(user366)).thenReturn(Optional.of(now.minusDays(366)));
+    when(userRepository.findInactiveAskers(any(), eq(""), any()))
+        .thenReturn(
+            Arrays.asList(
+                activity("user-364", now.minusDays(364)),
+                activity("user-366", now.minusDays(366))));
+
+    runChunksImmediately();
 
     service.scanAndNotifyInactiveAccounts();
 
-    verify(auditLogRepository).save(any());
+    verify(auditLogRepository).saveAll(auditLogsCaptor.capture());
+    assertThat(auditLogsCaptor.getValue())
+        .extracting(InactiveAccountNotificationAuditLog::getAccountId)
+        .containsExactly("user-366");
     verify(mailService, never()).sendEmailNotification(any());
   }
 
   @Test
   void scanAndNotifyInactiveAccounts_shouldKeepAskerIndependentFromConsultantActivity() {
-    User inactiveAsker = new User("asker-inactive", null, "asker", "asker@example.com", true);
-    inactiveAsker.setTenantId(1L);
-    Consultant activeConsultant =
-        Consultant.builder()
-            .id("consultant-active")
-            .rocketChatId("rc-consultant-active")
-            .username("consultant")
-            .firstName("Con")
-            .lastName("Sultant")
-            .email("consultant@example.com")
-            .languageFormal(true)
-            .build();
-    activeConsultant.setTenantId(1L);
+    LocalDateTime now = LocalDateTime.now();
+    when(userRepository.findInactiveAskers(any(), eq(""), any()))
+        .thenReturn(singletonList(activity("asker-inactive", now.minusDays(400))));
+    when(consultantRepository.findInactiveConsultants(any(), eq(""), any()))
+        .thenReturn(singletonList(activity("consultant-active", now.minusDays(10))));
+
+    runChunksImmediately();
 
+    service.scanAndNotifyInactiveAccounts();
+
+    verify(auditLogRepository).saveAll(auditLogsCaptor.capture());
+    assertThat(auditLogsCaptor.getValue())
+        .extracting(InactiveAccountNotificationAuditLog::getAccountId)
+        .containsExactly("asker-inactive");
+  }
+
+  @Test
+  void scanAndNotifyInactiveAccounts_shouldCheckFingerprintsOncePerPageAndSkipKnownOnes() {
     LocalDateTime now = LocalDateTime.now();
-    when(userRepository.findAllByDeleteDateIsNull()).thenReturn(singletonList(inactiveAsker));
-    when(consultantRepository.findByDeleteDateIsNull()).thenReturn(singletonList(activeConsultant));
-    when(askerActivityCalculator.lastActivity(inactiveAsker))
-        .thenReturn(Optional.of(now.minusDays(400)));
-    when(consultantActivityCalculator.lastActivity(activeConsultant))
-        .thenReturn(Optional.of(now.minusDays(10)));
+    when(userRepository.findInactiveAskers(any(), eq(""), any()))
+        .thenReturn(
+            Arrays.asList(
+                activity("asker-1", now.minusDays(400)), activity("asker-2", now.minusDays(400))));
+    when(auditLogRepository.findExistingNotificationFingerprints(anyCollection()))
+        .thenAnswer(invocation -> new HashSet<String>(invocation.getArgument(0)));
+
+    runChunksImmediately();
 
     service.scanAndNotifyInactiveAccounts();
 
-    verify(auditLogRepository).save(any());
+    verify(auditLogRepository).findExistingNotificationFingerprints(anyCollection());
+    verify(auditLogRepository, never()).saveAll(anyList());
+    verify(recipientResolver).resolveRecipients(1L);
+  }
+
+  @Test
+  void scanAndNotifyInactiveAccounts_shouldReadNextPageAfterLastAccountId() {
+    setField(service, "pageSize", 1);
+    LocalDateTime now = LocalDateTime.now();
+    when(userRepository.findInactiveAskers(any(), eq(""), any()))
+        .thenReturn(singletonList(activity("asker-1", now.minusDays(400))));
+    when(userRepository.findInactiveAskers(any(), eq("asker-1"), any())).thenReturn(emptyList());
+
+    runChunksImmediately();
+
+    service.scanAndNotifyInactiveAccounts();
+
+    verify(userRepository).findInactiveAskers(any(), eq("asker-1"), eq(PageRequest.of(0, 1)));
+    verify(auditLogRepository).saveAll(anyList());
+  }
+
+  @Test
+  void scanAndNotifyInactiveAccounts_shouldResumeAfterAccountIdOfCheckpoint() {
+    LocalDateTime now = LocalDateTime.now();
+    when(consultantRepository.findInactiveConsultants(any(), eq("consultant-1"), any()))
+        .thenReturn(singletonList(activity("consultant-2", now.minusDays(400))));
+    when(jobLeaseService.runInChunks(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var job = invocation.getArgument(2, ChunkedJob.class);
+              assertThat(job.processChunk("CONSULTANT:consultant-1")).contains("ADMIN:");
+              return true;
+            });
+
+    service.scanAndNotifyInactiveAccounts();
+
+    verify(userRepository, never()).findInactiveAskers(any(), any(), any());
+    verify(auditLogRepository).saveAll(auditLogsCaptor.capture());
+    assertThat(auditLogsCaptor.getValue())
+        .extracting(InactiveAccountNotificationAuditLog::getAccountId)
+        .containsExactly("consultant-2");
+  }
+
+  private InactiveAccountActivity activity(String accountId, LocalDateTime lastSessionActivity) {
+    return new InactiveAccountActivity() {
+      @Override
+      public String getAccountId() {
+        return accountId;
+      }
+
+      @Override
+      public Long getTenantId() {
+        return 1L;
+      }
+
+      @Override
+      public LocalDateTime getCreateDate() {
+        return lastSessionActivity.minusDays(1);
+      }
+
+      @Override
+      public LocalDateTime getUpdateDate() {
+        return null;
+      }
+
+      @Override
+      public LocalDateTime getLastSessionActivity() {
+        return lastSessionActivity;
+      }
+    };
   }
 }
@@ -0,0 +1,158 @@
+package de.caritas.cob.userservice.api.workflow.lease.service;
+
+import static de.caritas.cob.userservice.api.helper.CustomLocalDateTime.nowInUtc;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import de.caritas.cob.userservice.api.model.JobLease;
+import de.caritas.cob.userservice.api.port.out.JobLeaseRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeaseServiceTest {
+
+  private static final String JOB_NAME = "job";
+  private static final String YEARLY_CRON = "0 0 0 1 1 ?";
+
+  @InjectMocks private JobLeaseService jobLeaseService;
+
+  @Mock private JobLeaseRepository jobLeaseRepository;
+
+  @Captor private ArgumentCaptor<LocalDateTime> releaseDateCaptor;
+
+  @BeforeEach
+  void setup() {
+    setField(jobLeaseService, "leaseTtlMinutes", 60L);
+    setField(jobLeaseService, "releaseBeforeNextRunSeconds", 60L);
+  }
+
+  @Test
+  void runExclusively_Should_runJobAndReleaseLease_When_leaseIsGranted() {
+    var job = mock(Runnable.class);
+    when(jobLeaseRepository.acquireLease(
+            eq(JOB_NAME), eq(jobLeaseService.getNodeId()), any(), any()))
+        .thenReturn(1);
+
+    assertTrue(jobLeaseService.runExclusively(JOB_NAME, YEARLY_CRON, job));
+
+    verify(job).run();
+    verify(jobLeaseRepository).releaseLease(eq(JOB_NAME), eq(jobLeaseService.getNodeId()), any());
+  }
+
+  @Test
+  void runExclusively_ShouldNot_runJob_When_leaseIsHeldByAnotherNode() {
+    var job = mock(Runnable.class);
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(0);
+    when(jobLeaseRepository.existsById(JOB_NAME)).thenReturn(true);
+
+    assertFalse(jobLeaseService.runExclusively(JOB_NAME, YEARLY_CRON, job));
+
+    verifyNoInteractions(job);
+    verify(jobLeaseRepository, never()).releaseLease(any(), any(), any());
+  }
+
+  @Test
+  void runExclusively_Should_createJobLease_When_jobHasNeverRun() {
+    var job = mock(Runnable.class);
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(0, 1);
+    when(jobLeaseRepository.existsById(JOB_NAME)).thenReturn(false);
+
+    assertTrue(jobLeaseService.runExclusively(JOB_NAME, YEARLY_CRON, job));
+
+    verify(jobLeaseRepository).save(any(JobLease.class));
+    verify(job).run();
+  }
+
+  @Test
+  void runExclusively_Should_keepLeaseUntilShortlyBeforeNextRun_When_jobIsFinished() {
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(1);
+
+    jobLeaseService.runExclusively(JOB_NAME, YEARLY_CRON, mock(Runnable.class));
+
+    verify(jobLeaseRepository)
+        .releaseLease(eq(JOB_NAME), eq(jobLeaseService.getNodeId()), releaseDateCaptor.capture());
+    assertThat(releaseDateCaptor.getValue()).isAfter(nowInUtc());
+  }
+
+  @Test
+  void runExclusively_Should_releaseLeaseRightAway_When_nextRunIsDue() {
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(1);
+
+    jobLeaseService.runExclusively(JOB_NAME, "* * * * * *", mock(Runnable.class));
+
+    verify(jobLeaseRepository)
+        .releaseLease(eq(JOB_NAME), eq(jobLeaseService.getNodeId()), releaseDateCaptor.capture());
+    assertThat(releaseDateCaptor.getValue()).isBeforeOrEqualTo(nowInUtc());
+  }
+
+  @Test
+  void runExclusively_Should_renewLease_When_jobIsStillRunning() {
+    setField(jobLeaseService, "leaseTtlMinutes", 0L);
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(1);
+
+    jobLeaseService.runExclusively(
+        JOB_NAME,
+        YEARLY_CRON,
+        () ->
+            verify(jobLeaseRepository, timeout(5000))
+                .renewLease(eq(JOB_NAME), eq(jobLeaseService.getNodeId()), any(), any()));
+  }
+
+  @Test
+  void runInChunks_Should_resumeFromCheckpointAndClearItWhenComplete() {
+    var nodeId = jobLeaseService.getNodeId();
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(1);
+    when(jobLeaseRepository.findById(JOB_NAME))
+        .thenReturn(Optional.of(JobLease.builder().id(JOB_NAME).checkpoint("1").build()));
+    when(jobLeaseRepository.updateCheckpoint(any(), any(), any(), any(), any())).thenReturn(1);
+
+    jobLeaseService.runInChunks(
+        JOB_NAME,
+        YEARLY_CRON,
+        checkpoint ->
+            Integer.parseInt(checkpoint) < 3
+                ? Optional.of(String.valueOf(Integer.parseInt(checkpoint) + 1))
+                : Optional.empty());
+
+    verify(jobLeaseRepository, never())
+        .updateCheckpoint(eq(JOB_NAME), eq(nodeId), eq("1"), any(), any());
+    verify(jobLeaseRepository).updateCheckpoint(eq(JOB_NAME), eq(nodeId), eq("2"), any(), any());
+    verify(jobLeaseRepository).updateCheckpoint(eq(JOB_NAME), eq(nodeId), eq("3"), any(), any());
+    verify(jobLeaseRepository).updateCheckpoint(eq(JOB_NAME), eq(nodeId), isNull(), any(), any());
+    verify(jobLeaseRepository).releaseLease(eq(JOB_NAME), eq(nodeId), any());
+  }
+
+  @Test
+  void runInChunks_Should_stopAndKeepCheckpoint_When_leaseHasBeenLost() {
+    var job = mock(ChunkedJob.class);
+    when(jobLeaseRepository.acquireLease(any(), any(), any(), any())).thenReturn(1);
+    when(jobLeaseRepository.findById(JOB_NAME)).thenReturn(Optional.empty());
+    when(job.processChunk(null)).thenReturn(Optional.of("1"));
+    when(jobLeaseRepository.updateCheckpoint(any(), any(), eq("1"), any(), any())).thenReturn(0);
+
+    jobLeaseService.runInChunks(JOB_NAME, YEARLY_CRON, job);
+
+    verify(job, never()).processChunk("1");
+    verify(jobLeaseRepository, never()).updateCheckpoint(any(), any(), isNull(), any(), any());
+  }
+}
@@ -0,0 +1,45 @@
+package de.caritas.cob.userservice.api.workflow.notificationretention.scheduler;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import de.caritas.cob.userservice.api.tenant.TenantContextProvider;
+import de.caritas.cob.userservice.api.workflow.notificationretention.service.EventNotificationRetentionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventNotificationRetentionSchedulerTest {
+
+  private static final String FIELD_NAME_RETENTION_ENABLED = "eventNotificationRetentionEnabled";
+
+  @InjectMocks EventNotificationRetentionScheduler eventNotificationRetentionScheduler;
+
+  @Mock EventNotificationRetentionService eventNotificationRetentionService;
+
+  @Mock TenantContextProvider tenantContextProvider;
+
+  @Test
+  void deleteExpiredNotifications_Should_deleteExpiredNotifications_When_retentionIsEnabled() {
+    setField(eventNotificationRetentionScheduler, FIELD_NAME_RETENTION_ENABLED, true);
+
+    eventNotificationRetentionScheduler.deleteExpiredNotifications();
+
+    verify(tenantContextProvider).setTechnicalContextIfMultiTenancyIsEnabled();
+    verify(eventNotificationRetentionService).deleteExpiredNotifications();
+  }
+
+  @Test
+  void deleteExpiredNotifications_ShouldNot_deleteNotifications_When_retentionIsDisabled() {
+    setField(eventNotificationRetentionScheduler, FIELD_NAME_RETENTION_ENABLED, false);
+
+    eventNotificationRetentionScheduler.deleteExpiredNotifications();
+
+    verify(tenantContextProvider).setTechnicalContextIfMultiTenancyIsEnabled();
+    verify(eventNotificationRetentionService, never()).deleteExpiredNotifications();
+  }
+}
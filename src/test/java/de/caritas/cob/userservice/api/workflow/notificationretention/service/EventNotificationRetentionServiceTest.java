@@ -0,0 +1,109 @@
+package de.caritas.cob.userservice.api.workflow.notificationretention.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import de.caritas.cob.userservice.api.model.EventNotification;
+import de.caritas.cob.userservice.api.port.out.EventNotificationRepository;
+import de.caritas.cob.userservice.api.workflow.lease.service.ChunkedJob;
+import de.caritas.cob.userservice.api.workflow.lease.service.JobLeaseService;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventNotificationRetentionServiceTest {
+
+  @InjectMocks private EventNotificationRetentionService eventNotificationRetentionService;
+
+  @Mock private EventNotificationRepository eventNotificationRepository;
+
+  @Mock private JobLeaseService jobLeaseService;
+
+  @BeforeEach
+  void setup() {
+    setField(eventNotificationRetentionService, "readRetentionDays", 30L);
+    setField(eventNotificationRetentionService, "maxRetentionDays", 180L);
+    setField(eventNotificationRetentionService, "chunkSize", 100);
+    setField(eventNotificationRetentionService, "chunkPauseMillis", 0L);
+  }
+
+  @Test
+  void deleteExpiredNotifications_Should_deleteInIdChunksUpToNewestExpiredNotification() {
+    when(eventNotificationRepository.findMinId()).thenReturn(Optional.of(1L));
+    when(eventNotificationRepository.findFirstByCreateDateBeforeOrderByCreateDateDesc(any()))
+        .thenReturn(Optional.of(EventNotification.builder().id(250L).build()));
+    runChunksImmediately();
+
+    eventNotificationRetentionService.deleteExpiredNotifications();
+
+    verify(eventNotificationRepository)
+        .deleteExpiredInIdRange(eq(1L), eq(101L), any(LocalDateTime.class), any());
+    verify(eventNotificationRepository)
+        .deleteExpiredInIdRange(eq(101L), eq(201L), any(LocalDateTime.class), any());
+    verify(eventNotificationRepository)
+        .deleteExpiredInIdRange(eq(201L), eq(301L), any(LocalDateTime.class), any());
+    verify(eventNotificationRepository, times(3))
+        .deleteExpiredInIdRange(anyLong(), anyLong(), any(), any());
+  }
+
+  @Test
+  void deleteExpiredNotifications_ShouldNot_deleteAnything_When_noNotificationIsOldEnough() {
+    when(eventNotificationRepository.findMinId()).thenReturn(Optional.of(1L));
+    when(eventNotificationRepository.findFirstByCreateDateBeforeOrderByCreateDateDesc(any()))
+        .thenReturn(Optional.empty());
+
+    eventNotificationRetentionService.deleteExpiredNotifications();
+
+    verify(eventNotificationRepository, never())
+        .deleteExpiredInIdRange(anyLong(), anyLong(), any(), any());
+  }
+
+  @Test
+  void deleteExpiredNotifications_Should_resumeFromCheckpoint() {
+    when(eventNotificationRepository.findMinId()).thenReturn(Optional.of(1L));
+    when(eventNotificationRepository.findFirstByCreateDateBeforeOrderByCreateDateDesc(any()))
+        .thenReturn(Optional.of(EventNotification.builder().id(250L).build()));
+    when(jobLeaseService.runInChunks(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var job = invocation.getArgument(2, ChunkedJob.class);
+              assertEquals(Optional.of("301"), job.processChunk("201"));
+              assertEquals(Optional.empty(), job.processChunk("301"));
+              return true;
+            });
+
+    eventNotificationRetentionService.deleteExpiredNotifications();
+
+    verify(eventNotificationRepository)
+        .deleteExpiredInIdRange(eq(201L), eq(301L), any(LocalDateTime.class), any());
+    verify(eventNotificationRepository, times(1))
+        .deleteExpiredInIdRange(anyLong(), anyLong(), any(), any());
+  }
+
+  private void runChunksImmediately() {
+    when(jobLeaseService.runInChunks(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              var job = invocation.getArgument(2, ChunkedJob.class);
+              String checkpoint = null;
+              Optional<String> nextCheckpoint;
+              while ((nextCheckpoint = job.processChunk(checkpoint)).isPresent()) {
+                checkpoint = nextCheckpoint.get();
+              }
+              return true;
+            });
+  }
+}